@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser.benchmarks;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+import joshelser.ServerMetrics;
+import joshelser.TBoundedServerTransport;
+import joshelser.THandshakeServerTransport;
+import joshelser.TReusePortServerTransport;
+
+import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.apache.thrift.transport.TTransportFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * New connections accepted per second by the threadpool server's accepting path, with one TServerSocket as before compared to several sockets listening with
+ * SO_REUSEPORT through {@link TReusePortServerTransport}.
+ *
+ * Connections go through admission control and the handshake stage as they do in joshelser.Server, but the handshake just closes the connection, so each
+ * client connects and waits for the server to hang up. Needs Linux for more than one acceptor, and several cores to show a difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+public class AcceptorBenchmark {
+
+  @Param({"1", "4"})
+  public int acceptors;
+
+  private int port;
+  private TServerTransport server;
+
+  @Setup
+  public void setup() throws Exception {
+    ServerMetrics metrics = new ServerMetrics();
+    TServerTransport listener;
+    if (1 == acceptors) {
+      TServerSocket socket = new TServerSocket(0);
+      port = socket.getServerSocket().getLocalPort();
+      listener = socket;
+    } else {
+      port = freePort();
+      listener = new TReusePortServerTransport(port, acceptors, metrics);
+    }
+    TServerTransport bounded = new TBoundedServerTransport(listener, 1000, 0, TBoundedServerTransport.DEFAULT_MAX_BACKOFF_MILLIS, metrics);
+    server = new THandshakeServerTransport(bounded, acceptors, new TTransportFactory() {
+      @Override
+      public TTransport getTransport(TTransport trans) {
+        // Hang up on the client instead of authenticating it
+        trans.close();
+        return trans;
+      }
+    }, THandshakeServerTransport.DEFAULT_THREADS, THandshakeServerTransport.DEFAULT_TIMEOUT_MILLIS, metrics);
+    server.listen();
+
+    // Stands in for TThreadPoolServer, which would hand each connection to a worker
+    Thread serving = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          while (true) {
+            server.accept();
+          }
+        } catch (TTransportException e) {
+          // Closed
+        }
+      }
+    }, "benchmark-server");
+    serving.setDaemon(true);
+    serving.start();
+  }
+
+  @TearDown
+  public void teardown() {
+    server.close();
+  }
+
+  @Benchmark
+  public int connect() throws IOException {
+    Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    try {
+      // Returns once the server has accepted the connection and closed it
+      return socket.getInputStream().read();
+    } finally {
+      socket.close();
+    }
+  }
+
+  private static int freePort() throws IOException {
+    ServerSocket socket = new ServerSocket(0);
+    try {
+      return socket.getLocalPort();
+    } finally {
+      socket.close();
+    }
+  }
+}
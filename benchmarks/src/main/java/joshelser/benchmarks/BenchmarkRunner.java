@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual JMH command line, always adding the GC profiler so that allocation rates are reported alongside throughput.
+ */
+public class BenchmarkRunner {
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions cmdOptions = new CommandLineOptions(args);
+    if (cmdOptions.shouldHelp() || cmdOptions.shouldList() || cmdOptions.shouldListWithParams() || cmdOptions.shouldListProfilers()
+        || cmdOptions.shouldListResultFormats()) {
+      Main.main(args);
+      return;
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions).addProfiler(GCProfiler.class)
+        .jvmArgsAppend(jvmArgs());
+    new Runner(options.build()).run();
+  }
+
+  private static String[] jvmArgs() {
+    String quietLogging = "-Dlog4j.configuration=benchmark-log4j.properties";
+    if (System.getProperty("java.specification.version").startsWith("1.")) {
+      return new String[] {quietLogging};
+    }
+    // Hadoop's Kerberos utilities reach into the JDK's krb5 internals, which are no longer exported by default
+    return new String[] {quietLogging, "--add-exports=java.security.jgss/sun.security.krb5=ALL-UNNAMED"};
+  }
+}
@@ -0,0 +1,401 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser.benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.sasl.Sasl;
+import javax.security.sasl.SaslClient;
+import javax.security.sasl.SaslException;
+
+import joshelser.ServerMetrics;
+import joshelser.TBufferedFilterTransport;
+import joshelser.TBufferedTransportFactory;
+import joshelser.TFilterTransport;
+import joshelser.TMeteredTransportFactory;
+import joshelser.TSessionCipherTransportFactory;
+import joshelser.TUGIAssumingTransport;
+import joshelser.TUGIAssumingTransportFactory;
+import joshelser.thrift.DirectoryPage;
+import joshelser.thrift.EntryPage;
+import joshelser.thrift.FileEntry;
+import joshelser.thrift.HdfsService;
+import joshelser.thrift.MetadataRequest;
+import joshelser.thrift.MetadataResult;
+import joshelser.thrift.RecursiveListing;
+import joshelser.thrift.TreeSummary;
+
+import org.apache.hadoop.security.SaslRpcServer;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.transport.TIOStreamTransport;
+import org.apache.thrift.transport.TSaslClientTransport;
+import org.apache.thrift.transport.TSaslServerTransport;
+import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.apache.thrift.transport.TTransportFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * An lsPage RPC over a SASL auth-conf connection on the loopback interface, with and without {@link TBufferedFilterTransport} on the client and
+ * {@link TBufferedTransportFactory} on the server.
+ *
+ * Besides throughput, the client's SASL wrap/unwrap calls, calls into the SASL transport and reads/writes on the socket are counted, and printed per RPC at the
+ * end of each iteration. The socket is set up with the same 1 KiB stream buffers that TSocket uses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BufferedTransportBenchmark {
+
+  @Param({"false", "true"})
+  public boolean buffered;
+
+  @Param({"10", "1000"})
+  public int entries;
+
+  private TServer server;
+  private TTransport transport;
+  private HdfsService.Client client;
+
+  private final Counters counters = new Counters();
+  private long rpcs = 0;
+
+  @Setup
+  public void setup(KerberosState kerberos) throws Exception {
+    List<String> names = new ArrayList<String>(entries);
+    for (int i = 0; i < entries; i++) {
+      names.add(String.format("file-%06d", i));
+    }
+    final DirectoryPage page = new DirectoryPage(names);
+
+    // Server, set up as joshelser.Server does
+    Map<String,String> saslProperties = new HashMap<String,String>();
+    saslProperties.put(Sasl.QOP, "auth-conf");
+    TSaslServerTransport.Factory saslTransportFactory = new TSaslServerTransport.Factory();
+    saslTransportFactory.addServerDefinition("GSSAPI", KerberosState.SERVER_PRIMARY, KerberosState.SERVER_INSTANCE, saslProperties,
+        new SaslRpcServer.SaslGssCallbackHandler());
+    TTransportFactory transportFactory = new TSessionCipherTransportFactory(new TUGIAssumingTransportFactory(saslTransportFactory,
+        kerberos.getServerUser()), false);
+    if (buffered) {
+      transportFactory = new TBufferedTransportFactory(transportFactory);
+    }
+    transportFactory = new TMeteredTransportFactory(transportFactory, new ServerMetrics());
+    TServerSocket serverSocket = new TServerSocket(0);
+    int port = serverSocket.getServerSocket().getLocalPort();
+    server = new TThreadPoolServer(new TThreadPoolServer.Args(serverSocket).transportFactory(transportFactory).processor(
+        new HdfsService.Processor<HdfsService.Iface>(new FixedPageService(page))));
+    Thread serverThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        server.serve();
+      }
+    }, "benchmark-server");
+    serverThread.setDaemon(true);
+    serverThread.start();
+    while (!server.isServing()) {
+      Thread.sleep(10);
+    }
+
+    // Client, set up as joshelser.HdfsConnection does
+    Socket socket = new Socket("localhost", port);
+    socket.setTcpNoDelay(true);
+    TTransport socketTransport = new TIOStreamTransport(new BufferedInputStream(new CountingInputStream(socket.getInputStream(), counters), 1024),
+        new BufferedOutputStream(new CountingOutputStream(socket.getOutputStream(), counters), 1024));
+    if (buffered) {
+      socketTransport = new TBufferedFilterTransport(socketTransport);
+    }
+    final Map<String,String> clientProperties = new HashMap<String,String>(saslProperties);
+    SaslClient saslClient = kerberos.getClientUser().doAs(new PrivilegedExceptionAction<SaslClient>() {
+      @Override
+      public SaslClient run() throws SaslException {
+        return Sasl.createSaslClient(new String[] {"GSSAPI"}, null, KerberosState.SERVER_PRIMARY, KerberosState.SERVER_INSTANCE, clientProperties, null);
+      }
+    });
+    TTransport ugiTransport = new TUGIAssumingTransport(new TSaslClientTransport(new CountingSaslClient(saslClient, counters), socketTransport),
+        kerberos.getClientUser());
+    ugiTransport.open();
+    transport = new CountingTransport(ugiTransport, counters);
+    if (buffered) {
+      transport = new TBufferedFilterTransport(transport);
+    }
+    client = new HdfsService.Client(new TBinaryProtocol(transport));
+  }
+
+  @TearDown
+  public void teardown() {
+    transport.close();
+    server.stop();
+  }
+
+  @Setup(Level.Iteration)
+  public void resetCounters() {
+    counters.reset();
+    rpcs = 0;
+  }
+
+  @TearDown(Level.Iteration)
+  public void reportCounters() {
+    System.out.println(String.format("%n  per RPC: %.2f SASL wraps, %.2f SASL unwraps, %.2f SASL transport calls, %.2f socket reads, %.2f socket writes",
+        (double) counters.wraps / rpcs, (double) counters.unwraps / rpcs, (double) counters.transportCalls / rpcs, (double) counters.socketReads / rpcs,
+        (double) counters.socketWrites / rpcs));
+  }
+
+  @Benchmark
+  public DirectoryPage lsPage() throws TException {
+    rpcs++;
+    return client.lsPage("/", null, entries);
+  }
+
+  private static class Counters {
+    long wraps;
+    long unwraps;
+    long transportCalls;
+    long socketReads;
+    long socketWrites;
+
+    void reset() {
+      wraps = unwraps = transportCalls = socketReads = socketWrites = 0;
+    }
+  }
+
+  /**
+   * Answers every lsPage with the same page.
+   */
+  private static class FixedPageService implements HdfsService.Iface {
+    private final DirectoryPage page;
+
+    FixedPageService(DirectoryPage page) {
+      this.page = page;
+    }
+
+    @Override
+    public DirectoryPage lsPage(String directory, String startAfter, int limit) {
+      return page;
+    }
+
+    @Override
+    public String ls(String directory) throws TException {
+      throw new TException("Not implemented");
+    }
+
+    @Override
+    public List<FileEntry> listEntries(String directory) throws TException {
+      throw new TException("Not implemented");
+    }
+
+    @Override
+    public EntryPage listEntriesPage(String directory, String startAfter, int limit) throws TException {
+      throw new TException("Not implemented");
+    }
+
+    @Override
+    public List<MetadataResult> batch(List<MetadataRequest> requests) throws TException {
+      throw new TException("Not implemented");
+    }
+
+    @Override
+    public TreeSummary summarize(String path, int maxDepth) throws TException {
+      throw new TException("Not implemented");
+    }
+
+    @Override
+    public RecursiveListing listRecursive(String directory, int maxDepth, int batchSize) throws TException {
+      throw new TException("Not implemented");
+    }
+
+    @Override
+    public RecursiveListing continueListing(String cursor, int batchSize) throws TException {
+      throw new TException("Not implemented");
+    }
+
+    @Override
+    public String getDelegationToken() throws TException {
+      throw new TException("Not implemented");
+    }
+  }
+
+  /**
+   * Counts the calls the protocol (or buffer) makes into the SASL transport.
+   */
+  private static class CountingTransport extends TFilterTransport {
+    private final Counters counters;
+
+    CountingTransport(TTransport wrapped, Counters counters) {
+      super(wrapped);
+      this.counters = counters;
+    }
+
+    @Override
+    public int read(byte[] buf, int off, int len) throws TTransportException {
+      counters.transportCalls++;
+      return super.read(buf, off, len);
+    }
+
+    @Override
+    public int readAll(byte[] buf, int off, int len) throws TTransportException {
+      counters.transportCalls++;
+      return super.readAll(buf, off, len);
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) throws TTransportException {
+      counters.transportCalls++;
+      super.write(buf, off, len);
+    }
+
+    @Override
+    public void flush() throws TTransportException {
+      counters.transportCalls++;
+      super.flush();
+    }
+  }
+
+  /**
+   * Counts reads from the socket, each of which is a system call.
+   */
+  private static class CountingInputStream extends FilterInputStream {
+    private final Counters counters;
+
+    CountingInputStream(InputStream in, Counters counters) {
+      super(in);
+      this.counters = counters;
+    }
+
+    @Override
+    public int read() throws IOException {
+      counters.socketReads++;
+      return super.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      counters.socketReads++;
+      return super.read(b, off, len);
+    }
+  }
+
+  /**
+   * Counts writes to the socket, each of which is a system call.
+   */
+  private static class CountingOutputStream extends FilterOutputStream {
+    private final Counters counters;
+
+    CountingOutputStream(OutputStream out, Counters counters) {
+      super(out);
+      this.counters = counters;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      counters.socketWrites++;
+      out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      counters.socketWrites++;
+      out.write(b, off, len);
+    }
+  }
+
+  /**
+   * Counts the client's wrap and unwrap calls, one per frame it sends or receives once negotiation is complete.
+   */
+  private static class CountingSaslClient implements SaslClient {
+    private final SaslClient wrapped;
+    private final Counters counters;
+
+    CountingSaslClient(SaslClient wrapped, Counters counters) {
+      this.wrapped = wrapped;
+      this.counters = counters;
+    }
+
+    @Override
+    public String getMechanismName() {
+      return wrapped.getMechanismName();
+    }
+
+    @Override
+    public boolean hasInitialResponse() {
+      return wrapped.hasInitialResponse();
+    }
+
+    @Override
+    public byte[] evaluateChallenge(byte[] challenge) throws SaslException {
+      return wrapped.evaluateChallenge(challenge);
+    }
+
+    @Override
+    public boolean isComplete() {
+      return wrapped.isComplete();
+    }
+
+    @Override
+    public byte[] unwrap(byte[] incoming, int offset, int len) throws SaslException {
+      counters.unwraps++;
+      return wrapped.unwrap(incoming, offset, len);
+    }
+
+    @Override
+    public byte[] wrap(byte[] outgoing, int offset, int len) throws SaslException {
+      counters.wraps++;
+      return wrapped.wrap(outgoing, offset, len);
+    }
+
+    @Override
+    public Object getNegotiatedProperty(String propName) {
+      return wrapped.getNegotiatedProperty(propName);
+    }
+
+    @Override
+    public void dispose() throws SaslException {
+      wrapped.dispose();
+    }
+  }
+}
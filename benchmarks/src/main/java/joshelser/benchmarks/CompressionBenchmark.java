@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.sasl.SaslException;
+
+import joshelser.FrameCompression;
+import joshelser.thrift.DirectoryPage;
+import joshelser.thrift.EntryPage;
+import joshelser.thrift.FileEntry;
+
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TTransportException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Protecting a directory listing with the SASL auth-conf security layer, with and without {@link FrameCompression} first.
+ *
+ * The listings look like a warehouse table directory: partition directories, the part files written by a few jobs and some logs. "names" is a page of names
+ * as returned by lsPage, "entries" a page of full entries as returned by listEntriesPage. The number of bytes which would go on the wire with and without
+ * compression is printed during setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CompressionBenchmark {
+
+  @Param({"names", "entries"})
+  public String listing;
+
+  @Param({"100", "1000", "10000"})
+  public int entries;
+
+  private KerberosState.SaslSession session;
+  private FrameCompression compression;
+  private byte[] message;
+
+  @Setup
+  public void setup(KerberosState kerberos) throws Exception {
+    session = kerberos.negotiate("auth-conf");
+    compression = new FrameCompression(FrameCompression.DEFAULT_THRESHOLD_BYTES);
+
+    List<FileEntry> listed = listing(entries);
+    if ("names".equals(listing)) {
+      List<String> names = new ArrayList<String>(listed.size());
+      for (FileEntry entry : listed) {
+        names.add(entry.isDirectory() ? entry.getName() + "/" : entry.getName());
+      }
+      message = serialize(new DirectoryPage(names));
+    } else {
+      message = serialize(new EntryPage(listed));
+    }
+
+    byte[] compressed = compression.compress(message, 0, message.length);
+    byte[] wrapped = session.client.wrap(message, 0, message.length);
+    byte[] compressedWrapped = session.client.wrap(compressed, 0, compressed.length);
+    // Keep the server in step with the client's sequence numbers for the round trips
+    session.server.unwrap(wrapped, 0, wrapped.length);
+    session.server.unwrap(compressedWrapped, 0, compressedWrapped.length);
+    System.out.println(String.format("%n  %d bytes serialized, %d on the wire; %d compressed (%.1fx), %d on the wire", message.length, wrapped.length,
+        compressed.length, (double) message.length / compressed.length, compressedWrapped.length));
+  }
+
+  @Benchmark
+  public byte[] wrap() throws SaslException {
+    return session.client.wrap(message, 0, message.length);
+  }
+
+  @Benchmark
+  public byte[] compressAndWrap() throws SaslException {
+    byte[] compressed = compression.compress(message, 0, message.length);
+    return session.client.wrap(compressed, 0, compressed.length);
+  }
+
+  @Benchmark
+  public byte[] roundTrip() throws SaslException {
+    byte[] wrapped = session.client.wrap(message, 0, message.length);
+    return session.server.unwrap(wrapped, 0, wrapped.length);
+  }
+
+  @Benchmark
+  public byte[] compressedRoundTrip() throws SaslException, TTransportException {
+    byte[] compressed = compression.compress(message, 0, message.length);
+    byte[] wrapped = session.client.wrap(compressed, 0, compressed.length);
+    byte[] unwrapped = session.server.unwrap(wrapped, 0, wrapped.length);
+    return compression.decompress(unwrapped, 0, unwrapped.length, Integer.MAX_VALUE);
+  }
+
+  private static byte[] serialize(TBase<?,?> struct) throws TException {
+    TMemoryBuffer buffer = new TMemoryBuffer(1024);
+    struct.write(new TBinaryProtocol(buffer));
+    return Arrays.copyOf(buffer.getArray(), buffer.length());
+  }
+
+  /**
+   * A table directory: date partitions, part files from a handful of jobs (which share a job ID in their names), their markers and some logs.
+   */
+  private static List<FileEntry> listing(int size) {
+    Random random = new Random(0);
+    String[] owners = {"hive", "etl", "spark", "alice"};
+    long now = 1700000000000L;
+    List<FileEntry> listing = new ArrayList<FileEntry>(size);
+    String job = new UUID(random.nextLong(), random.nextLong()).toString();
+    int part = 0;
+    for (int i = 0; i < size; i++) {
+      FileEntry entry = new FileEntry();
+      int kind = random.nextInt(10);
+      if (kind == 0) {
+        entry.setName(String.format("dt=2023-%02d-%02d", 1 + i % 12, 1 + i % 28));
+        entry.setDirectory(true);
+        entry.setPermission((short) 0755);
+      } else if (kind == 1) {
+        entry.setName(String.format("application_%d_%04d.log.%d", now / 1000, random.nextInt(10000), random.nextInt(5)));
+        entry.setPermission((short) 0640);
+        entry.setLength(random.nextInt(1 << 20));
+      } else {
+        if (random.nextInt(200) == 0) {
+          job = new UUID(random.nextLong(), random.nextLong()).toString();
+          part = 0;
+        }
+        entry.setName(String.format("part-%05d-%s-c000.snappy.parquet", part++, job));
+        entry.setPermission((short) 0644);
+        entry.setLength(64L * 1024 * 1024 + random.nextInt(64 * 1024 * 1024));
+        entry.setReplication((short) 3);
+        entry.setBlockSize(128L * 1024 * 1024);
+      }
+      entry.setOwner(owners[random.nextInt(owners.length)]);
+      entry.setGroup("hadoop");
+      entry.setModificationTime(now - random.nextInt(7 * 24 * 3600) * 1000L);
+      entry.setAccessTime(entry.getModificationTime());
+      listing.add(entry);
+    }
+    return listing;
+  }
+}
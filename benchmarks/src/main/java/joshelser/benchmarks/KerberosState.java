@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser.benchmarks;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.security.PrivilegedExceptionAction;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.security.sasl.Sasl;
+import javax.security.sasl.SaslClient;
+import javax.security.sasl.SaslException;
+import javax.security.sasl.SaslServer;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.CommonConfigurationKeysPublic;
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.minikdc.MiniKdc;
+import org.apache.hadoop.security.SaslRpcServer;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * An in-process KDC with a server and a client principal, so that the benchmarks can use SASL/GSSAPI without any external Kerberos setup. Shared by every
+ * thread in the trial, since the KDC's krb5.conf is JVM-wide.
+ */
+@State(Scope.Benchmark)
+public class KerberosState {
+  public static final String SERVER_PRIMARY = "thrift";
+  public static final String SERVER_INSTANCE = "localhost";
+  public static final String CLIENT_PRIMARY = "client";
+
+  private File workDir;
+  private MiniKdc kdc;
+  private UserGroupInformation serverUser;
+  private UserGroupInformation clientUser;
+
+  @Setup(Level.Trial)
+  public void startKdc() throws Exception {
+    workDir = Files.createTempDirectory("krb-thrift-kdc").toFile();
+    kdc = new MiniKdc(MiniKdc.createConf(), workDir);
+    kdc.start();
+
+    File keytab = new File(workDir, "benchmark.keytab");
+    kdc.createPrincipal(keytab, SERVER_PRIMARY + "/" + SERVER_INSTANCE, CLIENT_PRIMARY);
+
+    Configuration conf = new Configuration();
+    conf.set(CommonConfigurationKeysPublic.HADOOP_SECURITY_AUTHENTICATION, "kerberos");
+    UserGroupInformation.setConfiguration(conf);
+
+    serverUser = UserGroupInformation.loginUserFromKeytabAndReturnUGI(SERVER_PRIMARY + "/" + SERVER_INSTANCE + "@" + kdc.getRealm(), keytab.getPath());
+    clientUser = UserGroupInformation.loginUserFromKeytabAndReturnUGI(CLIENT_PRIMARY + "@" + kdc.getRealm(), keytab.getPath());
+  }
+
+  @TearDown(Level.Trial)
+  public void stopKdc() {
+    kdc.stop();
+    FileUtil.fullyDelete(workDir);
+  }
+
+  public UserGroupInformation getServerUser() {
+    return serverUser;
+  }
+
+  public UserGroupInformation getClientUser() {
+    return clientUser;
+  }
+
+  /**
+   * Run a GSSAPI negotiation between a new SaslClient and SaslServer entirely in memory, as the Thrift SASL transports would over the wire.
+   *
+   * @param qop
+   *          The quality of protection to request, one of "auth", "auth-int" or "auth-conf"
+   */
+  public SaslSession negotiate(String qop) throws Exception {
+    final Map<String,String> props = new HashMap<String,String>();
+    props.put(Sasl.QOP, qop);
+
+    final SaslClient client = clientUser.doAs(new PrivilegedExceptionAction<SaslClient>() {
+      @Override
+      public SaslClient run() throws SaslException {
+        return Sasl.createSaslClient(new String[] {"GSSAPI"}, null, SERVER_PRIMARY, SERVER_INSTANCE, props, null);
+      }
+    });
+    final SaslServer server = serverUser.doAs(new PrivilegedExceptionAction<SaslServer>() {
+      @Override
+      public SaslServer run() throws SaslException {
+        return Sasl.createSaslServer("GSSAPI", SERVER_PRIMARY, SERVER_INSTANCE, props, new SaslRpcServer.SaslGssCallbackHandler());
+      }
+    });
+
+    byte[] response = clientUser.doAs(new PrivilegedExceptionAction<byte[]>() {
+      @Override
+      public byte[] run() throws SaslException {
+        return client.hasInitialResponse() ? client.evaluateChallenge(new byte[0]) : new byte[0];
+      }
+    });
+    while (!server.isComplete()) {
+      final byte[] clientToken = response;
+      final byte[] challenge = serverUser.doAs(new PrivilegedExceptionAction<byte[]>() {
+        @Override
+        public byte[] run() throws SaslException {
+          return server.evaluateResponse(clientToken);
+        }
+      });
+      if (server.isComplete()) {
+        break;
+      }
+      response = clientUser.doAs(new PrivilegedExceptionAction<byte[]>() {
+        @Override
+        public byte[] run() throws SaslException {
+          return client.evaluateChallenge(challenge);
+        }
+      });
+    }
+
+    if (!client.isComplete()) {
+      throw new IllegalStateException("SASL client did not complete negotiation");
+    }
+    return new SaslSession(client, server);
+  }
+
+  /**
+   * Both ends of a completed SASL negotiation.
+   */
+  public static class SaslSession {
+    public final SaslClient client;
+    public final SaslServer server;
+
+    SaslSession(SaslClient client, SaslServer server) {
+      this.client = client;
+      this.server = server;
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import joshelser.HdfsServiceImpl;
+import joshelser.MetadataBatchRunner;
+import joshelser.ProxyUserCache;
+import joshelser.RecursiveWalker;
+import joshelser.ServerMetrics;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.thrift.TException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link HdfsServiceImpl#ls(String)} against the local FileSystem, for directories of increasing size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LsBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  public int entries;
+
+  private File dir;
+  private ProxyUserCache proxyUsers;
+  private MetadataBatchRunner batchRunner;
+  private RecursiveWalker walker;
+  private HdfsServiceImpl service;
+
+  @Setup
+  public void setup() throws IOException {
+    dir = Files.createTempDirectory("krb-thrift-ls").toFile();
+    for (int i = 0; i < entries; i++) {
+      if (!new File(dir, String.format("file-%06d", i)).createNewFile()) {
+        throw new IOException("Could not create file in " + dir);
+      }
+    }
+
+    Configuration conf = new Configuration();
+    conf.set("fs.defaultFS", "file:///");
+    proxyUsers = new ProxyUserCache(conf, UserGroupInformation.getCurrentUser());
+    ServerMetrics metrics = new ServerMetrics();
+    batchRunner = new MetadataBatchRunner(MetadataBatchRunner.DEFAULT_THREADS, metrics);
+    walker = new RecursiveWalker(RecursiveWalker.DEFAULT_THREADS, RecursiveWalker.DEFAULT_MAX_DEPTH, metrics);
+    service = new HdfsServiceImpl(proxyUsers, metrics, batchRunner, null, walker, null);
+  }
+
+  @TearDown
+  public void teardown() {
+    walker.close();
+    batchRunner.close();
+    proxyUsers.close();
+    FileUtil.fullyDelete(dir);
+  }
+
+  @Benchmark
+  public String ls() throws TException {
+    return service.ls(dir.getAbsolutePath());
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.sasl.SaslServer;
+
+import joshelser.HdfsServiceImpl;
+import joshelser.MetadataBatchRunner;
+import joshelser.ProxyUserCache;
+import joshelser.RecursiveWalker;
+import joshelser.SaslServerSource;
+import joshelser.ServerMetrics;
+import joshelser.TFilterTransport;
+import joshelser.TUGIAssumingProcessor;
+import joshelser.thrift.HdfsService;
+import joshelser.thrift.HdfsService.Iface;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.thrift.TException;
+import org.apache.thrift.TProcessor;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Overhead that {@link TUGIAssumingProcessor} adds to each call (finding the SaslServer, the proxy user lookup and the doAs) over calling the generated
+ * processor directly. The RPC itself does no work, so the difference between the two benchmarks is the dispatch cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProcessorBenchmark {
+
+  private ProxyUserCache proxyUsers;
+  private MetadataBatchRunner batchRunner;
+  private RecursiveWalker walker;
+  private TProcessor direct;
+  private TProcessor ugiAssuming;
+  private byte[] request;
+  private TMemoryInputTransport input;
+  private DiscardingTransport output;
+  private TProtocol inProt;
+  private TProtocol outProt;
+
+  @Setup
+  public void setup(KerberosState kerberos) throws Exception {
+    KerberosState.SaslSession session = kerberos.negotiate("auth-conf");
+    proxyUsers = new ProxyUserCache(new Configuration(), kerberos.getServerUser());
+    ServerMetrics metrics = new ServerMetrics();
+    batchRunner = new MetadataBatchRunner(MetadataBatchRunner.DEFAULT_THREADS, metrics);
+    walker = new RecursiveWalker(RecursiveWalker.DEFAULT_THREADS, RecursiveWalker.DEFAULT_MAX_DEPTH, metrics);
+
+    // Only the dispatch is of interest, don't touch a FileSystem
+    HdfsService.Processor<Iface> processor = new HdfsService.Processor<Iface>(new HdfsServiceImpl(proxyUsers, metrics, batchRunner, null, walker, null) {
+      @Override
+      public String ls(String directory) {
+        return directory;
+      }
+    });
+    direct = processor;
+    ugiAssuming = new TUGIAssumingProcessor(processor, proxyUsers);
+
+    // Serialize a single ls call to replay
+    TMemoryBuffer buffer = new TMemoryBuffer(64);
+    new HdfsService.Client(new TBinaryProtocol(buffer)).send_ls("/");
+    request = Arrays.copyOf(buffer.getArray(), buffer.length());
+
+    input = new TMemoryInputTransport();
+    output = new DiscardingTransport();
+    inProt = new TBinaryProtocol(new SaslInputTransport(input, session.server));
+    outProt = new TBinaryProtocol(output);
+  }
+
+  @TearDown
+  public void teardown() {
+    walker.close();
+    batchRunner.close();
+    proxyUsers.close();
+  }
+
+  @Benchmark
+  public boolean direct() throws TException {
+    input.reset(request);
+    return direct.process(inProt, outProt);
+  }
+
+  @Benchmark
+  public boolean ugiAssuming() throws TException {
+    input.reset(request);
+    return ugiAssuming.process(inProt, outProt);
+  }
+
+  /**
+   * Presents an authenticated SaslServer to the processor without the framing of a real SASL transport.
+   */
+  private static class SaslInputTransport extends TFilterTransport implements SaslServerSource {
+    private final SaslServer saslServer;
+
+    SaslInputTransport(TTransport wrapped, SaslServer saslServer) {
+      super(wrapped);
+      this.saslServer = saslServer;
+    }
+
+    @Override
+    public SaslServer getSaslServer() {
+      return saslServer;
+    }
+  }
+}
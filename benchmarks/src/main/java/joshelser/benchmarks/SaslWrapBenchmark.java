@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.sasl.SaslException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the SASL security layer applied to every frame once GSSAPI negotiation completes. With a QOP of "auth" there is no security layer at all, so only
+ * "auth-int" (integrity) and "auth-conf" (integrity and confidentiality) are measured.
+ *
+ * GSSAPI rejects a token it has already unwrapped, so unwrap is measured as a round trip; its cost is the difference between {@link #roundTrip()} and
+ * {@link #wrap()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SaslWrapBenchmark {
+
+  @Param({"auth-int", "auth-conf"})
+  public String qop;
+
+  @Param({"64", "4096", "65536"})
+  public int payloadSize;
+
+  private KerberosState.SaslSession session;
+  private byte[] payload;
+
+  @Setup
+  public void setup(KerberosState kerberos) throws Exception {
+    session = kerberos.negotiate(qop);
+    payload = new byte[payloadSize];
+    new Random(0).nextBytes(payload);
+  }
+
+  @Benchmark
+  public byte[] wrap() throws SaslException {
+    return session.client.wrap(payload, 0, payload.length);
+  }
+
+  @Benchmark
+  public byte[] roundTrip() throws SaslException {
+    byte[] wrapped = session.client.wrap(payload, 0, payload.length);
+    return session.server.unwrap(wrapped, 0, wrapped.length);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser.benchmarks;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.sasl.SaslException;
+
+import joshelser.SessionCipher;
+
+import org.apache.thrift.TByteArrayOutputStream;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Protecting a frame with the SASL auth-conf security layer (GSSAPI wrap/unwrap) compared to the AES-GCM {@link SessionCipher} which can replace it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SessionCipherBenchmark {
+
+  @Param({"64", "4096", "65536"})
+  public int payloadSize;
+
+  private KerberosState.SaslSession session;
+  private SessionCipher clientCipher;
+  private SessionCipher serverCipher;
+  private byte[] payload;
+
+  @Setup
+  public void setup(KerberosState kerberos) throws Exception {
+    session = kerberos.negotiate("auth-conf");
+
+    LoopbackTransport loopback = new LoopbackTransport();
+    clientCipher = SessionCipher.request(loopback);
+    serverCipher = loopback.serverCipher;
+
+    payload = new byte[payloadSize];
+    new Random(0).nextBytes(payload);
+  }
+
+  @Benchmark
+  public byte[] saslWrap() throws SaslException {
+    return session.client.wrap(payload, 0, payload.length);
+  }
+
+  @Benchmark
+  public byte[] saslRoundTrip() throws SaslException {
+    byte[] wrapped = session.client.wrap(payload, 0, payload.length);
+    return session.server.unwrap(wrapped, 0, wrapped.length);
+  }
+
+  @Benchmark
+  public byte[] cipherEncrypt() throws GeneralSecurityException {
+    return clientCipher.encrypt(payload, 0, payload.length);
+  }
+
+  @Benchmark
+  public byte[] cipherRoundTrip() throws GeneralSecurityException {
+    byte[] encrypted = clientCipher.encrypt(payload, 0, payload.length);
+    return serverCipher.decrypt(encrypted, 0, encrypted.length);
+  }
+
+  /**
+   * Hands whatever the client writes straight to the server side of the negotiation and lets the client read the reply.
+   */
+  private static class LoopbackTransport extends TTransport {
+    private final TByteArrayOutputStream written = new TByteArrayOutputStream();
+    private final TMemoryInputTransport reply = new TMemoryInputTransport();
+    SessionCipher serverCipher;
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void open() {}
+
+    @Override
+    public void close() {}
+
+    @Override
+    public int read(byte[] buf, int off, int len) throws TTransportException {
+      return reply.read(buf, off, len);
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) {
+      written.write(buf, off, len);
+    }
+
+    @Override
+    public void flush() throws TTransportException {
+      SessionCipher.Response response = SessionCipher.respond(Arrays.copyOf(written.get(), written.len()), true);
+      written.reset();
+      serverCipher = response.getCipher();
+      reply.reset(response.getMessage());
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import joshelser.TFilterTransport;
+import joshelser.TUGIAssumingTransport;
+import joshelser.thrift.DirectoryPage;
+
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of reading and writing a message through {@link TFilterTransport} and {@link TUGIAssumingTransport} compared to the underlying transport. The protocol
+ * makes many small calls per message (including the getBuffer/consumeBuffer fast path), each of which goes through the delegation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TransportBenchmark {
+
+  @Param({"10", "1000"})
+  public int entries;
+
+  private DirectoryPage page;
+  private byte[] serialized;
+
+  private TMemoryInputTransport input;
+  private TProtocol rawIn;
+  private TProtocol filteredIn;
+  private TProtocol ugiIn;
+
+  private DiscardingTransport output;
+  private TProtocol rawOut;
+  private TProtocol filteredOut;
+  private TProtocol ugiOut;
+
+  @Setup
+  public void setup() throws Exception {
+    List<String> names = new ArrayList<String>(entries);
+    for (int i = 0; i < entries; i++) {
+      names.add(String.format("file-%06d", i));
+    }
+    page = new DirectoryPage(names);
+    page.setCursor(names.get(names.size() - 1));
+
+    TMemoryBuffer buffer = new TMemoryBuffer(64);
+    page.write(new TBinaryProtocol(buffer));
+    serialized = Arrays.copyOf(buffer.getArray(), buffer.length());
+
+    UserGroupInformation ugi = UserGroupInformation.createRemoteUser("benchmark");
+
+    input = new TMemoryInputTransport();
+    rawIn = new TBinaryProtocol(input);
+    filteredIn = new TBinaryProtocol(new TFilterTransport(input));
+    ugiIn = new TBinaryProtocol(new TUGIAssumingTransport(input, ugi));
+
+    output = new DiscardingTransport();
+    rawOut = new TBinaryProtocol(output);
+    filteredOut = new TBinaryProtocol(new TFilterTransport(output));
+    ugiOut = new TBinaryProtocol(new TUGIAssumingTransport(output, ugi));
+  }
+
+  @Benchmark
+  public DirectoryPage readRaw() throws TException {
+    return read(rawIn);
+  }
+
+  @Benchmark
+  public DirectoryPage readFiltered() throws TException {
+    return read(filteredIn);
+  }
+
+  @Benchmark
+  public DirectoryPage readUgiAssuming() throws TException {
+    return read(ugiIn);
+  }
+
+  @Benchmark
+  public long writeRaw() throws TException {
+    page.write(rawOut);
+    return output.getWritten();
+  }
+
+  @Benchmark
+  public long writeFiltered() throws TException {
+    page.write(filteredOut);
+    return output.getWritten();
+  }
+
+  @Benchmark
+  public long writeUgiAssuming() throws TException {
+    page.write(ugiOut);
+    return output.getWritten();
+  }
+
+  private DirectoryPage read(TProtocol prot) throws TException {
+    input.reset(serialized);
+    DirectoryPage result = new DirectoryPage();
+    result.read(prot);
+    return result;
+  }
+}
@@ -16,18 +16,37 @@
  */
 package joshelser;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import javax.security.sasl.Sasl;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import joshelser.thrift.DirectoryPage;
+import joshelser.thrift.EntryPage;
+import joshelser.thrift.FileEntry;
 import joshelser.thrift.HdfsService;
+import joshelser.thrift.MetadataOp;
+import joshelser.thrift.MetadataRequest;
+import joshelser.thrift.MetadataResult;
+import joshelser.thrift.PathSummary;
+import joshelser.thrift.RecursiveListing;
+import joshelser.thrift.TreeSummary;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.permission.FsPermission;
 import org.apache.hadoop.security.UserGroupInformation;
-import org.apache.thrift.protocol.TBinaryProtocol;
-import org.apache.thrift.transport.TSaslClientTransport;
-import org.apache.thrift.transport.TSocket;
-import org.apache.thrift.transport.TTransport;
+import org.apache.hadoop.security.token.Token;
+import org.apache.hadoop.tracing.SpanReceiverHost;
+import org.htrace.Sampler;
+import org.htrace.Trace;
+import org.htrace.TraceScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,8 +59,8 @@ public class Client implements ServiceBase {
   private static final Logger log = LoggerFactory.getLogger(Client.class);
 
   private static class Opts extends ParseBase {
-    @Parameter(names = {"-s", "--server"}, required = true, description = "Hostname of Thrift server")
-    private String server;
+    @Parameter(names = {"-s", "--server"}, required = true, description = "Hostname of Thrift server, or comma-separated host[:port] of several serving the same HDFS to hedge read-only calls across")
+    private List<String> servers = new ArrayList<String>();
 
     @Parameter(names = {"--port"}, required = false, description = "Port of the Thrift server, defaults to ")
     private int port = DEFAULT_THRIFT_SERVER_PORT;
@@ -49,11 +68,59 @@ public class Client implements ServiceBase {
     @Parameter(names = {"-p", "--primary"}, required = true, description = "Leading component of the Kerberos principal for the server")
     private String primary;
 
-    @Parameter(names = {"-i", "--instance"}, required = true, description = "Second component of the Kerberos principal for the server")
+    @Parameter(names = {"-i", "--instance"}, required = true, description = "Second component of the Kerberos principal for the server, _HOST for each server's own hostname")
     private String instance;
 
+    @Parameter(names = {"--hedge-percentile"}, required = false, description = "With several servers, send a read-only call to a second server once it has taken longer than this percentile of recent calls")
+    private double hedgePercentile = HedgedClient.Options.DEFAULT_PERCENTILE;
+
+    @Parameter(names = {"--hedge-min-delay-millis"}, required = false, description = "With several servers, least time to wait for an answer before sending a call to a second server")
+    private long hedgeMinDelayMillis = HedgedClient.Options.DEFAULT_MIN_DELAY_MILLIS;
+
     @Parameter(names = {"-d", "--dir"}, required = false, description = "HDFS directory to perform `ls` on")
     private String dir = "/";
+
+    @Parameter(names = {"--page-size"}, required = false, description = "List the directory in pages of this many entries instead of all at once")
+    private int pageSize = 0;
+
+    @Parameter(names = {"-l", "--long"}, required = false, description = "Print size, owner, permissions and modification time of each entry")
+    private boolean longFormat = false;
+
+    @Parameter(names = {"-R", "--recursive"}, required = false, description = "List everything below --dir, in batches of --page-size entries")
+    private boolean recursive = false;
+
+    @Parameter(names = {"--summary"}, required = false, description = "Print the directory, file and byte counts for everything below --dir")
+    private boolean summary = false;
+
+    @Parameter(names = {"--max-depth"}, required = false, description = "Deepest level below --dir for --recursive and --summary, 0 for the server's limit")
+    private int maxDepth = 0;
+
+    @Parameter(names = {"--session-cipher"}, required = false, description = "After authenticating, ask the server to encrypt with AES instead of the SASL security layer")
+    private boolean sessionCipher = false;
+
+    @Parameter(names = {"--compression"}, required = false, description = "After authenticating, ask the server to compress messages with LZ4 before encrypting them")
+    private boolean compression = false;
+
+    @Parameter(names = {"--compression-threshold-bytes"}, required = false, description = "Smallest call to compress when --compression is agreed")
+    private int compressionThreshold = FrameCompression.DEFAULT_THRESHOLD_BYTES;
+
+    @Parameter(names = {"--fetch-delegation-token"}, required = false, description = "File to save a delegation token from the server to, for later runs to pass as --delegation-token")
+    private String fetchDelegationToken = null;
+
+    @Parameter(names = {"--delegation-token"}, required = false, description = "File with a delegation token from the server to authenticate with instead of Kerberos")
+    private String delegationToken = null;
+
+    @Parameter(names = {"--batch-paths"}, required = false, description = "Comma-separated paths to run --batch-op on in a single RPC, instead of listing --dir")
+    private List<String> batchPaths = new ArrayList<String>();
+
+    @Parameter(names = {"--batch-op"}, required = false, description = "Operation for each of --batch-paths: ls, stat, exists or content-summary")
+    private String batchOp = "stat";
+
+    @Parameter(names = {"--deadline-millis"}, required = false, description = "Deadline for the calls to the server to finish by, after which the server stops working on them and the client gives up. 0 for none")
+    private long deadlineMillis = 0;
+
+    @Parameter(names = {"--trace"}, required = false, description = "Trace connecting and the calls through the server, sending spans to the receivers in hadoop.trace.spanreceiver.classes")
+    private boolean trace = false;
   }
 
   public static void main(String[] args) throws Exception {
@@ -62,44 +129,190 @@ public class Client implements ServiceBase {
     // Parse the options
     opts.parseArgs(Client.class, args);
 
-    // Open up a socket to the server:port
-    TTransport transport = new TSocket(opts.server, opts.port);
-    Map<String,String> saslProperties = new HashMap<String,String>();
-    // Use authorization and confidentiality
-    saslProperties.put(Sasl.QOP, "auth-conf");
-
     log.info("Security is enabled: {}", UserGroupInformation.isSecurityEnabled());
 
-    // Log in via UGI, ensures we have logged in with our KRB credentials
-    UserGroupInformation currentUser = UserGroupInformation.getCurrentUser();
-    log.info("Current user: {}", currentUser);
+    TraceScope traceScope = null;
+    if (opts.trace) {
+      SpanReceiverHost.getInstance(new Configuration());
+      traceScope = Trace.startSpan("Client", Sampler.ALWAYS);
+      log.info("Trace ID: {}", traceScope.getSpan().getTraceId());
+    }
 
-    // SASL client transport -- does the Kerberos lifting for us
-    TSaslClientTransport saslTransport = new TSaslClientTransport(
-        "GSSAPI", // tell SASL to use GSSAPI, which supports Kerberos
-        null, // authorizationid - null
-        opts.primary, // kerberos primary for server - "myprincipal" in myprincipal/my.server.com@MY.REALM
-        opts.instance, // kerberos instance for server - "my.server.com" in myprincipal/my.server.com@MY.REALM
-        saslProperties, // Properties set, above
-        null, // callback handler - null
-        transport); // underlying transport
+    List<ServerKey> servers = new ArrayList<ServerKey>(opts.servers.size());
+    for (String address : opts.servers) {
+      servers.add(ServerKey.parse(address, opts.port, opts.primary, opts.instance));
+    }
+    int compressionThreshold = opts.compression ? opts.compressionThreshold : FrameCompression.DISABLED;
+    HdfsConnection connection = null;
+    HdfsClientPool pool = null;
+    HedgedClient hedgedClient = null;
+    HdfsService.Iface client;
+    if (servers.size() > 1) {
+      if (null != opts.delegationToken || null != opts.fetchDelegationToken) {
+        // A token is only good on the server which issued it
+        throw new IllegalArgumentException("Delegation tokens can only be used with a single --server");
+      }
+      UserGroupInformation currentUser = UserGroupInformation.getCurrentUser();
+      log.info("Current user: {}", currentUser);
 
-    // Make sure the transport is opened as the user we logged in as
-    TUGIAssumingTransport ugiTransport = new TUGIAssumingTransport(saslTransport, currentUser);
+      // Connections are opened on each server as calls need them
+      pool = new HdfsClientPool(currentUser, new HdfsClientPool.Options().sessionCipher(opts.sessionCipher).compressionThreshold(compressionThreshold));
+      hedgedClient = new HedgedClient(pool, servers, new HedgedClient.Options().percentile(opts.hedgePercentile).minDelay(opts.hedgeMinDelayMillis,
+          TimeUnit.MILLISECONDS));
+      client = hedgedClient.getClient();
+      log.info("Hedging read-only calls across {}", servers);
+    } else {
+      connection = connect(servers.get(0), opts, compressionThreshold);
+      client = connection.getClient();
+    }
+    // Counts from here rather than from the start, so that it only covers the calls
+    Deadline.Scope deadlineScope = opts.deadlineMillis > 0 ? Deadline.after(opts.deadlineMillis, TimeUnit.MILLISECONDS).attach() : null;
 
-    // Setup our thrift client to our custom thrift service
-    HdfsService.Client client = new HdfsService.Client(new TBinaryProtocol(ugiTransport));
+    if (null != opts.fetchDelegationToken) {
+      // Only readable by us, like a ticket cache
+      Path tokenFile = Paths.get(opts.fetchDelegationToken);
+      Files.deleteIfExists(tokenFile);
+      Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+      Files.write(tokenFile, connection.getDelegationToken().encodeToUrlString().getBytes(StandardCharsets.UTF_8));
+      log.info("Saved delegation token to {}", tokenFile);
+    }
 
-    // Open the transport
-    ugiTransport.open();
+    if (!opts.batchPaths.isEmpty()) {
+      // Run the operation on every path in one round trip
+      MetadataOp op = MetadataOp.valueOf(opts.batchOp.toUpperCase().replace('-', '_'));
+      List<MetadataRequest> requests = new ArrayList<MetadataRequest>(opts.batchPaths.size());
+      for (String path : opts.batchPaths) {
+        requests.add(new MetadataRequest(op, path));
+      }
+      List<MetadataResult> results = client.batch(requests);
+      for (int i = 0; i < results.size(); i++) {
+        printResult(opts.batchPaths.get(i), results.get(i));
+      }
+    } else if (opts.summary) {
+      // Walked on the server, one round trip
+      TreeSummary summary = client.summarize(opts.dir, opts.maxDepth);
+      System.out.println(String.format("%12d %12d %18d %s", summary.getDirectoryCount(), summary.getFileCount(), summary.getLength(), opts.dir));
+      if (summary.isTruncated()) {
+        System.out.println("Stopped at the maximum depth, deeper entries are not counted");
+      }
+    } else if (opts.recursive) {
+      System.out.println("$ ls -R " + opts.dir);
+      RecursiveListing listing = client.listRecursive(opts.dir, opts.maxDepth, opts.pageSize);
+      while (true) {
+        if (opts.longFormat) {
+          printEntries(listing.getEntries());
+        } else {
+          for (FileEntry entry : listing.getEntries()) {
+            System.out.println(entry.isDirectory() ? entry.getName() + "/" : entry.getName());
+          }
+        }
+        if (null == listing.getCursor()) {
+          break;
+        }
+        listing = client.continueListing(listing.getCursor(), opts.pageSize);
+      }
+      if (listing.isTruncated()) {
+        System.out.println("Stopped at the maximum depth, deeper entries are not listed");
+      }
+    } else if (opts.longFormat) {
+      System.out.println("$ ls -l " + opts.dir);
+      if (opts.pageSize > 0) {
+        String cursor = null;
+        do {
+          EntryPage page = client.listEntriesPage(opts.dir, cursor, opts.pageSize);
+          printEntries(page.getEntries());
+          cursor = page.getCursor();
+        } while (null != cursor);
+      } else {
+        printEntries(client.listEntries(opts.dir));
+      }
+    } else if (opts.pageSize > 0) {
+      // Fetch the listing one page at a time
+      System.out.println("$ ls " + opts.dir);
+      String cursor = null;
+      do {
+        DirectoryPage page = client.lsPage(opts.dir, cursor, opts.pageSize);
+        for (String name : page.getNames()) {
+          System.out.println(name);
+        }
+        cursor = page.getCursor();
+      } while (null != cursor);
+    } else {
+      // Invoke the RPC
+      String response = client.ls(opts.dir);
 
-    // Invoke the RPC
-    String response = client.ls(opts.dir);
+      // Print out the result
+      System.out.println("$ ls " + opts.dir + "\n" + response);
+    }
 
-    // Print out the result
-    System.out.println("$ ls " + opts.dir + "\n" + response);
+    if (null != deadlineScope) {
+      deadlineScope.close();
+    }
 
     // Close the transport (don't leak resources)
-    transport.close();
+    if (null != hedgedClient) {
+      log.info("Sent {} calls to a second server, which answered first {} times", hedgedClient.getHedgedCalls(), hedgedClient.getHedgeWins());
+      hedgedClient.close();
+      pool.close();
+    } else {
+      connection.close();
+    }
+
+    if (null != traceScope) {
+      traceScope.close();
+    }
+  }
+
+  private static HdfsConnection connect(ServerKey server, Opts opts, int compressionThreshold) throws Exception {
+    HdfsConnection connection;
+    // Includes the SASL handshake, which a traced call on the server can't see
+    TraceScope connectScope = Trace.startSpan("Connect");
+    if (null != opts.delegationToken) {
+      // Authenticate with the token, no Kerberos credentials needed
+      Token<DelegationTokenIdentifier> token = HdfsConnection.decodeToken(new String(Files.readAllBytes(Paths.get(opts.delegationToken)),
+          StandardCharsets.UTF_8).trim());
+      connection = HdfsConnection.open(server, token, opts.sessionCipher, compressionThreshold);
+      log.info("Authenticated with delegation token from {}", opts.delegationToken);
+    } else {
+      // Log in via UGI, ensures we have logged in with our KRB credentials
+      UserGroupInformation currentUser = UserGroupInformation.getCurrentUser();
+      log.info("Current user: {}", currentUser);
+
+      // Connect and authenticate as the user we logged in as
+      connection = HdfsConnection.open(server, currentUser, opts.sessionCipher, compressionThreshold);
+    }
+    connectScope.close();
+    log.info("Using session cipher: {}", connection.usesSessionCipher());
+    log.info("Using compression: {}", connection.usesCompression());
+    return connection;
+  }
+
+  private static void printResult(String path, MetadataResult result) {
+    if (result.isSetError()) {
+      System.out.println(path + ": " + result.getError());
+    } else if (result.isSetEntries()) {
+      System.out.println("$ ls -l " + path);
+      printEntries(result.getEntries());
+    } else if (result.isSetEntry()) {
+      printEntries(Collections.singletonList(result.getEntry()));
+    } else if (result.isSetExists()) {
+      System.out.println(path + ": " + (result.isExists() ? "exists" : "does not exist"));
+    } else if (result.isSetSummary()) {
+      // Same columns as `hdfs dfs -count`
+      PathSummary summary = result.getSummary();
+      System.out.println(String.format("%12d %12d %18d %s", summary.getDirectoryCount(), summary.getFileCount(), summary.getLength(), path));
+    }
+  }
+
+  /**
+   * Print entries in the same layout as `hdfs dfs -ls`
+   */
+  private static void printEntries(List<FileEntry> entries) {
+    SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+    for (FileEntry entry : entries) {
+      System.out.println(String.format("%s%s %3s %s %s %10d %s %s", entry.isDirectory() ? "d" : "-", new FsPermission(entry.getPermission()),
+          entry.isDirectory() ? "-" : Short.toString(entry.getReplication()), entry.getOwner(), entry.getGroup(), entry.getLength(),
+          dateFormat.format(new Date(entry.getModificationTime())), entry.getName()));
+    }
   }
 }
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+
+import joshelser.thrift.CallDeadline;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TMessage;
+import org.apache.thrift.protocol.TMessageType;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolDecorator;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+/**
+ * The time by which a call must finish, sent from the client to the server with the call so that the server can stop working on calls the client has given
+ * up on.
+ *
+ * A client {@link #attach() attaches} a deadline to the calls it makes on a thread. Each call then sends the time it has left as the body of a oneway
+ * {@link #ENVELOPE} message just ahead of the call, like {@link RpcTracing}, and the client stops waiting for the response once that time is up. The
+ * connection is then out of step with the server and must be closed.
+ *
+ * The server counts the time left from when the call arrived. It refuses a call which has already run out of time, and otherwise attaches the deadline while
+ * serving the call. Hadoop 2.6's RPC client waits out interrupts, so a NameNode call can't be abandoned once it has been made. Instead, the server
+ * {@link #check() checks} the deadline before each call to HDFS, and stops waiting for work it handed to other threads once the deadline passes.
+ */
+public class Deadline {
+  public static final String ENVELOPE = "__deadline";
+
+  private static final ThreadLocal<Deadline> current = new ThreadLocal<Deadline>();
+
+  private final long deadlineNanos;
+  private volatile boolean cancelled = false;
+
+  private Deadline(long deadlineNanos) {
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  /**
+   * @return A deadline this long from now
+   */
+  public static Deadline after(long timeout, TimeUnit unit) {
+    return new Deadline(System.nanoTime() + unit.toNanos(timeout));
+  }
+
+  /**
+   * @return The deadline attached to the current thread, or null if there isn't one
+   */
+  public static Deadline current() {
+    return current.get();
+  }
+
+  /**
+   * Stop work for the current thread's call if its deadline has passed.
+   */
+  public static void check() throws DeadlineExceededException {
+    Deadline deadline = current.get();
+    if (null != deadline) {
+      deadline.checkExpired();
+    }
+  }
+
+  /**
+   * @return Time left until the deadline, which is negative once it has passed
+   */
+  public long remaining(TimeUnit unit) {
+    return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+  }
+
+  public boolean isExpired() {
+    return deadlineNanos - System.nanoTime() <= 0;
+  }
+
+  /**
+   * Stop work if the deadline has passed.
+   */
+  public void checkExpired() throws DeadlineExceededException {
+    if (isExpired()) {
+      throw exceeded();
+    }
+  }
+
+  /**
+   * Give up on the work because the deadline has passed.
+   *
+   * @return The exception to stop the work with
+   */
+  public DeadlineExceededException exceeded() {
+    cancelled = true;
+    return new DeadlineExceededException("Deadline passed " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - deadlineNanos) + "ms ago");
+  }
+
+  /**
+   * @return True if work was given up on because of this deadline
+   */
+  public boolean wasCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Make this the deadline of the calls made on the current thread, until the returned scope is closed.
+   */
+  public Scope attach() {
+    Scope scope = new Scope(current.get());
+    current.set(this);
+    return scope;
+  }
+
+  /**
+   * Restores the deadline which was attached before when closed.
+   */
+  public static class Scope implements Closeable {
+    private final Deadline previous;
+
+    private Scope(Deadline previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      if (null == previous) {
+        current.remove();
+      } else {
+        current.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Wrap a client's protocol so that calls made with a deadline attached send it to the server, and give up waiting for the response when it passes.
+   *
+   * @param socket
+   *          Socket under the protocol, whose read timeout is set for each call
+   */
+  public static TProtocol clientProtocol(TProtocol protocol, TSocket socket) {
+    return new ClientProtocol(protocol, socket);
+  }
+
+  /**
+   * Wrap the protocol of a client with several calls outstanding at once, like {@link HdfsAsyncClient}, so that calls made with a deadline attached send it
+   * to the server. The socket's read timeout is shared by every outstanding call and is left alone, so the client must give up on each call itself.
+   */
+  public static TProtocol pipelinedClientProtocol(TProtocol protocol) {
+    return new ClientProtocol(protocol, null);
+  }
+
+  /**
+   * Sends the envelope ahead of each call made with a deadline, and sets the socket's read timeout if there is one.
+   */
+  private static class ClientProtocol extends TProtocolDecorator {
+    private final TSocket socket;
+    private boolean timeoutSet = false;
+
+    ClientProtocol(TProtocol protocol, TSocket socket) {
+      super(protocol);
+      this.socket = socket;
+    }
+
+    @Override
+    public void writeMessageBegin(TMessage message) throws TException {
+      Deadline deadline = current.get();
+      // Leave other envelopes as they are
+      if (null != deadline && TMessageType.ONEWAY != message.type) {
+        long remainingMillis = deadline.remaining(TimeUnit.MILLISECONDS);
+        if (null == socket) {
+          // Other calls are already on the wire, so send it anyway and let the server refuse it
+          remainingMillis = Math.max(0, remainingMillis);
+        } else if (remainingMillis <= 0) {
+          throw new TTransportException(TTransportException.TIMED_OUT, "Deadline passed before the call was sent");
+        }
+        super.writeMessageBegin(new TMessage(ENVELOPE, TMessageType.ONEWAY, message.seqid));
+        new CallDeadline(remainingMillis).write(this);
+        super.writeMessageEnd();
+        if (null != socket) {
+          socket.setTimeout((int) Math.min(Integer.MAX_VALUE, remainingMillis));
+          timeoutSet = true;
+        }
+      } else if (timeoutSet) {
+        socket.setTimeout(0);
+        timeoutSet = false;
+      }
+      super.writeMessageBegin(message);
+    }
+  }
+
+  /**
+   * Reads the envelope, if there is one, along with the call it precedes. Only used for one call.
+   */
+  static class ServerProtocol extends TProtocolDecorator {
+    private Deadline deadline = null;
+
+    ServerProtocol(TProtocol protocol) {
+      super(protocol);
+    }
+
+    @Override
+    public TMessage readMessageBegin() throws TException {
+      TMessage message = super.readMessageBegin();
+      if (TMessageType.ONEWAY == message.type && ENVELOPE.equals(message.name)) {
+        long arrivalNanos = arrivalNanos(getTransport());
+        CallDeadline envelope = new CallDeadline();
+        envelope.read(this);
+        super.readMessageEnd();
+        deadline = new Deadline(arrivalNanos + TimeUnit.MILLISECONDS.toNanos(envelope.getTimeoutMillis()));
+        message = super.readMessageBegin();
+      }
+      return message;
+    }
+
+    /**
+     * @return The deadline of the last call read, or null if the client didn't set one
+     */
+    Deadline getDeadline() {
+      return deadline;
+    }
+  }
+
+  /**
+   * @return When the request being read from the transport arrived, or now if the transport reads it straight off the connection
+   */
+  static long arrivalNanos(TTransport trans) {
+    while (true) {
+      if (trans instanceof ArrivalTimeSource) {
+        return ((ArrivalTimeSource) trans).getArrivalNanos();
+      } else if (trans instanceof TFilterTransport) {
+        trans = ((TFilterTransport) trans).getWrapped();
+      } else {
+        return System.nanoTime();
+      }
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Picks the priority of each call from how much of the server's recent traffic its caller sent, like Hadoop IPC's DecayRpcScheduler.
+ *
+ * Every call adds one to its caller's volume, and every decay period all volumes are halved, so a caller's volume follows its recent rate. A caller with at
+ * least half of the total volume gets the lowest priority, {@code levels - 1}. Each level above it takes half the share of the one below, down to priority 0
+ * for callers with less than {@code 1/2^(levels-1)} of the volume, which is where a new or occasional caller lands.
+ */
+public class DecayScheduler implements Closeable {
+  public static final int DEFAULT_LEVELS = 4;
+  public static final long DEFAULT_PERIOD_MILLIS = 5000;
+  public static final double DECAY_FACTOR = 0.5;
+
+  private final int levels;
+  // Smallest share of the volume for each priority above 0
+  private final double[] thresholds;
+  private final long periodMillis;
+  private final ConcurrentMap<String,Caller> callers = new ConcurrentHashMap<String,Caller>();
+  private final AtomicLong totalVolume = new AtomicLong();
+  private final ScheduledExecutorService decayer;
+
+  /**
+   * @param levels
+   *          Number of priorities, at least 1
+   * @param period
+   *          How often volumes are decayed
+   */
+  public DecayScheduler(int levels, long period, TimeUnit unit) {
+    Preconditions.checkArgument(levels > 0, "Need at least one priority level");
+    Preconditions.checkArgument(period > 0, "Decay period must be positive");
+    this.levels = levels;
+    this.periodMillis = unit.toMillis(period);
+    this.thresholds = new double[levels - 1];
+    for (int i = 0; i < thresholds.length; i++) {
+      thresholds[i] = 1.0 / (1L << (levels - 1 - i));
+    }
+    this.decayer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "call-volume-decay");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+  }
+
+  public void start() {
+    decayer.scheduleAtFixedRate(new Runnable() {
+      @Override
+      public void run() {
+        decay();
+      }
+    }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void close() {
+    decayer.shutdownNow();
+  }
+
+  public int getLevels() {
+    return levels;
+  }
+
+  /**
+   * Count a call from the caller.
+   *
+   * @return The priority to serve it at, 0 being the highest
+   */
+  public int priority(String name) {
+    Caller caller = callers.get(name);
+    if (null == caller) {
+      Caller created = new Caller(name);
+      caller = callers.putIfAbsent(name, created);
+      if (null == caller) {
+        caller = created;
+      }
+    }
+    caller.recent.incrementAndGet();
+    long volume = caller.volume.incrementAndGet();
+    return priority(volume, totalVolume.incrementAndGet());
+  }
+
+  private int priority(long volume, long total) {
+    double share = 0 == total ? 0 : (double) volume / total;
+    for (int i = thresholds.length - 1; i >= 0; i--) {
+      if (share >= thresholds[i]) {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  void decay() {
+    long total = 0;
+    for (Map.Entry<String,Caller> entry : callers.entrySet()) {
+      Caller caller = entry.getValue();
+      long recent = caller.recent.getAndSet(0);
+      caller.callsPerSecond = recent * 1000.0 / periodMillis;
+      long volume = caller.volume.get();
+      long decayed = (long) (volume * DECAY_FACTOR);
+      volume = caller.volume.addAndGet(decayed - volume);
+      if (0 == volume && 0 == recent) {
+        // Quiet for long enough to have decayed away
+        callers.remove(entry.getKey(), caller);
+      } else {
+        total += volume;
+      }
+    }
+    // Summed rather than decayed, so calls counted while the volumes were being decayed don't leave it off for good
+    totalVolume.set(total);
+  }
+
+  /**
+   * @return Up to the given number of callers with the most volume, the largest first
+   */
+  public List<Caller> getTopCallers(int count) {
+    // Sort on a snapshot, since calls and decays keep changing the volumes and the sort needs them to stay put
+    final Map<Caller,Long> volumes = new HashMap<Caller,Long>();
+    for (Caller caller : callers.values()) {
+      volumes.put(caller, caller.volume.get());
+    }
+    List<Caller> top = new ArrayList<Caller>(volumes.keySet());
+    Collections.sort(top, new Comparator<Caller>() {
+      @Override
+      public int compare(Caller a, Caller b) {
+        return Long.compare(volumes.get(b), volumes.get(a));
+      }
+    });
+    return top.size() > count ? top.subList(0, count) : top;
+  }
+
+  /**
+   * The recent traffic of one caller.
+   */
+  public class Caller {
+    private final String name;
+    private final AtomicLong volume = new AtomicLong();
+    // Calls since the last decay
+    private final AtomicLong recent = new AtomicLong();
+    private volatile double callsPerSecond = 0;
+
+    Caller(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return The rate of calls over the last decay period
+     */
+    public double getCallsPerSecond() {
+      return callsPerSecond;
+    }
+
+    /**
+     * @return The priority the caller's next call would get
+     */
+    public int getPriority() {
+      return priority(volume.get(), totalVolume.get());
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.security.token.delegation.AbstractDelegationTokenIdentifier;
+
+/**
+ * Identifies a delegation token issued by the {@link joshelser.thrift.HdfsService} server to one of its users.
+ */
+public class DelegationTokenIdentifier extends AbstractDelegationTokenIdentifier {
+  public static final Text KIND = new Text("KRB_THRIFT_DELEGATION_TOKEN");
+
+  /**
+   * Create an empty identifier, to read a serialized one into
+   */
+  public DelegationTokenIdentifier() {}
+
+  /**
+   * @param owner
+   *          User the token authenticates as
+   * @param renewer
+   *          User allowed to renew the token
+   * @param realUser
+   *          User who requested the token on behalf of the owner, if any
+   */
+  public DelegationTokenIdentifier(Text owner, Text renewer, Text realUser) {
+    super(owner, renewer, realUser);
+  }
+
+  @Override
+  public Text getKind() {
+    return KIND;
+  }
+}
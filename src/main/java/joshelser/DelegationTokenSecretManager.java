@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.security.SaslRpcServer;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.security.token.Token;
+import org.apache.hadoop.security.token.delegation.AbstractDelegationTokenSecretManager;
+
+/**
+ * Issues and checks the delegation tokens which let a client reconnect with DIGEST-MD5 instead of a Kerberos handshake.
+ *
+ * The secret keys are rolled every key update interval and are only held in memory, so a token is only accepted by the server which issued it, until it
+ * expires or that server restarts. Tokens are not renewed; a client gets a new one over a Kerberos connection.
+ */
+public class DelegationTokenSecretManager extends AbstractDelegationTokenSecretManager<DelegationTokenIdentifier> {
+  /**
+   * SASL mechanism and server name for connections authenticated with a token
+   */
+  public static final String MECHANISM = "DIGEST-MD5";
+  public static final String SERVER_NAME = SaslRpcServer.SASL_DEFAULT_REALM;
+
+  public static final long DEFAULT_KEY_UPDATE_HOURS = 24;
+  public static final long DEFAULT_TOKEN_LIFETIME_HOURS = 24;
+
+  private static final long REMOVER_SCAN_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+  /**
+   * @param keyUpdateInterval
+   *          How often to start signing tokens with a new key
+   * @param tokenLifetime
+   *          How long a token is valid for after it is issued
+   */
+  public DelegationTokenSecretManager(long keyUpdateInterval, long tokenLifetime, TimeUnit unit) {
+    super(unit.toMillis(keyUpdateInterval), unit.toMillis(tokenLifetime), unit.toMillis(tokenLifetime), Math.min(REMOVER_SCAN_MILLIS,
+        unit.toMillis(tokenLifetime)));
+  }
+
+  @Override
+  public DelegationTokenIdentifier createIdentifier() {
+    return new DelegationTokenIdentifier();
+  }
+
+  /**
+   * Issue a token which authenticates as the given user.
+   */
+  public Token<DelegationTokenIdentifier> issue(UserGroupInformation owner) {
+    Text name = new Text(owner.getUserName());
+    return new Token<DelegationTokenIdentifier>(new DelegationTokenIdentifier(name, name, null), this);
+  }
+
+  /**
+   * Read the owner of a token which has already been checked, e.g. by the SASL negotiation of the connection, without needing the secret manager.
+   *
+   * @param authorizationId
+   *          Authorization ID of a connection authenticated with a token
+   * @return The user the token was issued to
+   */
+  public static String decodeOwner(String authorizationId) throws InvalidToken {
+    DelegationTokenIdentifier identifier = new DelegationTokenIdentifier();
+    try {
+      identifier.readFields(new DataInputStream(new ByteArrayInputStream(Base64.decodeBase64(authorizationId.getBytes(StandardCharsets.UTF_8)))));
+    } catch (IOException e) {
+      throw (InvalidToken) new InvalidToken("Could not read token identifier").initCause(e);
+    }
+    return identifier.getUser().getUserName();
+  }
+
+  /**
+   * The SASL user name for a token, as {@link SaslRpcServer#getIdentifier(String, org.apache.hadoop.security.token.SecretManager)} decodes it
+   */
+  public static String encodeIdentifier(byte[] identifier) {
+    return new String(Base64.encodeBase64(identifier, false), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The SASL password for a token
+   */
+  public static char[] encodePassword(byte[] password) {
+    return new String(Base64.encodeBase64(password, false), StandardCharsets.UTF_8).toCharArray();
+  }
+}
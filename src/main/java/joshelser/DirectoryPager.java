@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hdfs.DFSClient;
+import org.apache.hadoop.hdfs.DFSUtil;
+import org.apache.hadoop.hdfs.DistributedFileSystem;
+import org.apache.hadoop.hdfs.protocol.DirectoryListing;
+import org.apache.hadoop.hdfs.protocol.HdfsFileStatus;
+
+/**
+ * Reads a single page of a directory listing, starting after a given name.
+ *
+ * On HDFS, this uses the NameNode's partial listing (the same iteration DFSClient does internally for listStatus) so that only one page worth of entries is
+ * ever held in memory. Other FileSystems have no way to resume a listing, so the full listing is sorted and sliced.
+ */
+public class DirectoryPager {
+  public static final int DEFAULT_PAGE_SIZE = 1000;
+  public static final int MAX_PAGE_SIZE = 10000;
+
+  private static final Comparator<FileStatus> BY_NAME = new Comparator<FileStatus>() {
+    @Override
+    public int compare(FileStatus o1, FileStatus o2) {
+      return o1.getPath().getName().compareTo(o2.getPath().getName());
+    }
+  };
+
+  /**
+   * One page of a directory listing.
+   */
+  public static class Page {
+    private final List<FileStatus> statuses;
+    private final boolean hasMore;
+
+    Page(List<FileStatus> statuses, boolean hasMore) {
+      this.statuses = statuses;
+      this.hasMore = hasMore;
+    }
+
+    public List<FileStatus> getStatuses() {
+      return statuses;
+    }
+
+    /**
+     * @return True if the directory has entries after this page
+     */
+    public boolean hasMore() {
+      return hasMore;
+    }
+
+    /**
+     * @return The name to resume the listing after, or null if there are no further entries
+     */
+    public String getCursor() {
+      if (!hasMore || statuses.isEmpty()) {
+        return null;
+      }
+      return statuses.get(statuses.size() - 1).getPath().getName();
+    }
+  }
+
+  /**
+   * Normalize a client-provided page size into the range this server is willing to return.
+   */
+  public static int pageSize(int limit) {
+    if (limit <= 0) {
+      return DEFAULT_PAGE_SIZE;
+    }
+    return Math.min(limit, MAX_PAGE_SIZE);
+  }
+
+  /**
+   * List at most <code>limit</code> entries of <code>directory</code> whose names sort after <code>startAfter</code>.
+   *
+   * @param startAfter
+   *          Name of the last entry already seen, null or empty to start at the beginning
+   */
+  public static Page list(FileSystem fs, Path directory, String startAfter, int limit) throws IOException {
+    limit = pageSize(limit);
+    if (fs instanceof DistributedFileSystem) {
+      return listHdfs((DistributedFileSystem) fs, directory, startAfter, limit);
+    }
+    return listGeneric(fs, directory, startAfter, limit);
+  }
+
+  private static Page listHdfs(DistributedFileSystem fs, Path directory, String startAfter, int limit) throws IOException {
+    DFSClient client = fs.getClient();
+    Path qualified = fs.makeQualified(directory);
+    String src = qualified.toUri().getPath();
+    byte[] cursor = (null == startAfter || startAfter.isEmpty()) ? HdfsFileStatus.EMPTY_NAME : DFSUtil.string2Bytes(startAfter);
+
+    List<FileStatus> statuses = new ArrayList<FileStatus>(Math.min(limit, DEFAULT_PAGE_SIZE));
+    while (true) {
+      DirectoryListing listing = client.listPaths(src, cursor);
+      if (null == listing) {
+        throw new FileNotFoundException("File " + directory + " does not exist.");
+      }
+
+      HdfsFileStatus[] partial = listing.getPartialListing();
+      int i = 0;
+      for (; i < partial.length && statuses.size() < limit; i++) {
+        statuses.add(partial[i].makeQualified(fs.getUri(), qualified));
+      }
+
+      if (statuses.size() >= limit) {
+        return new Page(statuses, i < partial.length || listing.hasMore());
+      }
+      if (!listing.hasMore()) {
+        return new Page(statuses, false);
+      }
+      cursor = listing.getLastName();
+    }
+  }
+
+  private static Page listGeneric(FileSystem fs, Path directory, String startAfter, int limit) throws IOException {
+    FileStatus[] all = fs.listStatus(directory);
+    Arrays.sort(all, BY_NAME);
+
+    int start = 0;
+    if (null != startAfter && !startAfter.isEmpty()) {
+      while (start < all.length && all[start].getPath().getName().compareTo(startAfter) <= 0) {
+        start++;
+      }
+    }
+
+    int end = Math.min(all.length, start + limit);
+    return new Page(new ArrayList<FileStatus>(Arrays.asList(all).subList(start, end)), end < all.length);
+  }
+}
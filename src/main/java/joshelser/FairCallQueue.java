@@ -0,0 +1,323 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.security.sasl.SaslServer;
+
+import org.apache.hadoop.security.token.SecretManager.InvalidToken;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A work queue for a pool of workers which serves callers by priority, so that one caller sending far more calls than anyone else can't hold up everyone
+ * else's, like Hadoop IPC's FairCallQueue.
+ *
+ * Tasks implementing {@link Prioritized} wait at their priority, picked by the {@link DecayScheduler} when the call was read. Anything else, such as SASL
+ * negotiation, waits at priority 0. Workers take from the priorities in weighted round robin: 2^(levels-1) tasks from priority 0, then half as many from
+ * priority 1, and so on, moving on early from an empty priority. The lowest priority is still served every round, so a heavy caller's calls are slowed rather
+ * than dropped.
+ *
+ * Like a LinkedBlockingQueue, the queue is unbounded and takes one lock for each task added or taken.
+ */
+public class FairCallQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+  /**
+   * A task which knows the priority it should wait at.
+   */
+  public interface Prioritized {
+    int getPriority();
+  }
+
+  private final DecayScheduler scheduler;
+  private final List<Deque<Runnable>> queues;
+  private final int[] weights;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private int count = 0;
+  // Round robin position: the priority being served and how many tasks it has had this turn
+  private int current = 0;
+  private int served = 0;
+
+  public FairCallQueue(DecayScheduler scheduler) {
+    this.scheduler = scheduler;
+    int levels = scheduler.getLevels();
+    this.queues = new ArrayList<Deque<Runnable>>(levels);
+    this.weights = new int[levels];
+    for (int i = 0; i < levels; i++) {
+      queues.add(new ArrayDeque<Runnable>());
+      weights[i] = 1 << (levels - 1 - i);
+    }
+  }
+
+  public DecayScheduler getScheduler() {
+    return scheduler;
+  }
+
+  public int getLevels() {
+    return queues.size();
+  }
+
+  /**
+   * Count a call from the caller with the scheduler.
+   *
+   * @param caller
+   *          The caller, or null if not known yet
+   * @return The priority for the task serving the call
+   */
+  public int priorityOf(String caller) {
+    return null == caller ? 0 : scheduler.priority(caller);
+  }
+
+  /**
+   * The caller a connection's calls are counted against: the Kerberos principal it authenticated as, or the owner of the delegation token it used.
+   */
+  public static String callerOf(SaslServer saslServer) {
+    String authId = saslServer.getAuthorizationID();
+    if (DelegationTokenSecretManager.MECHANISM.equals(saslServer.getMechanismName())) {
+      try {
+        return DelegationTokenSecretManager.decodeOwner(authId);
+      } catch (InvalidToken e) {
+        // Already accepted by the negotiation, so this shouldn't happen. Still counted, just apart from the owner's other connections
+        return authId;
+      }
+    }
+    return authId;
+  }
+
+  /**
+   * @return The number of tasks waiting at the priority
+   */
+  public int size(int priority) {
+    lock.lock();
+    try {
+      return queues.get(priority).size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offer(Runnable task) {
+    Preconditions.checkNotNull(task);
+    int priority = task instanceof Prioritized ? ((Prioritized) task).getPriority() : 0;
+    priority = Math.max(0, Math.min(queues.size() - 1, priority));
+    lock.lock();
+    try {
+      queues.get(priority).add(task);
+      count++;
+      notEmpty.signal();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void put(Runnable task) {
+    offer(task);
+  }
+
+  @Override
+  public boolean offer(Runnable task, long timeout, TimeUnit unit) {
+    return offer(task);
+  }
+
+  @Override
+  public Runnable take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (0 == count) {
+        notEmpty.await();
+      }
+      return dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (0 == count) {
+        if (nanos <= 0) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      return dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable poll() {
+    lock.lock();
+    try {
+      return 0 == count ? null : dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Runnable peek() {
+    lock.lock();
+    try {
+      int next = next();
+      return -1 == next ? null : queues.get(next).peek();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    lock.lock();
+    try {
+      for (Deque<Runnable> queue : queues) {
+        if (queue.remove(o)) {
+          count--;
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> c) {
+    return drainTo(c, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super Runnable> c, int maxElements) {
+    Preconditions.checkArgument(c != this, "Can't drain a queue to itself");
+    lock.lock();
+    try {
+      int drained = 0;
+      while (drained < maxElements && count > 0) {
+        c.add(dequeue());
+        drained++;
+      }
+      return drained;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Iterates over a copy of the tasks, in order of priority rather than the order they would be taken in.
+   */
+  @Override
+  public Iterator<Runnable> iterator() {
+    final List<Runnable> copy = new ArrayList<Runnable>();
+    lock.lock();
+    try {
+      for (Deque<Runnable> queue : queues) {
+        copy.addAll(queue);
+      }
+    } finally {
+      lock.unlock();
+    }
+    final Iterator<Runnable> it = copy.iterator();
+    return new Iterator<Runnable>() {
+      private Runnable last = null;
+
+      @Override
+      public boolean hasNext() {
+        return it.hasNext();
+      }
+
+      @Override
+      public Runnable next() {
+        last = it.next();
+        return last;
+      }
+
+      @Override
+      public void remove() {
+        Preconditions.checkState(null != last, "next() has not been called");
+        FairCallQueue.this.remove(last);
+        last = null;
+      }
+    };
+  }
+
+  /**
+   * @return The priority the next task would be taken from, or -1 if there are none. Called with the lock held
+   */
+  private int next() {
+    for (int i = 0; i < queues.size(); i++) {
+      int priority = (current + i) % queues.size();
+      if (!queues.get(priority).isEmpty()) {
+        return priority;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Take the next task, of which there must be at least one. Called with the lock held.
+   */
+  private Runnable dequeue() {
+    int priority = next();
+    if (priority != current) {
+      // Nothing left at the current priority, so its turn is over
+      current = priority;
+      served = 0;
+    }
+    Runnable task = queues.get(priority).poll();
+    count--;
+    if (++served >= weights[priority]) {
+      current = (priority + 1) % queues.size();
+      served = 0;
+    }
+    return task;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import joshelser.thrift.FileEntry;
+
+import org.apache.hadoop.fs.FileStatus;
+
+/**
+ * Conversions from Hadoop's FileStatus to the Thrift FileEntry struct.
+ */
+public class FileEntries {
+
+  private FileEntries() {}
+
+  public static FileEntry fromStatus(FileStatus stat) {
+    return fromStatus(stat, stat.getPath().getName());
+  }
+
+  /**
+   * @param name
+   *          Name to report for the entry, e.g. a path relative to some parent rather than the final component
+   */
+  public static FileEntry fromStatus(FileStatus stat, String name) {
+    FileEntry entry = new FileEntry();
+    entry.setName(name);
+    entry.setDirectory(stat.isDirectory());
+    entry.setLength(stat.getLen());
+    entry.setModificationTime(stat.getModificationTime());
+    entry.setAccessTime(stat.getAccessTime());
+    entry.setOwner(stat.getOwner());
+    entry.setGroup(stat.getGroup());
+    entry.setPermission(stat.getPermission().toShort());
+    entry.setReplication(stat.getReplication());
+    entry.setBlockSize(stat.getBlockSize());
+    return entry;
+  }
+
+  public static List<FileEntry> fromStatuses(Collection<FileStatus> stats) {
+    List<FileEntry> entries = new ArrayList<FileEntry>(stats.size());
+    for (FileStatus stat : stats) {
+      entries.add(fromStatus(stat));
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+/**
+ * LZ4 compression of each message on a connection, applied before the message is protected by the SASL security layer or a {@link SessionCipher}, so that
+ * the redundancy in large listings is neither encrypted nor sent.
+ *
+ * Like a session cipher, compression is requested by the client with a negotiation message after the SASL handshake (and after any session cipher
+ * negotiation), and the server either agrees or declines. Each end then compresses the messages it writes which are at least its own threshold in size and
+ * which LZ4 actually makes smaller; every other message is sent as is. The reader can tell the two apart from the header of each message.
+ *
+ * Negotiation messages are {@code MAGIC, length, body}, with a magic number which can't start a message written by a strict TBinaryProtocol.
+ */
+public class FrameCompression {
+  public static final String CODEC = "lz4";
+  public static final int DEFAULT_THRESHOLD_BYTES = 1024;
+  // Don't ask for compression when opening a connection
+  public static final int DISABLED = -1;
+
+  static final int MAGIC = 0x4b545a31; // "KTZ1"
+  private static final int HEADER_BYTES = 8;
+  private static final int MAX_BODY_BYTES = 4096;
+
+  // Each message starts with the codec it was written with, its length on the wire and its original length
+  static final int MESSAGE_HEADER_BYTES = 9;
+  private static final byte STORED = 0;
+  private static final byte LZ4 = 1;
+
+  private static final LZ4Factory lz4 = LZ4Factory.fastestInstance();
+
+  private final int threshold;
+  private final LZ4Compressor compressor = lz4.fastCompressor();
+  // The peer's messages are untrusted, so only read the compressed bytes it sent rather than trusting the original length in its header
+  private final LZ4SafeDecompressor decompressor = lz4.safeDecompressor();
+
+  /**
+   * @param threshold
+   *          Messages smaller than this many bytes are written without compressing them
+   */
+  public FrameCompression(int threshold) {
+    this.threshold = threshold;
+  }
+
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * @return The message with its header, compressed if it is large enough and compresses
+   */
+  public byte[] compress(byte[] buf, int off, int len) {
+    if (len >= threshold) {
+      byte[] compressed = new byte[MESSAGE_HEADER_BYTES + compressor.maxCompressedLength(len)];
+      int compressedLength = compressor.compress(buf, off, len, compressed, MESSAGE_HEADER_BYTES);
+      if (compressedLength < len) {
+        writeHeader(compressed, LZ4, compressedLength, len);
+        return Arrays.copyOf(compressed, MESSAGE_HEADER_BYTES + compressedLength);
+      }
+    }
+    byte[] stored = new byte[MESSAGE_HEADER_BYTES + len];
+    writeHeader(stored, STORED, len, len);
+    System.arraycopy(buf, off, stored, MESSAGE_HEADER_BYTES, len);
+    return stored;
+  }
+
+  /**
+   * Decompress a whole message, including its header.
+   */
+  public byte[] decompress(byte[] buf, int off, int len, int maxLength) throws TTransportException {
+    if (len < MESSAGE_HEADER_BYTES) {
+      throw new TTransportException("Compressed message too short");
+    }
+    byte codec = buf[off];
+    int length = wireLength(buf, off, maxLength);
+    if (length != len - MESSAGE_HEADER_BYTES) {
+      throw new TTransportException("Compressed message length " + length + " doesn't match frame of " + len);
+    }
+    return decompress(codec, buf, off + MESSAGE_HEADER_BYTES, length, originalLength(buf, off, maxLength));
+  }
+
+  /**
+   * @return The number of bytes following the header of a message
+   */
+  static int wireLength(byte[] header, int off, int maxLength) throws TTransportException {
+    int length = ByteBuffer.wrap(header, off + 1, 4).getInt();
+    if (length < 0 || length > maxLength) {
+      throw new TTransportException("Invalid compressed message length " + length);
+    }
+    return length;
+  }
+
+  static int originalLength(byte[] header, int off, int maxLength) throws TTransportException {
+    int length = ByteBuffer.wrap(header, off + 5, 4).getInt();
+    if (length < 0 || length > maxLength) {
+      throw new TTransportException("Invalid uncompressed message length " + length);
+    }
+    return length;
+  }
+
+  /**
+   * Decompress the body of a message whose header has been read separately.
+   */
+  byte[] decompress(byte codec, byte[] buf, int off, int len, int originalLength) throws TTransportException {
+    if (STORED == codec) {
+      if (len != originalLength) {
+        throw new TTransportException("Stored message length " + len + " doesn't match " + originalLength);
+      }
+      return Arrays.copyOfRange(buf, off, off + len);
+    } else if (LZ4 != codec) {
+      throw new TTransportException("Unknown compression codec " + codec);
+    }
+    byte[] message = new byte[originalLength];
+    try {
+      int decompressed = decompressor.decompress(buf, off, len, message, 0, originalLength);
+      if (decompressed != originalLength) {
+        throw new TTransportException("Compressed message decompressed to " + decompressed + " bytes instead of " + originalLength);
+      }
+    } catch (LZ4Exception e) {
+      throw new TTransportException("Could not decompress message", e);
+    }
+    return message;
+  }
+
+  private static void writeHeader(byte[] message, byte codec, int length, int originalLength) {
+    ByteBuffer.wrap(message, 0, MESSAGE_HEADER_BYTES).put(codec).putInt(length).putInt(originalLength);
+  }
+
+  /**
+   * Ask the server to compress messages. Must be called on a freshly opened transport, after any session cipher negotiation and before any RPC.
+   *
+   * @param threshold
+   *          Messages smaller than this many bytes are written without compressing them
+   * @return The compression to use for the rest of the connection, or null if the server declined
+   */
+  public static FrameCompression request(TTransport transport, int threshold) throws TTransportException {
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(baos);
+      out.writeShort(1);
+      out.writeUTF(CODEC);
+      out.close();
+      transport.write(message(baos.toByteArray()));
+      transport.flush();
+
+      byte[] header = new byte[HEADER_BYTES];
+      transport.readAll(header, 0, HEADER_BYTES);
+      if (!isNegotiation(header)) {
+        throw new TTransportException("Unexpected reply to compression request");
+      }
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(readBody(transport, header)));
+      String codec = in.readUTF();
+      if (codec.isEmpty()) {
+        return null;
+      } else if (!CODEC.equals(codec)) {
+        throw new TTransportException("Server chose unsupported compression codec " + codec);
+      }
+      return new FrameCompression(threshold);
+    } catch (IOException e) {
+      throw new TTransportException("Could not negotiate compression", e);
+    }
+  }
+
+  /**
+   * @return True if the message (at least its first four bytes) is a negotiation request
+   */
+  public static boolean isNegotiation(byte[] message) {
+    return message.length >= 4 && MAGIC == ByteBuffer.wrap(message).getInt(0);
+  }
+
+  /**
+   * Read the rest of a negotiation request whose header has already been read from the transport.
+   */
+  static byte[] readBody(TTransport transport, byte[] header) throws TTransportException {
+    int length = ByteBuffer.wrap(header, 4, 4).getInt();
+    if (length < 0 || length > MAX_BODY_BYTES) {
+      throw new TTransportException("Invalid compression message length " + length);
+    }
+    byte[] body = new byte[length];
+    transport.readAll(body, 0, length);
+    return body;
+  }
+
+  /**
+   * Answer a client's request, either agreeing to a codec or declining.
+   *
+   * @param message
+   *          The whole request, including the header
+   * @param threshold
+   *          The server's threshold for compressing the messages it writes, or {@link #DISABLED} to decline
+   */
+  public static Response respond(byte[] message, int threshold) throws TTransportException {
+    if (message.length < HEADER_BYTES || message.length - HEADER_BYTES != ByteBuffer.wrap(message, 4, 4).getInt()) {
+      throw new TTransportException("Invalid compression request");
+    }
+    try {
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(message, HEADER_BYTES, message.length - HEADER_BYTES));
+      boolean offered = false;
+      for (int i = in.readShort(); i > 0; i--) {
+        offered |= CODEC.equals(in.readUTF());
+      }
+
+      boolean accepted = DISABLED != threshold && offered;
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(baos);
+      out.writeUTF(accepted ? CODEC : "");
+      out.close();
+      return new Response(message(baos.toByteArray()), accepted ? new FrameCompression(threshold) : null);
+    } catch (IOException e) {
+      throw new TTransportException("Could not negotiate compression", e);
+    }
+  }
+
+  private static byte[] message(byte[] body) {
+    return ByteBuffer.allocate(HEADER_BYTES + body.length).putInt(MAGIC).putInt(body.length).put(body).array();
+  }
+
+  /**
+   * The server's reply to a request, and the compression to use if it accepted.
+   */
+  public static class Response {
+    private final byte[] message;
+    private final FrameCompression compression;
+
+    Response(byte[] message, FrameCompression compression) {
+      this.message = message;
+      this.compression = compression;
+    }
+
+    /**
+     * @return The reply to send to the client
+     */
+    public byte[] getMessage() {
+      return message;
+    }
+
+    /**
+     * @return The compression to switch to once the reply is sent, or null if declined
+     */
+    public FrameCompression getCompression() {
+      return compression;
+    }
+  }
+}
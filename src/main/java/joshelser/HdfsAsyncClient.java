@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import joshelser.thrift.DirectoryPage;
+import joshelser.thrift.EntryPage;
+import joshelser.thrift.FileEntry;
+import joshelser.thrift.HdfsService;
+import joshelser.thrift.MetadataRequest;
+import joshelser.thrift.MetadataResult;
+import joshelser.thrift.RecursiveListing;
+import joshelser.thrift.TreeSummary;
+
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.thrift.TApplicationException;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TMessage;
+import org.apache.thrift.protocol.TMessageType;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolUtil;
+import org.apache.thrift.protocol.TType;
+import org.apache.thrift.transport.TTransportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Client for the {@link HdfsService} which pipelines calls over a single authenticated connection.
+ *
+ * Each call is written as soon as it is made and returns a future; a reader thread matches responses to calls by their sequence ID, so they may complete in
+ * any order. The {@link TSaslNonblockingServer} processes the calls from one connection concurrently, other servers answer them one at a time.
+ *
+ * A call made with a {@link Deadline} attached sends it to the server, and its future fails once the deadline passes. The socket's read timeout is left
+ * alone, since the other calls are still waiting on it, and the connection stays usable: a late response is matched to its call and dropped.
+ */
+public class HdfsAsyncClient implements Closeable {
+  private static final Logger log = LoggerFactory.getLogger(HdfsAsyncClient.class);
+  private static final AtomicInteger readerIds = new AtomicInteger(0);
+  private static final ScheduledThreadPoolExecutor deadlines = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r, "hdfs-async-client-deadlines");
+      t.setDaemon(true);
+      return t;
+    }
+  });
+
+  static {
+    // Most calls answer well before their deadline
+    deadlines.setRemoveOnCancelPolicy(true);
+  }
+
+  private final HdfsConnection connection;
+  private final TProtocol inProt;
+  private final TProtocol outProt;
+  private final Object writeLock = new Object();
+  private final AtomicInteger seqIds = new AtomicInteger(0);
+  private final Map<Integer,PendingCall<?>> pending = new ConcurrentHashMap<Integer,PendingCall<?>>();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+  private volatile TException failure = null;
+
+  /**
+   * Connect to the server and run the SASL/GSSAPI handshake as the given user.
+   *
+   * @see HdfsConnection#open(ServerKey, UserGroupInformation, boolean)
+   */
+  public static HdfsAsyncClient open(ServerKey server, UserGroupInformation user, boolean sessionCipher) throws TTransportException {
+    return new HdfsAsyncClient(HdfsConnection.open(server, user, sessionCipher));
+  }
+
+  /**
+   * Take over an open connection. The connection's synchronous client must not be used afterwards.
+   */
+  public HdfsAsyncClient(HdfsConnection connection) {
+    this.connection = connection;
+    this.inProt = connection.getPipelinedProtocol();
+    this.outProt = connection.getPipelinedProtocol();
+
+    Thread reader = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        readResponses();
+      }
+    }, "hdfs-async-client-reader-" + readerIds.incrementAndGet());
+    reader.setDaemon(true);
+    reader.start();
+  }
+
+  public HdfsConnection getConnection() {
+    return connection;
+  }
+
+  /**
+   * @return The number of calls which have been sent and not yet answered
+   */
+  public int getPendingCalls() {
+    return pending.size();
+  }
+
+  public ListenableFuture<String> ls(String directory) {
+    return call("ls", new HdfsService.ls_args(directory), new HdfsService.ls_result(), new ResultReader<HdfsService.ls_result,String>() {
+      @Override
+      public String get(HdfsService.ls_result result) {
+        return result.isSetSuccess() ? result.getSuccess() : null;
+      }
+    });
+  }
+
+  public ListenableFuture<DirectoryPage> lsPage(String directory, String startAfter, int limit) {
+    return call("lsPage", new HdfsService.lsPage_args(directory, startAfter, limit), new HdfsService.lsPage_result(),
+        new ResultReader<HdfsService.lsPage_result,DirectoryPage>() {
+          @Override
+          public DirectoryPage get(HdfsService.lsPage_result result) {
+            return result.isSetSuccess() ? result.getSuccess() : null;
+          }
+        });
+  }
+
+  public ListenableFuture<List<FileEntry>> listEntries(String directory) {
+    return call("listEntries", new HdfsService.listEntries_args(directory), new HdfsService.listEntries_result(),
+        new ResultReader<HdfsService.listEntries_result,List<FileEntry>>() {
+          @Override
+          public List<FileEntry> get(HdfsService.listEntries_result result) {
+            return result.isSetSuccess() ? result.getSuccess() : null;
+          }
+        });
+  }
+
+  public ListenableFuture<EntryPage> listEntriesPage(String directory, String startAfter, int limit) {
+    return call("listEntriesPage", new HdfsService.listEntriesPage_args(directory, startAfter, limit), new HdfsService.listEntriesPage_result(),
+        new ResultReader<HdfsService.listEntriesPage_result,EntryPage>() {
+          @Override
+          public EntryPage get(HdfsService.listEntriesPage_result result) {
+            return result.isSetSuccess() ? result.getSuccess() : null;
+          }
+        });
+  }
+
+  public ListenableFuture<List<MetadataResult>> batch(List<MetadataRequest> requests) {
+    return call("batch", new HdfsService.batch_args(requests), new HdfsService.batch_result(),
+        new ResultReader<HdfsService.batch_result,List<MetadataResult>>() {
+          @Override
+          public List<MetadataResult> get(HdfsService.batch_result result) {
+            return result.isSetSuccess() ? result.getSuccess() : null;
+          }
+        });
+  }
+
+  public ListenableFuture<TreeSummary> summarize(String path, int maxDepth) {
+    return call("summarize", new HdfsService.summarize_args(path, maxDepth), new HdfsService.summarize_result(),
+        new ResultReader<HdfsService.summarize_result,TreeSummary>() {
+          @Override
+          public TreeSummary get(HdfsService.summarize_result result) {
+            return result.isSetSuccess() ? result.getSuccess() : null;
+          }
+        });
+  }
+
+  public ListenableFuture<RecursiveListing> listRecursive(String directory, int maxDepth, int batchSize) {
+    return call("listRecursive", new HdfsService.listRecursive_args(directory, maxDepth, batchSize), new HdfsService.listRecursive_result(),
+        new ResultReader<HdfsService.listRecursive_result,RecursiveListing>() {
+          @Override
+          public RecursiveListing get(HdfsService.listRecursive_result result) {
+            return result.isSetSuccess() ? result.getSuccess() : null;
+          }
+        });
+  }
+
+  public ListenableFuture<RecursiveListing> continueListing(String cursor, int batchSize) {
+    return call("continueListing", new HdfsService.continueListing_args(cursor, batchSize), new HdfsService.continueListing_result(),
+        new ResultReader<HdfsService.continueListing_result,RecursiveListing>() {
+          @Override
+          public RecursiveListing get(HdfsService.continueListing_result result) {
+            return result.isSetSuccess() ? result.getSuccess() : null;
+          }
+        });
+  }
+
+  /**
+   * Fail any outstanding calls and close the connection.
+   */
+  @Override
+  public void close() {
+    fail(new TTransportException(TTransportException.NOT_OPEN, "Client closed"));
+  }
+
+  /**
+   * Extracts the return value from a deserialized result struct.
+   */
+  private interface ResultReader<R extends TBase<?,?>,T> {
+    /**
+     * @return The value, or null if the server did not set one
+     */
+    T get(R result);
+  }
+
+  /**
+   * A call which has been sent and is waiting on its response.
+   */
+  private static class PendingCall<T> {
+    private final String method;
+    private final TBase<?,?> result;
+    private final ResultReader<TBase<?,?>,T> reader;
+    private final SettableFuture<T> future = SettableFuture.create();
+
+    @SuppressWarnings("unchecked")
+    <R extends TBase<?,?>> PendingCall(String method, R result, ResultReader<R,T> reader) {
+      this.method = method;
+      this.result = result;
+      this.reader = (ResultReader<TBase<?,?>,T>) reader;
+    }
+
+    void complete() {
+      T value = reader.get(result);
+      if (null == value) {
+        future.setException(new TApplicationException(TApplicationException.MISSING_RESULT, method + " failed: unknown result"));
+      } else {
+        future.set(value);
+      }
+    }
+  }
+
+  private <R extends TBase<?,?>,T> ListenableFuture<T> call(String method, TBase<?,?> args, R result, ResultReader<R,T> reader) {
+    PendingCall<T> call = new PendingCall<T>(method, result, reader);
+    Deadline deadline = Deadline.current();
+    if (null != deadline && deadline.isExpired()) {
+      call.future.setException(new TTransportException(TTransportException.TIMED_OUT, "Deadline passed before the call was sent"));
+      return call.future;
+    }
+    int seqId = seqIds.incrementAndGet();
+    // Register before sending so that the reader can always find the call
+    pending.put(seqId, call);
+    try {
+      // Calls are encrypted in the order they are written, so they must also be written in that order
+      synchronized (writeLock) {
+        if (closed.get()) {
+          throw failure;
+        }
+        outProt.writeMessageBegin(new TMessage(method, TMessageType.CALL, seqId));
+        args.write(outProt);
+        outProt.writeMessageEnd();
+        outProt.getTransport().flush();
+      }
+    } catch (TException e) {
+      pending.remove(seqId);
+      call.future.setException(e);
+      // A partially written message leaves the connection unusable
+      if (!closed.get()) {
+        fail(e);
+      }
+      return call.future;
+    }
+    if (null != deadline) {
+      expireAt(deadline, call);
+    }
+    return call.future;
+  }
+
+  /**
+   * Fail the call's future when the deadline passes, unless it has been answered by then. The response is still read when it comes.
+   */
+  private static void expireAt(Deadline deadline, final PendingCall<?> call) {
+    final ScheduledFuture<?> expiry = deadlines.schedule(new Runnable() {
+      @Override
+      public void run() {
+        call.future.setException(new TTransportException(TTransportException.TIMED_OUT, call.method + " did not finish before its deadline"));
+      }
+    }, deadline.remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    call.future.addListener(new Runnable() {
+      @Override
+      public void run() {
+        expiry.cancel(false);
+      }
+    }, MoreExecutors.sameThreadExecutor());
+  }
+
+  private void readResponses() {
+    try {
+      while (!closed.get()) {
+        TMessage msg = inProt.readMessageBegin();
+        PendingCall<?> call = pending.remove(msg.seqid);
+        if (null == call) {
+          log.warn("Discarding response to {} for unknown sequence ID {}", msg.name, msg.seqid);
+          TProtocolUtil.skip(inProt, TType.STRUCT);
+          inProt.readMessageEnd();
+        } else if (TMessageType.EXCEPTION == msg.type) {
+          TApplicationException e = TApplicationException.read(inProt);
+          inProt.readMessageEnd();
+          call.future.setException(e);
+        } else {
+          call.result.read(inProt);
+          inProt.readMessageEnd();
+          call.complete();
+        }
+      }
+    } catch (TException e) {
+      if (!closed.get()) {
+        log.debug("Failed to read response, closing connection", e);
+      }
+      fail(e);
+    } catch (RuntimeException e) {
+      log.error("Unexpected error reading response, closing connection", e);
+      fail(new TException(e));
+    }
+  }
+
+  /**
+   * Close the connection and fail every outstanding call with the given exception.
+   */
+  private void fail(TException e) {
+    synchronized (writeLock) {
+      if (!closed.compareAndSet(false, true)) {
+        return;
+      }
+      failure = e;
+    }
+    connection.close();
+    for (Integer seqId : new ArrayList<Integer>(pending.keySet())) {
+      PendingCall<?> call = pending.remove(seqId);
+      if (null != call) {
+        call.future.setException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,483 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import joshelser.thrift.HdfsService;
+
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.security.token.Token;
+import org.apache.thrift.TException;
+import org.apache.thrift.transport.TTransportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Thread-safe pool of authenticated {@link HdfsService.Client} connections, keyed by {@link ServerKey}.
+ *
+ * Opening a connection costs a TCP connect, a GSSAPI handshake and (the first time) a service ticket request to the KDC, which is typically more than the RPC
+ * itself. Connections are handed out with {@link #borrow(ServerKey)} and go back to the pool when the {@link PooledClient} is closed:
+ *
+ * <pre>
+ * try (HdfsClientPool.PooledClient pooled = pool.borrow(server)) {
+ *   try {
+ *     pooled.getClient().ls(&quot;/&quot;);
+ *   } catch (TException e) {
+ *     pooled.invalidate();
+ *     throw e;
+ *   }
+ * }
+ * </pre>
+ *
+ * A connection is never handed out once its Kerberos ticket (or delegation token) is about to expire, and a connection which failed in use should be {@link PooledClient#invalidate()
+ * invalidated} so that it is closed instead of being returned to the pool.
+ */
+public class HdfsClientPool implements Closeable {
+  private static final Logger log = LoggerFactory.getLogger(HdfsClientPool.class);
+
+  private final UserGroupInformation user;
+  private final Options options;
+  private final ConcurrentMap<ServerKey,ServerPool> pools = new ConcurrentHashMap<ServerKey,ServerPool>();
+  private final ConcurrentMap<ServerKey,Token<DelegationTokenIdentifier>> tokens = new ConcurrentHashMap<ServerKey,Token<DelegationTokenIdentifier>>();
+  private final ScheduledExecutorService maintenance;
+  private volatile boolean closed = false;
+
+  public HdfsClientPool(UserGroupInformation user) {
+    this(user, new Options());
+  }
+
+  public HdfsClientPool(UserGroupInformation user, Options options) {
+    Preconditions.checkNotNull(user);
+    Preconditions.checkNotNull(options);
+    Preconditions.checkArgument(options.maxTotal > 0, "Maximum connections must be positive");
+    Preconditions.checkArgument(options.minIdle >= 0 && options.minIdle <= options.maxTotal, "Minimum idle connections must be between 0 and the maximum");
+    Preconditions.checkArgument(options.maintenanceIntervalMillis > 0, "Maintenance interval must be positive");
+
+    this.user = user;
+    this.options = options;
+
+    // Drop expired connections and keep minIdle connections open in the background, not on the caller's time
+    this.maintenance = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "hdfs-client-pool-maintenance");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+    this.maintenance.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        for (ServerPool pool : pools.values()) {
+          pool.evictExpired();
+          try {
+            pool.fill();
+          } catch (TException e) {
+            log.warn("Could not open idle connections to {}", pool.server, e);
+          }
+        }
+      }
+    }, options.maintenanceIntervalMillis, options.maintenanceIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Open {@link Options#minIdle(int)} connections to the server ahead of the first {@link #borrow(ServerKey)}.
+   */
+  public void warmup(ServerKey server) throws TException {
+    getPool(server).fill();
+  }
+
+  /**
+   * Take a connection to the server from the pool, opening a new one if none are idle. Blocks for up to {@link Options#borrowTimeout(long, TimeUnit)} if the
+   * maximum number of connections are already in use.
+   */
+  public PooledClient borrow(ServerKey server) throws TException {
+    return getPool(server).borrow();
+  }
+
+  /**
+   * Close all idle connections. Connections which are currently borrowed are closed as they are returned.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    maintenance.shutdownNow();
+    for (ServerPool pool : pools.values()) {
+      pool.clear();
+    }
+  }
+
+  private ServerPool getPool(ServerKey server) {
+    Preconditions.checkState(!closed, "Pool is closed");
+    ServerPool pool = pools.get(server);
+    if (null == pool) {
+      ServerPool newPool = new ServerPool(server);
+      pool = pools.putIfAbsent(server, newPool);
+      if (null == pool) {
+        pool = newPool;
+      }
+    }
+    return pool;
+  }
+
+  private HdfsConnection connect(ServerKey server) throws TException {
+    if (options.delegationTokens) {
+      HdfsConnection connection = connectWithToken(server);
+      if (null != connection) {
+        return connection;
+      }
+    }
+
+    try {
+      // Make sure we don't start a handshake with a TGT which is about to expire
+      user.checkTGTAndReloginFromKeytab();
+    } catch (IOException e) {
+      throw new TTransportException("Could not renew Kerberos credentials for " + user, e);
+    }
+    HdfsConnection connection = HdfsConnection.open(server, user, options.sessionCipher, options.compressionThreshold);
+    log.debug("Opened {}", connection);
+    if (options.delegationTokens && !tokens.containsKey(server)) {
+      fetchToken(connection);
+    }
+    return connection;
+  }
+
+  /**
+   * Open a connection with the delegation token for the server, if we have one which isn't about to expire.
+   *
+   * @return The connection, or null to authenticate with Kerberos instead
+   */
+  private HdfsConnection connectWithToken(ServerKey server) {
+    Token<DelegationTokenIdentifier> token = tokens.get(server);
+    if (null == token) {
+      return null;
+    }
+    if (HdfsConnection.tokenEndTime(token) - options.ticketExpiryMarginMillis <= System.currentTimeMillis()) {
+      tokens.remove(server, token);
+      return null;
+    }
+    try {
+      HdfsConnection connection = HdfsConnection.open(server, token, options.sessionCipher, options.compressionThreshold);
+      log.debug("Opened {} with a delegation token", connection);
+      return connection;
+    } catch (TTransportException e) {
+      // e.g. the server restarted, and no longer has the key which signed the token
+      log.debug("Could not authenticate to {} with a delegation token", server, e);
+      tokens.remove(server, token);
+      return null;
+    }
+  }
+
+  private void fetchToken(HdfsConnection connection) throws TException {
+    try {
+      tokens.put(connection.getServer(), connection.getDelegationToken());
+    } catch (TTransportException e) {
+      connection.close();
+      throw e;
+    } catch (TException e) {
+      // The connection is still usable, the server just won't issue tokens
+      log.debug("{} did not issue a delegation token", connection, e);
+    }
+  }
+
+  private long expiresAt(HdfsConnection connection) {
+    return Math.min(connection.getCreatedMillis() + options.maxLifetimeMillis, connection.getTicketEndMillis() - options.ticketExpiryMarginMillis);
+  }
+
+  /**
+   * The connections to a single server. Idle connections are handed out most-recently-used first, which lets the surplus age out when load drops.
+   */
+  private class ServerPool {
+    private final ServerKey server;
+    private final Deque<HdfsConnection> idle = new ArrayDeque<HdfsConnection>();
+    // Idle, borrowed and currently opening connections
+    private int total = 0;
+
+    ServerPool(ServerKey server) {
+      this.server = server;
+    }
+
+    PooledClient borrow() throws TException {
+      long deadline = System.currentTimeMillis() + options.borrowTimeoutMillis;
+      while (true) {
+        HdfsConnection connection = take(deadline);
+        if (null == connection) {
+          return new PooledClient(this, open());
+        }
+        if (isExpired(connection) || (options.validateOnBorrow && !connection.isAlive())) {
+          log.debug("Discarding {}", connection);
+          destroy(connection);
+          continue;
+        }
+        return new PooledClient(this, connection);
+      }
+    }
+
+    /**
+     * @return An idle connection, or null if the caller has been given room to open a new one
+     */
+    private synchronized HdfsConnection take(long deadline) throws TException {
+      while (true) {
+        HdfsConnection connection = idle.pollFirst();
+        if (null != connection) {
+          return connection;
+        }
+        if (total < options.maxTotal) {
+          total++;
+          return null;
+        }
+        long wait = deadline - System.currentTimeMillis();
+        if (wait <= 0) {
+          throw new TTransportException(TTransportException.TIMED_OUT, "Timed out waiting for a connection to " + server);
+        }
+        try {
+          wait(wait);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new TTransportException("Interrupted waiting for a connection to " + server, e);
+        }
+      }
+    }
+
+    /**
+     * Open a new connection in the room reserved by {@link #take(long)}.
+     */
+    private HdfsConnection open() throws TException {
+      try {
+        return connect(server);
+      } catch (TException | RuntimeException e) {
+        released();
+        throw e;
+      }
+    }
+
+    void giveBack(HdfsConnection connection, boolean broken) {
+      if (broken || closed || isExpired(connection)) {
+        destroy(connection);
+        return;
+      }
+      synchronized (this) {
+        idle.addFirst(connection);
+        notifyAll();
+      }
+    }
+
+    void fill() throws TException {
+      while (true) {
+        synchronized (this) {
+          if (closed || idle.size() >= options.minIdle || total >= options.maxTotal) {
+            return;
+          }
+          total++;
+        }
+        HdfsConnection connection = open();
+        synchronized (this) {
+          idle.addLast(connection);
+          notifyAll();
+        }
+      }
+    }
+
+    void evictExpired() {
+      List<HdfsConnection> expired = new ArrayList<HdfsConnection>();
+      synchronized (this) {
+        Iterator<HdfsConnection> iter = idle.iterator();
+        while (iter.hasNext()) {
+          HdfsConnection connection = iter.next();
+          if (isExpired(connection)) {
+            iter.remove();
+            expired.add(connection);
+          }
+        }
+      }
+      for (HdfsConnection connection : expired) {
+        log.debug("Closing expired {}", connection);
+        destroy(connection);
+      }
+    }
+
+    void clear() {
+      List<HdfsConnection> connections;
+      synchronized (this) {
+        connections = new ArrayList<HdfsConnection>(idle);
+        idle.clear();
+      }
+      for (HdfsConnection connection : connections) {
+        destroy(connection);
+      }
+    }
+
+    private boolean isExpired(HdfsConnection connection) {
+      return System.currentTimeMillis() >= expiresAt(connection);
+    }
+
+    private void destroy(HdfsConnection connection) {
+      connection.close();
+      released();
+    }
+
+    private synchronized void released() {
+      total--;
+      notifyAll();
+    }
+  }
+
+  /**
+   * A connection borrowed from the pool. Closing it returns the connection to the pool.
+   */
+  public static class PooledClient implements Closeable {
+    private final ServerPool pool;
+    private final HdfsConnection connection;
+    private boolean broken = false;
+    private boolean returned = false;
+
+    private PooledClient(ServerPool pool, HdfsConnection connection) {
+      this.pool = pool;
+      this.connection = connection;
+    }
+
+    public HdfsService.Client getClient() {
+      Preconditions.checkState(!returned, "Connection was already returned to the pool");
+      return connection.getClient();
+    }
+
+    /**
+     * Mark the connection as unusable, e.g. after a transport error, so it is closed instead of returned to the pool.
+     */
+    public void invalidate() {
+      broken = true;
+    }
+
+    @Override
+    public void close() {
+      if (!returned) {
+        returned = true;
+        pool.giveBack(connection, broken);
+      }
+    }
+  }
+
+  /**
+   * Configuration for the pool. The limits apply to each server separately.
+   */
+  public static class Options {
+    public static final int DEFAULT_MAX_TOTAL = 8;
+    public static final long DEFAULT_MAX_LIFETIME_MILLIS = TimeUnit.HOURS.toMillis(1);
+    public static final long DEFAULT_TICKET_EXPIRY_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    public static final long DEFAULT_BORROW_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    public static final long DEFAULT_MAINTENANCE_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private int minIdle = 0;
+    private int maxTotal = DEFAULT_MAX_TOTAL;
+    private long maxLifetimeMillis = DEFAULT_MAX_LIFETIME_MILLIS;
+    private long ticketExpiryMarginMillis = DEFAULT_TICKET_EXPIRY_MARGIN_MILLIS;
+    private long borrowTimeoutMillis = DEFAULT_BORROW_TIMEOUT_MILLIS;
+    private long maintenanceIntervalMillis = DEFAULT_MAINTENANCE_INTERVAL_MILLIS;
+    private boolean validateOnBorrow = true;
+    private boolean sessionCipher = false;
+    private int compressionThreshold = FrameCompression.DISABLED;
+    private boolean delegationTokens = false;
+
+    /**
+     * Number of idle connections to keep open to each server once it has been used (or {@link HdfsClientPool#warmup(ServerKey) warmed up}).
+     */
+    public Options minIdle(int minIdle) {
+      this.minIdle = minIdle;
+      return this;
+    }
+
+    /**
+     * Maximum number of connections, idle or in use, to each server.
+     */
+    public Options maxTotal(int maxTotal) {
+      this.maxTotal = maxTotal;
+      return this;
+    }
+
+    /**
+     * Longest a connection is kept open. Connections are also retired the {@link #ticketExpiryMargin(long, TimeUnit) margin} before their Kerberos ticket
+     * expires, if that is sooner.
+     */
+    public Options maxLifetime(long time, TimeUnit unit) {
+      this.maxLifetimeMillis = unit.toMillis(time);
+      return this;
+    }
+
+    public Options ticketExpiryMargin(long time, TimeUnit unit) {
+      this.ticketExpiryMarginMillis = unit.toMillis(time);
+      return this;
+    }
+
+    public Options borrowTimeout(long time, TimeUnit unit) {
+      this.borrowTimeoutMillis = unit.toMillis(time);
+      return this;
+    }
+
+    public Options maintenanceInterval(long time, TimeUnit unit) {
+      this.maintenanceIntervalMillis = unit.toMillis(time);
+      return this;
+    }
+
+    /**
+     * Whether to check that an idle connection is still alive before handing it out.
+     */
+    public Options validateOnBorrow(boolean validateOnBorrow) {
+      this.validateOnBorrow = validateOnBorrow;
+      return this;
+    }
+
+    /**
+     * Whether to ask servers to replace the SASL security layer with a {@link SessionCipher}.
+     */
+    public Options sessionCipher(boolean sessionCipher) {
+      this.sessionCipher = sessionCipher;
+      return this;
+    }
+
+    /**
+     * Ask servers to use {@link FrameCompression}, compressing calls of at least this many bytes, or {@link FrameCompression#DISABLED} not to ask.
+     */
+    public Options compressionThreshold(int compressionThreshold) {
+      this.compressionThreshold = compressionThreshold;
+      return this;
+    }
+
+    /**
+     * Whether to get a delegation token from each server over the first Kerberos connection, and authenticate later connections with it instead of going to
+     * the KDC. The token is replaced once it is within the {@link #ticketExpiryMargin(long, TimeUnit) margin} of expiring.
+     */
+    public Options delegationTokens(boolean delegationTokens) {
+      this.delegationTokens = delegationTokens;
+      return this;
+    }
+  }
+}
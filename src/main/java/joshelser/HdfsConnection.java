@@ -0,0 +1,362 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.NameCallback;
+import javax.security.auth.callback.PasswordCallback;
+import javax.security.auth.callback.UnsupportedCallbackException;
+import javax.security.auth.kerberos.KerberosTicket;
+import javax.security.sasl.RealmCallback;
+import javax.security.sasl.RealmChoiceCallback;
+import javax.security.sasl.Sasl;
+import javax.security.sasl.SaslException;
+
+import joshelser.thrift.HdfsService;
+
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.security.token.Token;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TSaslClientTransport;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+/**
+ * An authenticated connection to the {@link HdfsService}, along with the lifetime of the Kerberos ticket or delegation token it was established with.
+ */
+public class HdfsConnection implements Closeable {
+  private final ServerKey server;
+  private final TSocket socket;
+  private final TTransport transport;
+  private final HdfsService.Client client;
+  private final TProtocol pipelinedProtocol;
+  private final boolean sessionCipher;
+  private final boolean compression;
+  private final long createdMillis;
+  private final long ticketEndMillis;
+
+  private HdfsConnection(ServerKey server, TSocket socket, TTransport transport, HdfsService.Client client, TProtocol pipelinedProtocol, boolean sessionCipher,
+      boolean compression, long createdMillis, long ticketEndMillis) {
+    this.server = server;
+    this.socket = socket;
+    this.transport = transport;
+    this.client = client;
+    this.pipelinedProtocol = pipelinedProtocol;
+    this.sessionCipher = sessionCipher;
+    this.compression = compression;
+    this.createdMillis = createdMillis;
+    this.ticketEndMillis = ticketEndMillis;
+  }
+
+  /**
+   * Connect to the server and run the SASL/GSSAPI handshake as the given user.
+   */
+  public static HdfsConnection open(ServerKey server, UserGroupInformation user) throws TTransportException {
+    return open(server, user, false);
+  }
+
+  /**
+   * Connect to the server and run the SASL/GSSAPI handshake as the given user.
+   *
+   * @param sessionCipher
+   *          Ask the server to replace the SASL security layer with a {@link SessionCipher}, falling back to the SASL security layer if it declines
+   */
+  public static HdfsConnection open(ServerKey server, UserGroupInformation user, boolean sessionCipher) throws TTransportException {
+    return open(server, user, sessionCipher, FrameCompression.DISABLED);
+  }
+
+  /**
+   * Connect to the server and run the SASL/GSSAPI handshake as the given user.
+   *
+   * @param sessionCipher
+   *          Ask the server to replace the SASL security layer with a {@link SessionCipher}, falling back to the SASL security layer if it declines
+   * @param compressionThreshold
+   *          Ask the server to use {@link FrameCompression}, compressing calls of at least this many bytes, or {@link FrameCompression#DISABLED} not to ask
+   */
+  public static HdfsConnection open(ServerKey server, UserGroupInformation user, boolean sessionCipher, int compressionThreshold) throws TTransportException {
+    // Open up a socket to the server:port
+    TSocket socket = new TSocket(server.getHost(), server.getPort());
+    // Write each frame (header and payload) to the socket in one call
+    TTransport bufferedSocket = new TBufferedFilterTransport(socket);
+
+    // SASL client transport -- does the Kerberos lifting for us
+    TSaslClientTransport saslTransport;
+    try {
+      saslTransport = new TSaslClientTransport(
+          "GSSAPI", // tell SASL to use GSSAPI, which supports Kerberos
+          null, // authorizationid - null
+          server.getPrimary(), // kerberos primary for server - "myprincipal" in myprincipal/my.server.com@MY.REALM
+          server.getInstance(), // kerberos instance for server - "my.server.com" in myprincipal/my.server.com@MY.REALM
+          saslProperties(), // Properties - authorization and confidentiality
+          null, // callback handler - null
+          bufferedSocket); // underlying transport
+    } catch (SaslException e) {
+      throw new TTransportException("Could not create SASL client for " + server, e);
+    }
+
+    // Make sure the transport is opened as the given user
+    TUGIAssumingTransport ugiTransport = new TUGIAssumingTransport(saslTransport, user);
+
+    // Open the transport
+    ugiTransport.open();
+
+    return open(server, socket, bufferedSocket, ugiTransport, sessionCipher, compressionThreshold, ticketEndTime(user, server));
+  }
+
+  /**
+   * Connect to the server and authenticate with a delegation token it issued, using SASL/DIGEST-MD5 instead of Kerberos.
+   *
+   * @param token
+   *          Token from {@link #getDelegationToken()} on an earlier connection to the same server
+   * @param sessionCipher
+   *          Ask the server to replace the SASL security layer with a {@link SessionCipher}, falling back to the SASL security layer if it declines
+   * @param compressionThreshold
+   *          Ask the server to use {@link FrameCompression}, compressing calls of at least this many bytes, or {@link FrameCompression#DISABLED} not to ask
+   */
+  public static HdfsConnection open(ServerKey server, Token<DelegationTokenIdentifier> token, boolean sessionCipher, int compressionThreshold)
+      throws TTransportException {
+    TSocket socket = new TSocket(server.getHost(), server.getPort());
+    TTransport bufferedSocket = new TBufferedFilterTransport(socket);
+
+    // The token's identifier and password stand in for a Kerberos ticket, so no UGI is needed
+    TSaslClientTransport saslTransport;
+    try {
+      saslTransport = new TSaslClientTransport(DelegationTokenSecretManager.MECHANISM, null, null, DelegationTokenSecretManager.SERVER_NAME,
+          saslProperties(), new TokenCallbackHandler(token), bufferedSocket);
+    } catch (SaslException e) {
+      throw new TTransportException("Could not create SASL client for " + server, e);
+    }
+    saslTransport.open();
+
+    return open(server, socket, bufferedSocket, saslTransport, sessionCipher, compressionThreshold, tokenEndTime(token));
+  }
+
+  /**
+   * Set up the rest of the connection once the SASL transport has authenticated.
+   */
+  private static HdfsConnection open(ServerKey server, TSocket socket, TTransport bufferedSocket, TTransport saslTransport, boolean sessionCipher,
+      int compressionThreshold, long ticketEndMillis) throws TTransportException {
+    // Let the protocol read fields straight out of a buffer, and hand each message to the SASL transport in one call
+    TTransport transport = new TBufferedFilterTransport(saslTransport);
+
+    // Once authenticated, encrypt with AES directly on the socket instead of with the SASL security layer if the server agrees
+    SessionCipher cipher = sessionCipher ? SessionCipher.request(saslTransport) : null;
+    if (null != cipher) {
+      // Already buffered, and must read from the same buffer as the SASL transport did
+      transport = new TSessionCipherTransport(bufferedSocket, cipher, null);
+    }
+
+    // Compress before the security layer, so that it protects fewer bytes
+    FrameCompression compression = FrameCompression.DISABLED != compressionThreshold ? FrameCompression.request(transport, compressionThreshold) : null;
+    if (null != compression) {
+      transport = new TCompressingTransport(transport, compression);
+    }
+
+    // Setup our thrift client to our custom thrift service, passing on the trace and deadline of each call
+    TProtocol protocol = RpcTracing.clientProtocol(new TBinaryProtocol(transport));
+    HdfsService.Client client = new HdfsService.Client(Deadline.clientProtocol(protocol, socket));
+
+    return new HdfsConnection(server, socket, saslTransport, client, Deadline.pipelinedClientProtocol(protocol), null != cipher, null != compression,
+        System.currentTimeMillis(), ticketEndMillis);
+  }
+
+  private static Map<String,String> saslProperties() {
+    Map<String,String> saslProperties = new HashMap<String,String>();
+    // Use authorization and confidentiality
+    saslProperties.put(Sasl.QOP, "auth-conf");
+    return saslProperties;
+  }
+
+  public ServerKey getServer() {
+    return server;
+  }
+
+  public HdfsService.Client getClient() {
+    return client;
+  }
+
+  /**
+   * @return The protocol for a client with several calls outstanding at once, like {@link HdfsAsyncClient}, which sends each call's deadline without
+   *         setting the socket's read timeout. The {@link #getClient() client} must not be used along with it
+   */
+  public TProtocol getPipelinedProtocol() {
+    return pipelinedProtocol;
+  }
+
+  /**
+   * @return True if the connection is encrypted with a {@link SessionCipher}, false if it uses the SASL security layer
+   */
+  public boolean usesSessionCipher() {
+    return sessionCipher;
+  }
+
+  /**
+   * @return True if the messages on the connection are compressed with {@link FrameCompression}
+   */
+  public boolean usesCompression() {
+    return compression;
+  }
+
+  public long getCreatedMillis() {
+    return createdMillis;
+  }
+
+  /**
+   * @return When the Kerberos ticket or delegation token used to authenticate this connection expires, or Long.MAX_VALUE if that is not known
+   */
+  public long getTicketEndMillis() {
+    return ticketEndMillis;
+  }
+
+  /**
+   * Ask the server for a delegation token, which later connections to it can {@link #open(ServerKey, Token, boolean, int) authenticate} with instead of
+   * Kerberos. The connection must have been authenticated with Kerberos.
+   */
+  public Token<DelegationTokenIdentifier> getDelegationToken() throws TException {
+    try {
+      return decodeToken(client.getDelegationToken());
+    } catch (IOException e) {
+      throw new TException("Could not decode delegation token from " + server, e);
+    }
+  }
+
+  /**
+   * Read a delegation token encoded as by {@link Token#encodeToUrlString()}
+   */
+  public static Token<DelegationTokenIdentifier> decodeToken(String encoded) throws IOException {
+    Token<DelegationTokenIdentifier> token = new Token<DelegationTokenIdentifier>();
+    token.decodeFromUrlString(encoded);
+    return token;
+  }
+
+  /**
+   * Check that an idle connection can still be used, without making an RPC.
+   */
+  public boolean isAlive() {
+    if (!transport.isOpen()) {
+      return false;
+    }
+    Socket s = socket.getSocket();
+    if (s.isClosed() || s.isInputShutdown()) {
+      return false;
+    }
+    try {
+      int timeout = s.getSoTimeout();
+      s.setSoTimeout(1);
+      try {
+        // An idle connection has nothing to read: end of stream means the server hung up, and any data means we have lost our place in the protocol
+        s.getInputStream().read();
+        return false;
+      } catch (SocketTimeoutException e) {
+        return true;
+      } finally {
+        s.setSoTimeout(timeout);
+      }
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public void close() {
+    transport.close();
+  }
+
+  @Override
+  public String toString() {
+    return "HdfsConnection[" + server + "]";
+  }
+
+  /**
+   * Find when the token expires, from its identifier
+   */
+  static long tokenEndTime(Token<DelegationTokenIdentifier> token) {
+    DelegationTokenIdentifier identifier = new DelegationTokenIdentifier();
+    try {
+      identifier.readFields(new DataInputStream(new ByteArrayInputStream(token.getIdentifier())));
+    } catch (IOException e) {
+      return Long.MAX_VALUE;
+    }
+    return identifier.getMaxDate();
+  }
+
+  /**
+   * Supplies the token's identifier and password to SASL/DIGEST-MD5.
+   *
+   * Lifted from Apache Hive 0.14
+   */
+  private static class TokenCallbackHandler implements CallbackHandler {
+    private final String userName;
+    private final char[] userPassword;
+
+    TokenCallbackHandler(Token<DelegationTokenIdentifier> token) {
+      this.userName = DelegationTokenSecretManager.encodeIdentifier(token.getIdentifier());
+      this.userPassword = DelegationTokenSecretManager.encodePassword(token.getPassword());
+    }
+
+    @Override
+    public void handle(Callback[] callbacks) throws UnsupportedCallbackException {
+      for (Callback callback : callbacks) {
+        if (callback instanceof NameCallback) {
+          ((NameCallback) callback).setName(userName);
+        } else if (callback instanceof PasswordCallback) {
+          ((PasswordCallback) callback).setPassword(userPassword);
+        } else if (callback instanceof RealmCallback) {
+          RealmCallback rc = (RealmCallback) callback;
+          rc.setText(rc.getDefaultText());
+        } else if (!(callback instanceof RealmChoiceCallback)) {
+          throw new UnsupportedCallbackException(callback, "Unrecognized SASL client callback");
+        }
+      }
+    }
+  }
+
+  /**
+   * Find when the service ticket for the server expires, falling back to the ticket-granting ticket which bounds any service ticket obtained from it.
+   */
+  private static long ticketEndTime(UserGroupInformation user, ServerKey server) {
+    String servicePrefix = server.getPrimary() + "/" + server.getInstance() + "@";
+    Subject subject = UserSubjects.getSubject(user);
+    long endTime = Long.MAX_VALUE;
+    if (null == subject) {
+      return endTime;
+    }
+    for (KerberosTicket ticket : subject.getPrivateCredentials(KerberosTicket.class)) {
+      String ticketServer = ticket.getServer().getName();
+      if (ticketServer.startsWith(servicePrefix)) {
+        return ticket.getEndTime().getTime();
+      } else if (ticketServer.startsWith("krbtgt/")) {
+        endTime = Math.min(endTime, ticket.getEndTime().getTime());
+      }
+    }
+    return endTime;
+  }
+}
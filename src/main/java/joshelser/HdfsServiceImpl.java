@@ -18,14 +18,27 @@ package joshelser;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import joshelser.thrift.DirectoryPage;
+import joshelser.thrift.EntryPage;
+import joshelser.thrift.FileEntry;
 import joshelser.thrift.HdfsService;
+import joshelser.thrift.MetadataRequest;
+import joshelser.thrift.MetadataResult;
+import joshelser.thrift.RecursiveListing;
+import joshelser.thrift.TreeSummary;
 
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.security.AccessControlException;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.security.UserGroupInformation.AuthenticationMethod;
 import org.apache.thrift.TException;
+import org.htrace.Trace;
+import org.htrace.TraceScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,10 +47,69 @@ import org.slf4j.LoggerFactory;
  */
 public class HdfsServiceImpl implements HdfsService.Iface {
   private static final Logger log = LoggerFactory.getLogger(HdfsServiceImpl.class);
-  private FileSystem fs;
+  private final ProxyUserCache proxyUsers;
+  private final ServerMetrics metrics;
+  private final MetadataBatchRunner batchRunner;
+  private final ListingCache listingCache;
+  private final RecursiveWalker walker;
+  private final DelegationTokenSecretManager secretManager;
 
-  public HdfsServiceImpl(FileSystem fs) {
-    this.fs = fs;
+  /**
+   * The thread pools are the caller's, who must close them once the service is no longer used.
+   *
+   * @param batchRunner
+   *          Runs the operations of the batch RPC
+   * @param listingCache
+   *          Cache for directory listings, or null to always list from the FileSystem
+   * @param walker
+   *          Runs the recursive summary and listing RPCs
+   * @param secretManager
+   *          Issues delegation tokens, or null if the server does not accept them
+   */
+  public HdfsServiceImpl(ProxyUserCache proxyUsers, ServerMetrics metrics, MetadataBatchRunner batchRunner, ListingCache listingCache, RecursiveWalker walker,
+      DelegationTokenSecretManager secretManager) {
+    this.proxyUsers = proxyUsers;
+    this.metrics = metrics;
+    this.batchRunner = batchRunner;
+    this.listingCache = listingCache;
+    this.walker = walker;
+    this.secretManager = secretManager;
+  }
+
+  /**
+   * @return The FileSystem for the user making the current call
+   */
+  protected FileSystem getFileSystem() throws IOException {
+    return proxyUsers.getFileSystem(UserGroupInformation.getCurrentUser());
+  }
+
+  /**
+   * List the directory for the user making the current call
+   */
+  protected FileStatus[] listStatus(Path directory) throws IOException {
+    Deadline.check();
+    FileSystem fs = getFileSystem();
+    // Continues a traced call into the NameNode RPC, unless the listing is cached
+    TraceScope scope = Trace.startSpan("FileSystem.listStatus");
+    try {
+      return null == listingCache ? fs.listStatus(directory) : listingCache.listStatus(fs, directory);
+    } finally {
+      scope.close();
+    }
+  }
+
+  /**
+   * List one page of the directory for the user making the current call
+   */
+  protected DirectoryPager.Page listPage(Path directory, String startAfter, int limit) throws IOException {
+    Deadline.check();
+    FileSystem fs = getFileSystem();
+    TraceScope scope = Trace.startSpan("DirectoryPager.list");
+    try {
+      return DirectoryPager.list(fs, directory, startAfter, limit);
+    } finally {
+      scope.close();
+    }
   }
 
   @Override
@@ -45,28 +117,162 @@ public class HdfsServiceImpl implements HdfsService.Iface {
     StringBuilder sb = new StringBuilder(64);
     try {
       log.debug("Running as {}", UserGroupInformation.getCurrentUser());
-      for (FileStatus stat : fs.listStatus(new Path(directory))) {
-        sb.append(stat.getPath().getName());
-        if (stat.isDirectory()) {
-          sb.append("/");
-        }
-        sb.append("\n");
+      long start = System.nanoTime();
+      FileStatus[] stats = listStatus(new Path(directory));
+      metrics.getHdfsCallTime().recordSince(start);
+      for (FileStatus stat : stats) {
+        sb.append(displayName(stat)).append("\n");
       }
-    } catch (FileNotFoundException e) {
-      System.err.println("Got FileNotFoundException");
-      e.printStackTrace(System.err);
-      throw new TException(e);
-    } catch (IllegalArgumentException e) {
-      System.err.println("Got IllegalArgumentException");
-      e.printStackTrace(System.err);
-      throw new TException(e);
-    } catch (IOException e) {
-      System.err.println("Got IOException");
-      e.printStackTrace(System.err);
-      throw new TException(e);
+    } catch (IllegalArgumentException | IOException e) {
+      throw failed(e);
     }
 
     return sb.toString();
   }
 
+  @Override
+  public DirectoryPage lsPage(String directory, String startAfter, int limit) throws TException {
+    try {
+      log.debug("Running as {}", UserGroupInformation.getCurrentUser());
+      long start = System.nanoTime();
+      DirectoryPager.Page page = listPage(new Path(directory), startAfter, limit);
+      metrics.getHdfsCallTime().recordSince(start);
+      List<String> names = new ArrayList<String>(page.getStatuses().size());
+      for (FileStatus stat : page.getStatuses()) {
+        names.add(displayName(stat));
+      }
+      DirectoryPage result = new DirectoryPage(names);
+      if (page.hasMore()) {
+        result.setCursor(page.getCursor());
+      }
+      return result;
+    } catch (IllegalArgumentException | IOException e) {
+      throw failed(e);
+    }
+  }
+
+  @Override
+  public List<FileEntry> listEntries(String directory) throws TException {
+    try {
+      log.debug("Running as {}", UserGroupInformation.getCurrentUser());
+      long start = System.nanoTime();
+      FileStatus[] stats = listStatus(new Path(directory));
+      metrics.getHdfsCallTime().recordSince(start);
+      List<FileEntry> entries = new ArrayList<FileEntry>(stats.length);
+      for (FileStatus stat : stats) {
+        entries.add(FileEntries.fromStatus(stat));
+      }
+      return entries;
+    } catch (IllegalArgumentException | IOException e) {
+      throw failed(e);
+    }
+  }
+
+  @Override
+  public EntryPage listEntriesPage(String directory, String startAfter, int limit) throws TException {
+    try {
+      log.debug("Running as {}", UserGroupInformation.getCurrentUser());
+      long start = System.nanoTime();
+      DirectoryPager.Page page = listPage(new Path(directory), startAfter, limit);
+      metrics.getHdfsCallTime().recordSince(start);
+      EntryPage result = new EntryPage(FileEntries.fromStatuses(page.getStatuses()));
+      if (page.hasMore()) {
+        result.setCursor(page.getCursor());
+      }
+      return result;
+    } catch (IllegalArgumentException | IOException e) {
+      throw failed(e);
+    }
+  }
+
+  @Override
+  public List<MetadataResult> batch(List<MetadataRequest> requests) throws TException {
+    try {
+      UserGroupInformation ugi = UserGroupInformation.getCurrentUser();
+      log.debug("Running batch of {} as {}", requests.size(), ugi);
+      return batchRunner.run(getFileSystem(), ugi, requests);
+    } catch (IOException e) {
+      throw failed(e);
+    }
+  }
+
+  @Override
+  public TreeSummary summarize(String path, int maxDepth) throws TException {
+    try {
+      UserGroupInformation ugi = UserGroupInformation.getCurrentUser();
+      log.debug("Summarizing {} as {}", path, ugi);
+      return walker.summarize(getFileSystem(), ugi, new Path(path), maxDepth);
+    } catch (IllegalArgumentException | IOException e) {
+      throw failed(e);
+    }
+  }
+
+  @Override
+  public RecursiveListing listRecursive(String directory, int maxDepth, int batchSize) throws TException {
+    try {
+      UserGroupInformation ugi = UserGroupInformation.getCurrentUser();
+      log.debug("Listing {} recursively as {}", directory, ugi);
+      return walker.list(getFileSystem(), ugi, new Path(directory), maxDepth, batchSize);
+    } catch (IllegalArgumentException | IOException e) {
+      throw failed(e);
+    }
+  }
+
+  @Override
+  public RecursiveListing continueListing(String cursor, int batchSize) throws TException {
+    try {
+      UserGroupInformation ugi = UserGroupInformation.getCurrentUser();
+      log.debug("Continuing recursive listing as {}", ugi);
+      return walker.next(getFileSystem(), ugi, cursor, batchSize);
+    } catch (IOException e) {
+      throw failed(e);
+    }
+  }
+
+  @Override
+  public String getDelegationToken() throws TException {
+    if (null == secretManager) {
+      throw new TException("Delegation tokens are not enabled on this server");
+    }
+    // Otherwise a stolen token could be used to keep getting new ones
+    if (AuthenticationMethod.KERBEROS != TUGIAssumingProcessor.getAuthenticationMethod()) {
+      throw new TException("Delegation tokens are only issued to connections authenticated with Kerberos");
+    }
+    try {
+      UserGroupInformation ugi = UserGroupInformation.getCurrentUser();
+      log.debug("Issuing delegation token to {}", ugi);
+      return secretManager.issue(ugi).encodeToUrlString();
+    } catch (IOException e) {
+      throw failed(e);
+    }
+  }
+
+  /**
+   * Report the failure of an RPC on the server and convert it into something to send back to the client
+   */
+  private static TException failed(Exception e) {
+    if (causedByClient(e)) {
+      log.debug("Call failed", e);
+    } else {
+      log.warn("Call failed", e);
+    }
+    return new TException(e);
+  }
+
+  /**
+   * @return True if the failure comes from what the client asked for, e.g. a missing path or a deadline which passed, rather than a problem on the server
+   */
+  private static boolean causedByClient(Exception e) {
+    return e instanceof FileNotFoundException || e instanceof AccessControlException || e instanceof DeadlineExceededException
+        || e instanceof IllegalArgumentException;
+  }
+
+  /**
+   * The name of the file, with a trailing slash on directories
+   */
+  private static String displayName(FileStatus stat) {
+    String name = stat.getPath().getName();
+    return stat.isDirectory() ? name + "/" : name;
+  }
+
 }
@@ -0,0 +1,351 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import joshelser.thrift.HdfsService;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.thrift.TApplicationException;
+import org.apache.thrift.TException;
+import org.htrace.Span;
+import org.htrace.Trace;
+import org.htrace.TraceScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Calls a set of identical servers, hedging read-only calls: if the server a call was sent to hasn't answered once the call has taken longer than most calls
+ * of its method do, the same call is sent to the next server as well, and whichever answers first wins. A single slow server, e.g. one paused for garbage
+ * collection, then costs a call little more than the hedging delay.
+ *
+ * The delay for each method is the {@link Options#percentile(double) percentile} of how long its calls took once they had a connection, over the last
+ * {@link #WINDOW_SECONDS}, and never less than the {@link Options#minDelay(long, TimeUnit) minimum}, which is also used until enough calls have been timed.
+ * Calls are spread over the servers in turn. A call which fails to reach its server is sent to the next one straight away, while an error from the service
+ * itself is returned as the answer.
+ *
+ * Only the methods in {@link #HEDGED_METHODS} are hedged. The rest go to the first server: a recursive listing must be continued on the server which
+ * started it, and a delegation token is only accepted by the server which issued it.
+ *
+ * The losing call is not interrupted, since a blocked Thrift call can't be. It runs to completion on its own thread and returns its connection to the pool.
+ * Attempts carry the caller's {@link Deadline} and trace.
+ */
+public class HedgedClient implements Closeable {
+  private static final Logger log = LoggerFactory.getLogger(HedgedClient.class);
+
+  public static final Set<String> HEDGED_METHODS = new HashSet<String>(Arrays.asList("ls", "lsPage", "listEntries", "listEntriesPage", "batch", "summarize"));
+  public static final long WINDOW_SECONDS = 10;
+  // Fewer calls than this in a window say little about its tail
+  private static final long MIN_WINDOW_CALLS = 20;
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final HdfsClientPool pool;
+  private final List<ServerKey> servers;
+  private final double percentile;
+  private final long minDelayNanos;
+  private final Map<Method,Latencies> latencies = new HashMap<Method,Latencies>();
+  private final ExecutorService attempts;
+  private final ScheduledExecutorService windows;
+  private final AtomicInteger next = new AtomicInteger(0);
+  private final AtomicLong hedgedCalls = new AtomicLong();
+  private final AtomicLong hedgeWins = new AtomicLong();
+  private final HdfsService.Iface client;
+
+  /**
+   * @param pool
+   *          Connections to the servers, which the caller remains responsible for closing
+   * @param servers
+   *          Servers which all serve the same HDFS
+   */
+  public HedgedClient(HdfsClientPool pool, List<ServerKey> servers, Options options) {
+    Preconditions.checkArgument(!servers.isEmpty(), "Need at least one server");
+    Preconditions.checkArgument(options.percentile > 0 && options.percentile <= 100, "Percentile must be above 0 and at most 100");
+    Preconditions.checkArgument(options.minDelayNanos >= 0, "Minimum delay must not be negative");
+    this.pool = pool;
+    this.servers = new ArrayList<ServerKey>(servers);
+    this.percentile = options.percentile;
+    this.minDelayNanos = options.minDelayNanos;
+    for (Method method : HdfsService.Iface.class.getMethods()) {
+      if (HEDGED_METHODS.contains(method.getName())) {
+        latencies.put(method, new Latencies());
+      }
+    }
+
+    this.attempts = Executors.newCachedThreadPool(new ThreadFactory() {
+      private final AtomicInteger count = new AtomicInteger(0);
+
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "hedged-call-" + count.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+      }
+    });
+    this.windows = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "hedged-call-latency-window");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+    this.windows.scheduleAtFixedRate(new Runnable() {
+      @Override
+      public void run() {
+        for (Latencies methodLatencies : latencies.values()) {
+          methodLatencies.rollover();
+        }
+      }
+    }, WINDOW_SECONDS, WINDOW_SECONDS, TimeUnit.SECONDS);
+
+    this.client = (HdfsService.Iface) Proxy.newProxyInstance(HdfsService.Iface.class.getClassLoader(), new Class<?>[] {HdfsService.Iface.class},
+        new InvocationHandler() {
+          @Override
+          public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+              return method.invoke(this, args);
+            }
+            Latencies methodLatencies = latencies.get(method);
+            if (null == methodLatencies || 1 == HedgedClient.this.servers.size()) {
+              return call(HedgedClient.this.servers.get(0), method, args, methodLatencies);
+            }
+            try {
+              return hedge(method, args, methodLatencies);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new TException("Interrupted waiting for " + method.getName(), e);
+            }
+          }
+        });
+  }
+
+  /**
+   * @return The service, calling the servers as described above. Safe to use from many threads at once
+   */
+  public HdfsService.Iface getClient() {
+    return client;
+  }
+
+  /**
+   * @return Calls which were sent to a second server
+   */
+  public long getHedgedCalls() {
+    return hedgedCalls.get();
+  }
+
+  /**
+   * @return Hedged calls which the second server answered first
+   */
+  public long getHedgeWins() {
+    return hedgeWins.get();
+  }
+
+  /**
+   * @return How long to wait for an answer to the method before sending the call to another server
+   */
+  public long getDelay(Method method, TimeUnit unit) {
+    Histogram window = latencies.get(method).lastWindow;
+    long delayNanos = minDelayNanos;
+    if (window.getTotalCount() >= MIN_WINDOW_CALLS) {
+      delayNanos = Math.max(delayNanos, window.getValueAtPercentile(percentile));
+    }
+    return unit.convert(delayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void close() {
+    windows.shutdownNow();
+    // Let losing calls finish and give back their connections
+    attempts.shutdown();
+  }
+
+  private Object hedge(Method method, Object[] args, Latencies methodLatencies) throws Throwable {
+    int first = (next.getAndIncrement() & Integer.MAX_VALUE) % servers.size();
+    ServerKey primary = servers.get(first), secondary = servers.get((first + 1) % servers.size());
+    ExecutorCompletionService<Object> answers = new ExecutorCompletionService<Object>(attempts);
+    Future<Object> primaryAttempt = answers.submit(attempt(primary, method, args, methodLatencies));
+
+    Future<Object> answer = answers.poll(getDelay(method, TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    if (null != answer) {
+      try {
+        return answer.get();
+      } catch (ExecutionException e) {
+        // Nothing for another server to do once the caller has given up
+        Deadline deadline = Deadline.current();
+        if (!unreachable(e.getCause()) || (null != deadline && deadline.isExpired())) {
+          throw e.getCause();
+        }
+        log.debug("Could not call {}, trying {}", primary, secondary, e.getCause());
+      }
+    }
+
+    hedgedCalls.incrementAndGet();
+    Future<Object> hedge = answers.submit(attempt(secondary, method, args, methodLatencies));
+    // Wait for the first answer, or for the other server if one couldn't be reached
+    int outstanding = null == answer ? 2 : 1;
+    Throwable failure = null;
+    while (outstanding-- > 0) {
+      answer = answers.take();
+      try {
+        Object result = answer.get();
+        if (answer == hedge) {
+          hedgeWins.incrementAndGet();
+        }
+        return result;
+      } catch (ExecutionException e) {
+        if (!unreachable(e.getCause())) {
+          throw e.getCause();
+        }
+        failure = e.getCause();
+      }
+    }
+    // Both attempts failed, report the first server's problem
+    try {
+      primaryAttempt.get();
+    } catch (ExecutionException e) {
+      failure = e.getCause();
+    }
+    throw failure;
+  }
+
+  /**
+   * Make the call on another thread, with the caller's deadline and trace.
+   */
+  private Callable<Object> attempt(final ServerKey server, final Method method, final Object[] args, final Latencies methodLatencies) {
+    final Deadline deadline = Deadline.current();
+    final Span parent = Trace.currentSpan();
+    return new Callable<Object>() {
+      @Override
+      public Object call() throws Exception {
+        Deadline.Scope deadlineScope = null == deadline ? null : deadline.attach();
+        TraceScope traceScope = null == parent ? null : Trace.startSpan("HedgedClient." + server.getHost() + ":" + server.getPort(), parent);
+        try {
+          return HedgedClient.this.call(server, method, args, methodLatencies);
+        } finally {
+          if (null != traceScope) {
+            traceScope.close();
+          }
+          if (null != deadlineScope) {
+            deadlineScope.close();
+          }
+        }
+      }
+    };
+  }
+
+  /**
+   * Make the call on a pooled connection to the server, timing it if it succeeds. Waiting for the connection isn't timed, since the delay is for how long
+   * the server takes to answer.
+   */
+  private Object call(ServerKey server, Method method, Object[] args, Latencies methodLatencies) throws TException {
+    try (HdfsClientPool.PooledClient pooled = pool.borrow(server)) {
+      long start = System.nanoTime();
+      try {
+        Object result = method.invoke(pooled.getClient(), args);
+        if (null != methodLatencies) {
+          methodLatencies.recorder.recordValue(System.nanoTime() - start);
+        }
+        return result;
+      } catch (InvocationTargetException e) {
+        Throwable cause = e.getCause();
+        if (unreachable(cause)) {
+          pooled.invalidate();
+        }
+        if (cause instanceof TException) {
+          throw (TException) cause;
+        }
+        throw new RuntimeException(cause);
+      } catch (IllegalAccessException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  /**
+   * @return True if the call failed to reach the server or get its answer, rather than the server answering with an error
+   */
+  private static boolean unreachable(Throwable t) {
+    // Errors from the service come back as application exceptions, over a connection which is still usable
+    return t instanceof TException && !(t instanceof TApplicationException);
+  }
+
+  /**
+   * Call times of one method, recorded without locking and read from the last complete window.
+   */
+  private static class Latencies {
+    final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    volatile Histogram lastWindow = new Histogram(SIGNIFICANT_DIGITS);
+
+    void rollover() {
+      // A fresh histogram each time, since a caller may still be reading the last one
+      lastWindow = recorder.getIntervalHistogram();
+    }
+  }
+
+  /**
+   * Configuration for the hedging.
+   */
+  public static class Options {
+    public static final double DEFAULT_PERCENTILE = 95;
+    public static final long DEFAULT_MIN_DELAY_MILLIS = 20;
+
+    private double percentile = DEFAULT_PERCENTILE;
+    private long minDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MIN_DELAY_MILLIS);
+
+    /**
+     * Percentile of a method's recent call times to send a call to a second server after, e.g. 95 to hedge about one call in twenty.
+     */
+    public Options percentile(double percentile) {
+      this.percentile = percentile;
+      return this;
+    }
+
+    /**
+     * Least time to wait before hedging, which is also the delay until enough calls have been timed.
+     */
+    public Options minDelay(long time, TimeUnit unit) {
+      this.minDelayNanos = unit.toNanos(time);
+      return this;
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.Closeable;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.Subject;
+import javax.security.auth.kerberos.KerberosTicket;
+import javax.security.auth.login.AppConfigurationEntry;
+import javax.security.auth.login.AppConfigurationEntry.LoginModuleControlFlag;
+import javax.security.auth.login.Configuration;
+import javax.security.auth.login.LoginContext;
+import javax.security.auth.login.LoginException;
+
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.security.authentication.util.KerberosUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Logs the server in again from its keytab in the background, well before its ticket-granting ticket expires, so RPCs never wait on the KDC for it.
+ *
+ * Renewal happens between {@link #RENEW_FRACTION} and {@link #RENEW_FRACTION} + {@link #JITTER_FRACTION} of the ticket's lifetime, so servers started
+ * together don't all go to the KDC at once. Hadoop's own {@link UserGroupInformation#checkTGTAndReloginFromKeytab()} can't be used: it waits until 80% of
+ * the lifetime has passed, logs out before logging back in, and in this version of Hadoop does nothing at all on Java 8 and later, which keep a KeyTab in
+ * the Subject instead of the KerberosKeys it looks for. Instead, this logs in from the keytab to a new Subject and swaps the new ticket-granting ticket into
+ * the server's Subject, which always holds a valid one.
+ */
+public class KeytabLoginRenewer implements Closeable {
+  private static final Logger log = LoggerFactory.getLogger(KeytabLoginRenewer.class);
+
+  public static final double RENEW_FRACTION = 0.6;
+  public static final double JITTER_FRACTION = 0.15;
+
+  private static final long RETRY_MILLIS = 60 * 1000;
+  private static final String LOGIN_NAME = "krb-thrift-keytab-renewal";
+
+  private final UserGroupInformation user;
+  private final Configuration loginConf;
+  private final ServerMetrics metrics;
+  private final Random random = new Random();
+  private final ScheduledExecutorService renewer;
+
+  /**
+   * @param user
+   *          Logged in from the keytab as the principal
+   */
+  public KeytabLoginRenewer(UserGroupInformation user, String principal, String keytab, ServerMetrics metrics) {
+    this.user = user;
+    this.metrics = metrics;
+
+    final Map<String,String> options = new HashMap<String,String>();
+    options.put("useKeyTab", "true");
+    options.put("keyTab", keytab);
+    options.put("principal", principal);
+    options.put("storeKey", "false");
+    options.put("doNotPrompt", "true");
+    options.put("useTicketCache", "false");
+    options.put("refreshKrb5Config", "true");
+    this.loginConf = new Configuration() {
+      @Override
+      public AppConfigurationEntry[] getAppConfigurationEntry(String name) {
+        return new AppConfigurationEntry[] {new AppConfigurationEntry(KerberosUtil.getKrb5LoginModuleName(), LoginModuleControlFlag.REQUIRED, options)};
+      }
+    };
+
+    this.renewer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "keytab-login-renewer");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+  }
+
+  /**
+   * Schedule the first renewal, if the user has a ticket-granting ticket.
+   *
+   * @return True if the login will be renewed
+   */
+  public boolean start() {
+    Preconditions.checkState(!renewer.isShutdown(), "Already closed");
+    KerberosTicket tgt = null;
+    if (UserGroupInformation.isSecurityEnabled()) {
+      tgt = findTGT(getSubject());
+    }
+    if (null == tgt) {
+      log.warn("{} has no ticket-granting ticket, not renewing its login", user);
+      return false;
+    }
+    schedule(tgt.getEndTime().getTime(), nextRenewal(tgt));
+    return true;
+  }
+
+  @Override
+  public void close() {
+    renewer.shutdownNow();
+  }
+
+  private long nextRenewal(KerberosTicket tgt) {
+    long start = (null == tgt.getStartTime() ? tgt.getAuthTime() : tgt.getStartTime()).getTime(), end = tgt.getEndTime().getTime();
+    return start + (long) ((end - start) * (RENEW_FRACTION + random.nextDouble() * JITTER_FRACTION));
+  }
+
+  private void schedule(long endTime, long renewAt) {
+    metrics.setLoginTicketEndTime(endTime);
+    long delay = Math.max(renewAt - System.currentTimeMillis(), 0);
+    log.info("Ticket-granting ticket for {} expires at {}, logging in again at {}", user, new Date(endTime), new Date(System.currentTimeMillis() + delay));
+    renewer.schedule(new Runnable() {
+      @Override
+      public void run() {
+        renew();
+      }
+    }, delay, TimeUnit.MILLISECONDS);
+  }
+
+  private void renew() {
+    Subject subject = getSubject();
+    KerberosTicket previous = findTGT(subject);
+    KerberosTicket tgt;
+    try {
+      LoginContext login = new LoginContext(LOGIN_NAME, new Subject(), null, loginConf);
+      login.login();
+      tgt = findTGT(login.getSubject());
+      if (null == tgt) {
+        throw new LoginException("No ticket-granting ticket from logging in");
+      }
+    } catch (LoginException e) {
+      // Keep trying until the old ticket expires, after which RPCs needing it will fail
+      metrics.loginRenewalFailed();
+      log.warn("Could not log {} in again from its keytab, trying again in {}ms", user, RETRY_MILLIS, e);
+      schedule(null == previous ? 0 : previous.getEndTime().getTime(), System.currentTimeMillis() + RETRY_MILLIS);
+      return;
+    }
+
+    // Add the new ticket before removing the old one, so there is always one to get service tickets with
+    Set<Object> credentials = subject.getPrivateCredentials();
+    synchronized (credentials) {
+      credentials.add(tgt);
+      if (null != previous) {
+        credentials.remove(previous);
+      }
+    }
+    schedule(tgt.getEndTime().getTime(), nextRenewal(tgt));
+  }
+
+  private Subject getSubject() {
+    return UserSubjects.getSubject(user);
+  }
+
+  /**
+   * Find the ticket-granting ticket in the Subject, or null if it has none.
+   */
+  private static KerberosTicket findTGT(Subject subject) {
+    if (null == subject) {
+      return null;
+    }
+    for (KerberosTicket ticket : subject.getPrivateCredentials(KerberosTicket.class)) {
+      if (ticket.getServer().getName().startsWith("krbtgt/")) {
+        return ticket;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations, for recording on the RPC hot path.
+ *
+ * Durations are counted in log-linear buckets (eight per power of two, so within 12.5% of the true value) with atomic increments. Percentiles are computed from
+ * the counts recorded during the most recent window; {@link #rollover()} closes the current window and is expected to be called periodically by a single
+ * thread.
+ */
+public class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  // Values below this are counted exactly
+  private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+  // Enough for durations up to 2^44ns (about 5 hours)
+  private static final int MAX_EXPONENT = 44;
+  private static final int BUCKETS = LINEAR_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+  private final String name;
+  private final String description;
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+
+  // Only touched by the thread calling rollover()
+  private final long[] previousCounts = new long[BUCKETS];
+  private long previousCount = 0;
+  private long previousTotalNanos = 0;
+  private volatile Window window = new Window(new long[BUCKETS], 0, 0);
+
+  public LatencyHistogram(String name, String description) {
+    this.name = name;
+    this.description = description;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Record a duration which began at the given {@link System#nanoTime()}.
+   */
+  public void recordSince(long startNanos) {
+    record(System.nanoTime() - startNanos);
+  }
+
+  public void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+    counts.incrementAndGet(bucket(nanos));
+    count.incrementAndGet();
+    totalNanos.addAndGet(nanos);
+  }
+
+  /**
+   * @return Number of durations recorded since creation
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * Close the current window, making its durations the ones reported by {@link #getWindow()}.
+   */
+  public void rollover() {
+    long[] windowCounts = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      long current = counts.get(i);
+      windowCounts[i] = current - previousCounts[i];
+      previousCounts[i] = current;
+    }
+    long currentCount = count.get(), currentTotal = totalNanos.get();
+    window = new Window(windowCounts, currentCount - previousCount, currentTotal - previousTotalNanos);
+    previousCount = currentCount;
+    previousTotalNanos = currentTotal;
+  }
+
+  /**
+   * @return The durations recorded in the last complete window
+   */
+  public Window getWindow() {
+    return window;
+  }
+
+  static int bucket(long nanos) {
+    if (nanos < LINEAR_BUCKETS) {
+      return (int) nanos;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    if (exponent >= MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+    int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return LINEAR_BUCKETS + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * @return The largest duration counted in the bucket
+   */
+  static long upperBound(int bucket) {
+    if (bucket < LINEAR_BUCKETS) {
+      return bucket;
+    }
+    int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+    long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+    long width = 1L << (exponent - SUB_BUCKET_BITS);
+    return (1L << exponent) + (subBucket + 1) * width - 1;
+  }
+
+  /**
+   * An immutable set of durations recorded over one window.
+   */
+  public static class Window {
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+
+    Window(long[] counts, long count, long totalNanos) {
+      this.counts = counts;
+      this.count = count;
+      this.totalNanos = totalNanos;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public double getMean(TimeUnit unit) {
+      return 0 == count ? 0 : (double) totalNanos / count / unit.toNanos(1);
+    }
+
+    /**
+     * @param quantile
+     *          Between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return The duration which the given fraction of the window's durations did not exceed, or 0 if nothing was recorded
+     */
+    public double getQuantile(double quantile, TimeUnit unit) {
+      if (0 == count) {
+        return 0;
+      }
+      long rank = (long) Math.ceil(quantile * count);
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank && counts[i] > 0) {
+          return (double) upperBound(i) / unit.toNanos(1);
+        }
+      }
+      return getMax(unit);
+    }
+
+    public double getMax(TimeUnit unit) {
+      for (int i = counts.length - 1; i >= 0; i--) {
+        if (counts[i] > 0) {
+          return (double) upperBound(i) / unit.toNanos(1);
+        }
+      }
+      return 0;
+    }
+  }
+}
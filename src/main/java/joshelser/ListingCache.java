@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.permission.FsAction;
+import org.apache.hadoop.hdfs.DFSInotifyEventInputStream;
+import org.apache.hadoop.hdfs.client.HdfsAdmin;
+import org.apache.hadoop.hdfs.inotify.Event;
+import org.apache.hadoop.hdfs.inotify.MissingEventsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+/**
+ * Memory-bounded LRU cache of directory listings, shared by all users.
+ *
+ * On HDFS, listings are invalidated by tailing the NameNode's inotify event stream, which requires the server to be an HDFS superuser. On other
+ * FileSystems, or while the event stream is unavailable, listings are only served for a fixed time after being loaded. Either way, a listing may be stale
+ * for as long as it takes for the change to be noticed.
+ *
+ * Every lookup first checks that the caller may list the directory (as the caller), so a listing loaded for one user is never shown to a user who could not
+ * have listed the directory themselves.
+ */
+public class ListingCache implements Closeable {
+  private static final Logger log = LoggerFactory.getLogger(ListingCache.class);
+
+  public static final long DEFAULT_TTL_SECONDS = 5;
+
+  // Rough size of a FileStatus and its Path, not counting the strings in it
+  private static final int FILE_STATUS_OVERHEAD_BYTES = 300;
+  private static final int INVALIDATION_STRIPES = 1024;
+  private static final long RECONNECT_BACKOFF_MILLIS = 5000;
+
+  private final URI fsUri;
+  private final long ttlNanos;
+  private final ServerMetrics metrics;
+  private final Cache<String,Listing> cache;
+
+  // Bumped whenever a listing may have become stale, so a listing being loaded at the same time isn't cached
+  private final AtomicLong globalGeneration = new AtomicLong(0);
+  private final AtomicLongArray generations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+  private volatile boolean tailing = false;
+  private volatile boolean closed = false;
+  private Thread tailer;
+
+  /**
+   * @param fsUri
+   *          FileSystem whose listings are cached, listings from other FileSystems are not
+   * @param maxBytes
+   *          Approximate memory to use for listings
+   * @param ttl
+   *          How long listings are served for when changes are not being tracked through inotify
+   */
+  public ListingCache(URI fsUri, long maxBytes, long ttl, TimeUnit unit, ServerMetrics metrics) {
+    Preconditions.checkArgument(maxBytes > 0, "Cache size must be positive");
+    Preconditions.checkArgument(ttl >= 0, "TTL must not be negative");
+    this.fsUri = fsUri;
+    this.ttlNanos = unit.toNanos(ttl);
+    this.metrics = metrics;
+    this.cache = CacheBuilder.newBuilder().maximumWeight(maxBytes).weigher(new Weigher<String,Listing>() {
+      @Override
+      public int weigh(String directory, Listing listing) {
+        return listing.weight;
+      }
+    }).build();
+  }
+
+  /**
+   * Start tracking changes through inotify if the FileSystem is HDFS, using the server's own credentials.
+   *
+   * @return True if changes are being tracked, false if listings will expire after the TTL instead
+   */
+  public synchronized boolean start(final Configuration conf) {
+    Preconditions.checkState(null == tailer, "Already started");
+    if (!"hdfs".equalsIgnoreCase(fsUri.getScheme())) {
+      log.info("Caching listings of {} for {}ms, no change notifications for this FileSystem", fsUri, TimeUnit.NANOSECONDS.toMillis(ttlNanos));
+      return false;
+    }
+
+    final HdfsAdmin admin;
+    DFSInotifyEventInputStream events;
+    try {
+      admin = new HdfsAdmin(fsUri, conf);
+      events = admin.getInotifyEventStream();
+    } catch (IOException e) {
+      log.warn("Could not follow inotify events from {}, caching listings for {}ms instead", fsUri, TimeUnit.NANOSECONDS.toMillis(ttlNanos), e);
+      return false;
+    }
+
+    tailing = true;
+    final DFSInotifyEventInputStream initialEvents = events;
+    tailer = new Thread("listing-cache-inotify") {
+      @Override
+      public void run() {
+        tail(admin, initialEvents);
+      }
+    };
+    tailer.setDaemon(true);
+    tailer.start();
+    log.info("Caching listings of {}, invalidated by inotify events", fsUri);
+    return true;
+  }
+
+  /**
+   * @return True if listings are being invalidated as their directories change
+   */
+  public boolean isTracking() {
+    return tailing;
+  }
+
+  /**
+   * List the directory as the current user, from the cache if possible.
+   */
+  public FileStatus[] listStatus(FileSystem fs, Path directory) throws IOException {
+    Path qualified = fs.makeQualified(directory);
+    if (!fsUri.equals(fs.getUri())) {
+      return fs.listStatus(qualified);
+    }
+    String key = qualified.toUri().getPath();
+
+    Listing listing = cache.getIfPresent(key);
+    if (null != listing && !tailing && System.nanoTime() - listing.loadedNanos > ttlNanos) {
+      cache.asMap().remove(key, listing);
+      listing = null;
+    }
+    if (null != listing) {
+      // Same check as listing the directory; throws AccessControlException (or FileNotFoundException) if the user may not
+      fs.access(qualified, FsAction.READ_EXECUTE);
+      metrics.listingCacheHit();
+      return listing.statuses;
+    }
+
+    metrics.listingCacheMiss();
+    int stripe = stripe(key);
+    long global = globalGeneration.get(), generation = generations.get(stripe);
+    long loaded = System.nanoTime();
+    FileStatus[] statuses = fs.listStatus(qualified);
+    // Listing a file gives just that file, which needs different permissions than a directory, so only cache directories
+    boolean isFile = 1 == statuses.length && !statuses[0].isDirectory() && qualified.equals(statuses[0].getPath());
+    if (!isFile && globalGeneration.get() == global && generations.get(stripe) == generation) {
+      Listing loadedListing = new Listing(statuses, loaded);
+      cache.put(key, loadedListing);
+      // An invalidation bumps the generation before dropping the listing. If it got in between the check and the put, take back what we put, otherwise it
+      // will find the listing when it drops it
+      if (globalGeneration.get() != global || generations.get(stripe) != generation) {
+        cache.asMap().remove(key, loadedListing);
+      }
+    }
+    return statuses;
+  }
+
+  /**
+   * Drop the listing of the directory.
+   */
+  public void invalidate(String directory) {
+    generations.incrementAndGet(stripe(directory));
+    cache.invalidate(directory);
+  }
+
+  /**
+   * Drop the listings of the directory and everything under it.
+   */
+  public void invalidateTree(String directory) {
+    globalGeneration.incrementAndGet();
+    String prefix = directory.endsWith(Path.SEPARATOR) ? directory : directory + Path.SEPARATOR;
+    for (String key : cache.asMap().keySet()) {
+      if (key.equals(directory) || key.startsWith(prefix)) {
+        cache.invalidate(key);
+      }
+    }
+  }
+
+  public void invalidateAll() {
+    globalGeneration.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  @Override
+  public synchronized void close() {
+    closed = true;
+    if (null != tailer) {
+      tailer.interrupt();
+    }
+    cache.invalidateAll();
+  }
+
+  private void tail(HdfsAdmin admin, DFSInotifyEventInputStream events) {
+    while (!closed) {
+      try {
+        Event event = events.poll(1, TimeUnit.SECONDS);
+        if (null != event) {
+          apply(event);
+        }
+      } catch (MissingEventsException e) {
+        log.warn("Missed inotify events, dropping all cached listings", e);
+        invalidateAll();
+      } catch (InterruptedException e) {
+        return;
+      } catch (IOException | RuntimeException e) {
+        // Until we're following events again, fall back to expiring listings
+        log.warn("Lost inotify event stream, caching listings for {}ms until it is reopened", TimeUnit.NANOSECONDS.toMillis(ttlNanos), e);
+        tailing = false;
+        invalidateAll();
+        events = reopen(admin);
+        if (null == events) {
+          return;
+        }
+        // Anything loaded while we weren't following events may have missed a change
+        invalidateAll();
+        tailing = true;
+        log.info("Following inotify events again");
+      }
+    }
+  }
+
+  private DFSInotifyEventInputStream reopen(HdfsAdmin admin) {
+    while (!closed) {
+      try {
+        Thread.sleep(RECONNECT_BACKOFF_MILLIS);
+        return admin.getInotifyEventStream();
+      } catch (InterruptedException e) {
+        return null;
+      } catch (IOException e) {
+        log.debug("Failed to reopen inotify event stream", e);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Drop the listings an event may have changed.
+   */
+  void apply(Event event) {
+    switch (event.getEventType()) {
+      case CREATE:
+        invalidate(parent(((Event.CreateEvent) event).getPath()));
+        break;
+      case CLOSE:
+        invalidate(parent(((Event.CloseEvent) event).getPath()));
+        break;
+      case APPEND:
+        invalidate(parent(((Event.AppendEvent) event).getPath()));
+        break;
+      case METADATA:
+        // Changes the entry in the parent's listing, and may change who can list the path itself
+        String path = ((Event.MetadataUpdateEvent) event).getPath();
+        invalidate(parent(path));
+        invalidate(path);
+        break;
+      case RENAME:
+        Event.RenameEvent rename = (Event.RenameEvent) event;
+        invalidate(parent(rename.getSrcPath()));
+        invalidate(parent(rename.getDstPath()));
+        invalidateTree(rename.getSrcPath());
+        invalidateTree(rename.getDstPath());
+        break;
+      case UNLINK:
+        String unlinked = ((Event.UnlinkEvent) event).getPath();
+        invalidate(parent(unlinked));
+        invalidateTree(unlinked);
+        break;
+      default:
+        log.debug("Dropping all cached listings after unknown event {}", event.getEventType());
+        invalidateAll();
+    }
+  }
+
+  private static String parent(String path) {
+    Path parent = new Path(path).getParent();
+    return null == parent ? path : parent.toUri().getPath();
+  }
+
+  private static int stripe(String directory) {
+    return (directory.hashCode() & Integer.MAX_VALUE) % INVALIDATION_STRIPES;
+  }
+
+  private static class Listing {
+    final FileStatus[] statuses;
+    final long loadedNanos;
+    final int weight;
+
+    Listing(FileStatus[] statuses, long loadedNanos) {
+      this.statuses = statuses;
+      this.loadedNanos = loadedNanos;
+      long bytes = 0;
+      for (FileStatus stat : statuses) {
+        bytes += FILE_STATUS_OVERHEAD_BYTES + 2 * (stat.getPath().toString().length() + length(stat.getOwner()) + length(stat.getGroup()));
+      }
+      this.weight = (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static int length(String s) {
+      return null == s ? 0 : s.length();
+    }
+  }
+}
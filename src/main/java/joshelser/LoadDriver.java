@@ -0,0 +1,650 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import joshelser.thrift.HdfsService;
+import joshelser.thrift.MetadataOp;
+import joshelser.thrift.MetadataRequest;
+
+import org.HdrHistogram.Histogram;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.security.token.Token;
+import org.apache.hadoop.tracing.SpanReceiverHost;
+import org.apache.thrift.TException;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.SerializationConfig;
+import org.htrace.Sampler;
+import org.htrace.Trace;
+import org.htrace.TraceScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.beust.jcommander.Parameter;
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+
+/**
+ * Drives a server with calls from many connections at once, reporting throughput and latency percentiles.
+ *
+ * In closed-loop mode each thread makes its next call once the previous one returns, optionally paced to a share of {@code --rate}. In open-loop mode calls
+ * are started at {@code --rate} whether or not earlier ones have returned, and wait for a free connection. Either way, when calls are paced, a call's response
+ * time is measured from when it was meant to start rather than when it did, so a stalled server isn't hidden by the calls it kept from being made (coordinated
+ * omission). The time each call actually spent on the wire is reported separately as its service time.
+ */
+public class LoadDriver implements ServiceBase {
+  private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  /**
+   * The calls which can be made, named on the command line in lower case with dashes.
+   */
+  enum Op {
+    LS, LS_PAGE, LIST_ENTRIES, LIST_ENTRIES_PAGE, STAT, SUMMARIZE;
+
+    String getName() {
+      return name().toLowerCase().replace('_', '-');
+    }
+  }
+
+  private static class Opts extends ParseBase {
+    @Parameter(names = {"-s", "--server"}, required = true, description = "Hostname of Thrift server, or comma-separated host[:port] of several serving the same HDFS to hedge calls across")
+    private List<String> servers = new ArrayList<String>();
+
+    @Parameter(names = {"--port"}, required = false, description = "Port of the Thrift server")
+    private int port = DEFAULT_THRIFT_SERVER_PORT;
+
+    @Parameter(names = {"-p", "--primary"}, required = true, description = "Leading component of the Kerberos principal for the server")
+    private String primary;
+
+    @Parameter(names = {"-i", "--instance"}, required = true, description = "Second component of the Kerberos principal for the server, _HOST for each server's own hostname")
+    private String instance;
+
+    @Parameter(names = {"--hedge-percentile"}, required = false, description = "With several servers, send a call to a second server once it has taken longer than this percentile of recent calls")
+    private double hedgePercentile = HedgedClient.Options.DEFAULT_PERCENTILE;
+
+    @Parameter(names = {"--hedge-min-delay-millis"}, required = false, description = "With several servers, least time to wait for an answer before sending a call to a second server")
+    private long hedgeMinDelayMillis = HedgedClient.Options.DEFAULT_MIN_DELAY_MILLIS;
+
+    @Parameter(names = {"-d", "--dirs"}, required = false, description = "Comma-separated HDFS directories to call on, chosen at random for each call")
+    private List<String> dirs = new ArrayList<String>(Arrays.asList("/"));
+
+    @Parameter(names = {"--ops"}, required = false, description = "Comma-separated calls to make, each with an optional weight, e.g. ls:3,stat:1. One of ls, ls-page, list-entries, list-entries-page, stat or summarize")
+    private List<String> ops = new ArrayList<String>(Arrays.asList("ls"));
+
+    @Parameter(names = {"--page-size"}, required = false, description = "Entries to ask for in ls-page and list-entries-page calls")
+    private int pageSize = DirectoryPager.DEFAULT_PAGE_SIZE;
+
+    @Parameter(names = {"--threads"}, required = false, description = "Connections making calls at once")
+    private int threads = 8;
+
+    @Parameter(names = {"--rate"}, required = false, description = "Calls per second to start across all threads, 0 for as many as the threads can make")
+    private double rate = 0;
+
+    @Parameter(names = {"--open-loop"}, required = false, description = "Start calls at --rate even while earlier ones are still running, instead of each thread waiting for its last call")
+    private boolean openLoop = false;
+
+    @Parameter(names = {"--duration-seconds"}, required = false, description = "Seconds of calls to measure, after the warmup")
+    private long durationSeconds = 60;
+
+    @Parameter(names = {"--warmup-seconds"}, required = false, description = "Seconds of calls to make before measuring")
+    private long warmupSeconds = 10;
+
+    @Parameter(names = {"--calls-per-connection"}, required = false, description = "Calls to make on each connection before opening a new one, 0 to keep each thread's connection for the whole run")
+    private long callsPerConnection = 0;
+
+    @Parameter(names = {"--session-cipher"}, required = false, description = "After authenticating, ask the server to encrypt with AES instead of the SASL security layer")
+    private boolean sessionCipher = false;
+
+    @Parameter(names = {"--compression"}, required = false, description = "After authenticating, ask the server to compress messages with LZ4 before encrypting them")
+    private boolean compression = false;
+
+    @Parameter(names = {"--compression-threshold-bytes"}, required = false, description = "Smallest call to compress when --compression is agreed")
+    private int compressionThreshold = FrameCompression.DEFAULT_THRESHOLD_BYTES;
+
+    @Parameter(names = {"--delegation-token"}, required = false, description = "File with a delegation token from the server to authenticate with instead of Kerberos")
+    private String delegationToken = null;
+
+    @Parameter(names = {"--deadline-millis"}, required = false, description = "Deadline to send with each call, after which the server stops working on it and the call counts as an error. 0 for none")
+    private long deadlineMillis = 0;
+
+    @Parameter(names = {"--trace-sampling"}, required = false, description = "Fraction of calls to trace through the server, from 0 to 1. Spans go to the receivers in hadoop.trace.spanreceiver.classes")
+    private double traceSampling = 0;
+
+    @Parameter(names = {"--json"}, required = false, description = "File to also write the results to as JSON, for comparing runs")
+    private String json = null;
+  }
+
+  private final Opts opts;
+  private final List<ServerKey> servers;
+  private final UserGroupInformation user;
+  private final Token<DelegationTokenIdentifier> token;
+  private final Op[] ops;
+  private final int[] cumulativeWeights;
+  private final Sampler<Object> traceSampler;
+  // Shared by every worker when there are several servers, instead of each having its own connection
+  private final HdfsClientPool pool;
+  private final HedgedClient hedgedClient;
+  // Workers open their first connections before the clock starts
+  private final CountDownLatch connected;
+  private final CountDownLatch started = new CountDownLatch(1);
+  private long startNanos, measureNanos, endNanos;
+  // Start times of the calls for open-loop threads to make
+  private final BlockingQueue<Long> scheduled = new LinkedBlockingQueue<Long>();
+  private volatile boolean dispatching = true;
+
+  private LoadDriver(Opts opts, UserGroupInformation user, Token<DelegationTokenIdentifier> token) throws IOException {
+    this.opts = opts;
+    this.servers = new ArrayList<ServerKey>(opts.servers.size());
+    for (String address : opts.servers) {
+      servers.add(ServerKey.parse(address, opts.port, opts.primary, opts.instance));
+    }
+    this.user = user;
+    this.token = token;
+
+    this.ops = new Op[opts.ops.size()];
+    this.cumulativeWeights = new int[opts.ops.size()];
+    int total = 0;
+    for (int i = 0; i < ops.length; i++) {
+      String[] parts = opts.ops.get(i).split(":", 2);
+      ops[i] = Op.valueOf(parts[0].trim().toUpperCase().replace('-', '_'));
+      int weight = 1 == parts.length ? 1 : Integer.parseInt(parts[1].trim());
+      Preconditions.checkArgument(weight > 0, "Weight of %s must be positive", parts[0]);
+      total += weight;
+      cumulativeWeights[i] = total;
+    }
+    this.connected = new CountDownLatch(opts.threads);
+    this.traceSampler = RpcTracing.sampler(opts.traceSampling);
+
+    if (servers.size() > 1) {
+      int compressionThreshold = opts.compression ? opts.compressionThreshold : FrameCompression.DISABLED;
+      // As many connections as the threads to each server, with room for hedges whose loser is still running
+      this.pool = new HdfsClientPool(user, new HdfsClientPool.Options().minIdle(opts.threads).maxTotal(2 * opts.threads).sessionCipher(opts.sessionCipher)
+          .compressionThreshold(compressionThreshold));
+      this.hedgedClient = new HedgedClient(pool, servers, new HedgedClient.Options().percentile(opts.hedgePercentile).minDelay(opts.hedgeMinDelayMillis,
+          TimeUnit.MILLISECONDS));
+    } else {
+      this.pool = null;
+      this.hedgedClient = null;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Opts opts = new Opts();
+    opts.parseArgs(LoadDriver.class, args);
+    Preconditions.checkArgument(opts.threads > 0, "Need at least one thread");
+    Preconditions.checkArgument(opts.durationSeconds > 0, "Duration must be positive");
+    Preconditions.checkArgument(!opts.openLoop || opts.rate > 0, "--open-loop needs a --rate");
+    if (opts.servers.size() > 1) {
+      Preconditions.checkArgument(null == opts.delegationToken, "Delegation tokens can only be used with a single --server");
+      Preconditions.checkArgument(0 == opts.callsPerConnection, "Connections to several servers are pooled, --calls-per-connection needs a single --server");
+    }
+
+    Token<DelegationTokenIdentifier> token = null;
+    if (null != opts.delegationToken) {
+      token = HdfsConnection.decodeToken(new String(Files.readAllBytes(Paths.get(opts.delegationToken)), StandardCharsets.UTF_8).trim());
+    }
+    UserGroupInformation currentUser = UserGroupInformation.getCurrentUser();
+    log.info("Current user: {}", currentUser);
+
+    // Deliver the spans of traced calls to the configured receivers
+    SpanReceiverHost.getInstance(new Configuration());
+
+    LoadDriver driver = new LoadDriver(opts, currentUser, token);
+    Results results = driver.run();
+
+    System.out.print(results.format());
+    if (null != opts.json) {
+      ObjectMapper mapper = new ObjectMapper();
+      mapper.configure(SerializationConfig.Feature.INDENT_OUTPUT, true);
+      mapper.writeValue(new File(opts.json), results.toJson(opts));
+      log.info("Wrote results to {}", opts.json);
+    }
+  }
+
+  private Results run() throws InterruptedException {
+    log.info("Making {} calls for {}s after {}s of warmup", opts.openLoop ? "open-loop" : "closed-loop", opts.durationSeconds, opts.warmupSeconds);
+    if (null != pool) {
+      log.info("Hedging calls across {}", servers);
+      for (ServerKey server : servers) {
+        try {
+          pool.warmup(server);
+        } catch (TException e) {
+          log.warn("Failed to connect to {}", server, e);
+        }
+      }
+    }
+    List<Worker> workers = new ArrayList<Worker>(opts.threads);
+    for (int i = 0; i < opts.threads; i++) {
+      Worker worker = new Worker(i);
+      workers.add(worker);
+      worker.start();
+    }
+
+    connected.await();
+    startNanos = System.nanoTime();
+    measureNanos = startNanos + TimeUnit.SECONDS.toNanos(opts.warmupSeconds);
+    endNanos = measureNanos + TimeUnit.SECONDS.toNanos(opts.durationSeconds);
+    started.countDown();
+
+    if (opts.openLoop) {
+      dispatch();
+    }
+    for (Worker worker : workers) {
+      worker.join();
+    }
+
+    Results results = new Results(TimeUnit.NANOSECONDS.toSeconds(endNanos - measureNanos));
+    for (Worker worker : workers) {
+      results.add(worker);
+    }
+    if (null != hedgedClient) {
+      hedgedClient.close();
+      pool.close();
+    }
+    return results;
+  }
+
+  /**
+   * Queue a call to start every 1/rate seconds until the end of the run.
+   */
+  private void dispatch() {
+    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / opts.rate);
+    for (long next = startNanos; next < endNanos; next += intervalNanos) {
+      long wait = next - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      scheduled.add(next);
+    }
+    dispatching = false;
+  }
+
+  private HdfsConnection connect() throws TException {
+    int compressionThreshold = opts.compression ? opts.compressionThreshold : FrameCompression.DISABLED;
+    if (null != token) {
+      return HdfsConnection.open(servers.get(0), token, opts.sessionCipher, compressionThreshold);
+    }
+    return HdfsConnection.open(servers.get(0), user, opts.sessionCipher, compressionThreshold);
+  }
+
+  private Op chooseOp(ThreadLocalRandom random) {
+    int choice = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < ops.length; i++) {
+      if (choice < cumulativeWeights[i]) {
+        return ops[i];
+      }
+    }
+    throw new IllegalStateException("No op for " + choice);
+  }
+
+  private void call(HdfsService.Iface client, Op op, String dir) throws TException {
+    switch (op) {
+      case LS:
+        client.ls(dir);
+        break;
+      case LS_PAGE:
+        client.lsPage(dir, null, opts.pageSize);
+        break;
+      case LIST_ENTRIES:
+        client.listEntries(dir);
+        break;
+      case LIST_ENTRIES_PAGE:
+        client.listEntriesPage(dir, null, opts.pageSize);
+        break;
+      case STAT:
+        client.batch(Arrays.asList(new MetadataRequest(MetadataOp.STAT, dir)));
+        break;
+      case SUMMARIZE:
+        client.summarize(dir, 0);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown op: " + op);
+    }
+  }
+
+  /**
+   * Makes calls over its own connection, or the shared hedged client, recording latencies into histograms only it touches.
+   */
+  private class Worker extends Thread {
+    private final Histogram handshakes = newHistogram();
+    private final Map<Op,Histogram> responseTimes = new LinkedHashMap<Op,Histogram>();
+    private final Map<Op,Histogram> serviceTimes = new LinkedHashMap<Op,Histogram>();
+    private final Map<Op,Long> errors = new LinkedHashMap<Op,Long>();
+    private long handshakeErrors = 0;
+    private long neverStarted = 0;
+
+    private final int id;
+    private HdfsConnection connection;
+    private long connectionCalls = 0;
+
+    Worker(int id) {
+      super("load-driver-" + id);
+      setDaemon(true);
+      this.id = id;
+      for (Op op : ops) {
+        responseTimes.put(op, newHistogram());
+        serviceTimes.put(op, newHistogram());
+        errors.put(op, 0L);
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        if (null == hedgedClient) {
+          connection = connect();
+        }
+      } catch (TException e) {
+        // Try again once the run starts, counting it if that fails too
+        log.warn("Failed to connect", e);
+      } finally {
+        connected.countDown();
+      }
+
+      try {
+        started.await();
+        makeCalls();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        if (null != connection) {
+          connection.close();
+        }
+      }
+    }
+
+    private void makeCalls() throws InterruptedException {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      // Paced closed-loop threads share the rate, starting at even offsets from each other
+      long intervalNanos = opts.rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * opts.threads / opts.rate) : 0;
+      long intended = startNanos + intervalNanos * id / opts.threads;
+
+      while (true) {
+        if (opts.openLoop) {
+          Long next = scheduled.poll(10, TimeUnit.MILLISECONDS);
+          if (null == next) {
+            if (!dispatching || System.nanoTime() >= endNanos) {
+              return;
+            }
+            continue;
+          }
+          intended = next;
+        } else if (intervalNanos > 0) {
+          long wait = intended - System.nanoTime();
+          if (wait > 0) {
+            LockSupport.parkNanos(wait);
+          }
+        } else {
+          intended = System.nanoTime();
+        }
+        if (intended >= endNanos || System.nanoTime() >= endNanos) {
+          if (opts.openLoop) {
+            neverStarted++;
+          }
+          return;
+        }
+
+        makeCall(random, intended);
+        intended += intervalNanos;
+      }
+    }
+
+    private void makeCall(ThreadLocalRandom random, long intended) {
+      if (null == hedgedClient && (null == connection || (opts.callsPerConnection > 0 && connectionCalls >= opts.callsPerConnection))) {
+        if (null != connection) {
+          connection.close();
+          connection = null;
+        }
+        long connectStart = System.nanoTime();
+        try {
+          connection = connect();
+          connectionCalls = 0;
+        } catch (TException e) {
+          log.debug("Failed to connect", e);
+          if (connectStart >= measureNanos) {
+            handshakeErrors++;
+          }
+          return;
+        }
+        if (connectStart >= measureNanos) {
+          handshakes.recordValue(System.nanoTime() - connectStart);
+        }
+      }
+
+      Op op = chooseOp(random);
+      String dir = opts.dirs.get(random.nextInt(opts.dirs.size()));
+      long callStart = System.nanoTime();
+      TraceScope scope = traceSampler.next(null) ? Trace.startSpan("LoadDriver." + op.getName(), Sampler.ALWAYS) : null;
+      Deadline.Scope deadlineScope = opts.deadlineMillis > 0 ? Deadline.after(opts.deadlineMillis, TimeUnit.MILLISECONDS).attach() : null;
+      try {
+        call(null == hedgedClient ? connection.getClient() : hedgedClient.getClient(), op, dir);
+      } catch (TException e) {
+        log.debug("Failed to {} {}", op.getName(), dir, e);
+        if (intended >= measureNanos) {
+          errors.put(op, errors.get(op) + 1);
+        }
+        // Start over on a fresh connection, the old one may be broken or still waiting for a response past its deadline
+        if (null != connection) {
+          connection.close();
+          connection = null;
+        }
+        return;
+      } finally {
+        if (null != deadlineScope) {
+          deadlineScope.close();
+        }
+        if (null != scope) {
+          scope.close();
+        }
+      }
+      connectionCalls++;
+      long end = System.nanoTime();
+      if (intended >= measureNanos) {
+        responseTimes.get(op).recordValue(end - Math.min(intended, callStart));
+        serviceTimes.get(op).recordValue(end - callStart);
+      }
+    }
+  }
+
+  private static Histogram newHistogram() {
+    return new Histogram(SIGNIFICANT_DIGITS);
+  }
+
+  /**
+   * Latencies of every worker, merged.
+   */
+  private class Results {
+    private final long seconds;
+    // Open-loop calls which were due before the end but never got a connection
+    private long backlog;
+    private final Histogram handshakes = newHistogram();
+    private final Histogram responseTime = newHistogram();
+    private final Histogram serviceTime = newHistogram();
+    private final Map<Op,Histogram> responseTimes = new LinkedHashMap<Op,Histogram>();
+    private final Map<Op,Histogram> serviceTimes = new LinkedHashMap<Op,Histogram>();
+    private final Map<Op,Long> errors = new LinkedHashMap<Op,Long>();
+    private long handshakeErrors = 0;
+    // Counted over the whole run, the hedged client doesn't know about the warmup
+    private final long hedgedCalls;
+    private final long hedgeWins;
+
+    Results(long seconds) {
+      this.seconds = seconds;
+      this.backlog = scheduled.size();
+      this.hedgedCalls = null == hedgedClient ? 0 : hedgedClient.getHedgedCalls();
+      this.hedgeWins = null == hedgedClient ? 0 : hedgedClient.getHedgeWins();
+      for (Op op : ops) {
+        responseTimes.put(op, newHistogram());
+        serviceTimes.put(op, newHistogram());
+        errors.put(op, 0L);
+      }
+    }
+
+    void add(Worker worker) {
+      handshakes.add(worker.handshakes);
+      handshakeErrors += worker.handshakeErrors;
+      backlog += worker.neverStarted;
+      for (Op op : ops) {
+        responseTimes.get(op).add(worker.responseTimes.get(op));
+        serviceTimes.get(op).add(worker.serviceTimes.get(op));
+        responseTime.add(worker.responseTimes.get(op));
+        serviceTime.add(worker.serviceTimes.get(op));
+        errors.put(op, errors.get(op) + worker.errors.get(op));
+      }
+    }
+
+    long totalErrors() {
+      long total = 0;
+      for (Long count : errors.values()) {
+        total += count;
+      }
+      return total;
+    }
+
+    String format() {
+      StringBuilder sb = new StringBuilder();
+      sb.append(String.format("%d calls in %ds: %.1f calls/s, %d errors, %d handshake errors", responseTime.getTotalCount(), seconds,
+          (double) responseTime.getTotalCount() / seconds, totalErrors(), handshakeErrors));
+      if (backlog > 0) {
+        sb.append(String.format(", %d calls never started", backlog));
+      }
+      if (null != hedgedClient) {
+        sb.append(String.format(", %d calls hedged (%d answered first by the hedge) including warmup", hedgedCalls, hedgeWins));
+      }
+      sb.append('\n');
+      sb.append(String.format("%-28s %10s %10s", "Latency (ms)", "count", "mean"));
+      for (double percentile : PERCENTILES) {
+        sb.append(String.format(" %10s", "p" + formatPercentile(percentile)));
+      }
+      sb.append(String.format(" %10s%n", "max"));
+      formatRow(sb, "handshake", handshakes);
+      formatRow(sb, "call response", responseTime);
+      formatRow(sb, "call service", serviceTime);
+      if (ops.length > 1) {
+        for (Op op : ops) {
+          formatRow(sb, op.getName() + " response", responseTimes.get(op));
+          formatRow(sb, op.getName() + " service", serviceTimes.get(op));
+        }
+      }
+      return sb.toString();
+    }
+
+    private void formatRow(StringBuilder sb, String name, Histogram histogram) {
+      sb.append(String.format("%-28s %10d %10.3f", name, histogram.getTotalCount(), millis(histogram.getMean())));
+      for (double percentile : PERCENTILES) {
+        sb.append(String.format(" %10.3f", millis(histogram.getValueAtPercentile(percentile))));
+      }
+      sb.append(String.format(" %10.3f%n", millis(histogram.getMaxValue())));
+    }
+
+    Map<String,Object> toJson(Opts opts) {
+      Map<String,Object> config = new LinkedHashMap<String,Object>();
+      config.put("server", Joiner.on(',').join(opts.servers));
+      config.put("port", opts.port);
+      config.put("dirs", opts.dirs);
+      config.put("ops", opts.ops);
+      config.put("threads", opts.threads);
+      config.put("rate", opts.rate);
+      config.put("openLoop", opts.openLoop);
+      config.put("durationSeconds", opts.durationSeconds);
+      config.put("warmupSeconds", opts.warmupSeconds);
+      config.put("callsPerConnection", opts.callsPerConnection);
+      config.put("sessionCipher", opts.sessionCipher);
+      config.put("compression", opts.compression);
+      config.put("delegationToken", null != opts.delegationToken);
+      config.put("deadlineMillis", opts.deadlineMillis);
+      if (opts.servers.size() > 1) {
+        config.put("hedgePercentile", opts.hedgePercentile);
+        config.put("hedgeMinDelayMillis", opts.hedgeMinDelayMillis);
+      }
+
+      Map<String,Object> calls = new LinkedHashMap<String,Object>();
+      for (Op op : ops) {
+        Map<String,Object> call = new LinkedHashMap<String,Object>();
+        call.put("errors", errors.get(op));
+        call.put("responseTime", toJson(responseTimes.get(op)));
+        call.put("serviceTime", toJson(serviceTimes.get(op)));
+        calls.put(op.getName(), call);
+      }
+
+      Map<String,Object> json = new LinkedHashMap<String,Object>();
+      json.put("config", config);
+      json.put("seconds", seconds);
+      json.put("calls", responseTime.getTotalCount());
+      json.put("callsPerSecond", (double) responseTime.getTotalCount() / seconds);
+      json.put("errors", totalErrors());
+      json.put("handshakeErrors", handshakeErrors);
+      json.put("neverStarted", backlog);
+      if (null != hedgedClient) {
+        json.put("hedgedCalls", hedgedCalls);
+        json.put("hedgeWins", hedgeWins);
+      }
+      json.put("handshake", toJson(handshakes));
+      json.put("responseTime", toJson(responseTime));
+      json.put("serviceTime", toJson(serviceTime));
+      json.put("byOp", calls);
+      return json;
+    }
+
+    /**
+     * Summarize the histogram in milliseconds, with the whole histogram compressed so runs can be compared in full with HdrHistogram's tools.
+     */
+    private Map<String,Object> toJson(Histogram histogram) {
+      Map<String,Object> json = new LinkedHashMap<String,Object>();
+      json.put("count", histogram.getTotalCount());
+      json.put("meanMillis", millis(histogram.getMean()));
+      for (double percentile : PERCENTILES) {
+        json.put("p" + formatPercentile(percentile) + "Millis", millis(histogram.getValueAtPercentile(percentile)));
+      }
+      json.put("maxMillis", millis(histogram.getMaxValue()));
+      ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+      int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+      json.put("histogram", Base64.encodeBase64String(Arrays.copyOf(buffer.array(), length)));
+      return json;
+    }
+  }
+
+  private static String formatPercentile(double percentile) {
+    return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+  }
+
+  private static double millis(double nanos) {
+    return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
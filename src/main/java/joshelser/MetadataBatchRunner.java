@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import joshelser.thrift.MetadataRequest;
+import joshelser.thrift.MetadataResult;
+import joshelser.thrift.PathSummary;
+
+import org.apache.hadoop.fs.ContentSummary;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.thrift.TException;
+import org.htrace.Span;
+import org.htrace.Trace;
+import org.htrace.TraceScope;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Runs the operations of a batch metadata RPC in parallel, each one as the user making the call.
+ *
+ * The calling thread works through the batch along with at most {@code parallelism - 1} threads from a pool shared by all batches, so one large batch can't
+ * queue up more tasks than there are threads. Failures are reported in the result for the operation which failed.
+ *
+ * Operations which haven't started by the call's {@link Deadline} fail without being run, and the caller stops waiting for the rest once it passes.
+ */
+public class MetadataBatchRunner implements Closeable {
+  public static final int DEFAULT_THREADS = 8;
+  public static final int MAX_BATCH_SIZE = 10000;
+
+  private static final long THREAD_KEEP_ALIVE_SECONDS = 60;
+
+  private final ThreadPoolExecutor executor;
+  private final int parallelism;
+  private final ServerMetrics metrics;
+  private final ListingCache listingCache;
+
+  public MetadataBatchRunner(int threads, ServerMetrics metrics) {
+    this(threads, metrics, null);
+  }
+
+  /**
+   * @param threads
+   *          Threads shared by all batches, which is also the most operations one batch runs at once
+   * @param listingCache
+   *          Cache for directory listings, or null to always list from the FileSystem
+   */
+  public MetadataBatchRunner(int threads, ServerMetrics metrics, ListingCache listingCache) {
+    Preconditions.checkArgument(threads > 0, "Need at least one thread");
+    this.parallelism = threads;
+    this.metrics = metrics;
+    this.listingCache = listingCache;
+    this.executor = new ThreadPoolExecutor(threads, threads, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+        new ThreadFactory() {
+          private final AtomicInteger count = new AtomicInteger(0);
+
+          @Override
+          public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "metadata-batch-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+          }
+        });
+    // Don't hold on to threads when batches aren't being used
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Run the batch, waiting for every operation to finish.
+   *
+   * @param fs
+   *          FileSystem for the user
+   * @param ugi
+   *          User to run each operation as
+   * @return Results in the order of the requests
+   */
+  public List<MetadataResult> run(final FileSystem fs, final UserGroupInformation ugi, final List<MetadataRequest> requests) throws TException {
+    if (requests.size() > MAX_BATCH_SIZE) {
+      throw new TException("Batch of " + requests.size() + " operations is larger than the maximum of " + MAX_BATCH_SIZE);
+    }
+
+    final MetadataResult[] results = new MetadataResult[requests.size()];
+    final AtomicInteger next = new AtomicInteger(0);
+    // Wait for the operations rather than the helpers, which may not start until after the caller has done all of the work
+    final CountDownLatch done = new CountDownLatch(results.length);
+    // The helpers trace their operations as part of the caller's call, and stop at its deadline
+    final Span parent = Trace.currentSpan();
+    final Deadline deadline = Deadline.current();
+    final Runnable worker = new Runnable() {
+      @Override
+      public void run() {
+        ugi.doAs(new PrivilegedAction<Void>() {
+          @Override
+          public Void run() {
+            int i;
+            while ((i = next.getAndIncrement()) < results.length) {
+              try {
+                results[i] = execute(fs, requests.get(i), parent, deadline);
+              } finally {
+                done.countDown();
+              }
+            }
+            return null;
+          }
+        });
+      }
+    };
+
+    int helpers = Math.min(parallelism, requests.size()) - 1;
+    for (int i = 0; i < helpers; i++) {
+      try {
+        executor.execute(worker);
+      } catch (RejectedExecutionException e) {
+        // Shutting down, the calling thread will finish the batch
+        break;
+      }
+    }
+
+    worker.run();
+    try {
+      if (null == deadline) {
+        done.await();
+      } else if (!done.await(deadline.remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)) {
+        // Leave the operations which are running to finish on their own
+        throw new TException(deadline.exceeded());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TException("Interrupted waiting for batch to finish", e);
+    }
+    for (int i = 0; i < results.length; i++) {
+      if (null == results[i]) {
+        results[i] = new MetadataResult();
+        results[i].setError("Operation did not complete");
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  private MetadataResult execute(FileSystem fs, MetadataRequest request, Span parent, Deadline deadline) {
+    MetadataResult result = new MetadataResult();
+    if (null == request.getOp() || null == request.getPath()) {
+      result.setError("Operation and path are required");
+      return result;
+    }
+
+    long start = System.nanoTime();
+    TraceScope scope = null == parent ? null : Trace.startSpan("MetadataBatchRunner." + request.getOp(), parent);
+    try {
+      if (null != deadline) {
+        deadline.checkExpired();
+      }
+      Path path = new Path(request.getPath());
+      switch (request.getOp()) {
+        case LS:
+          FileStatus[] stats = null == listingCache ? fs.listStatus(path) : listingCache.listStatus(fs, path);
+          result.setEntries(FileEntries.fromStatuses(Arrays.asList(stats)));
+          break;
+        case STAT:
+          result.setEntry(FileEntries.fromStatus(fs.getFileStatus(path)));
+          break;
+        case EXISTS:
+          result.setExists(fs.exists(path));
+          break;
+        case CONTENT_SUMMARY:
+          result.setSummary(toSummary(fs.getContentSummary(path)));
+          break;
+        default:
+          result.setError("Unsupported operation " + request.getOp());
+      }
+    } catch (IOException | RuntimeException e) {
+      result = new MetadataResult();
+      result.setError(e.toString());
+    } finally {
+      metrics.getHdfsCallTime().recordSince(start);
+      if (null != scope) {
+        scope.close();
+      }
+    }
+    return result;
+  }
+
+  private static PathSummary toSummary(ContentSummary summary) {
+    return new PathSummary(summary.getLength(), summary.getFileCount(), summary.getDirectoryCount(), summary.getQuota(), summary.getSpaceConsumed(),
+        summary.getSpaceQuota());
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
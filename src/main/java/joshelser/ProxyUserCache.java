@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.IOException;
+import java.security.PrivilegedExceptionAction;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Bounded cache of proxy users (and the FileSystem handle for each) keyed by the SASL authorization ID of the remote user.
+ *
+ * Creating a proxy UGI per call means that every RPC builds and tears down its own FileSystem (and DFSClient). Instead, we hold on to the proxy UGI and its
+ * FileSystem until the user has been idle for a while or is pushed out by other users, and only then close the FileSystem.
+ */
+public class ProxyUserCache {
+  private static final Logger log = LoggerFactory.getLogger(ProxyUserCache.class);
+
+  public static final long DEFAULT_MAX_SIZE = 1000;
+  public static final long DEFAULT_IDLE_SECONDS = 600;
+
+  private final Configuration conf;
+  private final UserGroupInformation realUser;
+  private final LoadingCache<String,ProxyUser> cache;
+  private final ScheduledExecutorService cleaner;
+
+  public ProxyUserCache(Configuration conf, UserGroupInformation realUser) {
+    this(conf, realUser, DEFAULT_MAX_SIZE, DEFAULT_IDLE_SECONDS, TimeUnit.SECONDS);
+  }
+
+  public ProxyUserCache(Configuration conf, UserGroupInformation realUser, long maxSize, long idleTime, TimeUnit unit) {
+    Preconditions.checkNotNull(conf);
+    Preconditions.checkNotNull(realUser);
+    Preconditions.checkArgument(maxSize > 0, "Cache size must be positive");
+    Preconditions.checkArgument(idleTime > 0, "Idle time must be positive");
+
+    this.conf = conf;
+    this.realUser = realUser;
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterAccess(idleTime, unit).removalListener(new RemovalListener<String,ProxyUser>() {
+      @Override
+      public void onRemoval(RemovalNotification<String,ProxyUser> notification) {
+        log.debug("Evicting proxy user {} ({})", notification.getKey(), notification.getCause());
+        notification.getValue().evict();
+      }
+    }).build(new CacheLoader<String,ProxyUser>() {
+      @Override
+      public ProxyUser load(String endUser) {
+        return new ProxyUser(UserGroupInformation.createProxyUser(endUser, ProxyUserCache.this.realUser));
+      }
+    });
+
+    // Expiration is otherwise only processed as a side effect of other cache operations; make sure idle
+    // users release their FileSystem even when the server is quiet.
+    this.cleaner = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "proxy-user-cache-cleaner");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+    long period = Math.max(1, unit.toMillis(idleTime) / 2);
+    this.cleaner.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        cache.cleanUp();
+        log.debug("{}", ProxyUserCache.this);
+      }
+    }, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Fetch (creating if necessary) the proxy user for the given end user. The caller must {@link ProxyUser#release()} the returned object when the call is
+   * complete.
+   */
+  public ProxyUser acquire(String endUser) {
+    try {
+      ProxyUser proxyUser = cache.getUnchecked(endUser);
+      proxyUser.retain();
+      return proxyUser;
+    } catch (UncheckedExecutionException e) {
+      throw new RuntimeException("Could not create proxy user for " + endUser, e.getCause());
+    }
+  }
+
+  /**
+   * Returns the FileSystem for the given (proxy) user. Users that are not present in the cache get a new entry.
+   */
+  public FileSystem getFileSystem(UserGroupInformation ugi) throws IOException {
+    ProxyUser proxyUser = acquire(ugi.getUserName());
+    try {
+      return proxyUser.getFileSystem();
+    } finally {
+      proxyUser.release();
+    }
+  }
+
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Drops every cached user and stops the background cleanup.
+   */
+  public void close() {
+    cleaner.shutdownNow();
+    cache.invalidateAll();
+  }
+
+  @Override
+  public String toString() {
+    CacheStats stats = cache.stats();
+    return "ProxyUserCache[size=" + cache.size() + ", hits=" + stats.hitCount() + ", misses=" + stats.missCount() + ", evictions=" + stats.evictionCount() + "]";
+  }
+
+  /**
+   * A cached proxy user. The FileSystem is created lazily and closed once the entry has been evicted and no call is still using it.
+   */
+  public class ProxyUser {
+    private final UserGroupInformation ugi;
+    private final AtomicInteger references = new AtomicInteger(0);
+    private volatile boolean evicted = false;
+    // Not a monitor, which would pin a virtual thread to its carrier while the FileSystem is created or closed
+    private final Lock lock = new ReentrantLock();
+    private FileSystem fs;
+
+    ProxyUser(UserGroupInformation ugi) {
+      this.ugi = ugi;
+    }
+
+    public UserGroupInformation getUgi() {
+      return ugi;
+    }
+
+    public FileSystem getFileSystem() throws IOException {
+      lock.lock();
+      try {
+        if (null == fs) {
+          fs = ugi.doAs(new PrivilegedExceptionAction<FileSystem>() {
+            @Override
+            public FileSystem run() throws IOException {
+              return FileSystem.newInstance(conf);
+            }
+          });
+        }
+        return fs;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted creating FileSystem for " + ugi, e);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void retain() {
+      references.incrementAndGet();
+    }
+
+    public void release() {
+      if (0 == references.decrementAndGet() && evicted) {
+        close();
+      }
+    }
+
+    void evict() {
+      evicted = true;
+      if (0 == references.get()) {
+        close();
+      }
+    }
+
+    private void close() {
+      lock.lock();
+      try {
+        if (null != fs) {
+          fs.close();
+          fs = null;
+        }
+        FileSystem.closeAllForUGI(ugi);
+      } catch (IOException e) {
+        log.error("Could not clean up file-system handles for UGI: {}", ugi, e);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
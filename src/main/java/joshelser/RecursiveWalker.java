@@ -0,0 +1,500 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.PrivilegedExceptionAction;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import joshelser.thrift.FileEntry;
+import joshelser.thrift.RecursiveListing;
+import joshelser.thrift.TreeSummary;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.thrift.TException;
+import org.htrace.Span;
+import org.htrace.Trace;
+import org.htrace.TraceScope;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Walks the subtree below a path on the server, so that a client can summarize or list a whole tree without a round trip per directory.
+ *
+ * Directories are listed in parallel on a fork-join pool shared by all walks, each listing as the user making the call. Every NameNode call is one directory
+ * listing, never a single {@code getContentSummary} over the whole tree. Listings come straight from the FileSystem rather than the {@link ListingCache}, so
+ * one walk over a large tree doesn't push everything else out of the cache.
+ *
+ * A recursive listing is returned in batches. The walk only lists as many directories as it needs to fill the batch being asked for, and the rest of it is
+ * kept on the server until the client continues it or it has been idle for {@link #WALK_IDLE_SECONDS}.
+ *
+ * When the call is traced, each directory listing is a span of the call's, whichever thread of the pool it runs on. Directories are not listed once the call's
+ * {@link Deadline} has passed, and the call stops waiting for the pool then rather than when the listings already made return.
+ */
+public class RecursiveWalker implements Closeable {
+  public static final int DEFAULT_THREADS = 8;
+  public static final int DEFAULT_MAX_DEPTH = 32;
+  public static final long WALK_IDLE_SECONDS = 300;
+  public static final long MAX_WALKS = 1000;
+
+  private final ForkJoinPool pool;
+  private final int parallelism;
+  private final int maxDepth;
+  private final ServerMetrics metrics;
+  private final Cache<String,Walk> walks;
+  private final SecureRandom random = new SecureRandom();
+
+  /**
+   * @param threads
+   *          Threads shared by all walks, which is also the most directories one walk lists at once
+   * @param maxDepth
+   *          Deepest level below the starting path a walk may go, which limits what clients may ask for
+   */
+  public RecursiveWalker(int threads, int maxDepth, ServerMetrics metrics) {
+    Preconditions.checkArgument(threads > 0, "Need at least one thread");
+    Preconditions.checkArgument(maxDepth > 0, "Maximum depth must be positive");
+    this.parallelism = threads;
+    this.maxDepth = maxDepth;
+    this.metrics = metrics;
+    this.walks = CacheBuilder.newBuilder().maximumSize(MAX_WALKS).expireAfterAccess(WALK_IDLE_SECONDS, TimeUnit.SECONDS).build();
+    this.pool = new ForkJoinPool(threads, new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+      private final AtomicInteger count = new AtomicInteger(0);
+
+      @Override
+      public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread t = new ForkJoinWorkerThread(pool) {};
+        t.setName("recursive-walk-" + count.incrementAndGet());
+        return t;
+      }
+    }, null, false);
+  }
+
+  public int getMaxDepth() {
+    return maxDepth;
+  }
+
+  /**
+   * Total up everything below the path, waiting for the walk to finish.
+   *
+   * @param fs
+   *          FileSystem for the user
+   * @param ugi
+   *          User to list each directory as
+   * @param depth
+   *          Deepest level to walk, 0 or less for the server's maximum
+   */
+  public TreeSummary summarize(FileSystem fs, UserGroupInformation ugi, Path path, int depth) throws IOException {
+    Span parent = Trace.currentSpan();
+    Deadline deadline = Deadline.current();
+    FileStatus stat = getFileStatus(ugi, fs, path, parent, deadline);
+    if (!stat.isDirectory()) {
+      return new TreeSummary(stat.getLen(), 1, 0, stat.getLen() * stat.getReplication(), false);
+    }
+    TreeSummary summary = invoke(new SummaryTask(fs, ugi, parent, deadline, stat.getPath(), 1, clampDepth(depth)), deadline);
+    // Count the path itself, as ContentSummary does
+    summary.setDirectoryCount(summary.getDirectoryCount() + 1);
+    return summary;
+  }
+
+  /**
+   * Start a recursive listing of the directory, returning its first batch.
+   *
+   * @param fs
+   *          FileSystem for the user
+   * @param ugi
+   *          User to list each directory as, and the only user who may continue the listing
+   * @param depth
+   *          Deepest level to walk, 0 or less for the server's maximum
+   * @param batchSize
+   *          Most entries to return, 0 or less for {@link DirectoryPager#DEFAULT_PAGE_SIZE}
+   */
+  public RecursiveListing list(FileSystem fs, UserGroupInformation ugi, Path directory, int depth, int batchSize) throws IOException {
+    FileStatus stat = getFileStatus(ugi, fs, directory, Trace.currentSpan(), Deadline.current());
+    Walk walk = new Walk(ugi.getUserName(), clampDepth(depth));
+    if (stat.isDirectory()) {
+      walk.pending.add(new Directory(stat.getPath(), "", 1));
+    } else {
+      walk.ready.add(FileEntries.fromStatus(stat));
+    }
+    return next(fs, ugi, newCursor(), walk, batchSize);
+  }
+
+  /**
+   * Return the next batch of a listing started by {@link #list(FileSystem, UserGroupInformation, Path, int, int)}.
+   */
+  public RecursiveListing next(FileSystem fs, UserGroupInformation ugi, String cursor, int batchSize) throws IOException, TException {
+    Walk walk = null == cursor ? null : walks.getIfPresent(cursor);
+    // Don't tell other users whether the cursor exists
+    if (null == walk || !walk.user.equals(ugi.getUserName())) {
+      throw new TException("Unknown or expired recursive listing " + cursor);
+    }
+    return next(fs, ugi, cursor, walk, batchSize);
+  }
+
+  private RecursiveListing next(FileSystem fs, UserGroupInformation ugi, String cursor, Walk walk, int batchSize) throws IOException {
+    batchSize = DirectoryPager.pageSize(batchSize);
+    Deadline deadline = Deadline.current();
+    walk.lock.lock();
+    try {
+      try {
+        while (walk.ready.size() < batchSize && !walk.pending.isEmpty()) {
+          // Depth first, so the directories still to list don't pile up on wide trees
+          List<Directory> round = new ArrayList<Directory>(parallelism);
+          while (round.size() < parallelism && !walk.pending.isEmpty()) {
+            round.add(walk.pending.pollLast());
+          }
+          walk.add(round, invoke(new ListRoundTask(fs, ugi, Trace.currentSpan(), deadline, round), deadline));
+        }
+      } catch (IOException e) {
+        walks.invalidate(cursor);
+        throw e;
+      }
+
+      List<FileEntry> entries = new ArrayList<FileEntry>(Math.min(batchSize, walk.ready.size()));
+      while (entries.size() < batchSize && !walk.ready.isEmpty()) {
+        entries.add(walk.ready.poll());
+      }
+      RecursiveListing listing = new RecursiveListing(entries, walk.truncated);
+      if (walk.ready.isEmpty() && walk.pending.isEmpty()) {
+        walks.invalidate(cursor);
+      } else {
+        walks.put(cursor, walk);
+        listing.setCursor(cursor);
+      }
+      return listing;
+    } finally {
+      walk.lock.unlock();
+    }
+  }
+
+  private int clampDepth(int depth) {
+    return depth <= 0 ? maxDepth : Math.min(depth, maxDepth);
+  }
+
+  private String newCursor() {
+    // Unguessable, as well as being tied to the user
+    return new BigInteger(128, random).toString(36);
+  }
+
+  /**
+   * Run the task on the pool, rethrowing the IOException it failed with.
+   *
+   * @param deadline
+   *          When to give up waiting for the task, or null to wait for as long as it takes
+   */
+  private <T> T invoke(RecursiveTask<T> task, Deadline deadline) throws IOException {
+    if (null == deadline) {
+      try {
+        return pool.invoke(task);
+      } catch (RuntimeException e) {
+        throw unwrap(e);
+      }
+    }
+
+    ForkJoinTask<T> future = pool.submit(task);
+    try {
+      return future.get(deadline.remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      // Listings already made run to completion, the rest of the walk stops at its next check of the deadline
+      future.cancel(false);
+      throw deadline.exceeded();
+    } catch (ExecutionException e) {
+      throw unwrap(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted waiting for the walk", e);
+    }
+  }
+
+  /**
+   * @return The IOException a task failed with
+   */
+  private static IOException unwrap(Throwable e) {
+    // The pool may wrap the exception from the worker thread in another of the same type
+    for (Throwable t = e; null != t; t = t.getCause()) {
+      if (t instanceof IOException) {
+        return (IOException) t;
+      }
+    }
+    Throwables.propagateIfPossible(e);
+    throw new RuntimeException(e);
+  }
+
+  private FileStatus getFileStatus(UserGroupInformation ugi, final FileSystem fs, final Path path, Span parent, Deadline deadline) throws IOException {
+    return doAs(ugi, path, parent, deadline, "FileSystem.getFileStatus", new PrivilegedExceptionAction<FileStatus>() {
+      @Override
+      public FileStatus run() throws IOException {
+        return fs.getFileStatus(path);
+      }
+    });
+  }
+
+  /**
+   * @param parent
+   *          Span of the call the walk is for, or null if it isn't traced
+   * @param deadline
+   *          Deadline of the call the walk is for, or null if it doesn't have one
+   */
+  private <T> T doAs(UserGroupInformation ugi, Path path, Span parent, Deadline deadline, String description, PrivilegedExceptionAction<T> action)
+      throws IOException {
+    if (null != deadline) {
+      deadline.checkExpired();
+    }
+    long start = System.nanoTime();
+    TraceScope scope = null == parent ? null : Trace.startSpan(description, parent);
+    try {
+      return ugi.doAs(action);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted walking " + path, e);
+    } finally {
+      metrics.getHdfsCallTime().recordSince(start);
+      if (null != scope) {
+        scope.close();
+      }
+    }
+  }
+
+  /**
+   * List a directory which was found during the walk.
+   *
+   * @return The entries, or null if the directory was removed after it was found
+   */
+  private FileStatus[] listFound(UserGroupInformation ugi, final FileSystem fs, final Path directory, Span parent, Deadline deadline) {
+    try {
+      return doAs(ugi, directory, parent, deadline, "FileSystem.listStatus", new PrivilegedExceptionAction<FileStatus[]>() {
+        @Override
+        public FileStatus[] run() throws IOException {
+          return fs.listStatus(directory);
+        }
+      });
+    } catch (FileNotFoundException e) {
+      return null;
+    } catch (IOException e) {
+      throw new WalkFailedException(e);
+    }
+  }
+
+  /**
+   * Carries an IOException out of a fork-join task.
+   */
+  private static class WalkFailedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    WalkFailedException(IOException cause) {
+      super(cause);
+    }
+  }
+
+  /**
+   * Totals the subtree below a directory, forking a task for each subdirectory.
+   */
+  private class SummaryTask extends RecursiveTask<TreeSummary> {
+    private static final long serialVersionUID = 1L;
+
+    private final FileSystem fs;
+    private final UserGroupInformation ugi;
+    private final Span parent;
+    private final Deadline deadline;
+    private final Path directory;
+    private final int depth;
+    private final int maxDepth;
+
+    /**
+     * @param depth
+     *          Level of the directory's children below the starting path
+     */
+    SummaryTask(FileSystem fs, UserGroupInformation ugi, Span parent, Deadline deadline, Path directory, int depth, int maxDepth) {
+      this.fs = fs;
+      this.ugi = ugi;
+      this.parent = parent;
+      this.deadline = deadline;
+      this.directory = directory;
+      this.depth = depth;
+      this.maxDepth = maxDepth;
+    }
+
+    @Override
+    protected TreeSummary compute() {
+      TreeSummary summary = new TreeSummary(0, 0, 0, 0, false);
+      FileStatus[] stats = listFound(ugi, fs, directory, parent, deadline);
+      if (null == stats) {
+        return summary;
+      }
+
+      List<SummaryTask> subtasks = new ArrayList<SummaryTask>();
+      for (FileStatus stat : stats) {
+        if (stat.isDirectory()) {
+          summary.setDirectoryCount(summary.getDirectoryCount() + 1);
+          if (depth < maxDepth) {
+            SummaryTask subtask = new SummaryTask(fs, ugi, parent, deadline, stat.getPath(), depth + 1, maxDepth);
+            subtask.fork();
+            subtasks.add(subtask);
+          } else {
+            summary.setTruncated(true);
+          }
+        } else {
+          summary.setFileCount(summary.getFileCount() + 1);
+          summary.setLength(summary.getLength() + stat.getLen());
+          summary.setSpaceConsumed(summary.getSpaceConsumed() + stat.getLen() * stat.getReplication());
+        }
+      }
+
+      for (SummaryTask subtask : subtasks) {
+        TreeSummary sub = subtask.join();
+        summary.setDirectoryCount(summary.getDirectoryCount() + sub.getDirectoryCount());
+        summary.setFileCount(summary.getFileCount() + sub.getFileCount());
+        summary.setLength(summary.getLength() + sub.getLength());
+        summary.setSpaceConsumed(summary.getSpaceConsumed() + sub.getSpaceConsumed());
+        summary.setTruncated(summary.isTruncated() || sub.isTruncated());
+      }
+      return summary;
+    }
+  }
+
+  /**
+   * Lists one round of directories for a recursive listing in parallel.
+   */
+  private class ListRoundTask extends RecursiveTask<List<FileStatus[]>> {
+    private static final long serialVersionUID = 1L;
+
+    private final FileSystem fs;
+    private final UserGroupInformation ugi;
+    private final Span parent;
+    private final Deadline deadline;
+    private final List<Directory> directories;
+
+    ListRoundTask(FileSystem fs, UserGroupInformation ugi, Span parent, Deadline deadline, List<Directory> directories) {
+      this.fs = fs;
+      this.ugi = ugi;
+      this.parent = parent;
+      this.deadline = deadline;
+      this.directories = directories;
+    }
+
+    @Override
+    protected List<FileStatus[]> compute() {
+      List<RecursiveTask<FileStatus[]>> listings = new ArrayList<RecursiveTask<FileStatus[]>>(directories.size());
+      for (final Directory directory : directories) {
+        listings.add(new RecursiveTask<FileStatus[]>() {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected FileStatus[] compute() {
+            return listFound(ugi, fs, directory.path, parent, deadline);
+          }
+        });
+      }
+      invokeAll(listings);
+
+      List<FileStatus[]> results = new ArrayList<FileStatus[]>(listings.size());
+      for (RecursiveTask<FileStatus[]> listing : listings) {
+        results.add(listing.join());
+      }
+      return results;
+    }
+  }
+
+  /**
+   * A directory still to be listed, and its name relative to the starting path.
+   */
+  private static class Directory {
+    final Path path;
+    final String name;
+    final int depth;
+
+    /**
+     * @param depth
+     *          Level of the directory's children below the starting path
+     */
+    Directory(Path path, String name, int depth) {
+      this.path = path;
+      this.name = name;
+      this.depth = depth;
+    }
+  }
+
+  /**
+   * The state of a recursive listing between calls.
+   */
+  private static class Walk {
+    final String user;
+    final int maxDepth;
+    final Deque<Directory> pending = new ArrayDeque<Directory>();
+    final Deque<FileEntry> ready = new ArrayDeque<FileEntry>();
+    boolean truncated = false;
+    // Held while the next batch is listed. Unlike a monitor, virtual threads waiting for it free their carrier thread
+    final ReentrantLock lock = new ReentrantLock();
+
+    Walk(String user, int maxDepth) {
+      this.user = user;
+      this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Queue the entries from listing each of the directories, and the subdirectories still to list.
+     */
+    void add(List<Directory> directories, List<FileStatus[]> listings) {
+      for (int i = 0; i < directories.size(); i++) {
+        Directory directory = directories.get(i);
+        FileStatus[] stats = listings.get(i);
+        if (null == stats) {
+          continue;
+        }
+        for (FileStatus stat : stats) {
+          String name = directory.name.isEmpty() ? stat.getPath().getName() : directory.name + Path.SEPARATOR + stat.getPath().getName();
+          ready.add(FileEntries.fromStatus(stat, name));
+          if (stat.isDirectory()) {
+            if (directory.depth < maxDepth) {
+              pending.add(new Directory(stat.getPath(), name, directory.depth + 1));
+            } else {
+              truncated = true;
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    pool.shutdownNow();
+    walks.invalidateAll();
+  }
+}
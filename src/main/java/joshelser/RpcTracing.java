@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import joshelser.thrift.TraceContext;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TMessage;
+import org.apache.thrift.protocol.TMessageType;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolDecorator;
+import org.htrace.Sampler;
+import org.htrace.Span;
+import org.htrace.Trace;
+import org.htrace.TraceInfo;
+import org.htrace.impl.ProbabilitySampler;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Carries HTrace context from the client to the server with each traced call, so that a trace started by a client continues through the server's spans and
+ * into Hadoop's RPCs to the NameNode, which pass it on themselves.
+ *
+ * While the calling thread is tracing, the client writes a oneway message named {@link #ENVELOPE} holding a {@link TraceContext} immediately before the call,
+ * so both go in the same frame. Other calls are written exactly as before. The server reads and drops the envelope before the call it belongs to. An older
+ * server would not understand the envelope, so only trace calls to servers which support it.
+ *
+ * Spans are delivered to the receivers loaded by Hadoop's SpanReceiverHost from {@code hadoop.trace.spanreceiver.classes}.
+ */
+public class RpcTracing {
+  public static final String ENVELOPE = "__trace";
+
+  /**
+   * @param fraction
+   *          Share of calls to trace, from 0 for none to 1 for all
+   */
+  @SuppressWarnings("unchecked")
+  public static Sampler<Object> sampler(double fraction) {
+    Preconditions.checkArgument(fraction >= 0 && fraction <= 1, "Sampling fraction must be between 0 and 1");
+    if (0 == fraction) {
+      return (Sampler<Object>) Sampler.NEVER;
+    } else if (1 == fraction) {
+      return (Sampler<Object>) Sampler.ALWAYS;
+    }
+    return new ProbabilitySampler(fraction);
+  }
+
+  /**
+   * Wrap a client's protocol so that calls made while tracing carry the current span.
+   */
+  public static TProtocol clientProtocol(TProtocol protocol) {
+    return new ClientProtocol(protocol);
+  }
+
+  /**
+   * Sends the envelope ahead of each call made while the thread is tracing.
+   */
+  private static class ClientProtocol extends TProtocolDecorator {
+    ClientProtocol(TProtocol protocol) {
+      super(protocol);
+    }
+
+    @Override
+    public void writeMessageBegin(TMessage message) throws TException {
+      // Leave other envelopes as they are
+      if (TMessageType.ONEWAY != message.type && Trace.isTracing()) {
+        Span span = Trace.currentSpan();
+        super.writeMessageBegin(new TMessage(ENVELOPE, TMessageType.ONEWAY, message.seqid));
+        new TraceContext(span.getTraceId(), span.getSpanId()).write(this);
+        super.writeMessageEnd();
+      }
+      super.writeMessageBegin(message);
+    }
+  }
+
+  /**
+   * Reads the envelope, if there is one, along with the call it precedes. Only used for one call.
+   */
+  static class ServerProtocol extends TProtocolDecorator {
+    private TraceInfo parent = null;
+
+    ServerProtocol(TProtocol protocol) {
+      super(protocol);
+    }
+
+    @Override
+    public TMessage readMessageBegin() throws TException {
+      TMessage message = super.readMessageBegin();
+      // Calls are never oneway, so that check is all an untraced call costs
+      if (TMessageType.ONEWAY == message.type && ENVELOPE.equals(message.name)) {
+        TraceContext context = new TraceContext();
+        context.read(this);
+        super.readMessageEnd();
+        parent = new TraceInfo(context.getTraceId(), context.getSpanId());
+        message = super.readMessageBegin();
+      }
+      return message;
+    }
+
+    /**
+     * @return The client span of the last call read, or null if the client wasn't tracing it
+     */
+    TraceInfo getParent() {
+      return parent;
+    }
+  }
+
+  /**
+   * Marks when the server starts writing a response on the span of the call.
+   */
+  static class ResponseProtocol extends TProtocolDecorator {
+    ResponseProtocol(TProtocol protocol) {
+      super(protocol);
+    }
+
+    @Override
+    public void writeMessageBegin(TMessage message) throws TException {
+      Trace.addTimelineAnnotation("Writing response");
+      super.writeMessageBegin(message);
+    }
+  }
+}
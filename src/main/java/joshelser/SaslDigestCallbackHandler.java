@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.NameCallback;
+import javax.security.auth.callback.PasswordCallback;
+import javax.security.auth.callback.UnsupportedCallbackException;
+import javax.security.sasl.AuthorizeCallback;
+import javax.security.sasl.RealmCallback;
+
+import org.apache.hadoop.security.SaslRpcServer;
+import org.apache.hadoop.security.token.SecretManager.InvalidToken;
+
+/**
+ * Server side of DIGEST-MD5 authentication with a delegation token: the client's user name is the encoded token identifier, and its password is the token's
+ * password, which the {@link DelegationTokenSecretManager} recomputes from the identifier.
+ *
+ * Lifted from Apache Hive 0.14
+ */
+public class SaslDigestCallbackHandler implements CallbackHandler {
+  private final DelegationTokenSecretManager secretManager;
+
+  public SaslDigestCallbackHandler(DelegationTokenSecretManager secretManager) {
+    this.secretManager = secretManager;
+  }
+
+  @Override
+  public void handle(Callback[] callbacks) throws InvalidToken, UnsupportedCallbackException {
+    NameCallback nc = null;
+    PasswordCallback pc = null;
+    AuthorizeCallback ac = null;
+    for (Callback callback : callbacks) {
+      if (callback instanceof AuthorizeCallback) {
+        ac = (AuthorizeCallback) callback;
+      } else if (callback instanceof NameCallback) {
+        nc = (NameCallback) callback;
+      } else if (callback instanceof PasswordCallback) {
+        pc = (PasswordCallback) callback;
+      } else if (callback instanceof RealmCallback) {
+        // Use the default realm
+      } else {
+        throw new UnsupportedCallbackException(callback, "Unrecognized SASL DIGEST-MD5 Callback");
+      }
+    }
+
+    if (null != pc) {
+      // Fails if the token has expired or was signed with a key we no longer have
+      DelegationTokenIdentifier identifier = SaslRpcServer.getIdentifier(nc.getDefaultName(), secretManager);
+      pc.setPassword(DelegationTokenSecretManager.encodePassword(secretManager.retrievePassword(identifier)));
+    }
+
+    if (null != ac) {
+      // Clients may not act as anyone other than the owner of the token
+      String authenticationId = ac.getAuthenticationID();
+      String authorizationId = ac.getAuthorizationID();
+      if (authenticationId.equals(authorizationId)) {
+        ac.setAuthorized(true);
+        ac.setAuthorizedID(authorizationId);
+      } else {
+        ac.setAuthorized(false);
+      }
+    }
+  }
+}
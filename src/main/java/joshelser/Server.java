@@ -19,6 +19,9 @@ package joshelser;
 import java.net.InetAddress;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.security.sasl.Sasl;
 
@@ -31,10 +34,13 @@ import org.apache.hadoop.security.HadoopKerberosName;
 import org.apache.hadoop.security.SaslRpcServer;
 import org.apache.hadoop.security.SecurityUtil;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.tracing.SpanReceiverHost;
 import org.apache.thrift.server.TServer;
 import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.transport.TNonblockingServerSocket;
 import org.apache.thrift.transport.TSaslServerTransport;
 import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
 import org.apache.thrift.transport.TTransportFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +62,96 @@ public class Server implements ServiceBase {
     
     @Parameter(names = {"--port"}, required = false, description = "Port to bind the Thrift server on, default " + DEFAULT_THRIFT_SERVER_PORT)
     private int port = DEFAULT_THRIFT_SERVER_PORT;
+    
+    @Parameter(names = {"--proxy-user-cache-size"}, required = false, description = "Maximum number of proxy users (and their FileSystems) to cache")
+    private long proxyUserCacheSize = ProxyUserCache.DEFAULT_MAX_SIZE;
+    
+    @Parameter(names = {"--proxy-user-idle-seconds"}, required = false, description = "Seconds a proxy user may be idle before its FileSystem is closed")
+    private long proxyUserIdleSeconds = ProxyUserCache.DEFAULT_IDLE_SECONDS;
+    
+    @Parameter(names = {"--server-type"}, required = false, description = "Thrift server implementation: 'threadpool' (one thread per connection) or 'nonblocking' (selector threads and a worker pool)")
+    private String serverType = "threadpool";
+    
+    @Parameter(names = {"--selector-threads"}, required = false, description = "Number of selector threads for the nonblocking server")
+    private int selectorThreads = TSaslNonblockingServer.DEFAULT_SELECTOR_THREADS;
+    
+    @Parameter(names = {"--worker-threads"}, required = false, description = "Number of threads running SASL negotiation and RPCs for the nonblocking server")
+    private int workerThreads = TSaslNonblockingServer.DEFAULT_WORKER_THREADS;
+    
+    @Parameter(names = {"--max-in-flight"}, required = false, description = "Requests from one connection the nonblocking server processes at once before it stops reading more")
+    private int maxInFlight = TSaslNonblockingServer.DEFAULT_MAX_IN_FLIGHT;
+    
+    @Parameter(names = {"--fair-call-queue"}, required = false, description = "Serve calls to the nonblocking server by priority, lowering the priority of callers who have been making the most calls")
+    private boolean fairCallQueue = false;
+    
+    @Parameter(names = {"--call-priority-levels"}, required = false, description = "Priorities in the --fair-call-queue")
+    private int callPriorityLevels = DecayScheduler.DEFAULT_LEVELS;
+    
+    @Parameter(names = {"--call-decay-period-millis"}, required = false, description = "How often the --fair-call-queue halves each caller's count of recent calls")
+    private long callDecayPeriodMillis = DecayScheduler.DEFAULT_PERIOD_MILLIS;
+    
+    @Parameter(names = {"--session-cipher"}, required = false, description = "Agree to clients' requests to encrypt with AES instead of the SASL security layer after authenticating")
+    private boolean sessionCipher = false;
+    
+    @Parameter(names = {"--compression"}, required = false, description = "Agree to clients' requests to compress messages with LZ4 before encrypting them")
+    private boolean compression = false;
+    
+    @Parameter(names = {"--compression-threshold-bytes"}, required = false, description = "Smallest response to compress on connections using compression")
+    private int compressionThreshold = FrameCompression.DEFAULT_THRESHOLD_BYTES;
+    
+    @Parameter(names = {"--executor"}, required = false, description = "Threads serving connections for the threadpool server: 'platform' (a pool of --min-worker-threads to --max-worker-threads) or 'virtual' (a virtual thread for each of up to --max-worker-threads connections, needs Java 21 or later)")
+    private String executor = "platform";
+    
+    @Parameter(names = {"--min-worker-threads"}, required = false, description = "Number of threads kept to serve connections for the threadpool server")
+    private int minWorkerThreads = TBoundedServerTransport.DEFAULT_MIN_WORKERS;
+    
+    @Parameter(names = {"--max-worker-threads"}, required = false, description = "Maximum number of connections served at once by the threadpool server")
+    private int maxWorkerThreads = TBoundedServerTransport.DEFAULT_MAX_WORKERS;
+    
+    @Parameter(names = {"--max-pending-connections"}, required = false, description = "Connections which may wait for a worker thread in the threadpool server before new ones are rejected")
+    private int maxPendingConnections = TBoundedServerTransport.DEFAULT_MAX_PENDING;
+    
+    @Parameter(names = {"--acceptors"}, required = false, description = "Sockets the threadpool server listens on with SO_REUSEPORT, each accepting connections on its own thread (Linux and Java 9 or later for more than one)")
+    private int acceptors = 1;
+    
+    @Parameter(names = {"--accept-backoff-millis"}, required = false, description = "Maximum time the threadpool server waits before accepting again after failing to accept a connection")
+    private long acceptBackoffMillis = TBoundedServerTransport.DEFAULT_MAX_BACKOFF_MILLIS;
+    
+    @Parameter(names = {"--handshake-threads"}, required = false, description = "Threads authenticating connections for the threadpool server, before they are handed to a worker")
+    private int handshakeThreads = THandshakeServerTransport.DEFAULT_THREADS;
+    
+    @Parameter(names = {"--handshake-timeout-millis"}, required = false, description = "Time a connection to the threadpool server has to authenticate before it is closed")
+    private long handshakeTimeoutMillis = THandshakeServerTransport.DEFAULT_TIMEOUT_MILLIS;
+    
+    @Parameter(names = {"--batch-threads"}, required = false, description = "Threads running the operations of batch RPCs, shared by all batches")
+    private int batchThreads = MetadataBatchRunner.DEFAULT_THREADS;
+    
+    @Parameter(names = {"--recursive-threads"}, required = false, description = "Threads listing directories for the recursive summary and listing RPCs, shared by all of them")
+    private int recursiveThreads = RecursiveWalker.DEFAULT_THREADS;
+    
+    @Parameter(names = {"--max-recursion-depth"}, required = false, description = "Deepest level below the requested path that recursive summaries and listings walk to")
+    private int maxRecursionDepth = RecursiveWalker.DEFAULT_MAX_DEPTH;
+    
+    @Parameter(names = {"--delegation-tokens"}, required = false, description = "Issue delegation tokens, and accept them over SASL DIGEST-MD5 as well as Kerberos")
+    private boolean delegationTokens = false;
+    
+    @Parameter(names = {"--delegation-token-lifetime-hours"}, required = false, description = "Hours a delegation token is valid for after it is issued")
+    private long delegationTokenLifetimeHours = DelegationTokenSecretManager.DEFAULT_TOKEN_LIFETIME_HOURS;
+    
+    @Parameter(names = {"--delegation-key-update-hours"}, required = false, description = "Hours between rolling the key which signs new delegation tokens")
+    private long delegationKeyUpdateHours = DelegationTokenSecretManager.DEFAULT_KEY_UPDATE_HOURS;
+    
+    @Parameter(names = {"--listing-cache-bytes"}, required = false, description = "Memory for caching directory listings across users, 0 to disable the cache")
+    private long listingCacheBytes = 0;
+    
+    @Parameter(names = {"--listing-cache-ttl-seconds"}, required = false, description = "Seconds a cached listing is served for when changes can't be followed through HDFS inotify")
+    private long listingCacheTtlSeconds = ListingCache.DEFAULT_TTL_SECONDS;
+    
+    @Parameter(names = {"--metrics-window-seconds"}, required = false, description = "Seconds of RPCs over which latency percentiles are reported")
+    private long metricsWindowSeconds = ServerMetrics.DEFAULT_WINDOW_SECONDS;
+    
+    @Parameter(names = {"--trace-sampling"}, required = false, description = "Fraction of calls to trace when the client isn't tracing them, from 0 to 1. Spans go to the receivers in hadoop.trace.spanreceiver.classes")
+    private double traceSampling = 0;
   }
   
   public static void main(String[] args) throws Exception {
@@ -64,7 +160,6 @@ public class Server implements ServiceBase {
     opts.parseArgs(Server.class, args);
     
     Configuration conf = new Configuration();
-    FileSystem fs = FileSystem.get(conf);
     
     // Parse out the primary/instance@DOMAIN from the principal
     String principal = SecurityUtil.getServerPrincipal(opts.principal, InetAddress.getLocalHost().getCanonicalHostName());
@@ -79,32 +174,145 @@ public class Server implements ServiceBase {
     UserGroupInformation serverUser = UserGroupInformation.getLoginUser();
     log.info("Current user: {}", serverUser);
     
-    // Open the server using the provide dport
-    TServerSocket serverTransport = new TServerSocket(opts.port);
+    // Proxy users (and their FileSystems) which are reused across RPCs
+    ProxyUserCache proxyUsers = new ProxyUserCache(conf, serverUser, opts.proxyUserCacheSize, opts.proxyUserIdleSeconds, TimeUnit.SECONDS);
     
-    // Wrap our implementation with the interface's processor
-    HdfsService.Processor<Iface> processor = new HdfsService.Processor<Iface>(new HdfsServiceImpl(fs));
+    // Publish metrics through metrics2 and JMX
+    ServerMetrics metrics = new ServerMetrics().register(opts.metricsWindowSeconds);
+    
+    // Deliver spans of traced calls, and of the NameNode RPCs they make, to the configured receivers
+    SpanReceiverHost.getInstance(conf);
+    
+    // Log in again before the ticket-granting ticket expires, so RPCs never wait on the KDC for the server's own login
+    KeytabLoginRenewer loginRenewer = new KeytabLoginRenewer(serverUser, principal, opts.keytab, metrics);
+    loginRenewer.start();
+    
+    // Directory listings shared by all users, invalidated by inotify events on HDFS
+    ListingCache listingCache = null;
+    if (opts.listingCacheBytes > 0) {
+      listingCache = new ListingCache(FileSystem.getDefaultUri(conf), opts.listingCacheBytes, opts.listingCacheTtlSeconds, TimeUnit.SECONDS, metrics);
+      listingCache.start(conf);
+    }
+    
+    // Runs the operations of batch RPCs in parallel
+    MetadataBatchRunner batchRunner = new MetadataBatchRunner(opts.batchThreads, metrics, listingCache);
+    
+    // Walks whole subtrees for the recursive RPCs, a directory at a time
+    RecursiveWalker walker = new RecursiveWalker(opts.recursiveThreads, opts.maxRecursionDepth, metrics);
+    
+    // Issues delegation tokens and checks them when clients reconnect with them, rolling its keys in the background
+    DelegationTokenSecretManager secretManager = null;
+    if (opts.delegationTokens) {
+      secretManager = new DelegationTokenSecretManager(opts.delegationKeyUpdateHours, opts.delegationTokenLifetimeHours, TimeUnit.HOURS);
+      secretManager.startThreads();
+    }
+    
+    // Wrap our implementation with the interface's processor, timing each method
+    HdfsService.Processor<Iface> processor = new HdfsService.Processor<Iface>(metrics.instrument(new HdfsServiceImpl(proxyUsers, metrics, batchRunner,
+        listingCache, walker, secretManager)));
     
     // Use authorization and confidentiality
     Map<String,String> saslProperties = new HashMap<String,String>();
     saslProperties.put(Sasl.QOP, "auth-conf");
     
-    // Creating the server definition
-    TSaslServerTransport.Factory saslTransportFactory = new TSaslServerTransport.Factory();
-        saslTransportFactory.addServerDefinition("GSSAPI", // tell SASL to use GSSAPI, which supports Kerberos
-        primary, // kerberos primary for server - "myprincipal" in myprincipal/my.server.com@MY.REALM
-        instance, // kerberos instance for server - "my.server.com" in myprincipal/my.server.com@MY.REALM
-        saslProperties, // Properties set, above
-        new SaslRpcServer.SaslGssCallbackHandler()); // Ensures that authenticated user is the same as the authorized user
-    
-    // Make sure the TTransportFactory is performing a UGI.doAs
-    TTransportFactory ugiTransportFactory = new TUGIAssumingTransportFactory(saslTransportFactory, serverUser);
-    
     // Processor which takes the UGI for the RPC call, proxy that user on the server login, and then run as the proxied user
-    TUGIAssumingProcessor ugiProcessor = new TUGIAssumingProcessor(processor);
+    TUGIAssumingProcessor ugiProcessor = new TUGIAssumingProcessor(processor, proxyUsers, metrics, secretManager, RpcTracing.sampler(opts.traceSampling));
+    
+    // Size from which to compress responses, if clients ask for it
+    int compressionThreshold = opts.compression ? opts.compressionThreshold : FrameCompression.DISABLED;
     
-    // Make a simple TTheadPoolServer with the processor and transport factory
-    TServer server = new TThreadPoolServer(new TThreadPoolServer.Args(serverTransport).transportFactory(ugiTransportFactory).processor(ugiProcessor));
+    TServer server;
+    if (opts.fairCallQueue && !"nonblocking".equals(opts.serverType)) {
+      // Each threadpool connection has a thread to itself, so its calls never wait behind anyone else's
+      throw new IllegalArgumentException("--fair-call-queue needs --server-type nonblocking");
+    }
+    if ("nonblocking".equals(opts.serverType)) {
+      // Selector threads multiplex the connections, SASL negotiation and RPCs run on the worker pool as the server user
+      TSaslNonblockingServer.Args serverArgs = new TSaslNonblockingServer.Args(new TNonblockingServerSocket(opts.port)).processor(ugiProcessor)
+          .serverUser(serverUser).selectorThreads(opts.selectorThreads).workerThreads(opts.workerThreads).maxInFlight(opts.maxInFlight)
+          .sessionCipher(opts.sessionCipher).compressionThreshold(compressionThreshold).metrics(metrics);
+      if (opts.fairCallQueue) {
+        // Workers serve callers by how many calls they have made lately, so one busy caller can't hold up everyone else
+        DecayScheduler scheduler = new DecayScheduler(opts.callPriorityLevels, opts.callDecayPeriodMillis, TimeUnit.MILLISECONDS);
+        scheduler.start();
+        FairCallQueue callQueue = new FairCallQueue(scheduler);
+        metrics.setCallQueue(callQueue);
+        serverArgs.callQueue(callQueue);
+      }
+      serverArgs.addServerDefinition("GSSAPI", primary, instance, saslProperties, new SaslRpcServer.SaslGssCallbackHandler());
+      if (null != secretManager) {
+        serverArgs.addServerDefinition(DelegationTokenSecretManager.MECHANISM, null, DelegationTokenSecretManager.SERVER_NAME, saslProperties,
+            new SaslDigestCallbackHandler(secretManager));
+      }
+      server = new TSaslNonblockingServer(serverArgs);
+    } else if ("threadpool".equals(opts.serverType)) {
+      // Serve connections on a pool of platform threads, or each on its own cheap virtual thread which never has to wait in a queue
+      ExecutorService workers;
+      int maxPendingConnections;
+      if ("platform".equals(opts.executor)) {
+        ThreadPoolExecutor pool = TBoundedServerTransport.newWorkerPool(opts.minWorkerThreads, opts.maxWorkerThreads, opts.maxPendingConnections);
+        metrics.setWorkQueue(pool.getQueue());
+        workers = pool;
+        maxPendingConnections = opts.maxPendingConnections;
+      } else if ("virtual".equals(opts.executor)) {
+        workers = TBoundedServerTransport.newVirtualThreadExecutor();
+        maxPendingConnections = 0;
+      } else {
+        throw new IllegalArgumentException("Unknown executor: " + opts.executor);
+      }
+      
+      // Open the server using the provide dport, letting the kernel spread new connections over several listening sockets if asked to
+      TServerTransport listener;
+      if (opts.acceptors > 1) {
+        listener = new TReusePortServerTransport(opts.port, opts.acceptors, metrics);
+      } else {
+        listener = new TServerSocket(opts.port);
+      }
+      
+      // Turn away connections once every worker is busy and the queue is full
+      TServerTransport serverTransport = new TBoundedServerTransport(listener, opts.maxWorkerThreads, maxPendingConnections, opts.acceptBackoffMillis,
+          metrics);
+      
+      // Creating the server definition
+      TSaslServerTransport.Factory saslTransportFactory = new TSaslServerTransport.Factory();
+          saslTransportFactory.addServerDefinition("GSSAPI", // tell SASL to use GSSAPI, which supports Kerberos
+          primary, // kerberos primary for server - "myprincipal" in myprincipal/my.server.com@MY.REALM
+          instance, // kerberos instance for server - "my.server.com" in myprincipal/my.server.com@MY.REALM
+          saslProperties, // Properties set, above
+          new SaslRpcServer.SaslGssCallbackHandler()); // Ensures that authenticated user is the same as the authorized user
+      
+      // Clients holding a delegation token authenticate with it instead of a Kerberos ticket
+      if (null != secretManager) {
+        saslTransportFactory.addServerDefinition(DelegationTokenSecretManager.MECHANISM, null, DelegationTokenSecretManager.SERVER_NAME, saslProperties,
+            new SaslDigestCallbackHandler(secretManager));
+      }
+      
+      // Make sure the TTransportFactory is performing a UGI.doAs, and time the SASL handshake alone
+      TTransportFactory ugiTransportFactory = TMeteredTransportFactory.timingHandshake(new TUGIAssumingTransportFactory(saslTransportFactory, serverUser));
+      
+      // Write each frame to the socket in one call, and let the protocol read fields straight out of a buffer
+      TTransportFactory bufferedTransportFactory = new TBufferedTransportFactory(ugiTransportFactory);
+      
+      // Count connections and bytes on the socket itself
+      TTransportFactory meteredTransportFactory = new TMeteredTransportFactory(bufferedTransportFactory, metrics);
+      
+      // Authenticate connections on their own threads, so workers only get connections which are ready for RPCs. Each listening socket gets its own
+      // thread to accept, admit and queue its connections
+      TServerTransport handshakeTransport = new THandshakeServerTransport(serverTransport, Math.max(1, opts.acceptors), meteredTransportFactory,
+          opts.handshakeThreads, opts.handshakeTimeoutMillis, metrics);
+      
+      // Answer clients asking to replace the SASL security layer with AES. This waits for the client's first message, so it's left to the worker
+      TTransportFactory cipherTransportFactory = new TSessionCipherTransportFactory(new TTransportFactory(), opts.sessionCipher);
+      
+      // Answer clients asking to compress messages before the security layer protects them
+      TTransportFactory compressingTransportFactory = new TCompressingTransportFactory(cipherTransportFactory, compressionThreshold);
+      
+      // Make a simple TTheadPoolServer with the processor, the connections are already authenticated
+      server = new TThreadPoolServer(new TThreadPoolServer.Args(handshakeTransport).executorService(workers).transportFactory(compressingTransportFactory)
+          .processor(ugiProcessor));
+    } else {
+      throw new IllegalArgumentException("Unknown server type: " + opts.serverType);
+    }
     
     // Start the thrift server
     server.serve();
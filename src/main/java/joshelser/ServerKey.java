@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Locale;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.net.HostAndPort;
+
+/**
+ * Identifies a Thrift server to connect to: where it listens, and the Kerberos principal it authenticates as.
+ */
+public final class ServerKey {
+  private static final String HOST_PATTERN = "_HOST";
+
+  private final String host;
+  private final int port;
+  private final String primary;
+  private final String instance;
+
+  /**
+   * @param host
+   *          Hostname of the Thrift server
+   * @param port
+   *          Port of the Thrift server
+   * @param primary
+   *          Kerberos primary for server - "myprincipal" in myprincipal/my.server.com@MY.REALM
+   * @param instance
+   *          Kerberos instance for server - "my.server.com" in myprincipal/my.server.com@MY.REALM
+   */
+  public ServerKey(String host, int port, String primary, String instance) {
+    this.host = Preconditions.checkNotNull(host);
+    this.port = port;
+    this.primary = Preconditions.checkNotNull(primary);
+    this.instance = Preconditions.checkNotNull(instance);
+  }
+
+  /**
+   * Server from a "host" or "host:port" address. An instance of "_HOST" is replaced with the server's canonical hostname, as servers do when expanding their
+   * own principal, so that one instance names every server in a list.
+   *
+   * @param address
+   *          Hostname of the Thrift server, optionally with a port
+   * @param defaultPort
+   *          Port to use if the address doesn't have one
+   */
+  public static ServerKey parse(String address, int defaultPort, String primary, String instance) throws IOException {
+    HostAndPort hostAndPort = HostAndPort.fromString(address.trim());
+    if (HOST_PATTERN.equals(instance)) {
+      instance = InetAddress.getByName(hostAndPort.getHostText()).getCanonicalHostName().toLowerCase(Locale.ENGLISH);
+    }
+    return new ServerKey(hostAndPort.getHostText(), hostAndPort.getPortOrDefault(defaultPort), primary, instance);
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  public int getPort() {
+    return port;
+  }
+
+  public String getPrimary() {
+    return primary;
+  }
+
+  public String getInstance() {
+    return instance;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof ServerKey) {
+      ServerKey other = (ServerKey) o;
+      return host.equals(other.host) && port == other.port && primary.equals(other.primary) && instance.equals(other.instance);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(host, port, primary, instance);
+  }
+
+  @Override
+  public String toString() {
+    return primary + "/" + instance + "@" + host + ":" + port;
+  }
+}
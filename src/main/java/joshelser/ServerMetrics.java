@@ -0,0 +1,411 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import joshelser.thrift.HdfsService;
+
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.Interns;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Server metrics, published through Hadoop metrics2 (and so also as a JMX bean, "Hadoop:service=KrbThrift,name=KrbThriftServer").
+ *
+ * Everything recorded on the RPC path is an atomic counter or a {@link LatencyHistogram}, so recording never takes a lock. Latency percentiles are reported
+ * over the last complete window, rolled over by a background thread once the metrics are {@link #register() registered}.
+ */
+public class ServerMetrics implements MetricsSource {
+  public static final String METRICS_SYSTEM = "KrbThrift";
+  public static final String SOURCE_NAME = "KrbThriftServer";
+  public static final long DEFAULT_WINDOW_SECONDS = 60;
+
+  /**
+   * Why a connection never finished its handshake, each counted as its own metric.
+   */
+  public enum HandshakeFailure {
+    TIMEOUT("HandshakeTimeouts", "Connections closed for not authenticating within the handshake timeout"),
+    NEGOTIATION("HandshakeNegotiationFailures", "Connections which failed SASL negotiation, e.g. with bad credentials or a replayed authenticator"),
+    CONNECTION("HandshakeConnectionFailures", "Connections closed or broken by the client during the handshake");
+
+    private final String metricName;
+    private final String description;
+
+    private HandshakeFailure(String metricName, String description) {
+      this.metricName = metricName;
+      this.description = description;
+    }
+  }
+
+  private static final double[] QUANTILES = {0.50, 0.75, 0.90, 0.95, 0.99};
+  private static final String[] QUANTILE_NAMES = {"P50", "P75", "P90", "P95", "P99"};
+  private static final int TOP_CALLERS = 10;
+
+  private final AtomicInteger activeConnections = new AtomicInteger();
+  private final AtomicLong totalConnections = new AtomicLong();
+  private final AtomicLong rejectedConnections = new AtomicLong();
+  private final AtomicLong acceptFailures = new AtomicLong();
+  private final AtomicLong listingCacheHits = new AtomicLong();
+  private final AtomicLong listingCacheMisses = new AtomicLong();
+  private final AtomicInteger activeCalls = new AtomicInteger();
+  private final AtomicInteger busyWorkers = new AtomicInteger();
+  private final AtomicLong expiredCalls = new AtomicLong();
+  private final AtomicLong cancelledCalls = new AtomicLong();
+  private final AtomicLong bytesIn = new AtomicLong();
+  private final AtomicLong bytesOut = new AtomicLong();
+  private final AtomicInteger activeHandshakes = new AtomicInteger();
+  private final AtomicLongArray handshakeFailures = new AtomicLongArray(HandshakeFailure.values().length);
+  private volatile Queue<?> handshakeQueue = null;
+  private final AtomicLong loginRenewalFailures = new AtomicLong();
+  private volatile AtomicLongArray acceptorConnections = new AtomicLongArray(0);
+  private volatile AtomicLongArray acceptorFailures = new AtomicLongArray(0);
+  private volatile long loginTicketEndTime = 0;
+  private volatile int workerThreads = 0;
+  private volatile Queue<?> workQueue = null;
+  private volatile FairCallQueue callQueue = null;
+
+  private final LatencyHistogram handshakeTime = new LatencyHistogram("Handshake", "SASL handshake, from when the server starts on the connection until it is authenticated");
+  private final LatencyHistogram proxyUserTime = new LatencyHistogram("ProxyUser", "Looking up the proxy user and assuming it for a call");
+  private final LatencyHistogram hdfsCallTime = new LatencyHistogram("HdfsCall", "Calls made to the FileSystem while serving RPCs");
+  private final Map<Method,LatencyHistogram> methodTimes;
+  private final List<LatencyHistogram> histograms;
+
+  private ScheduledExecutorService rollover;
+
+  public ServerMetrics() {
+    Map<Method,LatencyHistogram> methods = new HashMap<Method,LatencyHistogram>();
+    List<LatencyHistogram> all = new ArrayList<LatencyHistogram>();
+    all.add(handshakeTime);
+    all.add(proxyUserTime);
+    all.add(hdfsCallTime);
+    for (Method method : HdfsService.Iface.class.getMethods()) {
+      String name = method.getName();
+      LatencyHistogram histogram = new LatencyHistogram("Rpc" + Character.toUpperCase(name.charAt(0)) + name.substring(1), "Time to serve the " + name + " RPC");
+      methods.put(method, histogram);
+      all.add(histogram);
+    }
+    this.methodTimes = Collections.unmodifiableMap(methods);
+    this.histograms = Collections.unmodifiableList(all);
+  }
+
+  /**
+   * Publish the metrics through the metrics system and start rolling over the latency windows.
+   */
+  public synchronized ServerMetrics register(long windowSeconds) {
+    Preconditions.checkArgument(windowSeconds > 0, "Window must be positive");
+    Preconditions.checkState(null == rollover, "Already registered");
+    rollover = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "server-metrics-rollover");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+    rollover.scheduleAtFixedRate(new Runnable() {
+      @Override
+      public void run() {
+        for (LatencyHistogram histogram : histograms) {
+          histogram.rollover();
+        }
+      }
+    }, windowSeconds, windowSeconds, TimeUnit.SECONDS);
+
+    DefaultMetricsSystem.initialize(METRICS_SYSTEM);
+    DefaultMetricsSystem.instance().register(SOURCE_NAME, "Kerberos Thrift server", this);
+    return this;
+  }
+
+  public ServerMetrics register() {
+    return register(DEFAULT_WINDOW_SECONDS);
+  }
+
+  public synchronized void unregister() {
+    if (null != rollover) {
+      rollover.shutdownNow();
+      rollover = null;
+      DefaultMetricsSystem.instance().unregisterSource(SOURCE_NAME);
+    }
+  }
+
+  public void connectionOpened() {
+    activeConnections.incrementAndGet();
+    totalConnections.incrementAndGet();
+  }
+
+  public void connectionClosed() {
+    activeConnections.decrementAndGet();
+  }
+
+  /**
+   * A connection was turned away because the server was saturated.
+   */
+  public void connectionRejected() {
+    rejectedConnections.incrementAndGet();
+  }
+
+  public void acceptFailed() {
+    acceptFailures.incrementAndGet();
+  }
+
+  /**
+   * Report the number of sockets accepting connections on the same port, each counted on its own, see {@link TReusePortServerTransport}.
+   */
+  public void setAcceptors(int acceptors) {
+    this.acceptorConnections = new AtomicLongArray(acceptors);
+    this.acceptorFailures = new AtomicLongArray(acceptors);
+  }
+
+  public void accepted(int acceptor) {
+    acceptorConnections.incrementAndGet(acceptor);
+  }
+
+  /**
+   * One of several sockets failed to accept a connection. Only counted against the socket, the total is counted by whatever retries the accept.
+   */
+  public void acceptFailed(int acceptor) {
+    acceptorFailures.incrementAndGet(acceptor);
+  }
+
+  public void listingCacheHit() {
+    listingCacheHits.incrementAndGet();
+  }
+
+  public void listingCacheMiss() {
+    listingCacheMisses.incrementAndGet();
+  }
+
+  /**
+   * A request has been read and is being served.
+   */
+  public void callStarted() {
+    activeCalls.incrementAndGet();
+  }
+
+  public void callFinished() {
+    activeCalls.decrementAndGet();
+  }
+
+  /**
+   * A call was refused because its {@link Deadline} had already passed when it was read.
+   */
+  public void callExpired() {
+    expiredCalls.incrementAndGet();
+  }
+
+  /**
+   * A call was stopped partway through because its {@link Deadline} passed.
+   */
+  public void callCancelled() {
+    cancelledCalls.incrementAndGet();
+  }
+
+  /**
+   * A thread from the pool given to {@link #setWorkerPool(int, Queue)} has started running a task.
+   */
+  public void workerBusy() {
+    busyWorkers.incrementAndGet();
+  }
+
+  public void workerIdle() {
+    busyWorkers.decrementAndGet();
+  }
+
+  public void bytesRead(long bytes) {
+    bytesIn.addAndGet(bytes);
+  }
+
+  public void bytesWritten(long bytes) {
+    bytesOut.addAndGet(bytes);
+  }
+
+  /**
+   * A connection is being authenticated by a separate handshake stage, see {@link THandshakeServerTransport}.
+   */
+  public void handshakeStarted() {
+    activeHandshakes.incrementAndGet();
+  }
+
+  public void handshakeFinished() {
+    activeHandshakes.decrementAndGet();
+  }
+
+  public void handshakeFailed(HandshakeFailure reason) {
+    handshakeFailures.incrementAndGet(reason.ordinal());
+  }
+
+  /**
+   * Report the queue of connections waiting for a handshake thread.
+   */
+  public void setHandshakeQueue(Queue<?> handshakeQueue) {
+    this.handshakeQueue = handshakeQueue;
+  }
+
+  /**
+   * Report when the server's current ticket-granting ticket expires, see {@link KeytabLoginRenewer}.
+   */
+  public void setLoginTicketEndTime(long endTimeMillis) {
+    this.loginTicketEndTime = endTimeMillis;
+  }
+
+  public void loginRenewalFailed() {
+    loginRenewalFailures.incrementAndGet();
+  }
+
+  /**
+   * Report a fixed size pool of workers and its queue of pending work. Without one, every connection is assumed to have its own worker, which is busy while
+   * it is serving a call.
+   */
+  public void setWorkerPool(int workerThreads, Queue<?> workQueue) {
+    this.workerThreads = workerThreads;
+    this.workQueue = workQueue;
+  }
+
+  /**
+   * Report the depth of each priority of a fair call queue, and the callers sending the most calls.
+   */
+  public void setCallQueue(FairCallQueue callQueue) {
+    this.callQueue = callQueue;
+  }
+
+  /**
+   * Report the queue of connections waiting for a worker thread of their own.
+   */
+  public void setWorkQueue(Queue<?> workQueue) {
+    this.workQueue = workQueue;
+  }
+
+  public LatencyHistogram getHandshakeTime() {
+    return handshakeTime;
+  }
+
+  public LatencyHistogram getProxyUserTime() {
+    return proxyUserTime;
+  }
+
+  public LatencyHistogram getHdfsCallTime() {
+    return hdfsCallTime;
+  }
+
+  /**
+   * Wrap the service implementation so the time taken by each method is recorded.
+   */
+  public HdfsService.Iface instrument(final HdfsService.Iface impl) {
+    return (HdfsService.Iface) Proxy.newProxyInstance(HdfsService.Iface.class.getClassLoader(),
+        new Class<?>[] {HdfsService.Iface.class}, new InvocationHandler() {
+          @Override
+          public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            LatencyHistogram histogram = methodTimes.get(method);
+            long start = System.nanoTime();
+            try {
+              return method.invoke(impl, args);
+            } catch (InvocationTargetException e) {
+              throw e.getCause();
+            } finally {
+              if (null != histogram) {
+                histogram.recordSince(start);
+              }
+            }
+          }
+        });
+  }
+
+  @Override
+  public void getMetrics(MetricsCollector collector, boolean all) {
+    int connections = activeConnections.get(), calls = activeCalls.get(), handshakes = activeHandshakes.get(), poolSize = workerThreads;
+    // Connections still in the handshake stage don't have a worker yet
+    int workers = 0 == poolSize ? Math.max(0, connections - handshakes) : poolSize, busy = 0 == poolSize ? calls : busyWorkers.get();
+    Queue<?> queue = workQueue, pendingHandshakes = handshakeQueue;
+    MetricsRecordBuilder builder = collector.addRecord(SOURCE_NAME).setContext("rpc");
+    builder.addGauge(Interns.info("ActiveConnections", "Open client connections"), connections);
+    builder.addCounter(Interns.info("TotalConnections", "Client connections accepted"), totalConnections.get());
+    builder.addCounter(Interns.info("RejectedConnections", "Client connections turned away because the server was saturated"), rejectedConnections.get());
+    builder.addCounter(Interns.info("AcceptFailures", "Failures to accept a client connection"), acceptFailures.get());
+    AtomicLongArray perAcceptorConnections = acceptorConnections, perAcceptorFailures = acceptorFailures;
+    for (int i = 0; i < perAcceptorConnections.length(); i++) {
+      builder.addCounter(Interns.info("Acceptor" + i + "Connections", "Client connections accepted by acceptor " + i), perAcceptorConnections.get(i));
+      builder.addCounter(Interns.info("Acceptor" + i + "AcceptFailures", "Failures to accept a client connection by acceptor " + i), perAcceptorFailures.get(i));
+    }
+    builder.addGauge(Interns.info("ActiveCalls", "RPCs being served"), calls);
+    builder.addCounter(Interns.info("ExpiredCalls", "RPCs refused because the client's deadline had passed before they started"), expiredCalls.get());
+    builder.addCounter(Interns.info("CancelledCalls", "RPCs stopped partway because the client's deadline passed"), cancelledCalls.get());
+    builder.addGauge(Interns.info("BusyWorkers", "Worker threads running an RPC or SASL negotiation"), busy);
+    builder.addGauge(Interns.info("IdleWorkers", "Worker threads waiting for work"), Math.max(0, workers - busy));
+    builder.addGauge(Interns.info("QueueDepth", "Work waiting for a worker thread"), null == queue ? 0 : queue.size());
+    FairCallQueue fairQueue = callQueue;
+    if (null != fairQueue) {
+      for (int i = 0; i < fairQueue.getLevels(); i++) {
+        builder.addGauge(Interns.info("CallQueue" + i + "Depth", "Work waiting for a worker thread at priority " + i + ", where 0 is served most"),
+            fairQueue.size(i));
+      }
+      // Only the heaviest, so a server with many users doesn't publish a metric for every one of them
+      for (DecayScheduler.Caller caller : fairQueue.getScheduler().getTopCallers(TOP_CALLERS)) {
+        String name = "Caller(" + caller.getName() + ")";
+        builder.addGauge(Interns.info(name + "CallsPerSecond", "Calls per second over the last decay period from " + caller.getName()),
+            caller.getCallsPerSecond());
+        builder.addGauge(Interns.info(name + "Priority", "Priority of the next call from " + caller.getName()), caller.getPriority());
+      }
+    }
+    builder.addGauge(Interns.info("ActiveHandshakes", "Connections being authenticated by the handshake stage"), handshakes);
+    builder.addGauge(Interns.info("HandshakeQueueDepth", "Connections waiting for a handshake thread"), null == pendingHandshakes ? 0 : pendingHandshakes.size());
+    for (HandshakeFailure reason : HandshakeFailure.values()) {
+      builder.addCounter(Interns.info(reason.metricName, reason.description), handshakeFailures.get(reason.ordinal()));
+    }
+    long ticketEnd = loginTicketEndTime;
+    builder.addGauge(Interns.info("LoginTicketSecondsRemaining", "Seconds until the server's ticket-granting ticket expires"),
+        0 == ticketEnd ? 0 : Math.max(0, TimeUnit.MILLISECONDS.toSeconds(ticketEnd - System.currentTimeMillis())));
+    builder.addCounter(Interns.info("LoginRenewalFailures", "Attempts to log the server in again from its keytab which failed"), loginRenewalFailures.get());
+    builder.addCounter(Interns.info("ListingCacheHits", "Directory listings served from the cache"), listingCacheHits.get());
+    builder.addCounter(Interns.info("ListingCacheMisses", "Directory listings loaded from the FileSystem"), listingCacheMisses.get());
+    builder.addCounter(Interns.info("BytesIn", "Bytes read from clients"), bytesIn.get());
+    builder.addCounter(Interns.info("BytesOut", "Bytes written to clients"), bytesOut.get());
+
+    for (LatencyHistogram histogram : histograms) {
+      String name = histogram.getName();
+      LatencyHistogram.Window window = histogram.getWindow();
+      builder.addCounter(Interns.info(name + "NumOps", "Number of operations: " + histogram.getDescription()), histogram.getCount());
+      builder.addGauge(Interns.info(name + "AvgTimeMicros", "Mean time over the last window: " + histogram.getDescription()),
+          window.getMean(TimeUnit.MICROSECONDS));
+      for (int i = 0; i < QUANTILES.length; i++) {
+        builder.addGauge(Interns.info(name + QUANTILE_NAMES[i] + "Micros", QUANTILE_NAMES[i] + " time over the last window: " + histogram.getDescription()),
+            window.getQuantile(QUANTILES[i], TimeUnit.MICROSECONDS));
+      }
+      builder.addGauge(Interns.info(name + "MaxMicros", "Max time over the last window: " + histogram.getDescription()), window.getMax(TimeUnit.MICROSECONDS));
+    }
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+/**
+ * AES-GCM encryption of the frames on a connection, used in place of the SASL security layer once GSSAPI has authenticated both ends.
+ *
+ * GSSAPI's wrap and unwrap are much slower than AES with hardware support, so a client may ask to switch ciphers as the first message after the SASL handshake.
+ * If the server agrees, it generates a key and nonce salt for each direction and sends them back, still protected by the SASL auth-conf layer. From then on
+ * both ends bypass SASL and use {@link TSessionCipherTransport}. If the server declines, the connection carries on with the SASL security layer.
+ *
+ * Negotiation messages are {@code MAGIC, length, body}. The magic number can never start a message written by a strict TBinaryProtocol (whose first word is
+ * negative), which lets the server tell a negotiation request apart from the first call of a client that does not negotiate.
+ */
+public class SessionCipher {
+  public static final String SUITE = "AES/GCM/NoPadding";
+
+  static final int MAGIC = 0x4b544331; // "KTC1"
+  private static final int HEADER_BYTES = 8;
+  private static final int MAX_BODY_BYTES = 4096;
+  private static final int KEY_BYTES = 16;
+  private static final int SALT_BYTES = 4;
+  private static final int NONCE_BYTES = 12;
+  private static final int TAG_BITS = 128;
+
+  private static final SecureRandom random = new SecureRandom();
+
+  private final Direction encryptor;
+  private final Direction decryptor;
+
+  SessionCipher(byte[] encryptKey, byte[] encryptSalt, byte[] decryptKey, byte[] decryptSalt) throws GeneralSecurityException {
+    this.encryptor = new Direction(Cipher.ENCRYPT_MODE, encryptKey, encryptSalt);
+    this.decryptor = new Direction(Cipher.DECRYPT_MODE, decryptKey, decryptSalt);
+  }
+
+  /**
+   * Encrypt an outgoing frame. Frames must be decrypted by the peer in the order they were encrypted.
+   */
+  public byte[] encrypt(byte[] buf, int off, int len) throws GeneralSecurityException {
+    return encryptor.apply(buf, off, len);
+  }
+
+  /**
+   * Decrypt an incoming frame, verifying that it was not modified, replayed or reordered.
+   */
+  public byte[] decrypt(byte[] buf, int off, int len) throws GeneralSecurityException {
+    return decryptor.apply(buf, off, len);
+  }
+
+  /**
+   * Ask the server to switch to a session cipher. Must be called on a freshly opened SASL transport, before any RPC.
+   *
+   * @return The cipher to use for the rest of the connection, or null if the server declined
+   */
+  public static SessionCipher request(TTransport saslTransport) throws TTransportException {
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(baos);
+      out.writeShort(1);
+      out.writeUTF(SUITE);
+      out.close();
+      saslTransport.write(message(baos.toByteArray()));
+      saslTransport.flush();
+
+      byte[] header = new byte[HEADER_BYTES];
+      saslTransport.readAll(header, 0, HEADER_BYTES);
+      if (!isNegotiation(header)) {
+        throw new TTransportException("Unexpected reply to session cipher request");
+      }
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(readBody(saslTransport, header)));
+      String suite = in.readUTF();
+      if (suite.isEmpty()) {
+        return null;
+      } else if (!SUITE.equals(suite)) {
+        throw new TTransportException("Server chose unsupported session cipher " + suite);
+      }
+      byte[] clientKey = readBytes(in, KEY_BYTES), clientSalt = readBytes(in, SALT_BYTES);
+      byte[] serverKey = readBytes(in, KEY_BYTES), serverSalt = readBytes(in, SALT_BYTES);
+      return new SessionCipher(clientKey, clientSalt, serverKey, serverSalt);
+    } catch (IOException | GeneralSecurityException e) {
+      throw new TTransportException("Could not negotiate session cipher", e);
+    }
+  }
+
+  /**
+   * @return True if the message (at least its first four bytes) is a negotiation request
+   */
+  public static boolean isNegotiation(byte[] message) {
+    return message.length >= 4 && MAGIC == ByteBuffer.wrap(message).getInt(0);
+  }
+
+  /**
+   * Read the rest of a negotiation request whose header has already been read from the transport.
+   */
+  static byte[] readBody(TTransport transport, byte[] header) throws TTransportException {
+    int length = ByteBuffer.wrap(header, 4, 4).getInt();
+    if (length < 0 || length > MAX_BODY_BYTES) {
+      throw new TTransportException("Invalid session cipher message length " + length);
+    }
+    byte[] body = new byte[length];
+    transport.readAll(body, 0, length);
+    return body;
+  }
+
+  /**
+   * Answer a client's request, either with a new set of keys or declining.
+   *
+   * @param message
+   *          The whole request, including the header
+   * @param enabled
+   *          Whether the server allows session ciphers
+   */
+  public static Response respond(byte[] message, boolean enabled) throws TTransportException {
+    if (message.length < HEADER_BYTES || message.length - HEADER_BYTES != ByteBuffer.wrap(message, 4, 4).getInt()) {
+      throw new TTransportException("Invalid session cipher request");
+    }
+    try {
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(message, HEADER_BYTES, message.length - HEADER_BYTES));
+      boolean offered = false;
+      for (int i = in.readShort(); i > 0; i--) {
+        offered |= SUITE.equals(in.readUTF());
+      }
+
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(baos);
+      if (!enabled || !offered) {
+        out.writeUTF("");
+        out.close();
+        return new Response(message(baos.toByteArray()), null);
+      }
+
+      byte[] clientKey = randomBytes(KEY_BYTES), clientSalt = randomBytes(SALT_BYTES);
+      byte[] serverKey = randomBytes(KEY_BYTES), serverSalt = randomBytes(SALT_BYTES);
+      out.writeUTF(SUITE);
+      out.write(clientKey);
+      out.write(clientSalt);
+      out.write(serverKey);
+      out.write(serverSalt);
+      out.close();
+      return new Response(message(baos.toByteArray()), new SessionCipher(serverKey, serverSalt, clientKey, clientSalt));
+    } catch (IOException | GeneralSecurityException e) {
+      throw new TTransportException("Could not negotiate session cipher", e);
+    }
+  }
+
+  private static byte[] message(byte[] body) {
+    return ByteBuffer.allocate(HEADER_BYTES + body.length).putInt(MAGIC).putInt(body.length).put(body).array();
+  }
+
+  private static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
+  private static byte[] readBytes(DataInputStream in, int length) throws IOException {
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  /**
+   * The server's reply to a request, and the cipher to use if it accepted.
+   */
+  public static class Response {
+    private final byte[] message;
+    private final SessionCipher cipher;
+
+    Response(byte[] message, SessionCipher cipher) {
+      this.message = message;
+      this.cipher = cipher;
+    }
+
+    /**
+     * @return The reply to send to the client through the SASL transport
+     */
+    public byte[] getMessage() {
+      return message;
+    }
+
+    /**
+     * @return The cipher to switch to once the reply is sent, or null if declined
+     */
+    public SessionCipher getCipher() {
+      return cipher;
+    }
+  }
+
+  /**
+   * One direction of the connection. The nonce is the direction's salt followed by a frame counter, so a nonce is never reused with the same key and a frame
+   * which is dropped, replayed or reordered fails to decrypt.
+   */
+  private static class Direction {
+    private final int mode;
+    private final Cipher cipher;
+    private final SecretKeySpec key;
+    private final byte[] nonce = new byte[NONCE_BYTES];
+    private long counter = 0;
+
+    Direction(int mode, byte[] key, byte[] salt) throws GeneralSecurityException {
+      this.mode = mode;
+      this.cipher = Cipher.getInstance(SUITE);
+      this.key = new SecretKeySpec(key, "AES");
+      System.arraycopy(salt, 0, nonce, 0, SALT_BYTES);
+    }
+
+    synchronized byte[] apply(byte[] buf, int off, int len) throws GeneralSecurityException {
+      ByteBuffer.wrap(nonce, SALT_BYTES, NONCE_BYTES - SALT_BYTES).putLong(counter++);
+      cipher.init(mode, key, new GCMParameterSpec(TAG_BITS, nonce));
+      return cipher.doFinal(buf, off, len);
+    }
+  }
+}
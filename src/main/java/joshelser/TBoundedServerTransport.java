@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.thrift.transport.TServerTransport;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Admission control for a server which gives each connection its own worker thread, such as TThreadPoolServer.
+ *
+ * At most {@code maxWorkers + maxPending} connections are admitted at once. Beyond that, new connections are sent a SASL ERROR message, which clients using
+ * TSaslClientTransport report as "Peer indicated failure: Server busy", and closed straight away instead of waiting for a worker. Failures to accept (e.g. when
+ * out of file descriptors) are retried with an exponential backoff instead of spinning.
+ *
+ * Several threads may accept at once, e.g. one for each socket of a {@link TReusePortServerTransport}, sharing the same limit.
+ *
+ * Use with an executor from {@link #newWorkerPool(int, int, int)} with the same sizes, or from {@link #newVirtualThreadExecutor()}, which never reject an
+ * admitted connection.
+ */
+public class TBoundedServerTransport extends TServerTransport {
+  private static final Logger log = LoggerFactory.getLogger(TBoundedServerTransport.class);
+
+  public static final int DEFAULT_MIN_WORKERS = 5;
+  public static final int DEFAULT_MAX_WORKERS = 100;
+  public static final int DEFAULT_MAX_PENDING = 20;
+  public static final long DEFAULT_MAX_BACKOFF_MILLIS = 1000;
+  public static final String BUSY_MESSAGE = "Server busy";
+
+  private static final long MIN_BACKOFF_MILLIS = 10;
+  private static final long WORKER_KEEP_ALIVE_SECONDS = 60;
+  // Rejected connections being told the server is busy, beyond which they are closed without a reason
+  private static final int MAX_REJECTING = 64;
+  private static final int REJECT_LINGER_MILLIS = 1000;
+  private static final int MAX_REJECT_DRAIN_BYTES = 64 * 1024;
+
+  private final TServerTransport wrapped;
+  private final Semaphore admitted;
+  private final long maxBackoffMillis;
+  private final ServerMetrics metrics;
+  private final ThreadPoolExecutor rejector;
+  // Shared by the accepting threads, which would all be failing for the same reason
+  private final AtomicLong backoffMillis = new AtomicLong(0);
+
+  /**
+   * @param maxWorkers
+   *          Connections which may be served at once
+   * @param maxPending
+   *          Connections which may wait for a worker, beyond which connections are rejected
+   * @param maxBackoffMillis
+   *          Longest time to wait before accepting again after consecutive accept failures
+   */
+  public TBoundedServerTransport(TServerTransport wrapped, int maxWorkers, int maxPending, long maxBackoffMillis, ServerMetrics metrics) {
+    Preconditions.checkArgument(maxWorkers > 0, "Need at least one worker");
+    Preconditions.checkArgument(maxPending >= 0, "Pending connections must not be negative");
+    Preconditions.checkArgument(maxBackoffMillis >= 0, "Backoff must not be negative");
+    this.wrapped = wrapped;
+    this.admitted = new Semaphore(maxWorkers + maxPending);
+    this.maxBackoffMillis = maxBackoffMillis;
+    this.metrics = metrics;
+    this.rejector = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(MAX_REJECTING), new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "thrift-connection-rejector");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+  }
+
+  /**
+   * Create a pool of worker threads which grows to {@code maxWorkers} before queueing connections, and queues up to {@code maxPending} of them.
+   */
+  public static ThreadPoolExecutor newWorkerPool(int minWorkers, int maxWorkers, int maxPending) {
+    Preconditions.checkArgument(minWorkers >= 0 && minWorkers <= maxWorkers, "Minimum workers must be between 0 and the maximum");
+    final WorkQueue queue = new WorkQueue(Math.max(1, maxPending));
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(minWorkers, maxWorkers, WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, queue, new ThreadFactory() {
+      private final AtomicInteger count = new AtomicInteger(0);
+
+      @Override
+      public Thread newThread(Runnable r) {
+        return new Thread(r, "thrift-worker-" + count.incrementAndGet());
+      }
+    }, new RejectedExecutionHandler() {
+      @Override
+      public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        // Admission control guarantees room, a worker may just not have picked up its next task yet
+        try {
+          queue.put(r);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    return executor;
+  }
+
+  /**
+   * Create an executor which serves each connection on a new virtual thread, so idle connections don't each hold a native thread. Needs Java 21 or later, and
+   * is created reflectively since this is built for older versions.
+   *
+   * @throws UnsupportedOperationException
+   *           If virtual threads are not available
+   */
+  public static ExecutorService newVirtualThreadExecutor() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "thrift-virtual-worker-", 1L);
+      ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+    } catch (InvocationTargetException e) {
+      // e.g. a preview API which wasn't enabled
+      throw new UnsupportedOperationException("Virtual threads are not available in Java " + System.getProperty("java.version"), e.getCause());
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException("Virtual threads need Java 21 or later, running " + System.getProperty("java.version"), e);
+    }
+  }
+
+  @Override
+  public void listen() throws TTransportException {
+    wrapped.listen();
+  }
+
+  @Override
+  public void close() {
+    wrapped.close();
+    rejector.shutdownNow();
+  }
+
+  @Override
+  public void interrupt() {
+    wrapped.interrupt();
+  }
+
+  @Override
+  protected TTransport acceptImpl() throws TTransportException {
+    while (true) {
+      TTransport client;
+      try {
+        client = wrapped.accept();
+      } catch (TTransportException e) {
+        metrics.acceptFailed();
+        backoff();
+        throw e;
+      }
+      backoffMillis.set(0);
+
+      if (admitted.tryAcquire()) {
+        return new TAdmittedTransport(client, admitted);
+      }
+      reject(client);
+    }
+  }
+
+  private void backoff() {
+    long last = backoffMillis.get();
+    long wait = Math.min(maxBackoffMillis, 0 == last ? MIN_BACKOFF_MILLIS : 2 * last);
+    backoffMillis.set(wait);
+    try {
+      Thread.sleep(wait);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void reject(final TTransport client) {
+    metrics.connectionRejected();
+    log.debug("Rejecting connection, too many connections");
+    try {
+      rejector.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            tellBusy(client);
+          } finally {
+            client.close();
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      client.close();
+    }
+  }
+
+  /**
+   * Send the client a SASL error, and wait for it to hang up. Closing while the client is still sending its first SASL messages would reset the connection
+   * before it could read the error.
+   */
+  private static void tellBusy(TTransport client) {
+    try {
+      ByteBuffer message = TSaslNonblockingServer.saslMessage(TSaslNonblockingServer.ERROR, BUSY_MESSAGE.getBytes(StandardCharsets.UTF_8));
+      client.write(message.array(), 0, message.limit());
+      client.flush();
+      if (!(client instanceof TSocket)) {
+        return;
+      }
+      Socket socket = ((TSocket) client).getSocket();
+      socket.shutdownOutput();
+      socket.setSoTimeout(REJECT_LINGER_MILLIS);
+      InputStream in = socket.getInputStream();
+      byte[] discard = new byte[4096];
+      int drained = 0, n;
+      while (drained < MAX_REJECT_DRAIN_BYTES && (n = in.read(discard)) >= 0) {
+        drained += n;
+      }
+    } catch (TTransportException | IOException e) {
+      log.debug("Failed to tell rejected client the server is busy", e);
+    }
+  }
+
+  /**
+   * Prefers starting a new thread to queueing, so that connections only wait once every worker is busy.
+   */
+  private static class WorkQueue extends LinkedBlockingQueue<Runnable> {
+    private static final long serialVersionUID = 1L;
+
+    WorkQueue(int capacity) {
+      super(capacity);
+    }
+
+    @Override
+    public boolean offer(Runnable r) {
+      // Force the executor to add a thread, or call the RejectedExecutionHandler at the maximum
+      return false;
+    }
+  }
+
+  /**
+   * Gives back its admission when the connection is closed.
+   */
+  private static class TAdmittedTransport extends TFilterTransport {
+    private final Semaphore admitted;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    TAdmittedTransport(TTransport wrapped, Semaphore admitted) {
+      super(wrapped);
+      this.admitted = admitted;
+    }
+
+    @Override
+    public void close() {
+      try {
+        super.close();
+      } finally {
+        if (closed.compareAndSet(false, true)) {
+          admitted.release();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import org.apache.thrift.TByteArrayOutputStream;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+/**
+ * Buffers reads from and writes to the wrapped transport, so that many small calls turn into a few large ones.
+ *
+ * Reads fill a buffer with as much as the wrapped transport has available, which is exposed through {@link #getBuffer()} so that the protocol can decode
+ * fields in place instead of calling {@link #read(byte[], int, int)} for each one. Writes are held until {@link #flush()} and handed to the wrapped transport
+ * in a single call. Over a SASL transport this makes one call per message in each direction, and under one it turns the frame header and payload into a
+ * single write to the socket.
+ *
+ * Both buffers are kept for the life of the connection. The read and write sides share no state, so one thread may read while another writes.
+ */
+public class TBufferedFilterTransport extends TFilterTransport {
+  public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+  // Don't hold on to the memory from an unusually large message for the rest of the connection
+  static final int MAX_RETAINED_WRITE_BUFFER = 256 * 1024;
+
+  private final int bufferSize;
+  private final byte[] readBuffer;
+  private int readPosition = 0;
+  private int readLimit = 0;
+  private TByteArrayOutputStream writeBuffer;
+
+  public TBufferedFilterTransport(TTransport wrapped) {
+    this(wrapped, DEFAULT_BUFFER_SIZE);
+  }
+
+  public TBufferedFilterTransport(TTransport wrapped, int bufferSize) {
+    super(wrapped);
+    this.bufferSize = bufferSize;
+    this.readBuffer = new byte[bufferSize];
+    this.writeBuffer = new TByteArrayOutputStream(bufferSize);
+  }
+
+  @Override
+  public boolean peek() {
+    return readPosition < readLimit || getWrapped().peek();
+  }
+
+  @Override
+  public int read(byte[] buf, int off, int len) throws TTransportException {
+    if (readPosition == readLimit) {
+      if (len >= readBuffer.length) {
+        // Nothing to gain from copying through the buffer
+        return getWrapped().read(buf, off, len);
+      }
+      fill();
+    }
+    int n = Math.min(len, readLimit - readPosition);
+    System.arraycopy(readBuffer, readPosition, buf, off, n);
+    readPosition += n;
+    return n;
+  }
+
+  @Override
+  public int readAll(byte[] buf, int off, int len) throws TTransportException {
+    int got = 0;
+    while (got < len) {
+      got += read(buf, off + got, len - got);
+    }
+    return got;
+  }
+
+  private void fill() throws TTransportException {
+    int n = getWrapped().read(readBuffer, 0, readBuffer.length);
+    if (n <= 0) {
+      throw new TTransportException(TTransportException.END_OF_FILE, "No more data available");
+    }
+    readPosition = 0;
+    readLimit = n;
+  }
+
+  @Override
+  public void write(byte[] buf) {
+    write(buf, 0, buf.length);
+  }
+
+  @Override
+  public void write(byte[] buf, int off, int len) {
+    writeBuffer.write(buf, off, len);
+  }
+
+  @Override
+  public void flush() throws TTransportException {
+    try {
+      if (writeBuffer.len() > 0) {
+        getWrapped().write(writeBuffer.get(), 0, writeBuffer.len());
+      }
+    } finally {
+      if (writeBuffer.get().length > MAX_RETAINED_WRITE_BUFFER) {
+        writeBuffer = new TByteArrayOutputStream(bufferSize);
+      } else {
+        writeBuffer.reset();
+      }
+    }
+    getWrapped().flush();
+  }
+
+  @Override
+  public byte[] getBuffer() {
+    return readBuffer;
+  }
+
+  @Override
+  public int getBufferPosition() {
+    return readPosition;
+  }
+
+  @Override
+  public int getBytesRemainingInBuffer() {
+    return readLimit - readPosition;
+  }
+
+  @Override
+  public void consumeBuffer(int len) {
+    readPosition += len;
+  }
+}
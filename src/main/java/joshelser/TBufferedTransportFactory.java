@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportFactory;
+
+/**
+ * Puts a {@link TBufferedFilterTransport} on both sides of the transports made by the wrapped factory: underneath them, so that frames are written to the
+ * socket in one call, and on top of them, so that the protocol can read from a buffer.
+ *
+ * A transport which already exposes its own buffer (e.g. a {@link TSessionCipherTransport}) is handed out as is.
+ */
+public class TBufferedTransportFactory extends TTransportFactory {
+  private final TTransportFactory wrapped;
+  private final int bufferSize;
+  // The server asks for the input and the output transport separately, make sure they share the buffers
+  private final Map<TTransport,WeakReference<TTransport>> transports = new WeakHashMap<TTransport,WeakReference<TTransport>>();
+
+  public TBufferedTransportFactory(TTransportFactory wrapped) {
+    this(wrapped, TBufferedFilterTransport.DEFAULT_BUFFER_SIZE);
+  }
+
+  public TBufferedTransportFactory(TTransportFactory wrapped, int bufferSize) {
+    this.wrapped = wrapped;
+    this.bufferSize = bufferSize;
+  }
+
+  @Override
+  public TTransport getTransport(TTransport trans) {
+    synchronized (transports) {
+      WeakReference<TTransport> ref = transports.get(trans);
+      if (null != ref && null != ref.get()) {
+        return ref.get();
+      }
+    }
+
+    TTransport transport = wrapped.getTransport(new TBufferedFilterTransport(trans, bufferSize));
+    // Transports without a buffer report -1 remaining
+    if (transport.getBytesRemainingInBuffer() < 0) {
+      transport = new TBufferedFilterTransport(transport, bufferSize);
+    }
+
+    synchronized (transports) {
+      transports.put(trans, new WeakReference<TTransport>(transport));
+    }
+    return transport;
+  }
+}
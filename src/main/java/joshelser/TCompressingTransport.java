@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import org.apache.thrift.TByteArrayOutputStream;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+/**
+ * Messages written to and read from the wrapped (SASL or session cipher) transport, compressed with a {@link FrameCompression}. Each flush writes one
+ * message, so the wrapped transport protects the compressed bytes in a single frame.
+ */
+public class TCompressingTransport extends TFilterTransport {
+  private final FrameCompression compression;
+  private final int maxMessageSize;
+  private final TByteArrayOutputStream writeBuffer = new TByteArrayOutputStream(1024);
+  private final TMemoryInputTransport readBuffer = new TMemoryInputTransport();
+  private final byte[] readHeader = new byte[FrameCompression.MESSAGE_HEADER_BYTES];
+
+  public TCompressingTransport(TTransport wrapped, FrameCompression compression) {
+    this(wrapped, compression, TSessionCipherTransport.DEFAULT_MAX_FRAME_SIZE);
+  }
+
+  public TCompressingTransport(TTransport wrapped, FrameCompression compression, int maxMessageSize) {
+    super(wrapped);
+    this.compression = compression;
+    this.maxMessageSize = maxMessageSize;
+  }
+
+  @Override
+  public boolean peek() {
+    return readBuffer.getBytesRemainingInBuffer() > 0 || getWrapped().peek();
+  }
+
+  @Override
+  public int read(byte[] buf, int off, int len) throws TTransportException {
+    if (readBuffer.getBytesRemainingInBuffer() <= 0) {
+      readMessage();
+    }
+    return readBuffer.read(buf, off, len);
+  }
+
+  @Override
+  public int readAll(byte[] buf, int off, int len) throws TTransportException {
+    int got = 0;
+    while (got < len) {
+      got += read(buf, off + got, len - got);
+    }
+    return got;
+  }
+
+  private void readMessage() throws TTransportException {
+    getWrapped().readAll(readHeader, 0, readHeader.length);
+    int length = FrameCompression.wireLength(readHeader, 0, maxMessageSize);
+    int originalLength = FrameCompression.originalLength(readHeader, 0, maxMessageSize);
+    byte[] body = new byte[length];
+    getWrapped().readAll(body, 0, length);
+    readBuffer.reset(compression.decompress(readHeader[0], body, 0, length, originalLength));
+  }
+
+  @Override
+  public void write(byte[] buf) {
+    write(buf, 0, buf.length);
+  }
+
+  @Override
+  public void write(byte[] buf, int off, int len) {
+    writeBuffer.write(buf, off, len);
+  }
+
+  @Override
+  public void flush() throws TTransportException {
+    byte[] message;
+    try {
+      message = compression.compress(writeBuffer.get(), 0, writeBuffer.len());
+    } finally {
+      writeBuffer.reset();
+    }
+    getWrapped().write(message);
+    getWrapped().flush();
+  }
+
+  @Override
+  public byte[] getBuffer() {
+    return readBuffer.getBuffer();
+  }
+
+  @Override
+  public int getBufferPosition() {
+    return readBuffer.getBufferPosition();
+  }
+
+  @Override
+  public int getBytesRemainingInBuffer() {
+    return readBuffer.getBytesRemainingInBuffer();
+  }
+
+  @Override
+  public void consumeBuffer(int len) {
+    readBuffer.consumeBuffer(len);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.apache.thrift.transport.TTransportFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Answers a client's request for {@link FrameCompression} after the wrapped factory has set up the connection, and hands out a {@link TCompressingTransport}
+ * in its place if compression was agreed. Wraps a {@link TSessionCipherTransportFactory}, so that a client may negotiate a session cipher and then
+ * compression.
+ *
+ * Clients which don't ask for compression are served by the wrapped factory's transport as before; the first four bytes which were read to check for a
+ * request are replayed to the protocol.
+ */
+public class TCompressingTransportFactory extends TTransportFactory {
+  private static final Logger log = LoggerFactory.getLogger(TCompressingTransportFactory.class);
+
+  private final TTransportFactory wrapped;
+  private final int threshold;
+  // The server asks for the input and the output transport separately, make sure they're the same one
+  private final Map<TTransport,WeakReference<TTransport>> transports = new WeakHashMap<TTransport,WeakReference<TTransport>>();
+
+  /**
+   * @param wrapped
+   *          Factory for the SASL or session cipher transport
+   * @param threshold
+   *          Size from which the server compresses the messages it writes, or {@link FrameCompression#DISABLED} to decline clients' requests
+   */
+  public TCompressingTransportFactory(TTransportFactory wrapped, int threshold) {
+    this.wrapped = wrapped;
+    this.threshold = threshold;
+  }
+
+  @Override
+  public TTransport getTransport(TTransport trans) {
+    synchronized (transports) {
+      WeakReference<TTransport> ref = transports.get(trans);
+      if (null != ref && null != ref.get()) {
+        return ref.get();
+      }
+    }
+
+    TTransport wrappedTransport = wrapped.getTransport(trans);
+    TTransport transport;
+    try {
+      transport = negotiate(wrappedTransport);
+    } catch (TTransportException e) {
+      wrappedTransport.close();
+      throw new RuntimeException(e);
+    }
+
+    synchronized (transports) {
+      transports.put(trans, new WeakReference<TTransport>(transport));
+    }
+    return transport;
+  }
+
+  private TTransport negotiate(TTransport wrappedTransport) throws TTransportException {
+    byte[] header = new byte[8];
+    wrappedTransport.readAll(header, 0, 4);
+    if (!FrameCompression.isNegotiation(header)) {
+      return new TReplayTransport(wrappedTransport, header, 4);
+    }
+    wrappedTransport.readAll(header, 4, 4);
+    byte[] body = FrameCompression.readBody(wrappedTransport, header);
+    byte[] request = new byte[header.length + body.length];
+    System.arraycopy(header, 0, request, 0, header.length);
+    System.arraycopy(body, 0, request, header.length, body.length);
+
+    FrameCompression.Response response = FrameCompression.respond(request, threshold);
+    wrappedTransport.write(response.getMessage());
+    wrappedTransport.flush();
+
+    if (null == response.getCompression()) {
+      log.debug("Declined compression");
+      return wrappedTransport;
+    }
+    log.debug("Compressing messages with {}", FrameCompression.CODEC);
+    return new TCompressingTransport(wrappedTransport, response.getCompression());
+  }
+}
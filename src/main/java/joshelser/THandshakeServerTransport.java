@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.security.sasl.SaslException;
+
+import joshelser.ServerMetrics.HandshakeFailure;
+
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TServerTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.apache.thrift.transport.TTransportFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Authenticates connections on a pool of its own, so that a server which gives each connection its own worker thread, such as TThreadPoolServer, only hands
+ * workers connections which are authenticated.
+ *
+ * Connections are accepted from the wrapped server transport on separate threads and queued for the handshake pool, which runs the transport factory on
+ * each. A connection which has not finished its handshake within the timeout is closed. {@link #accept()} only returns the transports made by the factory.
+ *
+ * Give it one accepting thread for each socket of a {@link TReusePortServerTransport}, so that each socket's connections are accepted, admitted and queued
+ * without waiting on the others.
+ *
+ * The factory should stop at SASL. An authenticated client may wait as long as it likes before its first message, e.g. an idle pooled connection, which
+ * must not hold a handshake thread or count as a timeout. Anything which waits for that message, like the session cipher and compression requests, belongs
+ * in the server's own transport factory, which runs on the worker.
+ *
+ * Wrap a {@link TBoundedServerTransport} to limit the connections waiting for a handshake, as well as those waiting for a worker.
+ */
+public class THandshakeServerTransport extends TServerTransport {
+  private static final Logger log = LoggerFactory.getLogger(THandshakeServerTransport.class);
+
+  public static final int DEFAULT_THREADS = 8;
+  public static final long DEFAULT_TIMEOUT_MILLIS = 10000;
+
+  private static final long THREAD_KEEP_ALIVE_SECONDS = 60;
+  // Wakes up the server once the transport is closed
+  private static final TTransport CLOSED = new TMemoryInputTransport(new byte[0]);
+
+  private final TServerTransport wrapped;
+  private final TTransportFactory transportFactory;
+  private final long timeoutMillis;
+  private final ServerMetrics metrics;
+  private final ThreadPoolExecutor handshakers;
+  private final ScheduledThreadPoolExecutor timer;
+  private final BlockingQueue<TTransport> authenticated = new LinkedBlockingQueue<TTransport>();
+  private final List<Thread> acceptors;
+  private volatile boolean closed = false;
+
+  /**
+   * @param acceptors
+   *          Threads accepting connections from the wrapped transport, which should be the number of sockets it listens on
+   * @param transportFactory
+   *          Makes the transport for each connection, authenticating it
+   * @param threads
+   *          Connections which may be authenticated at once
+   * @param timeoutMillis
+   *          Longest a connection may take to authenticate, from when a handshake thread starts on it
+   */
+  public THandshakeServerTransport(TServerTransport wrapped, int acceptors, TTransportFactory transportFactory, int threads, long timeoutMillis,
+      ServerMetrics metrics) {
+    Preconditions.checkArgument(acceptors > 0, "Need at least one acceptor");
+    Preconditions.checkArgument(threads > 0, "Need at least one thread");
+    Preconditions.checkArgument(timeoutMillis > 0, "Timeout must be positive");
+    this.wrapped = wrapped;
+    this.transportFactory = transportFactory;
+    this.timeoutMillis = timeoutMillis;
+    this.metrics = metrics;
+
+    // The wrapped transport limits how many connections are accepted, so the queue doesn't need to
+    this.handshakers = new ThreadPoolExecutor(threads, threads, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+        new ThreadFactory() {
+          private final AtomicInteger count = new AtomicInteger(0);
+
+          @Override
+          public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "thrift-handshake-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+          }
+        });
+    this.handshakers.allowCoreThreadTimeOut(true);
+    metrics.setHandshakeQueue(handshakers.getQueue());
+
+    this.timer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "thrift-handshake-timer");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+    this.timer.setRemoveOnCancelPolicy(true);
+
+    this.acceptors = new ArrayList<Thread>(acceptors);
+    for (int i = 0; i < acceptors; i++) {
+      Thread acceptor = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          acceptConnections();
+        }
+      }, "thrift-handshake-acceptor-" + i);
+      acceptor.setDaemon(true);
+      this.acceptors.add(acceptor);
+    }
+  }
+
+  @Override
+  public void listen() throws TTransportException {
+    wrapped.listen();
+    for (Thread acceptor : acceptors) {
+      acceptor.start();
+    }
+  }
+
+  @Override
+  protected TTransport acceptImpl() throws TTransportException {
+    TTransport transport;
+    try {
+      transport = authenticated.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TTransportException(TTransportException.NOT_OPEN, "Interrupted waiting for an authenticated connection");
+    }
+    if (CLOSED == transport) {
+      // Leave it for anyone else waiting
+      authenticated.offer(CLOSED);
+      throw new TTransportException(TTransportException.NOT_OPEN, "Server transport closed");
+    }
+    return transport;
+  }
+
+  @Override
+  public void interrupt() {
+    shutdown();
+    wrapped.interrupt();
+  }
+
+  @Override
+  public void close() {
+    shutdown();
+    wrapped.close();
+  }
+
+  private void shutdown() {
+    closed = true;
+    handshakers.shutdownNow();
+    timer.shutdownNow();
+    // Nothing will serve the connections which were waiting
+    TTransport transport;
+    while (null != (transport = authenticated.poll())) {
+      if (CLOSED != transport) {
+        transport.close();
+      }
+    }
+    authenticated.offer(CLOSED);
+  }
+
+  private void acceptConnections() {
+    while (!closed) {
+      final TTransport client;
+      try {
+        client = wrapped.accept();
+      } catch (TTransportException e) {
+        if (!closed) {
+          log.warn("Failed to accept connection", e);
+        }
+        continue;
+      }
+
+      try {
+        handshakers.execute(new Runnable() {
+          @Override
+          public void run() {
+            handshake(client);
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        // Shutting down
+        client.close();
+      }
+    }
+  }
+
+  private void handshake(final TTransport client) {
+    final AtomicBoolean timedOut = new AtomicBoolean(false);
+    ScheduledFuture<?> deadline;
+    try {
+      deadline = timer.schedule(new Runnable() {
+        @Override
+        public void run() {
+          // Fails whatever read or write the handshake is blocked on
+          timedOut.set(true);
+          client.close();
+        }
+      }, timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      client.close();
+      return;
+    }
+
+    TTransport transport;
+    metrics.handshakeStarted();
+    try {
+      transport = transportFactory.getTransport(client);
+    } catch (RuntimeException e) {
+      deadline.cancel(false);
+      client.close();
+      failed(timedOut.get() ? HandshakeFailure.TIMEOUT : classify(e), e);
+      return;
+    } finally {
+      metrics.handshakeFinished();
+    }
+
+    if (!deadline.cancel(false)) {
+      // Timed out just as it finished, the connection has already been closed
+      transport.close();
+      failed(HandshakeFailure.TIMEOUT, null);
+      return;
+    }
+    authenticated.add(transport);
+    if (closed && authenticated.remove(transport)) {
+      transport.close();
+    }
+  }
+
+  private void failed(HandshakeFailure reason, Exception e) {
+    metrics.handshakeFailed(reason);
+    log.debug("Handshake failed: {}", reason, e);
+  }
+
+  /**
+   * Tell a client going away from one which couldn't authenticate, from the exception thrown by the transport factory.
+   */
+  private static HandshakeFailure classify(RuntimeException e) {
+    for (Throwable t = e; null != t; t = t.getCause()) {
+      if (t instanceof TTransportException && TTransportException.END_OF_FILE == ((TTransportException) t).getType()) {
+        return HandshakeFailure.CONNECTION;
+      }
+      // The SASL transport reports negotiation failures without a cause, only I/O problems have one
+      if (t instanceof IOException && !(t instanceof SaslException)) {
+        return HandshakeFailure.CONNECTION;
+      }
+    }
+    return HandshakeFailure.NEGOTIATION;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.apache.thrift.transport.TTransportFactory;
+
+/**
+ * Records connections and bytes on the wire in {@link ServerMetrics} for the transports made by the wrapped factory.
+ *
+ * This must be the outermost factory, so that the bytes counted are those read from and written to the socket. The handshake time is recorded by wrapping the
+ * factory which authenticates connections with {@link #timingHandshake(TTransportFactory)}, further down the chain.
+ */
+public class TMeteredTransportFactory extends TTransportFactory {
+  private final TTransportFactory wrapped;
+  private final ServerMetrics metrics;
+  // The server asks for the input and the output transport separately, only count the connection once
+  private final Map<TTransport,WeakReference<TTransport>> transports = new WeakHashMap<TTransport,WeakReference<TTransport>>();
+
+  public TMeteredTransportFactory(TTransportFactory wrapped, ServerMetrics metrics) {
+    this.wrapped = wrapped;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public TTransport getTransport(TTransport trans) {
+    synchronized (transports) {
+      WeakReference<TTransport> ref = transports.get(trans);
+      if (null != ref && null != ref.get()) {
+        return ref.get();
+      }
+    }
+
+    TCountingTransport counting = new TCountingTransport(trans, metrics);
+    TTransport transport;
+    try {
+      transport = wrapped.getTransport(counting);
+    } catch (RuntimeException e) {
+      counting.close();
+      throw e;
+    }
+
+    synchronized (transports) {
+      transports.put(trans, new WeakReference<TTransport>(transport));
+    }
+    return transport;
+  }
+
+  /**
+   * Wrap the factory which authenticates connections, e.g. a {@link TUGIAssumingTransportFactory}, to record the handshake time of the connections passed
+   * down to it by a TMeteredTransportFactory. The time runs from when the metered factory got the connection until SASL completes, as in
+   * TSaslNonblockingServer, and so leaves out the wait for the client's first message which the session cipher and compression factories above make.
+   */
+  public static TTransportFactory timingHandshake(final TTransportFactory authenticating) {
+    return new TTransportFactory() {
+      @Override
+      public TTransport getTransport(TTransport trans) {
+        TTransport transport = authenticating.getTransport(trans);
+        for (TTransport t = trans; t instanceof TFilterTransport; t = ((TFilterTransport) t).getWrapped()) {
+          if (t instanceof TCountingTransport) {
+            ((TCountingTransport) t).authenticated();
+            break;
+          }
+        }
+        return transport;
+      }
+    };
+  }
+
+  /**
+   * Counts the bytes read and written on a connection, and reports when the connection is closed.
+   */
+  static class TCountingTransport extends TFilterTransport {
+    private final ServerMetrics metrics;
+    private final long openedNanos = System.nanoTime();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final AtomicBoolean authenticated = new AtomicBoolean(false);
+
+    TCountingTransport(TTransport wrapped, ServerMetrics metrics) {
+      super(wrapped);
+      this.metrics = metrics;
+      metrics.connectionOpened();
+    }
+
+    void authenticated() {
+      // The input and output transports are asked for separately
+      if (authenticated.compareAndSet(false, true)) {
+        metrics.getHandshakeTime().recordSince(openedNanos);
+      }
+    }
+
+    @Override
+    public void close() {
+      if (closed.compareAndSet(false, true)) {
+        metrics.connectionClosed();
+      }
+      super.close();
+    }
+
+    @Override
+    public int read(byte[] buf, int off, int len) throws TTransportException {
+      int n = super.read(buf, off, len);
+      if (n > 0) {
+        metrics.bytesRead(n);
+      }
+      return n;
+    }
+
+    @Override
+    public int readAll(byte[] buf, int off, int len) throws TTransportException {
+      int n = super.readAll(buf, off, len);
+      metrics.bytesRead(n);
+      return n;
+    }
+
+    @Override
+    public void write(byte[] buf) throws TTransportException {
+      write(buf, 0, buf.length);
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) throws TTransportException {
+      super.write(buf, off, len);
+      metrics.bytesWritten(len);
+    }
+  }
+}
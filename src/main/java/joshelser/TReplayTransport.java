@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+/**
+ * Returns bytes which were already read from the wrapped transport before reading anything more from it.
+ */
+class TReplayTransport extends TFilterTransport {
+  private final byte[] replay;
+  private final int length;
+  private int position = 0;
+
+  TReplayTransport(TTransport wrapped, byte[] replay, int length) {
+    super(wrapped);
+    this.replay = replay;
+    this.length = length;
+  }
+
+  @Override
+  public boolean peek() {
+    return position < length || super.peek();
+  }
+
+  @Override
+  public int read(byte[] buf, int off, int len) throws TTransportException {
+    if (position < length) {
+      int n = Math.min(len, length - position);
+      System.arraycopy(replay, position, buf, off, n);
+      position += n;
+      return n;
+    }
+    return super.read(buf, off, len);
+  }
+
+  @Override
+  public int readAll(byte[] buf, int off, int len) throws TTransportException {
+    int got = 0;
+    while (got < len) {
+      got += read(buf, off + got, len - got);
+    }
+    return got;
+  }
+
+  // Keep the protocol off the wrapped transport's buffer until the replayed bytes are consumed
+
+  @Override
+  public byte[] getBuffer() {
+    return position < length ? null : super.getBuffer();
+  }
+
+  @Override
+  public int getBufferPosition() {
+    return position < length ? 0 : super.getBufferPosition();
+  }
+
+  @Override
+  public int getBytesRemainingInBuffer() {
+    return position < length ? -1 : super.getBytesRemainingInBuffer();
+  }
+}
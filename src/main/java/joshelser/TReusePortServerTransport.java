@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Listens on one port with several sockets bound with SO_REUSEPORT, so the kernel spreads new connections across them instead of queueing them all on one.
+ *
+ * Each thread calling {@link #accept()} is given a socket of its own, in turn, and only accepts from that one. Accept from as many threads as there are
+ * sockets, e.g. the acceptors of a {@link THandshakeServerTransport}, with a {@link TBoundedServerTransport} in between, so that each thread admits (or
+ * rejects) and hands off its own connections without waiting on the others.
+ *
+ * SO_REUSEPORT needs Linux (or another OS which load balances it) and Java 9 or later, and is set reflectively since this is built for older versions.
+ */
+public class TReusePortServerTransport extends TServerTransport {
+  private final List<TServerSocket> sockets;
+  private final ServerMetrics metrics;
+  private final AtomicInteger nextSocket = new AtomicInteger(0);
+  private final ThreadLocal<Integer> socketOfThread = new ThreadLocal<Integer>() {
+    @Override
+    protected Integer initialValue() {
+      return nextSocket.getAndIncrement() % sockets.size();
+    }
+  };
+
+  /**
+   * @param acceptors
+   *          Sockets to listen on, each to be accepted from by its own thread
+   */
+  public TReusePortServerTransport(int port, int acceptors, ServerMetrics metrics) throws TTransportException {
+    Preconditions.checkArgument(acceptors > 0, "Need at least one acceptor");
+    this.metrics = metrics;
+    this.sockets = new ArrayList<TServerSocket>(acceptors);
+
+    for (int i = 0; i < acceptors; i++) {
+      try {
+        sockets.add(new TServerSocket(bind(port)));
+      } catch (IOException e) {
+        close();
+        throw new TTransportException("Could not listen on port " + port + " with SO_REUSEPORT", e);
+      }
+    }
+    metrics.setAcceptors(acceptors);
+  }
+
+  private static ServerSocket bind(int port) throws IOException {
+    ServerSocket socket = new ServerSocket();
+    try {
+      socket.setReuseAddress(true);
+      setReusePort(socket);
+      socket.bind(new InetSocketAddress(port));
+    } catch (IOException e) {
+      socket.close();
+      throw e;
+    }
+    return socket;
+  }
+
+  /**
+   * Set SO_REUSEPORT with {@code ServerSocket.setOption}, which is new in Java 9.
+   */
+  private static void setReusePort(ServerSocket socket) throws IOException {
+    SocketOption<?> reusePort;
+    try {
+      reusePort = (SocketOption<?>) StandardSocketOptions.class.getField("SO_REUSEPORT").get(null);
+      Set<?> supported = (Set<?>) ServerSocket.class.getMethod("supportedOptions").invoke(socket);
+      if (!supported.contains(reusePort)) {
+        throw new IOException("SO_REUSEPORT is not supported on " + System.getProperty("os.name"));
+      }
+      ServerSocket.class.getMethod("setOption", SocketOption.class, Object.class).invoke(socket, reusePort, Boolean.TRUE);
+    } catch (InvocationTargetException e) {
+      throw new IOException("Could not set SO_REUSEPORT", e.getCause());
+    } catch (ReflectiveOperationException e) {
+      throw new IOException("SO_REUSEPORT needs Java 9 or later, running " + System.getProperty("java.version"), e);
+    }
+  }
+
+  /**
+   * @return The number of sockets, and so of threads which should accept from this transport
+   */
+  public int getAcceptors() {
+    return sockets.size();
+  }
+
+  @Override
+  public void listen() throws TTransportException {
+    for (TServerSocket socket : sockets) {
+      socket.listen();
+    }
+  }
+
+  @Override
+  protected TTransport acceptImpl() throws TTransportException {
+    int acceptor = socketOfThread.get();
+    TTransport client;
+    try {
+      client = sockets.get(acceptor).accept();
+    } catch (TTransportException e) {
+      // The caller backs off before trying again
+      metrics.acceptFailed(acceptor);
+      throw e;
+    }
+    metrics.accepted(acceptor);
+    return client;
+  }
+
+  @Override
+  public void interrupt() {
+    close();
+  }
+
+  @Override
+  public void close() {
+    for (TServerSocket socket : sockets) {
+      socket.close();
+    }
+  }
+}
@@ -0,0 +1,1007 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.sasl.Sasl;
+import javax.security.sasl.SaslException;
+import javax.security.sasl.SaslServer;
+
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TNonblockingServerTransport;
+import org.apache.thrift.transport.TNonblockingSocket;
+import org.apache.thrift.transport.TSaslServerTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A selector-based Thrift server which speaks the same SASL protocol as {@link TSaslServerTransport}, so that unmodified clients using
+ * TSaslClientTransport can connect to it.
+ *
+ * One thread accepts connections and hands them to a small number of selector threads, which do all of the socket I/O without blocking. SASL negotiation
+ * steps and RPCs run on a separate pool of workers, so idle connections do not hold on to a thread. Each SASL data frame is expected to contain exactly one
+ * Thrift message, which is what TSaslClientTransport produces as it flushes once per call.
+ *
+ * Clients may pipeline calls on a connection, as {@link HdfsAsyncClient} does. They are processed concurrently and each one is answered as soon as it
+ * completes, so responses may come back in a different order than the requests, matched up by their sequence IDs.
+ *
+ * The processor sees a transport which implements {@link SaslServerSource}, so the {@link TUGIAssumingProcessor} runs each call as the same proxy user as it
+ * would with a {@link TSaslServerTransport}.
+ *
+ * With a {@link FairCallQueue}, each call waits for a worker at a priority set by how busy its caller has been lately, rather than behind every call read
+ * before it.
+ */
+public class TSaslNonblockingServer extends TServer {
+  private static final Logger log = LoggerFactory.getLogger(TSaslNonblockingServer.class);
+
+  public static final int DEFAULT_SELECTOR_THREADS = 2;
+  public static final int DEFAULT_WORKER_THREADS = 5;
+  public static final int DEFAULT_MAX_FRAME_SIZE = 64 * 1024 * 1024;
+  public static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+  // Negotiation status bytes, from TSaslTransport.NegotiationStatus
+  private static final byte START = 0x01;
+  private static final byte OK = 0x02;
+  private static final byte BAD = 0x03;
+  static final byte ERROR = 0x04;
+  private static final byte COMPLETE = 0x05;
+
+  private static final int STATUS_BYTES = 1;
+  private static final int PAYLOAD_LENGTH_BYTES = 4;
+
+  public static class Args extends AbstractServerArgs<Args> {
+    private int selectorThreads = DEFAULT_SELECTOR_THREADS;
+    private int workerThreads = DEFAULT_WORKER_THREADS;
+    private int maxFrameSize = DEFAULT_MAX_FRAME_SIZE;
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private UserGroupInformation serverUser;
+    private boolean sessionCipher = false;
+    private int compressionThreshold = FrameCompression.DISABLED;
+    private ServerMetrics metrics = new ServerMetrics();
+    private FairCallQueue callQueue = null;
+    private final Map<String,SaslServerDefinition> serverDefinitions = new HashMap<String,SaslServerDefinition>();
+
+    public Args(TNonblockingServerTransport transport) {
+      super(transport);
+    }
+
+    public Args selectorThreads(int selectorThreads) {
+      this.selectorThreads = selectorThreads;
+      return this;
+    }
+
+    public Args workerThreads(int workerThreads) {
+      this.workerThreads = workerThreads;
+      return this;
+    }
+
+    public Args maxFrameSize(int maxFrameSize) {
+      this.maxFrameSize = maxFrameSize;
+      return this;
+    }
+
+    /**
+     * Requests a single connection may have outstanding before the server stops reading more from it
+     */
+    public Args maxInFlight(int maxInFlight) {
+      this.maxInFlight = maxInFlight;
+      return this;
+    }
+
+    /**
+     * The user to assume while running the SASL negotiation, i.e. the server's Kerberos login
+     */
+    public Args serverUser(UserGroupInformation serverUser) {
+      this.serverUser = serverUser;
+      return this;
+    }
+
+    /**
+     * Whether to agree to clients' requests to replace the SASL security layer with a {@link SessionCipher}
+     */
+    public Args sessionCipher(boolean sessionCipher) {
+      this.sessionCipher = sessionCipher;
+      return this;
+    }
+
+    /**
+     * Size from which to compress responses on connections whose clients ask for {@link FrameCompression}, or {@link FrameCompression#DISABLED} to decline
+     * their requests
+     */
+    public Args compressionThreshold(int compressionThreshold) {
+      this.compressionThreshold = compressionThreshold;
+      return this;
+    }
+
+    /**
+     * Where to record connections, bytes on the wire, handshake time and the depth of the worker queue
+     */
+    public Args metrics(ServerMetrics metrics) {
+      this.metrics = metrics;
+      return this;
+    }
+
+    /**
+     * Queue for the worker pool which serves each caller by how many calls it has been making, instead of first come, first served
+     */
+    public Args callQueue(FairCallQueue callQueue) {
+      this.callQueue = callQueue;
+      return this;
+    }
+
+    /**
+     * Add a supported SASL mechanism, as in {@link TSaslServerTransport.Factory#addServerDefinition(String, String, String, Map, CallbackHandler)}
+     */
+    public Args addServerDefinition(String mechanism, String protocol, String serverName, Map<String,String> props, CallbackHandler cbh) {
+      serverDefinitions.put(mechanism, new SaslServerDefinition(mechanism, protocol, serverName, props, cbh));
+      return this;
+    }
+  }
+
+  private static class SaslServerDefinition {
+    final String mechanism;
+    final String protocol;
+    final String serverName;
+    final Map<String,String> props;
+    final CallbackHandler cbh;
+
+    SaslServerDefinition(String mechanism, String protocol, String serverName, Map<String,String> props, CallbackHandler cbh) {
+      this.mechanism = mechanism;
+      this.protocol = protocol;
+      this.serverName = serverName;
+      this.props = props;
+      this.cbh = cbh;
+    }
+  }
+
+  private final TNonblockingServerTransport serverTransport;
+  private final int numSelectorThreads;
+  private final int numWorkerThreads;
+  private final int maxFrameSize;
+  private final int maxInFlight;
+  private final UserGroupInformation serverUser;
+  private final boolean sessionCipherEnabled;
+  private final int compressionThreshold;
+  private final ServerMetrics metrics;
+  private final FairCallQueue callQueue;
+  private final Map<String,SaslServerDefinition> serverDefinitions;
+
+  private final List<SelectThread> selectThreads = new ArrayList<SelectThread>();
+  private ExecutorService workers;
+  private volatile boolean stopped = false;
+
+  public TSaslNonblockingServer(Args args) {
+    super(args);
+    Preconditions.checkNotNull(args.serverUser, "Server user is required");
+    Preconditions.checkArgument(!args.serverDefinitions.isEmpty(), "At least one SASL server definition is required");
+    Preconditions.checkArgument(args.selectorThreads > 0, "Need at least one selector thread");
+    Preconditions.checkArgument(args.workerThreads > 0, "Need at least one worker thread");
+    Preconditions.checkArgument(args.maxInFlight > 0, "Need to allow at least one request in flight");
+
+    this.serverTransport = (TNonblockingServerTransport) serverTransport_;
+    this.numSelectorThreads = args.selectorThreads;
+    this.numWorkerThreads = args.workerThreads;
+    this.maxFrameSize = args.maxFrameSize;
+    this.maxInFlight = args.maxInFlight;
+    this.serverUser = args.serverUser;
+    this.sessionCipherEnabled = args.sessionCipher;
+    this.compressionThreshold = args.compressionThreshold;
+    this.metrics = Preconditions.checkNotNull(args.metrics, "Metrics are required");
+    this.callQueue = args.callQueue;
+    this.serverDefinitions = new HashMap<String,SaslServerDefinition>(args.serverDefinitions);
+  }
+
+  @Override
+  public void serve() {
+    try {
+      serverTransport.listen();
+    } catch (TTransportException e) {
+      log.error("Failed to start listening on server socket", e);
+      return;
+    }
+
+    BlockingQueue<Runnable> workQueue = null == callQueue ? new LinkedBlockingQueue<Runnable>() : callQueue;
+    workers = new ThreadPoolExecutor(numWorkerThreads, numWorkerThreads, 0L, TimeUnit.MILLISECONDS, workQueue, new NamedThreadFactory("sasl-nonblocking-worker"));
+    metrics.setWorkerPool(numWorkerThreads, workQueue);
+
+    Selector acceptSelector;
+    try {
+      for (int i = 0; i < numSelectorThreads; i++) {
+        SelectThread thread = new SelectThread("sasl-nonblocking-selector-" + i);
+        selectThreads.add(thread);
+        thread.start();
+      }
+      acceptSelector = Selector.open();
+      serverTransport.registerSelector(acceptSelector);
+    } catch (IOException e) {
+      log.error("Failed to open selectors", e);
+      shutdown();
+      return;
+    }
+
+    setServing(true);
+    try {
+      acceptLoop(acceptSelector);
+    } finally {
+      setServing(false);
+      try {
+        acceptSelector.close();
+      } catch (IOException e) {
+        log.debug("Failed to close accept selector", e);
+      }
+      shutdown();
+    }
+  }
+
+  @Override
+  public void stop() {
+    stopped = true;
+    serverTransport.interrupt();
+    for (SelectThread thread : selectThreads) {
+      thread.selector.wakeup();
+    }
+  }
+
+  private void acceptLoop(Selector acceptSelector) {
+    int next = 0;
+    while (!stopped) {
+      try {
+        acceptSelector.select();
+        Iterator<SelectionKey> keys = acceptSelector.selectedKeys().iterator();
+        while (!stopped && keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          if (!key.isValid() || !key.isAcceptable()) {
+            continue;
+          }
+          TNonblockingSocket client;
+          try {
+            client = (TNonblockingSocket) serverTransport.accept();
+          } catch (TTransportException e) {
+            log.warn("Failed to accept connection", e);
+            continue;
+          }
+          SelectThread thread = selectThreads.get(next++ % selectThreads.size());
+          thread.addConnection(client.getSocketChannel());
+        }
+      } catch (IOException e) {
+        log.warn("Got an IOException in accept loop", e);
+      }
+    }
+  }
+
+  private void shutdown() {
+    for (SelectThread thread : selectThreads) {
+      thread.selector.wakeup();
+      try {
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    if (null != workers) {
+      workers.shutdownNow();
+    }
+    serverTransport.close();
+  }
+
+  /**
+   * Selects over a subset of the connections, performing all reads and writes.
+   */
+  private class SelectThread extends Thread {
+    final Selector selector;
+    private final Queue<SocketChannel> accepted = new ConcurrentLinkedQueue<SocketChannel>();
+    private final Queue<Connection> changes = new ConcurrentLinkedQueue<Connection>();
+
+    SelectThread(String name) throws IOException {
+      super(name);
+      this.selector = Selector.open();
+      setDaemon(true);
+    }
+
+    void addConnection(SocketChannel channel) {
+      accepted.add(channel);
+      selector.wakeup();
+    }
+
+    /**
+     * Called by workers when a connection has output to write or is ready to read again.
+     */
+    void requestInterestChange(Connection connection) {
+      changes.add(connection);
+      selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!stopped) {
+          selector.select();
+          registerAccepted();
+          applyInterestChanges();
+
+          Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+          while (!stopped && keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            Connection connection = (Connection) key.attachment();
+            if (!key.isValid()) {
+              connection.close();
+            } else if (key.isReadable()) {
+              connection.read();
+            } else if (key.isWritable()) {
+              connection.write();
+            }
+          }
+        }
+      } catch (IOException e) {
+        log.error("Selector thread exiting", e);
+      } finally {
+        for (SelectionKey key : selector.keys()) {
+          ((Connection) key.attachment()).close();
+        }
+        try {
+          selector.close();
+        } catch (IOException e) {
+          log.debug("Failed to close selector", e);
+        }
+      }
+    }
+
+    private void registerAccepted() {
+      SocketChannel channel;
+      while (null != (channel = accepted.poll())) {
+        Connection connection = new Connection(channel, this);
+        try {
+          connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        } catch (ClosedChannelException e) {
+          log.debug("Connection closed before it could be registered");
+          connection.close();
+        }
+      }
+    }
+
+    private void applyInterestChanges() {
+      Connection connection;
+      while (null != (connection = changes.poll())) {
+        connection.applyInterestChange();
+      }
+    }
+  }
+
+  private enum State {
+    READ_SASL_HEADER, READ_SASL_PAYLOAD, NEGOTIATING, READ_FRAME_SIZE, READ_FRAME, CLOSED
+  }
+
+  /**
+   * State for a single client connection. Only the selector thread touches the socket; workers hand results back via
+   * {@link SelectThread#requestInterestChange(Connection)}.
+   *
+   * Once authenticated, the connection keeps reading requests while earlier ones are being processed, up to maxInFlight of them, so a client can pipeline
+   * calls. The SASL security layer and the session cipher both count frames, so frames are decoded one at a time in the order they arrived and responses are
+   * encoded in the order they are written. In between, requests are processed concurrently and each response is written as soon as it is ready.
+   */
+  private class Connection {
+    private final SocketChannel channel;
+    private final SelectThread selectThread;
+    SelectionKey key;
+
+    private volatile State state = State.READ_SASL_HEADER;
+    private final ByteBuffer header = ByteBuffer.allocate(STATUS_BYTES + PAYLOAD_LENGTH_BYTES);
+    private ByteBuffer payload;
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<ByteBuffer>();
+    private volatile boolean closeAfterWrite = false;
+
+    // Frames which have been read but not decoded, and the requests which haven't been answered
+    private final Queue<InboundFrame> inbound = new ConcurrentLinkedQueue<InboundFrame>();
+    private final AtomicBoolean decoding = new AtomicBoolean(false);
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final Object sendLock = new Object();
+
+    private volatile SaslServer saslServer;
+    private volatile boolean wrap = false;
+    // Replaces the SASL security layer once negotiated
+    private volatile SessionCipher cipher;
+    // Applied to requests and responses before the security layer, once negotiated
+    private volatile FrameCompression compression;
+    private final long acceptedNanos = System.nanoTime();
+    // Who the connection's calls are counted against by the call queue, once authenticated
+    private volatile String caller;
+
+    private final Runnable decoder = new Runnable() {
+      @Override
+      public void run() {
+        decode();
+      }
+    };
+
+    Connection(SocketChannel channel, SelectThread selectThread) {
+      this.channel = channel;
+      this.selectThread = selectThread;
+      metrics.connectionOpened();
+    }
+
+    private boolean negotiated() {
+      return null != saslServer && saslServer.isComplete();
+    }
+
+    void read() {
+      try {
+        switch (state) {
+          case READ_SASL_HEADER:
+            if (!fill(header)) {
+              return;
+            }
+            if (!startPayload(header.getInt(STATUS_BYTES))) {
+              return;
+            }
+            state = State.READ_SASL_PAYLOAD;
+            // fall through, the payload may already be available
+          case READ_SASL_PAYLOAD:
+            if (!fill(payload)) {
+              return;
+            }
+            final byte messageStatus = header.get(0);
+            final byte[] message = payload.array();
+            state = State.NEGOTIATING;
+            key.interestOps(0);
+            execute(new Runnable() {
+              @Override
+              public void run() {
+                negotiate(messageStatus, message);
+              }
+            }, 0);
+            return;
+          case READ_FRAME_SIZE:
+            if (!fill(header)) {
+              return;
+            }
+            if (!startPayload(header.getInt(0))) {
+              return;
+            }
+            state = State.READ_FRAME;
+            // fall through
+          case READ_FRAME:
+            if (!fill(payload)) {
+              return;
+            }
+            received(payload.array());
+            startReading();
+            return;
+          default:
+            log.warn("Unexpected read in state {}", state);
+            close();
+        }
+      } catch (EOFException e) {
+        // Client hung up between requests
+        close();
+      } catch (IOException e) {
+        log.debug("Closing connection after read failure", e);
+        close();
+      }
+    }
+
+    void write() {
+      try {
+        ByteBuffer buffer;
+        while (null != (buffer = outbound.peek())) {
+          metrics.bytesWritten(channel.write(buffer));
+          if (buffer.hasRemaining()) {
+            return;
+          }
+          outbound.poll();
+        }
+      } catch (IOException e) {
+        log.debug("Closing connection after write failure", e);
+        close();
+        return;
+      }
+      updateInterest();
+    }
+
+    /**
+     * Read from the socket into the buffer.
+     *
+     * @return True if the buffer is full
+     */
+    private boolean fill(ByteBuffer buffer) throws IOException {
+      int n = channel.read(buffer);
+      if (n < 0) {
+        throw new EOFException("Connection closed by client");
+      }
+      metrics.bytesRead(n);
+      return !buffer.hasRemaining();
+    }
+
+    private boolean startPayload(int length) {
+      if (length < 0 || length > maxFrameSize) {
+        log.warn("Closing connection sending invalid frame of {} bytes", length);
+        close();
+        return false;
+      }
+      payload = ByteBuffer.allocate(length);
+      return true;
+    }
+
+    private void startReading() {
+      header.clear();
+      payload = null;
+      if (negotiated()) {
+        header.limit(PAYLOAD_LENGTH_BYTES);
+        state = State.READ_FRAME_SIZE;
+      } else {
+        state = State.READ_SASL_HEADER;
+      }
+      updateInterest();
+    }
+
+    /**
+     * Read while there's room for more requests, and write while there are responses. Only called on the selector thread.
+     */
+    private void updateInterest() {
+      if (closeAfterWrite && outbound.isEmpty()) {
+        close();
+        return;
+      }
+      int ops = 0;
+      if (!closeAfterWrite && State.NEGOTIATING != state && inFlight.get() < maxInFlight) {
+        ops |= SelectionKey.OP_READ;
+      }
+      if (!outbound.isEmpty()) {
+        ops |= SelectionKey.OP_WRITE;
+      }
+      key.interestOps(ops);
+    }
+
+    /**
+     * @param priority
+     *          Where the task waits in a {@link FairCallQueue}, 0 being served first
+     */
+    private void execute(Runnable task, int priority) {
+      workers.execute(new WorkerTask(task, priority));
+    }
+
+    /**
+     * Run on the selector thread after a worker has finished with the connection.
+     */
+    void applyInterestChange() {
+      if (State.CLOSED == state || !key.isValid()) {
+        return;
+      }
+      if (State.NEGOTIATING == state && !closeAfterWrite) {
+        // Wait for the client's next negotiation message, or its first request
+        startReading();
+      } else {
+        updateInterest();
+      }
+    }
+
+    /**
+     * Run a step of the SASL negotiation as the server's login user, mirroring TSaslServerTransport.
+     */
+    private void negotiate(final byte status, final byte[] message) {
+      try {
+        ByteBuffer reply = serverUser.doAs(new PrivilegedExceptionAction<ByteBuffer>() {
+          @Override
+          public ByteBuffer run() throws IOException {
+            return evaluate(status, message);
+          }
+        });
+        respond(reply, false);
+      } catch (NegotiationFailure e) {
+        fail(e.status, e.getMessage());
+      } catch (SaslException e) {
+        log.debug("SASL negotiation failed", e);
+        fail(BAD, e.getMessage());
+      } catch (IOException | InterruptedException | RuntimeException e) {
+        log.error("Unexpected error during SASL negotiation", e);
+        fail(ERROR, e.getMessage());
+      }
+    }
+
+    /**
+     * @return The negotiation message to send back, or null if nothing should be sent
+     */
+    private ByteBuffer evaluate(byte status, byte[] message) throws IOException {
+      if (null == saslServer) {
+        if (START != status) {
+          throw new NegotiationFailure(ERROR, "Expecting START status, received " + status);
+        }
+        String mechanism = new String(message, StandardCharsets.UTF_8);
+        SaslServerDefinition definition = serverDefinitions.get(mechanism);
+        if (null == definition) {
+          throw new NegotiationFailure(BAD, "Unsupported mechanism type " + mechanism);
+        }
+        SaslServer server = Sasl.createSaslServer(definition.mechanism, definition.protocol, definition.serverName, definition.props, definition.cbh);
+        if (null == server) {
+          throw new NegotiationFailure(ERROR, "Could not create SaslServer for mechanism " + mechanism);
+        }
+        saslServer = server;
+        // The client follows up with its initial response without waiting for us
+        return null;
+      }
+
+      if (COMPLETE != status && OK != status) {
+        throw new NegotiationFailure(ERROR, "Expected COMPLETE or OK, got " + status);
+      }
+      byte[] challenge = saslServer.evaluateResponse(message);
+      boolean complete = saslServer.isComplete();
+      if (complete) {
+        String qop = (String) saslServer.getNegotiatedProperty(Sasl.QOP);
+        wrap = null != qop && !qop.equalsIgnoreCase("auth");
+        if (null != callQueue) {
+          caller = FairCallQueue.callerOf(saslServer);
+        }
+        metrics.getHandshakeTime().recordSince(acceptedNanos);
+      }
+      return saslMessage(complete ? COMPLETE : OK, null == challenge ? new byte[0] : challenge);
+    }
+
+    /**
+     * Called on the selector thread with each frame read once authenticated.
+     */
+    private void received(byte[] frame) {
+      inFlight.incrementAndGet();
+      int priority = null == callQueue ? 0 : callQueue.priorityOf(caller);
+      inbound.add(new InboundFrame(frame, System.nanoTime(), priority));
+      if (decoding.compareAndSet(false, true)) {
+        execute(decoder, priority);
+      }
+    }
+
+    /**
+     * Decode the frames which have been read, in order, handing each request off to be processed.
+     */
+    private void decode() {
+      InboundFrame frame;
+      while (null != (frame = inbound.poll())) {
+        final byte[] request = decodeFrame(frame.data);
+        if (null == request) {
+          continue;
+        }
+        final long receivedNanos = frame.receivedNanos;
+        if (inbound.isEmpty()) {
+          // Process the last request here, letting another worker decode whatever arrives in the meantime
+          releaseDecoder();
+          process(request, receivedNanos);
+          return;
+        }
+        execute(new Runnable() {
+          @Override
+          public void run() {
+            process(request, receivedNanos);
+          }
+        }, frame.priority);
+      }
+      releaseDecoder();
+    }
+
+    private void releaseDecoder() {
+      decoding.set(false);
+      // A frame may have arrived after the queue was last checked, but before the flag was cleared
+      InboundFrame next = inbound.peek();
+      if (null != next && decoding.compareAndSet(false, true)) {
+        execute(decoder, next.priority);
+      }
+    }
+
+    /**
+     * @return The request in the frame, or null if the frame was dealt with
+     */
+    private byte[] decodeFrame(byte[] frame) {
+      if (closeAfterWrite || State.CLOSED == state) {
+        finished();
+        return null;
+      }
+      try {
+        byte[] data;
+        if (null != cipher) {
+          data = cipher.decrypt(frame, 0, frame.length);
+        } else {
+          data = wrap ? saslServer.unwrap(frame, 0, frame.length) : frame;
+          if (SessionCipher.isNegotiation(data)) {
+            negotiateCipher(data);
+            finished();
+            return null;
+          }
+        }
+        if (null != compression) {
+          return compression.decompress(data, 0, data.length, maxFrameSize);
+        } else if (FrameCompression.isNegotiation(data)) {
+          negotiateCompression(data);
+          finished();
+          return null;
+        }
+        return data;
+      } catch (TException | SaslException | GeneralSecurityException | RuntimeException e) {
+        log.warn("Closing connection after failing to decode request", e);
+        closeAfterSending();
+        return null;
+      }
+    }
+
+    /**
+     * @param receivedNanos
+     *          When the frame holding the request was read
+     */
+    private void process(byte[] data, long receivedNanos) {
+      try {
+        TTransport in = new FrameTransport(new TMemoryInputTransport(data), saslServer, receivedNanos);
+        TMemoryBuffer out = new TMemoryBuffer(512);
+        TProtocol inProt = inputProtocolFactory_.getProtocol(in);
+        TProtocol outProt = outputProtocolFactory_.getProtocol(out);
+        processorFactory_.getProcessor(in).process(inProt, outProt);
+
+        // Nothing to send for oneway calls
+        if (0 != out.length()) {
+          send(out.getArray(), out.length());
+        }
+        finished();
+      } catch (TException | SaslException | GeneralSecurityException | RuntimeException e) {
+        log.warn("Closing connection after failing to process request", e);
+        closeAfterSending();
+      }
+    }
+
+    /**
+     * Encode a response and queue it to be written. Encoding and queueing happen together so that responses are written in the order they were encoded.
+     */
+    private void send(byte[] data, int length) throws SaslException, GeneralSecurityException {
+      synchronized (sendLock) {
+        if (null != compression) {
+          data = compression.compress(data, 0, length);
+          length = data.length;
+        }
+        if (null != cipher) {
+          byte[] reply = cipher.encrypt(data, 0, length);
+          outbound.add(frame(reply, reply.length));
+        } else if (wrap) {
+          byte[] reply = saslServer.wrap(data, 0, length);
+          outbound.add(frame(reply, reply.length));
+        } else {
+          outbound.add(frame(data, length));
+        }
+      }
+    }
+
+    /**
+     * Answer a request to replace the SASL security layer, switching to the new cipher for every frame after the reply.
+     */
+    private void negotiateCipher(byte[] request) throws TException, SaslException {
+      SessionCipher.Response response = SessionCipher.respond(request, sessionCipherEnabled);
+      byte[] message = response.getMessage();
+      synchronized (sendLock) {
+        byte[] reply = wrap ? saslServer.wrap(message, 0, message.length) : message;
+        outbound.add(frame(reply, reply.length));
+        cipher = response.getCipher();
+      }
+    }
+
+    /**
+     * Answer a request to compress messages, compressing every response after the reply.
+     */
+    private void negotiateCompression(byte[] request) throws TException, SaslException, GeneralSecurityException {
+      FrameCompression.Response response = FrameCompression.respond(request, compressionThreshold);
+      byte[] message = response.getMessage();
+      synchronized (sendLock) {
+        send(message, message.length);
+        compression = response.getCompression();
+      }
+    }
+
+    /**
+     * A request has been answered, make room for another.
+     */
+    private void finished() {
+      inFlight.decrementAndGet();
+      selectThread.requestInterestChange(this);
+    }
+
+    private ByteBuffer frame(byte[] data, int length) {
+      ByteBuffer buffer = ByteBuffer.allocate(PAYLOAD_LENGTH_BYTES + length);
+      buffer.putInt(length).put(data, 0, length).flip();
+      return buffer;
+    }
+
+    private void fail(byte status, String message) {
+      respond(saslMessage(status, null == message ? new byte[0] : message.getBytes(StandardCharsets.UTF_8)), true);
+    }
+
+    /**
+     * Reply to a negotiation message.
+     */
+    private void respond(ByteBuffer buffer, boolean close) {
+      if (null != buffer) {
+        outbound.add(buffer);
+      }
+      this.closeAfterWrite = close;
+      selectThread.requestInterestChange(this);
+    }
+
+    /**
+     * Stop reading requests, and close once the responses already queued are written.
+     */
+    private void closeAfterSending() {
+      closeAfterWrite = true;
+      selectThread.requestInterestChange(this);
+    }
+
+    void close() {
+      if (State.CLOSED == state) {
+        return;
+      }
+      state = State.CLOSED;
+      metrics.connectionClosed();
+      if (null != key) {
+        key.cancel();
+      }
+      try {
+        channel.close();
+      } catch (IOException e) {
+        log.debug("Failed to close channel", e);
+      }
+      inbound.clear();
+      outbound.clear();
+      if (null != saslServer) {
+        try {
+          saslServer.dispose();
+        } catch (SaslException e) {
+          log.debug("Failed to dispose SaslServer", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * A negotiation failure to report to the client with the given status.
+   */
+  private static class NegotiationFailure extends IOException {
+    private static final long serialVersionUID = 1L;
+    final byte status;
+
+    NegotiationFailure(byte status, String message) {
+      super(message);
+      this.status = status;
+    }
+  }
+
+  static ByteBuffer saslMessage(byte status, byte[] payload) {
+    ByteBuffer buffer = ByteBuffer.allocate(STATUS_BYTES + PAYLOAD_LENGTH_BYTES + payload.length);
+    buffer.put(status).putInt(payload.length).put(payload).flip();
+    return buffer;
+  }
+
+  /**
+   * A frame read off a connection, waiting to be decoded.
+   */
+  private static class InboundFrame {
+    final byte[] data;
+    final long receivedNanos;
+    final int priority;
+
+    InboundFrame(byte[] data, long receivedNanos, int priority) {
+      this.data = data;
+      this.receivedNanos = receivedNanos;
+      this.priority = priority;
+    }
+  }
+
+  /**
+   * Runs a task on the worker pool, counting the worker as busy meanwhile.
+   */
+  private class WorkerTask implements Runnable, FairCallQueue.Prioritized {
+    private final Runnable task;
+    private final int priority;
+
+    WorkerTask(Runnable task, int priority) {
+      this.task = task;
+      this.priority = priority;
+    }
+
+    @Override
+    public void run() {
+      metrics.workerBusy();
+      try {
+        task.run();
+      } finally {
+        metrics.workerIdle();
+      }
+    }
+
+    @Override
+    public int getPriority() {
+      return priority;
+    }
+  }
+
+  /**
+   * The transport the processor reads a single request from. Requests can wait in the queue for a worker, so deadlines are counted from when the frame was
+   * read rather than when it is processed.
+   */
+  private static class FrameTransport extends TFilterTransport implements SaslServerSource, ArrivalTimeSource {
+    private final SaslServer saslServer;
+    private final long receivedNanos;
+
+    FrameTransport(TTransport wrapped, SaslServer saslServer, long receivedNanos) {
+      super(wrapped);
+      this.saslServer = saslServer;
+      this.receivedNanos = receivedNanos;
+    }
+
+    @Override
+    public SaslServer getSaslServer() {
+      return saslServer;
+    }
+
+    @Override
+    public long getArrivalNanos() {
+      return receivedNanos;
+    }
+  }
+
+  private static class NamedThreadFactory implements ThreadFactory {
+    private final String prefix;
+    private final AtomicInteger count = new AtomicInteger(0);
+
+    NamedThreadFactory(String prefix) {
+      this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r, prefix + "-" + count.getAndIncrement());
+      t.setDaemon(true);
+      return t;
+    }
+  }
+}
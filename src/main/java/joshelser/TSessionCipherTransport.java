@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.security.GeneralSecurityException;
+
+import javax.security.sasl.SaslServer;
+
+import org.apache.thrift.TByteArrayOutputStream;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+
+/**
+ * Frames written to and read from the wrapped (raw socket) transport, encrypted with a {@link SessionCipher}. Takes the place of the SASL transport once a
+ * session cipher has been negotiated; the framing is the same as a SASL transport's data frames.
+ */
+public class TSessionCipherTransport extends TFilterTransport implements SaslServerSource {
+  public static final int DEFAULT_MAX_FRAME_SIZE = 64 * 1024 * 1024;
+
+  private final SessionCipher cipher;
+  private final SaslServer saslServer;
+  private final int maxFrameSize;
+  private final TByteArrayOutputStream writeBuffer = new TByteArrayOutputStream(1024);
+  private final TMemoryInputTransport readBuffer = new TMemoryInputTransport();
+  private final byte[] readHeader = new byte[4];
+  private final byte[] writeHeader = new byte[4];
+
+  /**
+   * @param saslServer
+   *          The SaslServer which authenticated the connection on the server side, null on the client side
+   */
+  public TSessionCipherTransport(TTransport wrapped, SessionCipher cipher, SaslServer saslServer) {
+    this(wrapped, cipher, saslServer, DEFAULT_MAX_FRAME_SIZE);
+  }
+
+  public TSessionCipherTransport(TTransport wrapped, SessionCipher cipher, SaslServer saslServer, int maxFrameSize) {
+    super(wrapped);
+    this.cipher = cipher;
+    this.saslServer = saslServer;
+    this.maxFrameSize = maxFrameSize;
+  }
+
+  @Override
+  public SaslServer getSaslServer() {
+    return saslServer;
+  }
+
+  @Override
+  public boolean peek() {
+    return readBuffer.getBytesRemainingInBuffer() > 0 || getWrapped().peek();
+  }
+
+  @Override
+  public int read(byte[] buf, int off, int len) throws TTransportException {
+    if (readBuffer.getBytesRemainingInBuffer() <= 0) {
+      readFrame();
+    }
+    return readBuffer.read(buf, off, len);
+  }
+
+  @Override
+  public int readAll(byte[] buf, int off, int len) throws TTransportException {
+    int got = 0;
+    while (got < len) {
+      got += read(buf, off + got, len - got);
+    }
+    return got;
+  }
+
+  private void readFrame() throws TTransportException {
+    getWrapped().readAll(readHeader, 0, readHeader.length);
+    int length = TFramedTransport.decodeFrameSize(readHeader);
+    if (length < 0 || length > maxFrameSize) {
+      throw new TTransportException("Invalid frame size " + length);
+    }
+    byte[] frame = new byte[length];
+    getWrapped().readAll(frame, 0, length);
+    try {
+      readBuffer.reset(cipher.decrypt(frame, 0, length));
+    } catch (GeneralSecurityException e) {
+      throw new TTransportException("Could not decrypt frame", e);
+    }
+  }
+
+  @Override
+  public void write(byte[] buf) {
+    write(buf, 0, buf.length);
+  }
+
+  @Override
+  public void write(byte[] buf, int off, int len) {
+    writeBuffer.write(buf, off, len);
+  }
+
+  @Override
+  public void flush() throws TTransportException {
+    byte[] frame;
+    try {
+      frame = cipher.encrypt(writeBuffer.get(), 0, writeBuffer.len());
+    } catch (GeneralSecurityException e) {
+      throw new TTransportException("Could not encrypt frame", e);
+    } finally {
+      writeBuffer.reset();
+    }
+    TFramedTransport.encodeFrameSize(frame.length, writeHeader);
+    getWrapped().write(writeHeader);
+    getWrapped().write(frame);
+    getWrapped().flush();
+  }
+
+  @Override
+  public byte[] getBuffer() {
+    return readBuffer.getBuffer();
+  }
+
+  @Override
+  public int getBufferPosition() {
+    return readBuffer.getBufferPosition();
+  }
+
+  @Override
+  public int getBytesRemainingInBuffer() {
+    return readBuffer.getBytesRemainingInBuffer();
+  }
+
+  @Override
+  public void consumeBuffer(int len) {
+    readBuffer.consumeBuffer(len);
+  }
+}
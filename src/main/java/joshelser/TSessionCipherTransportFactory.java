@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.thrift.transport.TSaslServerTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.apache.thrift.transport.TTransportFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Answers a client's request for a {@link SessionCipher} after the wrapped factory has opened the SASL transport, and hands out a
+ * {@link TSessionCipherTransport} in place of the SASL transport if one was agreed. The wrapped factory may be a plain TTransportFactory when it is given
+ * connections which have already been authenticated.
+ *
+ * Clients which don't ask for a session cipher are served by the SASL transport as before; the first four bytes which were read to check for a request are
+ * replayed to the protocol.
+ */
+public class TSessionCipherTransportFactory extends TTransportFactory {
+  private static final Logger log = LoggerFactory.getLogger(TSessionCipherTransportFactory.class);
+
+  private final TTransportFactory wrapped;
+  private final boolean enabled;
+  // The server asks for the input and the output transport separately, make sure they're the same one
+  private final Map<TTransport,WeakReference<TTransport>> transports = new WeakHashMap<TTransport,WeakReference<TTransport>>();
+
+  /**
+   * @param wrapped
+   *          Factory for the SASL transport
+   * @param enabled
+   *          Whether to agree to clients' requests for a session cipher, or decline them
+   */
+  public TSessionCipherTransportFactory(TTransportFactory wrapped, boolean enabled) {
+    this.wrapped = wrapped;
+    this.enabled = enabled;
+  }
+
+  @Override
+  public TTransport getTransport(TTransport trans) {
+    synchronized (transports) {
+      WeakReference<TTransport> ref = transports.get(trans);
+      if (null != ref && null != ref.get()) {
+        return ref.get();
+      }
+    }
+
+    TTransport saslTransport = wrapped.getTransport(trans);
+    TTransport transport;
+    try {
+      transport = negotiate(saslTransport);
+    } catch (TTransportException e) {
+      saslTransport.close();
+      throw new RuntimeException(e);
+    }
+
+    synchronized (transports) {
+      transports.put(trans, new WeakReference<TTransport>(transport));
+    }
+    return transport;
+  }
+
+  private TTransport negotiate(TTransport saslTransport) throws TTransportException {
+    byte[] header = new byte[8];
+    saslTransport.readAll(header, 0, 4);
+    if (!SessionCipher.isNegotiation(header)) {
+      return new TReplayTransport(saslTransport, header, 4);
+    }
+    saslTransport.readAll(header, 4, 4);
+    byte[] body = SessionCipher.readBody(saslTransport, header);
+    byte[] request = new byte[header.length + body.length];
+    System.arraycopy(header, 0, request, 0, header.length);
+    System.arraycopy(body, 0, request, header.length, body.length);
+
+    SessionCipher.Response response = SessionCipher.respond(request, enabled);
+    saslTransport.write(response.getMessage());
+    saslTransport.flush();
+
+    if (null == response.getCipher()) {
+      log.debug("Declined session cipher, using the SASL security layer");
+      return saslTransport;
+    }
+    log.debug("Switching to session cipher {}", SessionCipher.SUITE);
+    return new TSessionCipherTransport(getUnderlyingTransport(saslTransport), response.getCipher(), TUGIAssumingProcessor.getSaslServer(saslTransport));
+  }
+
+  /**
+   * Find the transport which the SASL transport reads its frames from, for the session cipher to take over. Buffers may have been put on top of the SASL
+   * transport, e.g. when it was opened by a {@link THandshakeServerTransport}.
+   */
+  private static TTransport getUnderlyingTransport(TTransport trans) throws TTransportException {
+    while (true) {
+      if (trans instanceof TSaslServerTransport) {
+        return ((TSaslServerTransport) trans).getUnderlyingTransport();
+      } else if (trans instanceof TFilterTransport) {
+        trans = ((TFilterTransport) trans).getWrapped();
+      } else {
+        throw new TTransportException("Unexpected non-SASL transport " + trans.getClass());
+      }
+    }
+  }
+}
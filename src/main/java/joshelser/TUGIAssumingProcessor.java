@@ -21,54 +21,161 @@ import java.security.PrivilegedExceptionAction;
 
 import javax.security.sasl.SaslServer;
 
-import org.apache.hadoop.fs.FileSystem;
+import joshelser.ProxyUserCache.ProxyUser;
+
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.security.UserGroupInformation.AuthenticationMethod;
+import org.apache.hadoop.security.token.SecretManager.InvalidToken;
+import org.apache.thrift.TApplicationException;
 import org.apache.thrift.TException;
 import org.apache.thrift.TProcessor;
+import org.apache.thrift.protocol.TMessage;
+import org.apache.thrift.protocol.TMessageType;
 import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolDecorator;
+import org.apache.thrift.protocol.TProtocolUtil;
+import org.apache.thrift.protocol.TType;
 import org.apache.thrift.transport.TSaslServerTransport;
 import org.apache.thrift.transport.TTransport;
+import org.htrace.Sampler;
+import org.htrace.Trace;
+import org.htrace.TraceInfo;
+import org.htrace.TraceScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * Processor that pulls the SaslServer object out of the transport, and assumes the remote user's UGI before calling through to the original processor.
  *
- * This is used on the server side to set the UGI for each specific call.
+ * This is used on the server side to set the UGI for each specific call. Proxy users (and their FileSystem handles) are reused across calls via the
+ * {@link ProxyUserCache}. A connection authenticated with a delegation token runs as the owner of the token, sharing the proxy user of the owner's Kerberos
+ * connections.
+ *
+ * Each call is traced if the client sent its trace context along with it (see {@link RpcTracing}), or else if the sampler picks it. The call's span covers
+ * setting up the proxy user and dispatching to the wrapped processor, each in a span of its own, and the HDFS calls made by the service continue the trace.
+ *
+ * A call sent with a {@link Deadline} which has already passed by the time it is read is answered with an exception instead of being run. Otherwise the
+ * deadline is attached while the call runs, for the service to check.
  *
  * Lifted from Apache Hive 0.14
  */
 public class TUGIAssumingProcessor implements TProcessor {
   private static final Logger log = LoggerFactory.getLogger(TUGIAssumingProcessor.class);
   final TProcessor wrapped;
+  final ProxyUserCache proxyUsers;
+  final ServerMetrics metrics;
+  final DelegationTokenSecretManager secretManager;
+  final Sampler<Object> sampler;
+
+  private static final ThreadLocal<AuthenticationMethod> authenticationMethod = new ThreadLocal<AuthenticationMethod>();
+  // Who each connection's client is, so a token identifier is decoded once per connection rather than on every call. Keyed on the SaslServer, which lives
+  // as long as the connection
+  private final Cache<SaslServer,EndUser> endUsers = CacheBuilder.newBuilder().weakKeys().build();
+
+  public TUGIAssumingProcessor(TProcessor wrapped, ProxyUserCache proxyUsers) {
+    this(wrapped, proxyUsers, new ServerMetrics());
+  }
 
-  public TUGIAssumingProcessor(TProcessor wrapped) {
+  public TUGIAssumingProcessor(TProcessor wrapped, ProxyUserCache proxyUsers, ServerMetrics metrics) {
+    this(wrapped, proxyUsers, metrics, null);
+  }
+
+  /**
+   * @param secretManager
+   *          Checks delegation tokens, or null if the server does not accept them
+   */
+  public TUGIAssumingProcessor(TProcessor wrapped, ProxyUserCache proxyUsers, ServerMetrics metrics, DelegationTokenSecretManager secretManager) {
+    this(wrapped, proxyUsers, metrics, secretManager, RpcTracing.sampler(0));
+  }
+
+  /**
+   * @param secretManager
+   *          Checks delegation tokens, or null if the server does not accept them
+   * @param sampler
+   *          Picks calls to trace when the client isn't tracing them
+   */
+  public TUGIAssumingProcessor(TProcessor wrapped, ProxyUserCache proxyUsers, ServerMetrics metrics, DelegationTokenSecretManager secretManager,
+      Sampler<Object> sampler) {
     this.wrapped = wrapped;
+    this.proxyUsers = proxyUsers;
+    this.metrics = metrics;
+    this.secretManager = secretManager;
+    this.sampler = sampler;
+  }
+
+  /**
+   * @return How the connection making the current call was authenticated, KERBEROS or TOKEN, or null outside of a call
+   */
+  public static AuthenticationMethod getAuthenticationMethod() {
+    return authenticationMethod.get();
   }
 
   @Override
   public boolean process(final TProtocol inProt, final TProtocol outProt) throws TException {
     TTransport trans = inProt.getTransport();
-    if (!(trans instanceof TSaslServerTransport)) {
+    SaslServer saslServer = getSaslServer(trans);
+    if (null == saslServer) {
       throw new TException("Unexpected non-SASL transport " + trans.getClass());
     }
-    TSaslServerTransport saslTrans = (TSaslServerTransport) trans;
-    SaslServer saslServer = saslTrans.getSaslServer();
-    String authId = saslServer.getAuthorizationID();
-    String endUser = authId;
+    EndUser caller = endUsers.getIfPresent(saslServer);
+    if (null == caller) {
+      caller = resolveEndUser(saslServer);
+      endUsers.put(saslServer, caller);
+    }
+    final String endUser = caller.name;
+    final AuthenticationMethod authMethod = caller.authMethod;
 
-    UserGroupInformation clientUgi = null;
+    // Count the call as active once the request has arrived, not while waiting for it
+    RpcTracing.ServerProtocol tracingInProt = new RpcTracing.ServerProtocol(inProt);
+    Deadline.ServerProtocol deadlineInProt = new Deadline.ServerProtocol(tracingInProt);
+    final MeteredProtocol meteredInProt = new MeteredProtocol(deadlineInProt, metrics);
+    // Wait for the call before setting up for it, so that its trace can include the setup
+    TMessage message = meteredInProt.readAhead();
+    final Deadline deadline = deadlineInProt.getDeadline();
+    if (null != deadline && deadline.isExpired()) {
+      try {
+        metrics.callExpired();
+        refuse(meteredInProt, outProt, "Deadline passed before the call started");
+        return true;
+      } finally {
+        meteredInProt.finished();
+      }
+    }
+    TraceScope callScope = startCall(message.name, tracingInProt.getParent());
+    ProxyUser proxyUser = null;
     try {
-      clientUgi = UserGroupInformation.createProxyUser(endUser, UserGroupInformation.getLoginUser());
+      // Time from looking up the proxy user until we are running as it
+      final long setupStart = System.nanoTime();
+      TraceScope setupScope = Trace.startSpan("ProxyUser");
+      try {
+        proxyUser = proxyUsers.acquire(endUser);
+      } finally {
+        setupScope.close();
+      }
+      UserGroupInformation clientUgi = proxyUser.getUgi();
       final String remoteUser = clientUgi.getShortUserName();
       log.debug("Executing action as {}", remoteUser);
+      final TProtocol responseProt = Trace.isTracing() ? new RpcTracing.ResponseProtocol(outProt) : outProt;
       return clientUgi.doAs(new PrivilegedExceptionAction<Boolean>() {
         @Override
         public Boolean run() {
+          metrics.getProxyUserTime().recordSince(setupStart);
+          authenticationMethod.set(authMethod);
+          Deadline.Scope deadlineScope = null == deadline ? null : deadline.attach();
+          TraceScope dispatchScope = Trace.startSpan("Dispatch");
           try {
-            return wrapped.process(inProt, outProt);
+            return wrapped.process(meteredInProt, responseProt);
           } catch (TException te) {
             throw new RuntimeException(te);
+          } finally {
+            dispatchScope.close();
+            if (null != deadlineScope) {
+              deadlineScope.close();
+            }
+            authenticationMethod.remove();
           }
         }
       });
@@ -82,13 +189,138 @@ public class TUGIAssumingProcessor implements TProcessor {
       log.error("Failed to invoke wrapped processor", e);
       throw new RuntimeException(e);
     } finally {
-      if (clientUgi != null) {
-        try {
-          FileSystem.closeAllForUGI(clientUgi);
-        } catch (IOException exception) {
-          log.error("Could not clean up file-system handles for UGI: {}", clientUgi, exception);
-        }
+      meteredInProt.finished();
+      if (null != deadline && deadline.wasCancelled()) {
+        metrics.callCancelled();
+      }
+      if (proxyUser != null) {
+        // FileSystem handles are closed by the cache when the user is evicted
+        proxyUser.release();
+      }
+      if (null != callScope) {
+        callScope.close();
+      }
+    }
+  }
+
+  /**
+   * Skip over a call without running it, and answer it with an exception.
+   */
+  private static void refuse(TProtocol in, TProtocol out, String reason) throws TException {
+    TMessage message = in.readMessageBegin();
+    TProtocolUtil.skip(in, TType.STRUCT);
+    in.readMessageEnd();
+    out.writeMessageBegin(new TMessage(message.name, TMessageType.EXCEPTION, message.seqid));
+    new TApplicationException(TApplicationException.INTERNAL_ERROR, reason).write(out);
+    out.writeMessageEnd();
+    out.getTransport().flush();
+  }
+
+  /**
+   * Start the span for a call, if it is to be traced.
+   *
+   * @param parent
+   *          The client's span for the call, or null if the client isn't tracing it
+   * @return The scope of the call's span, or null if the call isn't traced
+   */
+  private TraceScope startCall(String method, TraceInfo parent) {
+    if (null != parent) {
+      return Trace.startSpan("HdfsService." + method, parent);
+    } else if (sampler.next(null)) {
+      return Trace.startSpan("HdfsService." + method, Sampler.ALWAYS);
+    }
+    return null;
+  }
+
+  /**
+   * Marks a call as started in the {@link ServerMetrics} when its message is read.
+   */
+  private static class MeteredProtocol extends TProtocolDecorator {
+    private final ServerMetrics metrics;
+    private boolean started = false;
+    private TMessage readAhead = null;
+
+    MeteredProtocol(TProtocol protocol, ServerMetrics metrics) {
+      super(protocol);
+      this.metrics = metrics;
+    }
+
+    @Override
+    public TMessage readMessageBegin() throws TException {
+      if (null != readAhead) {
+        TMessage message = readAhead;
+        readAhead = null;
+        return message;
+      }
+      TMessage message = super.readMessageBegin();
+      if (!started) {
+        started = true;
+        metrics.callStarted();
       }
+      return message;
+    }
+
+    /**
+     * Read the start of the next message, which the next {@link #readMessageBegin()} will return again.
+     */
+    TMessage readAhead() throws TException {
+      readAhead = readMessageBegin();
+      return readAhead;
+    }
+
+    void finished() {
+      if (started) {
+        started = false;
+        metrics.callFinished();
+      }
+    }
+  }
+
+  /**
+   * Work out who the client of a newly authenticated connection is.
+   */
+  private EndUser resolveEndUser(SaslServer saslServer) throws TException {
+    String authId = saslServer.getAuthorizationID();
+    if (!DelegationTokenSecretManager.MECHANISM.equals(saslServer.getMechanismName())) {
+      return new EndUser(authId, AuthenticationMethod.KERBEROS);
+    }
+    if (null == secretManager) {
+      throw new TException("Unexpected delegation token authentication");
+    }
+    // The authorization ID is the token identifier, which names the owner. The negotiation has already checked the token against the secret manager
+    try {
+      return new EndUser(DelegationTokenSecretManager.decodeOwner(authId), AuthenticationMethod.TOKEN);
+    } catch (InvalidToken e) {
+      throw new TException("Could not read delegation token", e);
+    }
+  }
+
+  /**
+   * Find the SaslServer for the given transport, looking through any {@link TFilterTransport}s that wrap it.
+   *
+   * @return The SaslServer, or null if the transport is not backed by SASL
+   */
+  static SaslServer getSaslServer(TTransport trans) {
+    while (true) {
+      if (trans instanceof TSaslServerTransport) {
+        return ((TSaslServerTransport) trans).getSaslServer();
+      } else if (trans instanceof SaslServerSource) {
+        return ((SaslServerSource) trans).getSaslServer();
+      } else if (trans instanceof TFilterTransport) {
+        trans = ((TFilterTransport) trans).getWrapped();
+      } else {
+        return null;
+      }
+    }
+  }
+
+  private static class EndUser {
+    final String name;
+    final AuthenticationMethod authMethod;
+
+    EndUser(String name, AuthenticationMethod authMethod) {
+      this.name = name;
+      this.authMethod = authMethod;
     }
   }
 }
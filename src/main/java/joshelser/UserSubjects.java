@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+import javax.security.auth.Subject;
+
+import org.apache.hadoop.security.UserGroupInformation;
+
+/**
+ * Reads a user's Kerberos credentials out of the Subject behind its UserGroupInformation, which Hadoop 2.6 only hands out inside {@code doAs}.
+ *
+ * {@code Subject.getSubject} is deprecated for removal and throws from Java 23 on, where {@code Subject.current()} (new in Java 18) is the replacement. That
+ * is looked up reflectively since this is built for older versions, and the deprecated call is only made when it isn't there.
+ */
+final class UserSubjects {
+  private static final Method current = currentMethod();
+
+  private UserSubjects() {}
+
+  private static Method currentMethod() {
+    try {
+      return Subject.class.getMethod("current");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return The Subject holding the user's credentials, or null if it has none
+   */
+  static Subject getSubject(UserGroupInformation user) {
+    return user.doAs(new PrivilegedAction<Subject>() {
+      @Override
+      public Subject run() {
+        return currentSubject();
+      }
+    });
+  }
+
+  @SuppressWarnings("removal")
+  private static Subject currentSubject() {
+    if (null != current) {
+      try {
+        return (Subject) current.invoke(null);
+      } catch (InvocationTargetException e) {
+        throw new IllegalStateException("Could not get the current Subject", e.getCause());
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("Could not get the current Subject", e);
+      }
+    }
+    return Subject.getSubject(AccessController.getContext());
+  }
+}
@@ -38,12 +38,44 @@ public class HdfsService {
 
     public String ls(String directory) throws org.apache.thrift.TException;
 
+    public DirectoryPage lsPage(String directory, String startAfter, int limit) throws org.apache.thrift.TException;
+
+    public List<FileEntry> listEntries(String directory) throws org.apache.thrift.TException;
+
+    public EntryPage listEntriesPage(String directory, String startAfter, int limit) throws org.apache.thrift.TException;
+
+    public List<MetadataResult> batch(List<MetadataRequest> requests) throws org.apache.thrift.TException;
+
+    public TreeSummary summarize(String path, int maxDepth) throws org.apache.thrift.TException;
+
+    public RecursiveListing listRecursive(String directory, int maxDepth, int batchSize) throws org.apache.thrift.TException;
+
+    public RecursiveListing continueListing(String cursor, int batchSize) throws org.apache.thrift.TException;
+
+    public String getDelegationToken() throws org.apache.thrift.TException;
+
   }
 
   public interface AsyncIface {
 
     public void ls(String directory, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
 
+    public void lsPage(String directory, String startAfter, int limit, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
+    public void listEntries(String directory, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
+    public void listEntriesPage(String directory, String startAfter, int limit, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
+    public void batch(List<MetadataRequest> requests, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
+    public void summarize(String path, int maxDepth, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
+    public void listRecursive(String directory, int maxDepth, int batchSize, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
+    public void continueListing(String cursor, int batchSize, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
+    public void getDelegationToken(org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
   }
 
   public static class Client extends org.apache.thrift.TServiceClient implements Iface {
@@ -89,6 +121,197 @@ public class HdfsService {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "ls failed: unknown result");
     }
 
+    public DirectoryPage lsPage(String directory, String startAfter, int limit) throws org.apache.thrift.TException
+    {
+      send_lsPage(directory, startAfter, limit);
+      return recv_lsPage();
+    }
+
+    public void send_lsPage(String directory, String startAfter, int limit) throws org.apache.thrift.TException
+    {
+      lsPage_args args = new lsPage_args();
+      args.setDirectory(directory);
+      args.setStartAfter(startAfter);
+      args.setLimit(limit);
+      sendBase("lsPage", args);
+    }
+
+    public DirectoryPage recv_lsPage() throws org.apache.thrift.TException
+    {
+      lsPage_result result = new lsPage_result();
+      receiveBase(result, "lsPage");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "lsPage failed: unknown result");
+    }
+
+    public List<FileEntry> listEntries(String directory) throws org.apache.thrift.TException
+    {
+      send_listEntries(directory);
+      return recv_listEntries();
+    }
+
+    public void send_listEntries(String directory) throws org.apache.thrift.TException
+    {
+      listEntries_args args = new listEntries_args();
+      args.setDirectory(directory);
+      sendBase("listEntries", args);
+    }
+
+    public List<FileEntry> recv_listEntries() throws org.apache.thrift.TException
+    {
+      listEntries_result result = new listEntries_result();
+      receiveBase(result, "listEntries");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "listEntries failed: unknown result");
+    }
+
+    public EntryPage listEntriesPage(String directory, String startAfter, int limit) throws org.apache.thrift.TException
+    {
+      send_listEntriesPage(directory, startAfter, limit);
+      return recv_listEntriesPage();
+    }
+
+    public void send_listEntriesPage(String directory, String startAfter, int limit) throws org.apache.thrift.TException
+    {
+      listEntriesPage_args args = new listEntriesPage_args();
+      args.setDirectory(directory);
+      args.setStartAfter(startAfter);
+      args.setLimit(limit);
+      sendBase("listEntriesPage", args);
+    }
+
+    public EntryPage recv_listEntriesPage() throws org.apache.thrift.TException
+    {
+      listEntriesPage_result result = new listEntriesPage_result();
+      receiveBase(result, "listEntriesPage");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "listEntriesPage failed: unknown result");
+    }
+
+    public List<MetadataResult> batch(List<MetadataRequest> requests) throws org.apache.thrift.TException
+    {
+      send_batch(requests);
+      return recv_batch();
+    }
+
+    public void send_batch(List<MetadataRequest> requests) throws org.apache.thrift.TException
+    {
+      batch_args args = new batch_args();
+      args.setRequests(requests);
+      sendBase("batch", args);
+    }
+
+    public List<MetadataResult> recv_batch() throws org.apache.thrift.TException
+    {
+      batch_result result = new batch_result();
+      receiveBase(result, "batch");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "batch failed: unknown result");
+    }
+
+    public TreeSummary summarize(String path, int maxDepth) throws org.apache.thrift.TException
+    {
+      send_summarize(path, maxDepth);
+      return recv_summarize();
+    }
+
+    public void send_summarize(String path, int maxDepth) throws org.apache.thrift.TException
+    {
+      summarize_args args = new summarize_args();
+      args.setPath(path);
+      args.setMaxDepth(maxDepth);
+      sendBase("summarize", args);
+    }
+
+    public TreeSummary recv_summarize() throws org.apache.thrift.TException
+    {
+      summarize_result result = new summarize_result();
+      receiveBase(result, "summarize");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "summarize failed: unknown result");
+    }
+
+    public RecursiveListing listRecursive(String directory, int maxDepth, int batchSize) throws org.apache.thrift.TException
+    {
+      send_listRecursive(directory, maxDepth, batchSize);
+      return recv_listRecursive();
+    }
+
+    public void send_listRecursive(String directory, int maxDepth, int batchSize) throws org.apache.thrift.TException
+    {
+      listRecursive_args args = new listRecursive_args();
+      args.setDirectory(directory);
+      args.setMaxDepth(maxDepth);
+      args.setBatchSize(batchSize);
+      sendBase("listRecursive", args);
+    }
+
+    public RecursiveListing recv_listRecursive() throws org.apache.thrift.TException
+    {
+      listRecursive_result result = new listRecursive_result();
+      receiveBase(result, "listRecursive");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "listRecursive failed: unknown result");
+    }
+
+    public RecursiveListing continueListing(String cursor, int batchSize) throws org.apache.thrift.TException
+    {
+      send_continueListing(cursor, batchSize);
+      return recv_continueListing();
+    }
+
+    public void send_continueListing(String cursor, int batchSize) throws org.apache.thrift.TException
+    {
+      continueListing_args args = new continueListing_args();
+      args.setCursor(cursor);
+      args.setBatchSize(batchSize);
+      sendBase("continueListing", args);
+    }
+
+    public RecursiveListing recv_continueListing() throws org.apache.thrift.TException
+    {
+      continueListing_result result = new continueListing_result();
+      receiveBase(result, "continueListing");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "continueListing failed: unknown result");
+    }
+
+    public String getDelegationToken() throws org.apache.thrift.TException
+    {
+      send_getDelegationToken();
+      return recv_getDelegationToken();
+    }
+
+    public void send_getDelegationToken() throws org.apache.thrift.TException
+    {
+      getDelegationToken_args args = new getDelegationToken_args();
+      sendBase("getDelegationToken", args);
+    }
+
+    public String recv_getDelegationToken() throws org.apache.thrift.TException
+    {
+      getDelegationToken_result result = new getDelegationToken_result();
+      receiveBase(result, "getDelegationToken");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "getDelegationToken failed: unknown result");
+    }
+
   }
   public static class AsyncClient extends org.apache.thrift.async.TAsyncClient implements AsyncIface {
     public static class Factory implements org.apache.thrift.async.TAsyncClientFactory<AsyncClient> {
@@ -139,129 +362,7623 @@ public class HdfsService {
       }
     }
 
-  }
+    public void lsPage(String directory, String startAfter, int limit, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      lsPage_call method_call = new lsPage_call(directory, startAfter, limit, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
 
-  public static class Processor<I extends Iface> extends org.apache.thrift.TBaseProcessor<I> implements org.apache.thrift.TProcessor {
-    private static final Logger LOGGER = LoggerFactory.getLogger(Processor.class.getName());
-    public Processor(I iface) {
-      super(iface, getProcessMap(new HashMap<String, org.apache.thrift.ProcessFunction<I, ? extends org.apache.thrift.TBase>>()));
+    public static class lsPage_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private String directory;
+      private String startAfter;
+      private int limit;
+      public lsPage_call(String directory, String startAfter, int limit, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.directory = directory;
+        this.startAfter = startAfter;
+        this.limit = limit;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("lsPage", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        lsPage_args args = new lsPage_args();
+        args.setDirectory(directory);
+        args.setStartAfter(startAfter);
+        args.setLimit(limit);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public DirectoryPage getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_lsPage();
+      }
     }
 
-    protected Processor(I iface, Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> processMap) {
-      super(iface, getProcessMap(processMap));
+    public void listEntries(String directory, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      listEntries_call method_call = new listEntries_call(directory, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
     }
 
-    private static <I extends Iface> Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> getProcessMap(Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> processMap) {
-      processMap.put("ls", new ls());
-      return processMap;
+    public static class listEntries_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private String directory;
+      public listEntries_call(String directory, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.directory = directory;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("listEntries", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        listEntries_args args = new listEntries_args();
+        args.setDirectory(directory);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public List<FileEntry> getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_listEntries();
+      }
     }
 
-    public static class ls<I extends Iface> extends org.apache.thrift.ProcessFunction<I, ls_args> {
-      public ls() {
-        super("ls");
+    public void listEntriesPage(String directory, String startAfter, int limit, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      listEntriesPage_call method_call = new listEntriesPage_call(directory, startAfter, limit, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class listEntriesPage_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private String directory;
+      private String startAfter;
+      private int limit;
+      public listEntriesPage_call(String directory, String startAfter, int limit, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.directory = directory;
+        this.startAfter = startAfter;
+        this.limit = limit;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("listEntriesPage", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        listEntriesPage_args args = new listEntriesPage_args();
+        args.setDirectory(directory);
+        args.setStartAfter(startAfter);
+        args.setLimit(limit);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public EntryPage getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_listEntriesPage();
+      }
+    }
+
+    public void batch(List<MetadataRequest> requests, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      batch_call method_call = new batch_call(requests, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class batch_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private List<MetadataRequest> requests;
+      public batch_call(List<MetadataRequest> requests, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.requests = requests;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("batch", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        batch_args args = new batch_args();
+        args.setRequests(requests);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public List<MetadataResult> getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_batch();
+      }
+    }
+
+    public void summarize(String path, int maxDepth, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      summarize_call method_call = new summarize_call(path, maxDepth, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class summarize_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private String path;
+      private int maxDepth;
+      public summarize_call(String path, int maxDepth, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.path = path;
+        this.maxDepth = maxDepth;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("summarize", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        summarize_args args = new summarize_args();
+        args.setPath(path);
+        args.setMaxDepth(maxDepth);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public TreeSummary getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_summarize();
+      }
+    }
+
+    public void listRecursive(String directory, int maxDepth, int batchSize, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      listRecursive_call method_call = new listRecursive_call(directory, maxDepth, batchSize, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class listRecursive_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private String directory;
+      private int maxDepth;
+      private int batchSize;
+      public listRecursive_call(String directory, int maxDepth, int batchSize, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.directory = directory;
+        this.maxDepth = maxDepth;
+        this.batchSize = batchSize;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("listRecursive", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        listRecursive_args args = new listRecursive_args();
+        args.setDirectory(directory);
+        args.setMaxDepth(maxDepth);
+        args.setBatchSize(batchSize);
+        args.write(prot);
+        prot.writeMessageEnd();
       }
 
-      public ls_args getEmptyArgsInstance() {
-        return new ls_args();
+      public RecursiveListing getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_listRecursive();
+      }
+    }
+
+    public void continueListing(String cursor, int batchSize, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      continueListing_call method_call = new continueListing_call(cursor, batchSize, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class continueListing_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private String cursor;
+      private int batchSize;
+      public continueListing_call(String cursor, int batchSize, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.cursor = cursor;
+        this.batchSize = batchSize;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("continueListing", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        continueListing_args args = new continueListing_args();
+        args.setCursor(cursor);
+        args.setBatchSize(batchSize);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public RecursiveListing getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_continueListing();
+      }
+    }
+
+    public void getDelegationToken(org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      getDelegationToken_call method_call = new getDelegationToken_call(resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class getDelegationToken_call extends org.apache.thrift.async.TAsyncMethodCall {
+      public getDelegationToken_call(org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("getDelegationToken", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        getDelegationToken_args args = new getDelegationToken_args();
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public String getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_getDelegationToken();
+      }
+    }
+
+  }
+
+  public static class Processor<I extends Iface> extends org.apache.thrift.TBaseProcessor<I> implements org.apache.thrift.TProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Processor.class.getName());
+    public Processor(I iface) {
+      super(iface, getProcessMap(new HashMap<String, org.apache.thrift.ProcessFunction<I, ? extends org.apache.thrift.TBase>>()));
+    }
+
+    protected Processor(I iface, Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> processMap) {
+      super(iface, getProcessMap(processMap));
+    }
+
+    private static <I extends Iface> Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> getProcessMap(Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> processMap) {
+      processMap.put("ls", new ls());
+      processMap.put("lsPage", new lsPage());
+      processMap.put("listEntries", new listEntries());
+      processMap.put("listEntriesPage", new listEntriesPage());
+      processMap.put("batch", new batch());
+      processMap.put("summarize", new summarize());
+      processMap.put("listRecursive", new listRecursive());
+      processMap.put("continueListing", new continueListing());
+      processMap.put("getDelegationToken", new getDelegationToken());
+      return processMap;
+    }
+
+    public static class ls<I extends Iface> extends org.apache.thrift.ProcessFunction<I, ls_args> {
+      public ls() {
+        super("ls");
+      }
+
+      public ls_args getEmptyArgsInstance() {
+        return new ls_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public ls_result getResult(I iface, ls_args args) throws org.apache.thrift.TException {
+        ls_result result = new ls_result();
+        result.success = iface.ls(args.directory);
+        return result;
+      }
+    }
+
+    public static class lsPage<I extends Iface> extends org.apache.thrift.ProcessFunction<I, lsPage_args> {
+      public lsPage() {
+        super("lsPage");
+      }
+
+      public lsPage_args getEmptyArgsInstance() {
+        return new lsPage_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public lsPage_result getResult(I iface, lsPage_args args) throws org.apache.thrift.TException {
+        lsPage_result result = new lsPage_result();
+        result.success = iface.lsPage(args.directory, args.startAfter, args.limit);
+        return result;
+      }
+    }
+
+    public static class listEntries<I extends Iface> extends org.apache.thrift.ProcessFunction<I, listEntries_args> {
+      public listEntries() {
+        super("listEntries");
+      }
+
+      public listEntries_args getEmptyArgsInstance() {
+        return new listEntries_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public listEntries_result getResult(I iface, listEntries_args args) throws org.apache.thrift.TException {
+        listEntries_result result = new listEntries_result();
+        result.success = iface.listEntries(args.directory);
+        return result;
+      }
+    }
+
+    public static class listEntriesPage<I extends Iface> extends org.apache.thrift.ProcessFunction<I, listEntriesPage_args> {
+      public listEntriesPage() {
+        super("listEntriesPage");
+      }
+
+      public listEntriesPage_args getEmptyArgsInstance() {
+        return new listEntriesPage_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public listEntriesPage_result getResult(I iface, listEntriesPage_args args) throws org.apache.thrift.TException {
+        listEntriesPage_result result = new listEntriesPage_result();
+        result.success = iface.listEntriesPage(args.directory, args.startAfter, args.limit);
+        return result;
+      }
+    }
+
+    public static class batch<I extends Iface> extends org.apache.thrift.ProcessFunction<I, batch_args> {
+      public batch() {
+        super("batch");
+      }
+
+      public batch_args getEmptyArgsInstance() {
+        return new batch_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public batch_result getResult(I iface, batch_args args) throws org.apache.thrift.TException {
+        batch_result result = new batch_result();
+        result.success = iface.batch(args.requests);
+        return result;
+      }
+    }
+
+    public static class summarize<I extends Iface> extends org.apache.thrift.ProcessFunction<I, summarize_args> {
+      public summarize() {
+        super("summarize");
+      }
+
+      public summarize_args getEmptyArgsInstance() {
+        return new summarize_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public summarize_result getResult(I iface, summarize_args args) throws org.apache.thrift.TException {
+        summarize_result result = new summarize_result();
+        result.success = iface.summarize(args.path, args.maxDepth);
+        return result;
+      }
+    }
+
+    public static class listRecursive<I extends Iface> extends org.apache.thrift.ProcessFunction<I, listRecursive_args> {
+      public listRecursive() {
+        super("listRecursive");
+      }
+
+      public listRecursive_args getEmptyArgsInstance() {
+        return new listRecursive_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public listRecursive_result getResult(I iface, listRecursive_args args) throws org.apache.thrift.TException {
+        listRecursive_result result = new listRecursive_result();
+        result.success = iface.listRecursive(args.directory, args.maxDepth, args.batchSize);
+        return result;
+      }
+    }
+
+    public static class continueListing<I extends Iface> extends org.apache.thrift.ProcessFunction<I, continueListing_args> {
+      public continueListing() {
+        super("continueListing");
+      }
+
+      public continueListing_args getEmptyArgsInstance() {
+        return new continueListing_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public continueListing_result getResult(I iface, continueListing_args args) throws org.apache.thrift.TException {
+        continueListing_result result = new continueListing_result();
+        result.success = iface.continueListing(args.cursor, args.batchSize);
+        return result;
+      }
+    }
+
+    public static class getDelegationToken<I extends Iface> extends org.apache.thrift.ProcessFunction<I, getDelegationToken_args> {
+      public getDelegationToken() {
+        super("getDelegationToken");
+      }
+
+      public getDelegationToken_args getEmptyArgsInstance() {
+        return new getDelegationToken_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public getDelegationToken_result getResult(I iface, getDelegationToken_args args) throws org.apache.thrift.TException {
+        getDelegationToken_result result = new getDelegationToken_result();
+        result.success = iface.getDelegationToken();
+        return result;
+      }
+    }
+
+  }
+
+  public static class AsyncProcessor<I extends AsyncIface> extends org.apache.thrift.TBaseAsyncProcessor<I> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncProcessor.class.getName());
+    public AsyncProcessor(I iface) {
+      super(iface, getProcessMap(new HashMap<String, org.apache.thrift.AsyncProcessFunction<I, ? extends org.apache.thrift.TBase, ?>>()));
+    }
+
+    protected AsyncProcessor(I iface, Map<String,  org.apache.thrift.AsyncProcessFunction<I, ? extends  org.apache.thrift.TBase, ?>> processMap) {
+      super(iface, getProcessMap(processMap));
+    }
+
+    private static <I extends AsyncIface> Map<String,  org.apache.thrift.AsyncProcessFunction<I, ? extends  org.apache.thrift.TBase,?>> getProcessMap(Map<String,  org.apache.thrift.AsyncProcessFunction<I, ? extends  org.apache.thrift.TBase, ?>> processMap) {
+      processMap.put("ls", new ls());
+      processMap.put("lsPage", new lsPage());
+      processMap.put("listEntries", new listEntries());
+      processMap.put("listEntriesPage", new listEntriesPage());
+      processMap.put("batch", new batch());
+      processMap.put("summarize", new summarize());
+      processMap.put("listRecursive", new listRecursive());
+      processMap.put("continueListing", new continueListing());
+      processMap.put("getDelegationToken", new getDelegationToken());
+      return processMap;
+    }
+
+    public static class ls<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, ls_args, String> {
+      public ls() {
+        super("ls");
+      }
+
+      public ls_args getEmptyArgsInstance() {
+        return new ls_args();
+      }
+
+      public AsyncMethodCallback<String> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<String>() { 
+          public void onComplete(String o) {
+            ls_result result = new ls_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            ls_result result = new ls_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, ls_args args, org.apache.thrift.async.AsyncMethodCallback<String> resultHandler) throws TException {
+        iface.ls(args.directory,resultHandler);
+      }
+    }
+
+    public static class lsPage<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, lsPage_args, DirectoryPage> {
+      public lsPage() {
+        super("lsPage");
+      }
+
+      public lsPage_args getEmptyArgsInstance() {
+        return new lsPage_args();
+      }
+
+      public AsyncMethodCallback<DirectoryPage> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<DirectoryPage>() { 
+          public void onComplete(DirectoryPage o) {
+            lsPage_result result = new lsPage_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            lsPage_result result = new lsPage_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, lsPage_args args, org.apache.thrift.async.AsyncMethodCallback<DirectoryPage> resultHandler) throws TException {
+        iface.lsPage(args.directory,args.startAfter,args.limit,resultHandler);
+      }
+    }
+
+    public static class listEntries<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, listEntries_args, List<FileEntry>> {
+      public listEntries() {
+        super("listEntries");
+      }
+
+      public listEntries_args getEmptyArgsInstance() {
+        return new listEntries_args();
+      }
+
+      public AsyncMethodCallback<List<FileEntry>> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<List<FileEntry>>() { 
+          public void onComplete(List<FileEntry> o) {
+            listEntries_result result = new listEntries_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            listEntries_result result = new listEntries_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, listEntries_args args, org.apache.thrift.async.AsyncMethodCallback<List<FileEntry>> resultHandler) throws TException {
+        iface.listEntries(args.directory,resultHandler);
+      }
+    }
+
+    public static class listEntriesPage<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, listEntriesPage_args, EntryPage> {
+      public listEntriesPage() {
+        super("listEntriesPage");
+      }
+
+      public listEntriesPage_args getEmptyArgsInstance() {
+        return new listEntriesPage_args();
+      }
+
+      public AsyncMethodCallback<EntryPage> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<EntryPage>() { 
+          public void onComplete(EntryPage o) {
+            listEntriesPage_result result = new listEntriesPage_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            listEntriesPage_result result = new listEntriesPage_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, listEntriesPage_args args, org.apache.thrift.async.AsyncMethodCallback<EntryPage> resultHandler) throws TException {
+        iface.listEntriesPage(args.directory,args.startAfter,args.limit,resultHandler);
+      }
+    }
+
+    public static class batch<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, batch_args, List<MetadataResult>> {
+      public batch() {
+        super("batch");
+      }
+
+      public batch_args getEmptyArgsInstance() {
+        return new batch_args();
+      }
+
+      public AsyncMethodCallback<List<MetadataResult>> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<List<MetadataResult>>() { 
+          public void onComplete(List<MetadataResult> o) {
+            batch_result result = new batch_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            batch_result result = new batch_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, batch_args args, org.apache.thrift.async.AsyncMethodCallback<List<MetadataResult>> resultHandler) throws TException {
+        iface.batch(args.requests,resultHandler);
+      }
+    }
+
+    public static class summarize<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, summarize_args, TreeSummary> {
+      public summarize() {
+        super("summarize");
+      }
+
+      public summarize_args getEmptyArgsInstance() {
+        return new summarize_args();
+      }
+
+      public AsyncMethodCallback<TreeSummary> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<TreeSummary>() { 
+          public void onComplete(TreeSummary o) {
+            summarize_result result = new summarize_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            summarize_result result = new summarize_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, summarize_args args, org.apache.thrift.async.AsyncMethodCallback<TreeSummary> resultHandler) throws TException {
+        iface.summarize(args.path,args.maxDepth,resultHandler);
+      }
+    }
+
+    public static class listRecursive<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, listRecursive_args, RecursiveListing> {
+      public listRecursive() {
+        super("listRecursive");
+      }
+
+      public listRecursive_args getEmptyArgsInstance() {
+        return new listRecursive_args();
+      }
+
+      public AsyncMethodCallback<RecursiveListing> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<RecursiveListing>() { 
+          public void onComplete(RecursiveListing o) {
+            listRecursive_result result = new listRecursive_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            listRecursive_result result = new listRecursive_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, listRecursive_args args, org.apache.thrift.async.AsyncMethodCallback<RecursiveListing> resultHandler) throws TException {
+        iface.listRecursive(args.directory,args.maxDepth,args.batchSize,resultHandler);
+      }
+    }
+
+    public static class continueListing<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, continueListing_args, RecursiveListing> {
+      public continueListing() {
+        super("continueListing");
+      }
+
+      public continueListing_args getEmptyArgsInstance() {
+        return new continueListing_args();
+      }
+
+      public AsyncMethodCallback<RecursiveListing> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<RecursiveListing>() { 
+          public void onComplete(RecursiveListing o) {
+            continueListing_result result = new continueListing_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            continueListing_result result = new continueListing_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, continueListing_args args, org.apache.thrift.async.AsyncMethodCallback<RecursiveListing> resultHandler) throws TException {
+        iface.continueListing(args.cursor,args.batchSize,resultHandler);
+      }
+    }
+
+    public static class getDelegationToken<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, getDelegationToken_args, String> {
+      public getDelegationToken() {
+        super("getDelegationToken");
+      }
+
+      public getDelegationToken_args getEmptyArgsInstance() {
+        return new getDelegationToken_args();
+      }
+
+      public AsyncMethodCallback<String> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<String>() { 
+          public void onComplete(String o) {
+            getDelegationToken_result result = new getDelegationToken_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            getDelegationToken_result result = new getDelegationToken_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, getDelegationToken_args args, org.apache.thrift.async.AsyncMethodCallback<String> resultHandler) throws TException {
+        iface.getDelegationToken(resultHandler);
+      }
+    }
+
+  }
+
+  public static class ls_args implements org.apache.thrift.TBase<ls_args, ls_args._Fields>, java.io.Serializable, Cloneable, Comparable<ls_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("ls_args");
+
+    private static final org.apache.thrift.protocol.TField DIRECTORY_FIELD_DESC = new org.apache.thrift.protocol.TField("directory", org.apache.thrift.protocol.TType.STRING, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new ls_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new ls_argsTupleSchemeFactory());
+    }
+
+    public String directory; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      DIRECTORY((short)1, "directory");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // DIRECTORY
+            return DIRECTORY;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.DIRECTORY, new org.apache.thrift.meta_data.FieldMetaData("directory", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ls_args.class, metaDataMap);
+    }
+
+    public ls_args() {
+    }
+
+    public ls_args(
+      String directory)
+    {
+      this();
+      this.directory = directory;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public ls_args(ls_args other) {
+      if (other.isSetDirectory()) {
+        this.directory = other.directory;
+      }
+    }
+
+    public ls_args deepCopy() {
+      return new ls_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.directory = null;
+    }
+
+    public String getDirectory() {
+      return this.directory;
+    }
+
+    public ls_args setDirectory(String directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    public void unsetDirectory() {
+      this.directory = null;
+    }
+
+    /** Returns true if field directory is set (has been assigned a value) and false otherwise */
+    public boolean isSetDirectory() {
+      return this.directory != null;
+    }
+
+    public void setDirectoryIsSet(boolean value) {
+      if (!value) {
+        this.directory = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case DIRECTORY:
+        if (value == null) {
+          unsetDirectory();
+        } else {
+          setDirectory((String)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case DIRECTORY:
+        return getDirectory();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case DIRECTORY:
+        return isSetDirectory();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof ls_args)
+        return this.equals((ls_args)that);
+      return false;
+    }
+
+    public boolean equals(ls_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_directory = true && this.isSetDirectory();
+      boolean that_present_directory = true && that.isSetDirectory();
+      if (this_present_directory || that_present_directory) {
+        if (!(this_present_directory && that_present_directory))
+          return false;
+        if (!this.directory.equals(that.directory))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(ls_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetDirectory()).compareTo(other.isSetDirectory());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetDirectory()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.directory, other.directory);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("ls_args(");
+      boolean first = true;
+
+      sb.append("directory:");
+      if (this.directory == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.directory);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class ls_argsStandardSchemeFactory implements SchemeFactory {
+      public ls_argsStandardScheme getScheme() {
+        return new ls_argsStandardScheme();
+      }
+    }
+
+    private static class ls_argsStandardScheme extends StandardScheme<ls_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, ls_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // DIRECTORY
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.directory = iprot.readString();
+                struct.setDirectoryIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, ls_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.directory != null) {
+          oprot.writeFieldBegin(DIRECTORY_FIELD_DESC);
+          oprot.writeString(struct.directory);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class ls_argsTupleSchemeFactory implements SchemeFactory {
+      public ls_argsTupleScheme getScheme() {
+        return new ls_argsTupleScheme();
+      }
+    }
+
+    private static class ls_argsTupleScheme extends TupleScheme<ls_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, ls_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetDirectory()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetDirectory()) {
+          oprot.writeString(struct.directory);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, ls_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.directory = iprot.readString();
+          struct.setDirectoryIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class ls_result implements org.apache.thrift.TBase<ls_result, ls_result._Fields>, java.io.Serializable, Cloneable, Comparable<ls_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("ls_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new ls_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new ls_resultTupleSchemeFactory());
+    }
+
+    public String success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ls_result.class, metaDataMap);
+    }
+
+    public ls_result() {
+    }
+
+    public ls_result(
+      String success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public ls_result(ls_result other) {
+      if (other.isSetSuccess()) {
+        this.success = other.success;
+      }
+    }
+
+    public ls_result deepCopy() {
+      return new ls_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public String getSuccess() {
+      return this.success;
+    }
+
+    public ls_result setSuccess(String success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((String)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof ls_result)
+        return this.equals((ls_result)that);
+      return false;
+    }
+
+    public boolean equals(ls_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(ls_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("ls_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class ls_resultStandardSchemeFactory implements SchemeFactory {
+      public ls_resultStandardScheme getScheme() {
+        return new ls_resultStandardScheme();
+      }
+    }
+
+    private static class ls_resultStandardScheme extends StandardScheme<ls_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, ls_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.success = iprot.readString();
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, ls_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          oprot.writeString(struct.success);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class ls_resultTupleSchemeFactory implements SchemeFactory {
+      public ls_resultTupleScheme getScheme() {
+        return new ls_resultTupleScheme();
+      }
+    }
+
+    private static class ls_resultTupleScheme extends TupleScheme<ls_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, ls_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          oprot.writeString(struct.success);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, ls_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = iprot.readString();
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class lsPage_args implements org.apache.thrift.TBase<lsPage_args, lsPage_args._Fields>, java.io.Serializable, Cloneable, Comparable<lsPage_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("lsPage_args");
+
+    private static final org.apache.thrift.protocol.TField DIRECTORY_FIELD_DESC = new org.apache.thrift.protocol.TField("directory", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField START_AFTER_FIELD_DESC = new org.apache.thrift.protocol.TField("startAfter", org.apache.thrift.protocol.TType.STRING, (short)2);
+    private static final org.apache.thrift.protocol.TField LIMIT_FIELD_DESC = new org.apache.thrift.protocol.TField("limit", org.apache.thrift.protocol.TType.I32, (short)3);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new lsPage_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new lsPage_argsTupleSchemeFactory());
+    }
+
+    public String directory; // required
+    public String startAfter; // required
+    public int limit; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      DIRECTORY((short)1, "directory"),
+      START_AFTER((short)2, "startAfter"),
+      LIMIT((short)3, "limit");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // DIRECTORY
+            return DIRECTORY;
+          case 2: // START_AFTER
+            return START_AFTER;
+          case 3: // LIMIT
+            return LIMIT;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __LIMIT_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.DIRECTORY, new org.apache.thrift.meta_data.FieldMetaData("directory", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.START_AFTER, new org.apache.thrift.meta_data.FieldMetaData("startAfter", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.LIMIT, new org.apache.thrift.meta_data.FieldMetaData("limit", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(lsPage_args.class, metaDataMap);
+    }
+
+    public lsPage_args() {
+    }
+
+    public lsPage_args(
+      String directory,
+      String startAfter,
+      int limit)
+    {
+      this();
+      this.directory = directory;
+      this.startAfter = startAfter;
+      this.limit = limit;
+      setLimitIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public lsPage_args(lsPage_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      if (other.isSetDirectory()) {
+        this.directory = other.directory;
+      }
+      if (other.isSetStartAfter()) {
+        this.startAfter = other.startAfter;
+      }
+      this.limit = other.limit;
+    }
+
+    public lsPage_args deepCopy() {
+      return new lsPage_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.directory = null;
+      this.startAfter = null;
+      setLimitIsSet(false);
+      this.limit = 0;
+    }
+
+    public String getDirectory() {
+      return this.directory;
+    }
+
+    public lsPage_args setDirectory(String directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    public void unsetDirectory() {
+      this.directory = null;
+    }
+
+    /** Returns true if field directory is set (has been assigned a value) and false otherwise */
+    public boolean isSetDirectory() {
+      return this.directory != null;
+    }
+
+    public void setDirectoryIsSet(boolean value) {
+      if (!value) {
+        this.directory = null;
+      }
+    }
+
+    public String getStartAfter() {
+      return this.startAfter;
+    }
+
+    public lsPage_args setStartAfter(String startAfter) {
+      this.startAfter = startAfter;
+      return this;
+    }
+
+    public void unsetStartAfter() {
+      this.startAfter = null;
+    }
+
+    /** Returns true if field startAfter is set (has been assigned a value) and false otherwise */
+    public boolean isSetStartAfter() {
+      return this.startAfter != null;
+    }
+
+    public void setStartAfterIsSet(boolean value) {
+      if (!value) {
+        this.startAfter = null;
+      }
+    }
+
+    public int getLimit() {
+      return this.limit;
+    }
+
+    public lsPage_args setLimit(int limit) {
+      this.limit = limit;
+      setLimitIsSet(true);
+      return this;
+    }
+
+    public void unsetLimit() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __LIMIT_ISSET_ID);
+    }
+
+    /** Returns true if field limit is set (has been assigned a value) and false otherwise */
+    public boolean isSetLimit() {
+      return EncodingUtils.testBit(__isset_bitfield, __LIMIT_ISSET_ID);
+    }
+
+    public void setLimitIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __LIMIT_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case DIRECTORY:
+        if (value == null) {
+          unsetDirectory();
+        } else {
+          setDirectory((String)value);
+        }
+        break;
+
+      case START_AFTER:
+        if (value == null) {
+          unsetStartAfter();
+        } else {
+          setStartAfter((String)value);
+        }
+        break;
+
+      case LIMIT:
+        if (value == null) {
+          unsetLimit();
+        } else {
+          setLimit((Integer)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case DIRECTORY:
+        return getDirectory();
+
+      case START_AFTER:
+        return getStartAfter();
+
+      case LIMIT:
+        return Integer.valueOf(getLimit());
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case DIRECTORY:
+        return isSetDirectory();
+      case START_AFTER:
+        return isSetStartAfter();
+      case LIMIT:
+        return isSetLimit();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof lsPage_args)
+        return this.equals((lsPage_args)that);
+      return false;
+    }
+
+    public boolean equals(lsPage_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_directory = true && this.isSetDirectory();
+      boolean that_present_directory = true && that.isSetDirectory();
+      if (this_present_directory || that_present_directory) {
+        if (!(this_present_directory && that_present_directory))
+          return false;
+        if (!this.directory.equals(that.directory))
+          return false;
+      }
+
+      boolean this_present_startAfter = true && this.isSetStartAfter();
+      boolean that_present_startAfter = true && that.isSetStartAfter();
+      if (this_present_startAfter || that_present_startAfter) {
+        if (!(this_present_startAfter && that_present_startAfter))
+          return false;
+        if (!this.startAfter.equals(that.startAfter))
+          return false;
+      }
+
+      boolean this_present_limit = true;
+      boolean that_present_limit = true;
+      if (this_present_limit || that_present_limit) {
+        if (!(this_present_limit && that_present_limit))
+          return false;
+        if (this.limit != that.limit)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(lsPage_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetDirectory()).compareTo(other.isSetDirectory());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetDirectory()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.directory, other.directory);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetStartAfter()).compareTo(other.isSetStartAfter());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetStartAfter()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.startAfter, other.startAfter);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetLimit()).compareTo(other.isSetLimit());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetLimit()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.limit, other.limit);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("lsPage_args(");
+      boolean first = true;
+
+      sb.append("directory:");
+      if (this.directory == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.directory);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("startAfter:");
+      if (this.startAfter == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.startAfter);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("limit:");
+      sb.append(this.limit);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class lsPage_argsStandardSchemeFactory implements SchemeFactory {
+      public lsPage_argsStandardScheme getScheme() {
+        return new lsPage_argsStandardScheme();
+      }
+    }
+
+    private static class lsPage_argsStandardScheme extends StandardScheme<lsPage_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, lsPage_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // DIRECTORY
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.directory = iprot.readString();
+                struct.setDirectoryIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // START_AFTER
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.startAfter = iprot.readString();
+                struct.setStartAfterIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // LIMIT
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.limit = iprot.readI32();
+                struct.setLimitIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, lsPage_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.directory != null) {
+          oprot.writeFieldBegin(DIRECTORY_FIELD_DESC);
+          oprot.writeString(struct.directory);
+          oprot.writeFieldEnd();
+        }
+        if (struct.startAfter != null) {
+          oprot.writeFieldBegin(START_AFTER_FIELD_DESC);
+          oprot.writeString(struct.startAfter);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(LIMIT_FIELD_DESC);
+        oprot.writeI32(struct.limit);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class lsPage_argsTupleSchemeFactory implements SchemeFactory {
+      public lsPage_argsTupleScheme getScheme() {
+        return new lsPage_argsTupleScheme();
+      }
+    }
+
+    private static class lsPage_argsTupleScheme extends TupleScheme<lsPage_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, lsPage_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetDirectory()) {
+          optionals.set(0);
+        }
+        if (struct.isSetStartAfter()) {
+          optionals.set(1);
+        }
+        if (struct.isSetLimit()) {
+          optionals.set(2);
+        }
+        oprot.writeBitSet(optionals, 3);
+        if (struct.isSetDirectory()) {
+          oprot.writeString(struct.directory);
+        }
+        if (struct.isSetStartAfter()) {
+          oprot.writeString(struct.startAfter);
+        }
+        if (struct.isSetLimit()) {
+          oprot.writeI32(struct.limit);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, lsPage_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(3);
+        if (incoming.get(0)) {
+          struct.directory = iprot.readString();
+          struct.setDirectoryIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.startAfter = iprot.readString();
+          struct.setStartAfterIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.limit = iprot.readI32();
+          struct.setLimitIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class lsPage_result implements org.apache.thrift.TBase<lsPage_result, lsPage_result._Fields>, java.io.Serializable, Cloneable, Comparable<lsPage_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("lsPage_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new lsPage_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new lsPage_resultTupleSchemeFactory());
+    }
+
+    public DirectoryPage success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, DirectoryPage.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(lsPage_result.class, metaDataMap);
+    }
+
+    public lsPage_result() {
+    }
+
+    public lsPage_result(
+      DirectoryPage success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public lsPage_result(lsPage_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new DirectoryPage(other.success);
+      }
+    }
+
+    public lsPage_result deepCopy() {
+      return new lsPage_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public DirectoryPage getSuccess() {
+      return this.success;
+    }
+
+    public lsPage_result setSuccess(DirectoryPage success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((DirectoryPage)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof lsPage_result)
+        return this.equals((lsPage_result)that);
+      return false;
+    }
+
+    public boolean equals(lsPage_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(lsPage_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("lsPage_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class lsPage_resultStandardSchemeFactory implements SchemeFactory {
+      public lsPage_resultStandardScheme getScheme() {
+        return new lsPage_resultStandardScheme();
+      }
+    }
+
+    private static class lsPage_resultStandardScheme extends StandardScheme<lsPage_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, lsPage_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new DirectoryPage();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, lsPage_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class lsPage_resultTupleSchemeFactory implements SchemeFactory {
+      public lsPage_resultTupleScheme getScheme() {
+        return new lsPage_resultTupleScheme();
+      }
+    }
+
+    private static class lsPage_resultTupleScheme extends TupleScheme<lsPage_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, lsPage_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, lsPage_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new DirectoryPage();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class listEntries_args implements org.apache.thrift.TBase<listEntries_args, listEntries_args._Fields>, java.io.Serializable, Cloneable, Comparable<listEntries_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("listEntries_args");
+
+    private static final org.apache.thrift.protocol.TField DIRECTORY_FIELD_DESC = new org.apache.thrift.protocol.TField("directory", org.apache.thrift.protocol.TType.STRING, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new listEntries_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new listEntries_argsTupleSchemeFactory());
+    }
+
+    public String directory; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      DIRECTORY((short)1, "directory");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // DIRECTORY
+            return DIRECTORY;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.DIRECTORY, new org.apache.thrift.meta_data.FieldMetaData("directory", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(listEntries_args.class, metaDataMap);
+    }
+
+    public listEntries_args() {
+    }
+
+    public listEntries_args(
+      String directory)
+    {
+      this();
+      this.directory = directory;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public listEntries_args(listEntries_args other) {
+      if (other.isSetDirectory()) {
+        this.directory = other.directory;
+      }
+    }
+
+    public listEntries_args deepCopy() {
+      return new listEntries_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.directory = null;
+    }
+
+    public String getDirectory() {
+      return this.directory;
+    }
+
+    public listEntries_args setDirectory(String directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    public void unsetDirectory() {
+      this.directory = null;
+    }
+
+    /** Returns true if field directory is set (has been assigned a value) and false otherwise */
+    public boolean isSetDirectory() {
+      return this.directory != null;
+    }
+
+    public void setDirectoryIsSet(boolean value) {
+      if (!value) {
+        this.directory = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case DIRECTORY:
+        if (value == null) {
+          unsetDirectory();
+        } else {
+          setDirectory((String)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case DIRECTORY:
+        return getDirectory();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case DIRECTORY:
+        return isSetDirectory();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof listEntries_args)
+        return this.equals((listEntries_args)that);
+      return false;
+    }
+
+    public boolean equals(listEntries_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_directory = true && this.isSetDirectory();
+      boolean that_present_directory = true && that.isSetDirectory();
+      if (this_present_directory || that_present_directory) {
+        if (!(this_present_directory && that_present_directory))
+          return false;
+        if (!this.directory.equals(that.directory))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(listEntries_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetDirectory()).compareTo(other.isSetDirectory());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetDirectory()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.directory, other.directory);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("listEntries_args(");
+      boolean first = true;
+
+      sb.append("directory:");
+      if (this.directory == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.directory);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class listEntries_argsStandardSchemeFactory implements SchemeFactory {
+      public listEntries_argsStandardScheme getScheme() {
+        return new listEntries_argsStandardScheme();
+      }
+    }
+
+    private static class listEntries_argsStandardScheme extends StandardScheme<listEntries_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, listEntries_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // DIRECTORY
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.directory = iprot.readString();
+                struct.setDirectoryIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, listEntries_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.directory != null) {
+          oprot.writeFieldBegin(DIRECTORY_FIELD_DESC);
+          oprot.writeString(struct.directory);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class listEntries_argsTupleSchemeFactory implements SchemeFactory {
+      public listEntries_argsTupleScheme getScheme() {
+        return new listEntries_argsTupleScheme();
+      }
+    }
+
+    private static class listEntries_argsTupleScheme extends TupleScheme<listEntries_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, listEntries_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetDirectory()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetDirectory()) {
+          oprot.writeString(struct.directory);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, listEntries_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.directory = iprot.readString();
+          struct.setDirectoryIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class listEntries_result implements org.apache.thrift.TBase<listEntries_result, listEntries_result._Fields>, java.io.Serializable, Cloneable, Comparable<listEntries_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("listEntries_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.LIST, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new listEntries_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new listEntries_resultTupleSchemeFactory());
+    }
+
+    public List<FileEntry> success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, FileEntry.class))));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(listEntries_result.class, metaDataMap);
+    }
+
+    public listEntries_result() {
+    }
+
+    public listEntries_result(
+      List<FileEntry> success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public listEntries_result(listEntries_result other) {
+      if (other.isSetSuccess()) {
+        List<FileEntry> __this__success = new ArrayList<FileEntry>(other.success.size());
+        for (FileEntry other_element : other.success) {
+          __this__success.add(new FileEntry(other_element));
+        }
+        this.success = __this__success;
+      }
+    }
+
+    public listEntries_result deepCopy() {
+      return new listEntries_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    public java.util.Iterator<FileEntry> getSuccessIterator() {
+      return (this.success == null) ? null : this.success.iterator();
+    }
+
+    public void addToSuccess(FileEntry elem) {
+      if (this.success == null) {
+        this.success = new ArrayList<FileEntry>();
+      }
+      this.success.add(elem);
+    }
+
+    public List<FileEntry> getSuccess() {
+      return this.success;
+    }
+
+    public listEntries_result setSuccess(List<FileEntry> success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((List<FileEntry>)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof listEntries_result)
+        return this.equals((listEntries_result)that);
+      return false;
+    }
+
+    public boolean equals(listEntries_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(listEntries_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("listEntries_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class listEntries_resultStandardSchemeFactory implements SchemeFactory {
+      public listEntries_resultStandardScheme getScheme() {
+        return new listEntries_resultStandardScheme();
+      }
+    }
+
+    private static class listEntries_resultStandardScheme extends StandardScheme<listEntries_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, listEntries_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list32 = iprot.readListBegin();
+                  struct.success = new ArrayList<FileEntry>(_list32.size);
+                  for (int _i33 = 0; _i33 < _list32.size; ++_i33)
+                  {
+                    FileEntry _elem34;
+                    _elem34 = new FileEntry();
+                    _elem34.read(iprot);
+                    struct.success.add(_elem34);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, listEntries_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.success.size()));
+            for (FileEntry _iter35 : struct.success)
+            {
+              _iter35.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class listEntries_resultTupleSchemeFactory implements SchemeFactory {
+      public listEntries_resultTupleScheme getScheme() {
+        return new listEntries_resultTupleScheme();
+      }
+    }
+
+    private static class listEntries_resultTupleScheme extends TupleScheme<listEntries_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, listEntries_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          {
+            oprot.writeI32(struct.success.size());
+            for (FileEntry _iter36 : struct.success)
+            {
+              _iter36.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, listEntries_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list37 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.success = new ArrayList<FileEntry>(_list37.size);
+            for (int _i38 = 0; _i38 < _list37.size; ++_i38)
+            {
+              FileEntry _elem39;
+              _elem39 = new FileEntry();
+              _elem39.read(iprot);
+              struct.success.add(_elem39);
+            }
+          }
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class listEntriesPage_args implements org.apache.thrift.TBase<listEntriesPage_args, listEntriesPage_args._Fields>, java.io.Serializable, Cloneable, Comparable<listEntriesPage_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("listEntriesPage_args");
+
+    private static final org.apache.thrift.protocol.TField DIRECTORY_FIELD_DESC = new org.apache.thrift.protocol.TField("directory", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField START_AFTER_FIELD_DESC = new org.apache.thrift.protocol.TField("startAfter", org.apache.thrift.protocol.TType.STRING, (short)2);
+    private static final org.apache.thrift.protocol.TField LIMIT_FIELD_DESC = new org.apache.thrift.protocol.TField("limit", org.apache.thrift.protocol.TType.I32, (short)3);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new listEntriesPage_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new listEntriesPage_argsTupleSchemeFactory());
+    }
+
+    public String directory; // required
+    public String startAfter; // required
+    public int limit; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      DIRECTORY((short)1, "directory"),
+      START_AFTER((short)2, "startAfter"),
+      LIMIT((short)3, "limit");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // DIRECTORY
+            return DIRECTORY;
+          case 2: // START_AFTER
+            return START_AFTER;
+          case 3: // LIMIT
+            return LIMIT;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __LIMIT_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.DIRECTORY, new org.apache.thrift.meta_data.FieldMetaData("directory", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.START_AFTER, new org.apache.thrift.meta_data.FieldMetaData("startAfter", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.LIMIT, new org.apache.thrift.meta_data.FieldMetaData("limit", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(listEntriesPage_args.class, metaDataMap);
+    }
+
+    public listEntriesPage_args() {
+    }
+
+    public listEntriesPage_args(
+      String directory,
+      String startAfter,
+      int limit)
+    {
+      this();
+      this.directory = directory;
+      this.startAfter = startAfter;
+      this.limit = limit;
+      setLimitIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public listEntriesPage_args(listEntriesPage_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      if (other.isSetDirectory()) {
+        this.directory = other.directory;
+      }
+      if (other.isSetStartAfter()) {
+        this.startAfter = other.startAfter;
+      }
+      this.limit = other.limit;
+    }
+
+    public listEntriesPage_args deepCopy() {
+      return new listEntriesPage_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.directory = null;
+      this.startAfter = null;
+      setLimitIsSet(false);
+      this.limit = 0;
+    }
+
+    public String getDirectory() {
+      return this.directory;
+    }
+
+    public listEntriesPage_args setDirectory(String directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    public void unsetDirectory() {
+      this.directory = null;
+    }
+
+    /** Returns true if field directory is set (has been assigned a value) and false otherwise */
+    public boolean isSetDirectory() {
+      return this.directory != null;
+    }
+
+    public void setDirectoryIsSet(boolean value) {
+      if (!value) {
+        this.directory = null;
+      }
+    }
+
+    public String getStartAfter() {
+      return this.startAfter;
+    }
+
+    public listEntriesPage_args setStartAfter(String startAfter) {
+      this.startAfter = startAfter;
+      return this;
+    }
+
+    public void unsetStartAfter() {
+      this.startAfter = null;
+    }
+
+    /** Returns true if field startAfter is set (has been assigned a value) and false otherwise */
+    public boolean isSetStartAfter() {
+      return this.startAfter != null;
+    }
+
+    public void setStartAfterIsSet(boolean value) {
+      if (!value) {
+        this.startAfter = null;
+      }
+    }
+
+    public int getLimit() {
+      return this.limit;
+    }
+
+    public listEntriesPage_args setLimit(int limit) {
+      this.limit = limit;
+      setLimitIsSet(true);
+      return this;
+    }
+
+    public void unsetLimit() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __LIMIT_ISSET_ID);
+    }
+
+    /** Returns true if field limit is set (has been assigned a value) and false otherwise */
+    public boolean isSetLimit() {
+      return EncodingUtils.testBit(__isset_bitfield, __LIMIT_ISSET_ID);
+    }
+
+    public void setLimitIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __LIMIT_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case DIRECTORY:
+        if (value == null) {
+          unsetDirectory();
+        } else {
+          setDirectory((String)value);
+        }
+        break;
+
+      case START_AFTER:
+        if (value == null) {
+          unsetStartAfter();
+        } else {
+          setStartAfter((String)value);
+        }
+        break;
+
+      case LIMIT:
+        if (value == null) {
+          unsetLimit();
+        } else {
+          setLimit((Integer)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case DIRECTORY:
+        return getDirectory();
+
+      case START_AFTER:
+        return getStartAfter();
+
+      case LIMIT:
+        return Integer.valueOf(getLimit());
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case DIRECTORY:
+        return isSetDirectory();
+      case START_AFTER:
+        return isSetStartAfter();
+      case LIMIT:
+        return isSetLimit();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof listEntriesPage_args)
+        return this.equals((listEntriesPage_args)that);
+      return false;
+    }
+
+    public boolean equals(listEntriesPage_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_directory = true && this.isSetDirectory();
+      boolean that_present_directory = true && that.isSetDirectory();
+      if (this_present_directory || that_present_directory) {
+        if (!(this_present_directory && that_present_directory))
+          return false;
+        if (!this.directory.equals(that.directory))
+          return false;
+      }
+
+      boolean this_present_startAfter = true && this.isSetStartAfter();
+      boolean that_present_startAfter = true && that.isSetStartAfter();
+      if (this_present_startAfter || that_present_startAfter) {
+        if (!(this_present_startAfter && that_present_startAfter))
+          return false;
+        if (!this.startAfter.equals(that.startAfter))
+          return false;
+      }
+
+      boolean this_present_limit = true;
+      boolean that_present_limit = true;
+      if (this_present_limit || that_present_limit) {
+        if (!(this_present_limit && that_present_limit))
+          return false;
+        if (this.limit != that.limit)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(listEntriesPage_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetDirectory()).compareTo(other.isSetDirectory());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetDirectory()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.directory, other.directory);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetStartAfter()).compareTo(other.isSetStartAfter());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetStartAfter()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.startAfter, other.startAfter);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetLimit()).compareTo(other.isSetLimit());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetLimit()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.limit, other.limit);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("listEntriesPage_args(");
+      boolean first = true;
+
+      sb.append("directory:");
+      if (this.directory == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.directory);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("startAfter:");
+      if (this.startAfter == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.startAfter);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("limit:");
+      sb.append(this.limit);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class listEntriesPage_argsStandardSchemeFactory implements SchemeFactory {
+      public listEntriesPage_argsStandardScheme getScheme() {
+        return new listEntriesPage_argsStandardScheme();
+      }
+    }
+
+    private static class listEntriesPage_argsStandardScheme extends StandardScheme<listEntriesPage_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, listEntriesPage_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // DIRECTORY
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.directory = iprot.readString();
+                struct.setDirectoryIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // START_AFTER
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.startAfter = iprot.readString();
+                struct.setStartAfterIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // LIMIT
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.limit = iprot.readI32();
+                struct.setLimitIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, listEntriesPage_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.directory != null) {
+          oprot.writeFieldBegin(DIRECTORY_FIELD_DESC);
+          oprot.writeString(struct.directory);
+          oprot.writeFieldEnd();
+        }
+        if (struct.startAfter != null) {
+          oprot.writeFieldBegin(START_AFTER_FIELD_DESC);
+          oprot.writeString(struct.startAfter);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(LIMIT_FIELD_DESC);
+        oprot.writeI32(struct.limit);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class listEntriesPage_argsTupleSchemeFactory implements SchemeFactory {
+      public listEntriesPage_argsTupleScheme getScheme() {
+        return new listEntriesPage_argsTupleScheme();
+      }
+    }
+
+    private static class listEntriesPage_argsTupleScheme extends TupleScheme<listEntriesPage_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, listEntriesPage_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetDirectory()) {
+          optionals.set(0);
+        }
+        if (struct.isSetStartAfter()) {
+          optionals.set(1);
+        }
+        if (struct.isSetLimit()) {
+          optionals.set(2);
+        }
+        oprot.writeBitSet(optionals, 3);
+        if (struct.isSetDirectory()) {
+          oprot.writeString(struct.directory);
+        }
+        if (struct.isSetStartAfter()) {
+          oprot.writeString(struct.startAfter);
+        }
+        if (struct.isSetLimit()) {
+          oprot.writeI32(struct.limit);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, listEntriesPage_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(3);
+        if (incoming.get(0)) {
+          struct.directory = iprot.readString();
+          struct.setDirectoryIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.startAfter = iprot.readString();
+          struct.setStartAfterIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.limit = iprot.readI32();
+          struct.setLimitIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class listEntriesPage_result implements org.apache.thrift.TBase<listEntriesPage_result, listEntriesPage_result._Fields>, java.io.Serializable, Cloneable, Comparable<listEntriesPage_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("listEntriesPage_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new listEntriesPage_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new listEntriesPage_resultTupleSchemeFactory());
+    }
+
+    public EntryPage success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, EntryPage.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(listEntriesPage_result.class, metaDataMap);
+    }
+
+    public listEntriesPage_result() {
+    }
+
+    public listEntriesPage_result(
+      EntryPage success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public listEntriesPage_result(listEntriesPage_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new EntryPage(other.success);
+      }
+    }
+
+    public listEntriesPage_result deepCopy() {
+      return new listEntriesPage_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public EntryPage getSuccess() {
+      return this.success;
+    }
+
+    public listEntriesPage_result setSuccess(EntryPage success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((EntryPage)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof listEntriesPage_result)
+        return this.equals((listEntriesPage_result)that);
+      return false;
+    }
+
+    public boolean equals(listEntriesPage_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(listEntriesPage_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("listEntriesPage_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class listEntriesPage_resultStandardSchemeFactory implements SchemeFactory {
+      public listEntriesPage_resultStandardScheme getScheme() {
+        return new listEntriesPage_resultStandardScheme();
+      }
+    }
+
+    private static class listEntriesPage_resultStandardScheme extends StandardScheme<listEntriesPage_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, listEntriesPage_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new EntryPage();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, listEntriesPage_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class listEntriesPage_resultTupleSchemeFactory implements SchemeFactory {
+      public listEntriesPage_resultTupleScheme getScheme() {
+        return new listEntriesPage_resultTupleScheme();
+      }
+    }
+
+    private static class listEntriesPage_resultTupleScheme extends TupleScheme<listEntriesPage_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, listEntriesPage_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, listEntriesPage_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new EntryPage();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class batch_args implements org.apache.thrift.TBase<batch_args, batch_args._Fields>, java.io.Serializable, Cloneable, Comparable<batch_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("batch_args");
+
+    private static final org.apache.thrift.protocol.TField REQUESTS_FIELD_DESC = new org.apache.thrift.protocol.TField("requests", org.apache.thrift.protocol.TType.LIST, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new batch_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new batch_argsTupleSchemeFactory());
+    }
+
+    public List<MetadataRequest> requests; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      REQUESTS((short)1, "requests");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // REQUESTS
+            return REQUESTS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.REQUESTS, new org.apache.thrift.meta_data.FieldMetaData("requests", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, MetadataRequest.class))));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(batch_args.class, metaDataMap);
+    }
+
+    public batch_args() {
+    }
+
+    public batch_args(
+      List<MetadataRequest> requests)
+    {
+      this();
+      this.requests = requests;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public batch_args(batch_args other) {
+      if (other.isSetRequests()) {
+        List<MetadataRequest> __this__requests = new ArrayList<MetadataRequest>(other.requests.size());
+        for (MetadataRequest other_element : other.requests) {
+          __this__requests.add(new MetadataRequest(other_element));
+        }
+        this.requests = __this__requests;
+      }
+    }
+
+    public batch_args deepCopy() {
+      return new batch_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.requests = null;
+    }
+
+    public int getRequestsSize() {
+      return (this.requests == null) ? 0 : this.requests.size();
+    }
+
+    public java.util.Iterator<MetadataRequest> getRequestsIterator() {
+      return (this.requests == null) ? null : this.requests.iterator();
+    }
+
+    public void addToRequests(MetadataRequest elem) {
+      if (this.requests == null) {
+        this.requests = new ArrayList<MetadataRequest>();
+      }
+      this.requests.add(elem);
+    }
+
+    public List<MetadataRequest> getRequests() {
+      return this.requests;
+    }
+
+    public batch_args setRequests(List<MetadataRequest> requests) {
+      this.requests = requests;
+      return this;
+    }
+
+    public void unsetRequests() {
+      this.requests = null;
+    }
+
+    /** Returns true if field requests is set (has been assigned a value) and false otherwise */
+    public boolean isSetRequests() {
+      return this.requests != null;
+    }
+
+    public void setRequestsIsSet(boolean value) {
+      if (!value) {
+        this.requests = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case REQUESTS:
+        if (value == null) {
+          unsetRequests();
+        } else {
+          setRequests((List<MetadataRequest>)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case REQUESTS:
+        return getRequests();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case REQUESTS:
+        return isSetRequests();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof batch_args)
+        return this.equals((batch_args)that);
+      return false;
+    }
+
+    public boolean equals(batch_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_requests = true && this.isSetRequests();
+      boolean that_present_requests = true && that.isSetRequests();
+      if (this_present_requests || that_present_requests) {
+        if (!(this_present_requests && that_present_requests))
+          return false;
+        if (!this.requests.equals(that.requests))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(batch_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetRequests()).compareTo(other.isSetRequests());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetRequests()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.requests, other.requests);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("batch_args(");
+      boolean first = true;
+
+      sb.append("requests:");
+      if (this.requests == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.requests);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class batch_argsStandardSchemeFactory implements SchemeFactory {
+      public batch_argsStandardScheme getScheme() {
+        return new batch_argsStandardScheme();
+      }
+    }
+
+    private static class batch_argsStandardScheme extends StandardScheme<batch_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, batch_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // REQUESTS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list40 = iprot.readListBegin();
+                  struct.requests = new ArrayList<MetadataRequest>(_list40.size);
+                  for (int _i41 = 0; _i41 < _list40.size; ++_i41)
+                  {
+                    MetadataRequest _elem42;
+                    _elem42 = new MetadataRequest();
+                    _elem42.read(iprot);
+                    struct.requests.add(_elem42);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setRequestsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, batch_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.requests != null) {
+          oprot.writeFieldBegin(REQUESTS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.requests.size()));
+            for (MetadataRequest _iter43 : struct.requests)
+            {
+              _iter43.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class batch_argsTupleSchemeFactory implements SchemeFactory {
+      public batch_argsTupleScheme getScheme() {
+        return new batch_argsTupleScheme();
+      }
+    }
+
+    private static class batch_argsTupleScheme extends TupleScheme<batch_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, batch_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetRequests()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetRequests()) {
+          {
+            oprot.writeI32(struct.requests.size());
+            for (MetadataRequest _iter44 : struct.requests)
+            {
+              _iter44.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, batch_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list45 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.requests = new ArrayList<MetadataRequest>(_list45.size);
+            for (int _i46 = 0; _i46 < _list45.size; ++_i46)
+            {
+              MetadataRequest _elem47;
+              _elem47 = new MetadataRequest();
+              _elem47.read(iprot);
+              struct.requests.add(_elem47);
+            }
+          }
+          struct.setRequestsIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class batch_result implements org.apache.thrift.TBase<batch_result, batch_result._Fields>, java.io.Serializable, Cloneable, Comparable<batch_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("batch_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.LIST, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new batch_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new batch_resultTupleSchemeFactory());
+    }
+
+    public List<MetadataResult> success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, MetadataResult.class))));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(batch_result.class, metaDataMap);
+    }
+
+    public batch_result() {
+    }
+
+    public batch_result(
+      List<MetadataResult> success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public batch_result(batch_result other) {
+      if (other.isSetSuccess()) {
+        List<MetadataResult> __this__success = new ArrayList<MetadataResult>(other.success.size());
+        for (MetadataResult other_element : other.success) {
+          __this__success.add(new MetadataResult(other_element));
+        }
+        this.success = __this__success;
+      }
+    }
+
+    public batch_result deepCopy() {
+      return new batch_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    public java.util.Iterator<MetadataResult> getSuccessIterator() {
+      return (this.success == null) ? null : this.success.iterator();
+    }
+
+    public void addToSuccess(MetadataResult elem) {
+      if (this.success == null) {
+        this.success = new ArrayList<MetadataResult>();
+      }
+      this.success.add(elem);
+    }
+
+    public List<MetadataResult> getSuccess() {
+      return this.success;
+    }
+
+    public batch_result setSuccess(List<MetadataResult> success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((List<MetadataResult>)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof batch_result)
+        return this.equals((batch_result)that);
+      return false;
+    }
+
+    public boolean equals(batch_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(batch_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("batch_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class batch_resultStandardSchemeFactory implements SchemeFactory {
+      public batch_resultStandardScheme getScheme() {
+        return new batch_resultStandardScheme();
+      }
+    }
+
+    private static class batch_resultStandardScheme extends StandardScheme<batch_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, batch_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list48 = iprot.readListBegin();
+                  struct.success = new ArrayList<MetadataResult>(_list48.size);
+                  for (int _i49 = 0; _i49 < _list48.size; ++_i49)
+                  {
+                    MetadataResult _elem50;
+                    _elem50 = new MetadataResult();
+                    _elem50.read(iprot);
+                    struct.success.add(_elem50);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, batch_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.success.size()));
+            for (MetadataResult _iter51 : struct.success)
+            {
+              _iter51.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class batch_resultTupleSchemeFactory implements SchemeFactory {
+      public batch_resultTupleScheme getScheme() {
+        return new batch_resultTupleScheme();
+      }
+    }
+
+    private static class batch_resultTupleScheme extends TupleScheme<batch_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, batch_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          {
+            oprot.writeI32(struct.success.size());
+            for (MetadataResult _iter52 : struct.success)
+            {
+              _iter52.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, batch_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list53 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.success = new ArrayList<MetadataResult>(_list53.size);
+            for (int _i54 = 0; _i54 < _list53.size; ++_i54)
+            {
+              MetadataResult _elem55;
+              _elem55 = new MetadataResult();
+              _elem55.read(iprot);
+              struct.success.add(_elem55);
+            }
+          }
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class summarize_args implements org.apache.thrift.TBase<summarize_args, summarize_args._Fields>, java.io.Serializable, Cloneable, Comparable<summarize_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("summarize_args");
+
+    private static final org.apache.thrift.protocol.TField PATH_FIELD_DESC = new org.apache.thrift.protocol.TField("path", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField MAX_DEPTH_FIELD_DESC = new org.apache.thrift.protocol.TField("maxDepth", org.apache.thrift.protocol.TType.I32, (short)2);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new summarize_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new summarize_argsTupleSchemeFactory());
+    }
+
+    public String path; // required
+    public int maxDepth; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      PATH((short)1, "path"),
+      MAX_DEPTH((short)2, "maxDepth");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // PATH
+            return PATH;
+          case 2: // MAX_DEPTH
+            return MAX_DEPTH;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __MAX_DEPTH_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.PATH, new org.apache.thrift.meta_data.FieldMetaData("path", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.MAX_DEPTH, new org.apache.thrift.meta_data.FieldMetaData("maxDepth", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(summarize_args.class, metaDataMap);
+    }
+
+    public summarize_args() {
+    }
+
+    public summarize_args(
+      String path,
+      int maxDepth)
+    {
+      this();
+      this.path = path;
+      this.maxDepth = maxDepth;
+      setMaxDepthIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public summarize_args(summarize_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      if (other.isSetPath()) {
+        this.path = other.path;
+      }
+      this.maxDepth = other.maxDepth;
+    }
+
+    public summarize_args deepCopy() {
+      return new summarize_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.path = null;
+      setMaxDepthIsSet(false);
+      this.maxDepth = 0;
+    }
+
+    public String getPath() {
+      return this.path;
+    }
+
+    public summarize_args setPath(String path) {
+      this.path = path;
+      return this;
+    }
+
+    public void unsetPath() {
+      this.path = null;
+    }
+
+    /** Returns true if field path is set (has been assigned a value) and false otherwise */
+    public boolean isSetPath() {
+      return this.path != null;
+    }
+
+    public void setPathIsSet(boolean value) {
+      if (!value) {
+        this.path = null;
+      }
+    }
+
+    public int getMaxDepth() {
+      return this.maxDepth;
+    }
+
+    public summarize_args setMaxDepth(int maxDepth) {
+      this.maxDepth = maxDepth;
+      setMaxDepthIsSet(true);
+      return this;
+    }
+
+    public void unsetMaxDepth() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __MAX_DEPTH_ISSET_ID);
+    }
+
+    /** Returns true if field maxDepth is set (has been assigned a value) and false otherwise */
+    public boolean isSetMaxDepth() {
+      return EncodingUtils.testBit(__isset_bitfield, __MAX_DEPTH_ISSET_ID);
+    }
+
+    public void setMaxDepthIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __MAX_DEPTH_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case PATH:
+        if (value == null) {
+          unsetPath();
+        } else {
+          setPath((String)value);
+        }
+        break;
+
+      case MAX_DEPTH:
+        if (value == null) {
+          unsetMaxDepth();
+        } else {
+          setMaxDepth((Integer)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case PATH:
+        return getPath();
+
+      case MAX_DEPTH:
+        return Integer.valueOf(getMaxDepth());
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case PATH:
+        return isSetPath();
+      case MAX_DEPTH:
+        return isSetMaxDepth();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof summarize_args)
+        return this.equals((summarize_args)that);
+      return false;
+    }
+
+    public boolean equals(summarize_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_path = true && this.isSetPath();
+      boolean that_present_path = true && that.isSetPath();
+      if (this_present_path || that_present_path) {
+        if (!(this_present_path && that_present_path))
+          return false;
+        if (!this.path.equals(that.path))
+          return false;
+      }
+
+      boolean this_present_maxDepth = true;
+      boolean that_present_maxDepth = true;
+      if (this_present_maxDepth || that_present_maxDepth) {
+        if (!(this_present_maxDepth && that_present_maxDepth))
+          return false;
+        if (this.maxDepth != that.maxDepth)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(summarize_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetPath()).compareTo(other.isSetPath());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetPath()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.path, other.path);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetMaxDepth()).compareTo(other.isSetMaxDepth());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMaxDepth()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.maxDepth, other.maxDepth);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("summarize_args(");
+      boolean first = true;
+
+      sb.append("path:");
+      if (this.path == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.path);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("maxDepth:");
+      sb.append(this.maxDepth);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class summarize_argsStandardSchemeFactory implements SchemeFactory {
+      public summarize_argsStandardScheme getScheme() {
+        return new summarize_argsStandardScheme();
+      }
+    }
+
+    private static class summarize_argsStandardScheme extends StandardScheme<summarize_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, summarize_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // PATH
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.path = iprot.readString();
+                struct.setPathIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // MAX_DEPTH
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.maxDepth = iprot.readI32();
+                struct.setMaxDepthIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, summarize_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.path != null) {
+          oprot.writeFieldBegin(PATH_FIELD_DESC);
+          oprot.writeString(struct.path);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(MAX_DEPTH_FIELD_DESC);
+        oprot.writeI32(struct.maxDepth);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class summarize_argsTupleSchemeFactory implements SchemeFactory {
+      public summarize_argsTupleScheme getScheme() {
+        return new summarize_argsTupleScheme();
+      }
+    }
+
+    private static class summarize_argsTupleScheme extends TupleScheme<summarize_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, summarize_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetPath()) {
+          optionals.set(0);
+        }
+        if (struct.isSetMaxDepth()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetPath()) {
+          oprot.writeString(struct.path);
+        }
+        if (struct.isSetMaxDepth()) {
+          oprot.writeI32(struct.maxDepth);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, summarize_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.path = iprot.readString();
+          struct.setPathIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.maxDepth = iprot.readI32();
+          struct.setMaxDepthIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class summarize_result implements org.apache.thrift.TBase<summarize_result, summarize_result._Fields>, java.io.Serializable, Cloneable, Comparable<summarize_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("summarize_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new summarize_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new summarize_resultTupleSchemeFactory());
+    }
+
+    public TreeSummary success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TreeSummary.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(summarize_result.class, metaDataMap);
+    }
+
+    public summarize_result() {
+    }
+
+    public summarize_result(
+      TreeSummary success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public summarize_result(summarize_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new TreeSummary(other.success);
+      }
+    }
+
+    public summarize_result deepCopy() {
+      return new summarize_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public TreeSummary getSuccess() {
+      return this.success;
+    }
+
+    public summarize_result setSuccess(TreeSummary success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((TreeSummary)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof summarize_result)
+        return this.equals((summarize_result)that);
+      return false;
+    }
+
+    public boolean equals(summarize_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(summarize_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("summarize_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class summarize_resultStandardSchemeFactory implements SchemeFactory {
+      public summarize_resultStandardScheme getScheme() {
+        return new summarize_resultStandardScheme();
+      }
+    }
+
+    private static class summarize_resultStandardScheme extends StandardScheme<summarize_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, summarize_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new TreeSummary();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, summarize_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class summarize_resultTupleSchemeFactory implements SchemeFactory {
+      public summarize_resultTupleScheme getScheme() {
+        return new summarize_resultTupleScheme();
+      }
+    }
+
+    private static class summarize_resultTupleScheme extends TupleScheme<summarize_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, summarize_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, summarize_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new TreeSummary();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class listRecursive_args implements org.apache.thrift.TBase<listRecursive_args, listRecursive_args._Fields>, java.io.Serializable, Cloneable, Comparable<listRecursive_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("listRecursive_args");
+
+    private static final org.apache.thrift.protocol.TField DIRECTORY_FIELD_DESC = new org.apache.thrift.protocol.TField("directory", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField MAX_DEPTH_FIELD_DESC = new org.apache.thrift.protocol.TField("maxDepth", org.apache.thrift.protocol.TType.I32, (short)2);
+    private static final org.apache.thrift.protocol.TField BATCH_SIZE_FIELD_DESC = new org.apache.thrift.protocol.TField("batchSize", org.apache.thrift.protocol.TType.I32, (short)3);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new listRecursive_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new listRecursive_argsTupleSchemeFactory());
+    }
+
+    public String directory; // required
+    public int maxDepth; // required
+    public int batchSize; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      DIRECTORY((short)1, "directory"),
+      MAX_DEPTH((short)2, "maxDepth"),
+      BATCH_SIZE((short)3, "batchSize");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // DIRECTORY
+            return DIRECTORY;
+          case 2: // MAX_DEPTH
+            return MAX_DEPTH;
+          case 3: // BATCH_SIZE
+            return BATCH_SIZE;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __MAX_DEPTH_ISSET_ID = 0;
+    private static final int __BATCH_SIZE_ISSET_ID = 1;
+    private byte __isset_bitfield = 0;
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.DIRECTORY, new org.apache.thrift.meta_data.FieldMetaData("directory", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.MAX_DEPTH, new org.apache.thrift.meta_data.FieldMetaData("maxDepth", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.BATCH_SIZE, new org.apache.thrift.meta_data.FieldMetaData("batchSize", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(listRecursive_args.class, metaDataMap);
+    }
+
+    public listRecursive_args() {
+    }
+
+    public listRecursive_args(
+      String directory,
+      int maxDepth,
+      int batchSize)
+    {
+      this();
+      this.directory = directory;
+      this.maxDepth = maxDepth;
+      setMaxDepthIsSet(true);
+      this.batchSize = batchSize;
+      setBatchSizeIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public listRecursive_args(listRecursive_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      if (other.isSetDirectory()) {
+        this.directory = other.directory;
+      }
+      this.maxDepth = other.maxDepth;
+      this.batchSize = other.batchSize;
+    }
+
+    public listRecursive_args deepCopy() {
+      return new listRecursive_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.directory = null;
+      setMaxDepthIsSet(false);
+      this.maxDepth = 0;
+      setBatchSizeIsSet(false);
+      this.batchSize = 0;
+    }
+
+    public String getDirectory() {
+      return this.directory;
+    }
+
+    public listRecursive_args setDirectory(String directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    public void unsetDirectory() {
+      this.directory = null;
+    }
+
+    /** Returns true if field directory is set (has been assigned a value) and false otherwise */
+    public boolean isSetDirectory() {
+      return this.directory != null;
+    }
+
+    public void setDirectoryIsSet(boolean value) {
+      if (!value) {
+        this.directory = null;
+      }
+    }
+
+    public int getMaxDepth() {
+      return this.maxDepth;
+    }
+
+    public listRecursive_args setMaxDepth(int maxDepth) {
+      this.maxDepth = maxDepth;
+      setMaxDepthIsSet(true);
+      return this;
+    }
+
+    public void unsetMaxDepth() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __MAX_DEPTH_ISSET_ID);
+    }
+
+    /** Returns true if field maxDepth is set (has been assigned a value) and false otherwise */
+    public boolean isSetMaxDepth() {
+      return EncodingUtils.testBit(__isset_bitfield, __MAX_DEPTH_ISSET_ID);
+    }
+
+    public void setMaxDepthIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __MAX_DEPTH_ISSET_ID, value);
+    }
+
+    public int getBatchSize() {
+      return this.batchSize;
+    }
+
+    public listRecursive_args setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+      setBatchSizeIsSet(true);
+      return this;
+    }
+
+    public void unsetBatchSize() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __BATCH_SIZE_ISSET_ID);
+    }
+
+    /** Returns true if field batchSize is set (has been assigned a value) and false otherwise */
+    public boolean isSetBatchSize() {
+      return EncodingUtils.testBit(__isset_bitfield, __BATCH_SIZE_ISSET_ID);
+    }
+
+    public void setBatchSizeIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __BATCH_SIZE_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case DIRECTORY:
+        if (value == null) {
+          unsetDirectory();
+        } else {
+          setDirectory((String)value);
+        }
+        break;
+
+      case MAX_DEPTH:
+        if (value == null) {
+          unsetMaxDepth();
+        } else {
+          setMaxDepth((Integer)value);
+        }
+        break;
+
+      case BATCH_SIZE:
+        if (value == null) {
+          unsetBatchSize();
+        } else {
+          setBatchSize((Integer)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case DIRECTORY:
+        return getDirectory();
+
+      case MAX_DEPTH:
+        return Integer.valueOf(getMaxDepth());
+
+      case BATCH_SIZE:
+        return Integer.valueOf(getBatchSize());
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case DIRECTORY:
+        return isSetDirectory();
+      case MAX_DEPTH:
+        return isSetMaxDepth();
+      case BATCH_SIZE:
+        return isSetBatchSize();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof listRecursive_args)
+        return this.equals((listRecursive_args)that);
+      return false;
+    }
+
+    public boolean equals(listRecursive_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_directory = true && this.isSetDirectory();
+      boolean that_present_directory = true && that.isSetDirectory();
+      if (this_present_directory || that_present_directory) {
+        if (!(this_present_directory && that_present_directory))
+          return false;
+        if (!this.directory.equals(that.directory))
+          return false;
+      }
+
+      boolean this_present_maxDepth = true;
+      boolean that_present_maxDepth = true;
+      if (this_present_maxDepth || that_present_maxDepth) {
+        if (!(this_present_maxDepth && that_present_maxDepth))
+          return false;
+        if (this.maxDepth != that.maxDepth)
+          return false;
+      }
+
+      boolean this_present_batchSize = true;
+      boolean that_present_batchSize = true;
+      if (this_present_batchSize || that_present_batchSize) {
+        if (!(this_present_batchSize && that_present_batchSize))
+          return false;
+        if (this.batchSize != that.batchSize)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(listRecursive_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetDirectory()).compareTo(other.isSetDirectory());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetDirectory()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.directory, other.directory);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetMaxDepth()).compareTo(other.isSetMaxDepth());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMaxDepth()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.maxDepth, other.maxDepth);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetBatchSize()).compareTo(other.isSetBatchSize());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetBatchSize()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.batchSize, other.batchSize);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("listRecursive_args(");
+      boolean first = true;
+
+      sb.append("directory:");
+      if (this.directory == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.directory);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("maxDepth:");
+      sb.append(this.maxDepth);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("batchSize:");
+      sb.append(this.batchSize);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class listRecursive_argsStandardSchemeFactory implements SchemeFactory {
+      public listRecursive_argsStandardScheme getScheme() {
+        return new listRecursive_argsStandardScheme();
+      }
+    }
+
+    private static class listRecursive_argsStandardScheme extends StandardScheme<listRecursive_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, listRecursive_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // DIRECTORY
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.directory = iprot.readString();
+                struct.setDirectoryIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // MAX_DEPTH
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.maxDepth = iprot.readI32();
+                struct.setMaxDepthIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // BATCH_SIZE
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.batchSize = iprot.readI32();
+                struct.setBatchSizeIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, listRecursive_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.directory != null) {
+          oprot.writeFieldBegin(DIRECTORY_FIELD_DESC);
+          oprot.writeString(struct.directory);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(MAX_DEPTH_FIELD_DESC);
+        oprot.writeI32(struct.maxDepth);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(BATCH_SIZE_FIELD_DESC);
+        oprot.writeI32(struct.batchSize);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class listRecursive_argsTupleSchemeFactory implements SchemeFactory {
+      public listRecursive_argsTupleScheme getScheme() {
+        return new listRecursive_argsTupleScheme();
+      }
+    }
+
+    private static class listRecursive_argsTupleScheme extends TupleScheme<listRecursive_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, listRecursive_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetDirectory()) {
+          optionals.set(0);
+        }
+        if (struct.isSetMaxDepth()) {
+          optionals.set(1);
+        }
+        if (struct.isSetBatchSize()) {
+          optionals.set(2);
+        }
+        oprot.writeBitSet(optionals, 3);
+        if (struct.isSetDirectory()) {
+          oprot.writeString(struct.directory);
+        }
+        if (struct.isSetMaxDepth()) {
+          oprot.writeI32(struct.maxDepth);
+        }
+        if (struct.isSetBatchSize()) {
+          oprot.writeI32(struct.batchSize);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, listRecursive_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(3);
+        if (incoming.get(0)) {
+          struct.directory = iprot.readString();
+          struct.setDirectoryIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.maxDepth = iprot.readI32();
+          struct.setMaxDepthIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.batchSize = iprot.readI32();
+          struct.setBatchSizeIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class listRecursive_result implements org.apache.thrift.TBase<listRecursive_result, listRecursive_result._Fields>, java.io.Serializable, Cloneable, Comparable<listRecursive_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("listRecursive_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new listRecursive_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new listRecursive_resultTupleSchemeFactory());
+    }
+
+    public RecursiveListing success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, RecursiveListing.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(listRecursive_result.class, metaDataMap);
+    }
+
+    public listRecursive_result() {
+    }
+
+    public listRecursive_result(
+      RecursiveListing success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public listRecursive_result(listRecursive_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new RecursiveListing(other.success);
+      }
+    }
+
+    public listRecursive_result deepCopy() {
+      return new listRecursive_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public RecursiveListing getSuccess() {
+      return this.success;
+    }
+
+    public listRecursive_result setSuccess(RecursiveListing success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((RecursiveListing)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof listRecursive_result)
+        return this.equals((listRecursive_result)that);
+      return false;
+    }
+
+    public boolean equals(listRecursive_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(listRecursive_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("listRecursive_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class listRecursive_resultStandardSchemeFactory implements SchemeFactory {
+      public listRecursive_resultStandardScheme getScheme() {
+        return new listRecursive_resultStandardScheme();
+      }
+    }
+
+    private static class listRecursive_resultStandardScheme extends StandardScheme<listRecursive_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, listRecursive_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new RecursiveListing();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, listRecursive_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class listRecursive_resultTupleSchemeFactory implements SchemeFactory {
+      public listRecursive_resultTupleScheme getScheme() {
+        return new listRecursive_resultTupleScheme();
+      }
+    }
+
+    private static class listRecursive_resultTupleScheme extends TupleScheme<listRecursive_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, listRecursive_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, listRecursive_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new RecursiveListing();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class continueListing_args implements org.apache.thrift.TBase<continueListing_args, continueListing_args._Fields>, java.io.Serializable, Cloneable, Comparable<continueListing_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("continueListing_args");
+
+    private static final org.apache.thrift.protocol.TField CURSOR_FIELD_DESC = new org.apache.thrift.protocol.TField("cursor", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField BATCH_SIZE_FIELD_DESC = new org.apache.thrift.protocol.TField("batchSize", org.apache.thrift.protocol.TType.I32, (short)2);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new continueListing_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new continueListing_argsTupleSchemeFactory());
+    }
+
+    public String cursor; // required
+    public int batchSize; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      CURSOR((short)1, "cursor"),
+      BATCH_SIZE((short)2, "batchSize");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // CURSOR
+            return CURSOR;
+          case 2: // BATCH_SIZE
+            return BATCH_SIZE;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __BATCH_SIZE_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.CURSOR, new org.apache.thrift.meta_data.FieldMetaData("cursor", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.BATCH_SIZE, new org.apache.thrift.meta_data.FieldMetaData("batchSize", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(continueListing_args.class, metaDataMap);
+    }
+
+    public continueListing_args() {
+    }
+
+    public continueListing_args(
+      String cursor,
+      int batchSize)
+    {
+      this();
+      this.cursor = cursor;
+      this.batchSize = batchSize;
+      setBatchSizeIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public continueListing_args(continueListing_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      if (other.isSetCursor()) {
+        this.cursor = other.cursor;
+      }
+      this.batchSize = other.batchSize;
+    }
+
+    public continueListing_args deepCopy() {
+      return new continueListing_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.cursor = null;
+      setBatchSizeIsSet(false);
+      this.batchSize = 0;
+    }
+
+    public String getCursor() {
+      return this.cursor;
+    }
+
+    public continueListing_args setCursor(String cursor) {
+      this.cursor = cursor;
+      return this;
+    }
+
+    public void unsetCursor() {
+      this.cursor = null;
+    }
+
+    /** Returns true if field cursor is set (has been assigned a value) and false otherwise */
+    public boolean isSetCursor() {
+      return this.cursor != null;
+    }
+
+    public void setCursorIsSet(boolean value) {
+      if (!value) {
+        this.cursor = null;
+      }
+    }
+
+    public int getBatchSize() {
+      return this.batchSize;
+    }
+
+    public continueListing_args setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+      setBatchSizeIsSet(true);
+      return this;
+    }
+
+    public void unsetBatchSize() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __BATCH_SIZE_ISSET_ID);
+    }
+
+    /** Returns true if field batchSize is set (has been assigned a value) and false otherwise */
+    public boolean isSetBatchSize() {
+      return EncodingUtils.testBit(__isset_bitfield, __BATCH_SIZE_ISSET_ID);
+    }
+
+    public void setBatchSizeIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __BATCH_SIZE_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case CURSOR:
+        if (value == null) {
+          unsetCursor();
+        } else {
+          setCursor((String)value);
+        }
+        break;
+
+      case BATCH_SIZE:
+        if (value == null) {
+          unsetBatchSize();
+        } else {
+          setBatchSize((Integer)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case CURSOR:
+        return getCursor();
+
+      case BATCH_SIZE:
+        return Integer.valueOf(getBatchSize());
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case CURSOR:
+        return isSetCursor();
+      case BATCH_SIZE:
+        return isSetBatchSize();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof continueListing_args)
+        return this.equals((continueListing_args)that);
+      return false;
+    }
+
+    public boolean equals(continueListing_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_cursor = true && this.isSetCursor();
+      boolean that_present_cursor = true && that.isSetCursor();
+      if (this_present_cursor || that_present_cursor) {
+        if (!(this_present_cursor && that_present_cursor))
+          return false;
+        if (!this.cursor.equals(that.cursor))
+          return false;
+      }
+
+      boolean this_present_batchSize = true;
+      boolean that_present_batchSize = true;
+      if (this_present_batchSize || that_present_batchSize) {
+        if (!(this_present_batchSize && that_present_batchSize))
+          return false;
+        if (this.batchSize != that.batchSize)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(continueListing_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetCursor()).compareTo(other.isSetCursor());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetCursor()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.cursor, other.cursor);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetBatchSize()).compareTo(other.isSetBatchSize());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetBatchSize()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.batchSize, other.batchSize);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("continueListing_args(");
+      boolean first = true;
+
+      sb.append("cursor:");
+      if (this.cursor == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.cursor);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("batchSize:");
+      sb.append(this.batchSize);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class continueListing_argsStandardSchemeFactory implements SchemeFactory {
+      public continueListing_argsStandardScheme getScheme() {
+        return new continueListing_argsStandardScheme();
+      }
+    }
+
+    private static class continueListing_argsStandardScheme extends StandardScheme<continueListing_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, continueListing_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // CURSOR
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.cursor = iprot.readString();
+                struct.setCursorIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // BATCH_SIZE
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.batchSize = iprot.readI32();
+                struct.setBatchSizeIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, continueListing_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.cursor != null) {
+          oprot.writeFieldBegin(CURSOR_FIELD_DESC);
+          oprot.writeString(struct.cursor);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(BATCH_SIZE_FIELD_DESC);
+        oprot.writeI32(struct.batchSize);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class continueListing_argsTupleSchemeFactory implements SchemeFactory {
+      public continueListing_argsTupleScheme getScheme() {
+        return new continueListing_argsTupleScheme();
+      }
+    }
+
+    private static class continueListing_argsTupleScheme extends TupleScheme<continueListing_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, continueListing_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetCursor()) {
+          optionals.set(0);
+        }
+        if (struct.isSetBatchSize()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetCursor()) {
+          oprot.writeString(struct.cursor);
+        }
+        if (struct.isSetBatchSize()) {
+          oprot.writeI32(struct.batchSize);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, continueListing_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.cursor = iprot.readString();
+          struct.setCursorIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.batchSize = iprot.readI32();
+          struct.setBatchSizeIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class continueListing_result implements org.apache.thrift.TBase<continueListing_result, continueListing_result._Fields>, java.io.Serializable, Cloneable, Comparable<continueListing_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("continueListing_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new continueListing_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new continueListing_resultTupleSchemeFactory());
+    }
+
+    public RecursiveListing success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, RecursiveListing.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(continueListing_result.class, metaDataMap);
+    }
+
+    public continueListing_result() {
+    }
+
+    public continueListing_result(
+      RecursiveListing success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public continueListing_result(continueListing_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new RecursiveListing(other.success);
+      }
+    }
+
+    public continueListing_result deepCopy() {
+      return new continueListing_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public RecursiveListing getSuccess() {
+      return this.success;
+    }
+
+    public continueListing_result setSuccess(RecursiveListing success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((RecursiveListing)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof continueListing_result)
+        return this.equals((continueListing_result)that);
+      return false;
+    }
+
+    public boolean equals(continueListing_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(continueListing_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("continueListing_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class continueListing_resultStandardSchemeFactory implements SchemeFactory {
+      public continueListing_resultStandardScheme getScheme() {
+        return new continueListing_resultStandardScheme();
+      }
+    }
+
+    private static class continueListing_resultStandardScheme extends StandardScheme<continueListing_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, continueListing_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new RecursiveListing();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
       }
 
-      protected boolean isOneway() {
-        return false;
-      }
+      public void write(org.apache.thrift.protocol.TProtocol oprot, continueListing_result struct) throws org.apache.thrift.TException {
+        struct.validate();
 
-      public ls_result getResult(I iface, ls_args args) throws org.apache.thrift.TException {
-        ls_result result = new ls_result();
-        result.success = iface.ls(args.directory);
-        return result;
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
       }
-    }
-
-  }
-
-  public static class AsyncProcessor<I extends AsyncIface> extends org.apache.thrift.TBaseAsyncProcessor<I> {
-    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncProcessor.class.getName());
-    public AsyncProcessor(I iface) {
-      super(iface, getProcessMap(new HashMap<String, org.apache.thrift.AsyncProcessFunction<I, ? extends org.apache.thrift.TBase, ?>>()));
-    }
-
-    protected AsyncProcessor(I iface, Map<String,  org.apache.thrift.AsyncProcessFunction<I, ? extends  org.apache.thrift.TBase, ?>> processMap) {
-      super(iface, getProcessMap(processMap));
-    }
 
-    private static <I extends AsyncIface> Map<String,  org.apache.thrift.AsyncProcessFunction<I, ? extends  org.apache.thrift.TBase,?>> getProcessMap(Map<String,  org.apache.thrift.AsyncProcessFunction<I, ? extends  org.apache.thrift.TBase, ?>> processMap) {
-      processMap.put("ls", new ls());
-      return processMap;
     }
 
-    public static class ls<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, ls_args, String> {
-      public ls() {
-        super("ls");
-      }
-
-      public ls_args getEmptyArgsInstance() {
-        return new ls_args();
+    private static class continueListing_resultTupleSchemeFactory implements SchemeFactory {
+      public continueListing_resultTupleScheme getScheme() {
+        return new continueListing_resultTupleScheme();
       }
+    }
 
-      public AsyncMethodCallback<String> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
-        final org.apache.thrift.AsyncProcessFunction fcall = this;
-        return new AsyncMethodCallback<String>() { 
-          public void onComplete(String o) {
-            ls_result result = new ls_result();
-            result.success = o;
-            try {
-              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
-              return;
-            } catch (Exception e) {
-              LOGGER.error("Exception writing to internal frame buffer", e);
-            }
-            fb.close();
-          }
-          public void onError(Exception e) {
-            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
-            org.apache.thrift.TBase msg;
-            ls_result result = new ls_result();
-            {
-              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
-              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
-            }
-            try {
-              fcall.sendResponse(fb,msg,msgType,seqid);
-              return;
-            } catch (Exception ex) {
-              LOGGER.error("Exception writing to internal frame buffer", ex);
-            }
-            fb.close();
-          }
-        };
-      }
+    private static class continueListing_resultTupleScheme extends TupleScheme<continueListing_result> {
 
-      protected boolean isOneway() {
-        return false;
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, continueListing_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
       }
 
-      public void start(I iface, ls_args args, org.apache.thrift.async.AsyncMethodCallback<String> resultHandler) throws TException {
-        iface.ls(args.directory,resultHandler);
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, continueListing_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new RecursiveListing();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
       }
     }
 
   }
 
-  public static class ls_args implements org.apache.thrift.TBase<ls_args, ls_args._Fields>, java.io.Serializable, Cloneable, Comparable<ls_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("ls_args");
+  public static class getDelegationToken_args implements org.apache.thrift.TBase<getDelegationToken_args, getDelegationToken_args._Fields>, java.io.Serializable, Cloneable, Comparable<getDelegationToken_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getDelegationToken_args");
 
-    private static final org.apache.thrift.protocol.TField DIRECTORY_FIELD_DESC = new org.apache.thrift.protocol.TField("directory", org.apache.thrift.protocol.TType.STRING, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new ls_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new ls_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new getDelegationToken_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getDelegationToken_argsTupleSchemeFactory());
     }
 
-    public String directory; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      DIRECTORY((short)1, "directory");
+;
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -276,8 +7993,6 @@ public class HdfsService {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // DIRECTORY
-            return DIRECTORY;
           default:
             return null;
         }
@@ -321,82 +8036,34 @@ public class HdfsService {
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.DIRECTORY, new org.apache.thrift.meta_data.FieldMetaData("directory", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ls_args.class, metaDataMap);
-    }
-
-    public ls_args() {
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getDelegationToken_args.class, metaDataMap);
     }
 
-    public ls_args(
-      String directory)
-    {
-      this();
-      this.directory = directory;
+    public getDelegationToken_args() {
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public ls_args(ls_args other) {
-      if (other.isSetDirectory()) {
-        this.directory = other.directory;
-      }
+    public getDelegationToken_args(getDelegationToken_args other) {
     }
 
-    public ls_args deepCopy() {
-      return new ls_args(this);
+    public getDelegationToken_args deepCopy() {
+      return new getDelegationToken_args(this);
     }
 
     @Override
     public void clear() {
-      this.directory = null;
-    }
-
-    public String getDirectory() {
-      return this.directory;
-    }
-
-    public ls_args setDirectory(String directory) {
-      this.directory = directory;
-      return this;
-    }
-
-    public void unsetDirectory() {
-      this.directory = null;
-    }
-
-    /** Returns true if field directory is set (has been assigned a value) and false otherwise */
-    public boolean isSetDirectory() {
-      return this.directory != null;
-    }
-
-    public void setDirectoryIsSet(boolean value) {
-      if (!value) {
-        this.directory = null;
-      }
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
-      case DIRECTORY:
-        if (value == null) {
-          unsetDirectory();
-        } else {
-          setDirectory((String)value);
-        }
-        break;
-
       }
     }
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
-      case DIRECTORY:
-        return getDirectory();
-
       }
       throw new IllegalStateException();
     }
@@ -408,8 +8075,6 @@ public class HdfsService {
       }
 
       switch (field) {
-      case DIRECTORY:
-        return isSetDirectory();
       }
       throw new IllegalStateException();
     }
@@ -418,24 +8083,15 @@ public class HdfsService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof ls_args)
-        return this.equals((ls_args)that);
+      if (that instanceof getDelegationToken_args)
+        return this.equals((getDelegationToken_args)that);
       return false;
     }
 
-    public boolean equals(ls_args that) {
+    public boolean equals(getDelegationToken_args that) {
       if (that == null)
         return false;
 
-      boolean this_present_directory = true && this.isSetDirectory();
-      boolean that_present_directory = true && that.isSetDirectory();
-      if (this_present_directory || that_present_directory) {
-        if (!(this_present_directory && that_present_directory))
-          return false;
-        if (!this.directory.equals(that.directory))
-          return false;
-      }
-
       return true;
     }
 
@@ -445,23 +8101,13 @@ public class HdfsService {
     }
 
     @Override
-    public int compareTo(ls_args other) {
+    public int compareTo(getDelegationToken_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
 
-      lastComparison = Boolean.valueOf(isSetDirectory()).compareTo(other.isSetDirectory());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetDirectory()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.directory, other.directory);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
       return 0;
     }
 
@@ -479,16 +8125,9 @@ public class HdfsService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("ls_args(");
+      StringBuilder sb = new StringBuilder("getDelegationToken_args(");
       boolean first = true;
 
-      sb.append("directory:");
-      if (this.directory == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.directory);
-      }
-      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -514,15 +8153,15 @@ public class HdfsService {
       }
     }
 
-    private static class ls_argsStandardSchemeFactory implements SchemeFactory {
-      public ls_argsStandardScheme getScheme() {
-        return new ls_argsStandardScheme();
+    private static class getDelegationToken_argsStandardSchemeFactory implements SchemeFactory {
+      public getDelegationToken_argsStandardScheme getScheme() {
+        return new getDelegationToken_argsStandardScheme();
       }
     }
 
-    private static class ls_argsStandardScheme extends StandardScheme<ls_args> {
+    private static class getDelegationToken_argsStandardScheme extends StandardScheme<getDelegationToken_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, ls_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getDelegationToken_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -532,14 +8171,6 @@ public class HdfsService {
             break;
           }
           switch (schemeField.id) {
-            case 1: // DIRECTORY
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
-                struct.directory = iprot.readString();
-                struct.setDirectoryIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -551,64 +8182,46 @@ public class HdfsService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, ls_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getDelegationToken_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.directory != null) {
-          oprot.writeFieldBegin(DIRECTORY_FIELD_DESC);
-          oprot.writeString(struct.directory);
-          oprot.writeFieldEnd();
-        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class ls_argsTupleSchemeFactory implements SchemeFactory {
-      public ls_argsTupleScheme getScheme() {
-        return new ls_argsTupleScheme();
+    private static class getDelegationToken_argsTupleSchemeFactory implements SchemeFactory {
+      public getDelegationToken_argsTupleScheme getScheme() {
+        return new getDelegationToken_argsTupleScheme();
       }
     }
 
-    private static class ls_argsTupleScheme extends TupleScheme<ls_args> {
+    private static class getDelegationToken_argsTupleScheme extends TupleScheme<getDelegationToken_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, ls_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, getDelegationToken_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
-        BitSet optionals = new BitSet();
-        if (struct.isSetDirectory()) {
-          optionals.set(0);
-        }
-        oprot.writeBitSet(optionals, 1);
-        if (struct.isSetDirectory()) {
-          oprot.writeString(struct.directory);
-        }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, ls_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, getDelegationToken_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(1);
-        if (incoming.get(0)) {
-          struct.directory = iprot.readString();
-          struct.setDirectoryIsSet(true);
-        }
       }
     }
 
   }
 
-  public static class ls_result implements org.apache.thrift.TBase<ls_result, ls_result._Fields>, java.io.Serializable, Cloneable, Comparable<ls_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("ls_result");
+  public static class getDelegationToken_result implements org.apache.thrift.TBase<getDelegationToken_result, getDelegationToken_result._Fields>, java.io.Serializable, Cloneable, Comparable<getDelegationToken_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getDelegationToken_result");
 
     private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new ls_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new ls_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new getDelegationToken_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getDelegationToken_resultTupleSchemeFactory());
     }
 
     public String success; // required
@@ -678,13 +8291,13 @@ public class HdfsService {
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ls_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getDelegationToken_result.class, metaDataMap);
     }
 
-    public ls_result() {
+    public getDelegationToken_result() {
     }
 
-    public ls_result(
+    public getDelegationToken_result(
       String success)
     {
       this();
@@ -694,14 +8307,14 @@ public class HdfsService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public ls_result(ls_result other) {
+    public getDelegationToken_result(getDelegationToken_result other) {
       if (other.isSetSuccess()) {
         this.success = other.success;
       }
     }
 
-    public ls_result deepCopy() {
-      return new ls_result(this);
+    public getDelegationToken_result deepCopy() {
+      return new getDelegationToken_result(this);
     }
 
     @Override
@@ -713,7 +8326,7 @@ public class HdfsService {
       return this.success;
     }
 
-    public ls_result setSuccess(String success) {
+    public getDelegationToken_result setSuccess(String success) {
       this.success = success;
       return this;
     }
@@ -772,12 +8385,12 @@ public class HdfsService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof ls_result)
-        return this.equals((ls_result)that);
+      if (that instanceof getDelegationToken_result)
+        return this.equals((getDelegationToken_result)that);
       return false;
     }
 
-    public boolean equals(ls_result that) {
+    public boolean equals(getDelegationToken_result that) {
       if (that == null)
         return false;
 
@@ -799,7 +8412,7 @@ public class HdfsService {
     }
 
     @Override
-    public int compareTo(ls_result other) {
+    public int compareTo(getDelegationToken_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -833,7 +8446,7 @@ public class HdfsService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("ls_result(");
+      StringBuilder sb = new StringBuilder("getDelegationToken_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -868,15 +8481,15 @@ public class HdfsService {
       }
     }
 
-    private static class ls_resultStandardSchemeFactory implements SchemeFactory {
-      public ls_resultStandardScheme getScheme() {
-        return new ls_resultStandardScheme();
+    private static class getDelegationToken_resultStandardSchemeFactory implements SchemeFactory {
+      public getDelegationToken_resultStandardScheme getScheme() {
+        return new getDelegationToken_resultStandardScheme();
       }
     }
 
-    private static class ls_resultStandardScheme extends StandardScheme<ls_result> {
+    private static class getDelegationToken_resultStandardScheme extends StandardScheme<getDelegationToken_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, ls_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getDelegationToken_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -905,7 +8518,7 @@ public class HdfsService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, ls_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getDelegationToken_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -920,16 +8533,16 @@ public class HdfsService {
 
     }
 
-    private static class ls_resultTupleSchemeFactory implements SchemeFactory {
-      public ls_resultTupleScheme getScheme() {
-        return new ls_resultTupleScheme();
+    private static class getDelegationToken_resultTupleSchemeFactory implements SchemeFactory {
+      public getDelegationToken_resultTupleScheme getScheme() {
+        return new getDelegationToken_resultTupleScheme();
       }
     }
 
-    private static class ls_resultTupleScheme extends TupleScheme<ls_result> {
+    private static class getDelegationToken_resultTupleScheme extends TupleScheme<getDelegationToken_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, ls_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, getDelegationToken_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -942,7 +8555,7 @@ public class HdfsService {
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, ls_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, getDelegationToken_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
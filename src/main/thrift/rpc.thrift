@@ -1,5 +1,126 @@
 namespace java joshelser.thrift
 
+// One page of a directory listing. Directories have a trailing '/'.
+// When the directory has more entries, cursor is the name to pass as
+// startAfter to fetch the next page.
+struct DirectoryPage {
+    1: list<string> names,
+    2: optional string cursor
+}
+
+// Metadata for a single file or directory, copied from its FileStatus.
+// Times are milliseconds since the epoch, permission is the octal mode.
+struct FileEntry {
+    1: string name,
+    2: bool directory,
+    3: i64 length,
+    4: i64 modificationTime,
+    5: i64 accessTime,
+    6: string owner,
+    7: string group,
+    8: i16 permission,
+    9: i16 replication,
+    10: i64 blockSize
+}
+
+// One page of FileEntry results, cursor as in DirectoryPage.
+struct EntryPage {
+    1: list<FileEntry> entries,
+    2: optional string cursor
+}
+
+// Read-only metadata operations which can be batched together.
+enum MetadataOp {
+    LS = 1,
+    STAT = 2,
+    EXISTS = 3,
+    CONTENT_SUMMARY = 4
+}
+
+struct MetadataRequest {
+    1: MetadataOp op,
+    2: string path
+}
+
+// Space and counts for everything below a path, copied from its ContentSummary.
+// Quotas are -1 when not set.
+struct PathSummary {
+    1: i64 length,
+    2: i64 fileCount,
+    3: i64 directoryCount,
+    4: i64 quota,
+    5: i64 spaceConsumed,
+    6: i64 spaceQuota
+}
+
+// The outcome of one MetadataRequest. If the operation failed, error is
+// set. Otherwise the field for the operation is set: entries for LS,
+// entry for STAT, exists for EXISTS and summary for CONTENT_SUMMARY.
+struct MetadataResult {
+    1: optional list<FileEntry> entries,
+    2: optional FileEntry entry,
+    3: optional bool exists,
+    4: optional PathSummary summary,
+    5: optional string error
+}
+
+// Totals for everything below a path, like PathSummary, but counted by the
+// server listing one directory at a time. The directory count includes the
+// path itself. When the walk stopped at the maximum depth, truncated is set
+// and nothing below that depth is counted.
+struct TreeSummary {
+    1: i64 length,
+    2: i64 fileCount,
+    3: i64 directoryCount,
+    4: i64 spaceConsumed,
+    5: bool truncated
+}
+
+// One batch of a recursive listing. Entry names are paths relative to the
+// directory being listed, and entries come in no particular order. While
+// the walk has more entries, cursor is the value to pass to continueListing
+// for the next batch. truncated is as in TreeSummary.
+struct RecursiveListing {
+    1: list<FileEntry> entries,
+    2: bool truncated,
+    3: optional string cursor
+}
+
+// HTrace IDs of the client span a call belongs to. A client tracing a call
+// sends this as the body of a oneway message named "__trace" immediately
+// before the call, so calls which aren't traced carry nothing extra.
+struct TraceContext {
+    1: i64 traceId,
+    2: i64 spanId
+}
+
+// Time a client will wait for a call, sent ahead of the call as the body of
+// a oneway message named "__deadline", like TraceContext. The server
+// refuses the call if it has already waited this long by the time it is
+// read, and otherwise stops working on it once this much time has passed.
+struct CallDeadline {
+    1: i64 timeoutMillis
+}
+
 service HdfsService {
     string ls(1:string directory)
+    DirectoryPage lsPage(1:string directory, 2:string startAfter, 3:i32 limit)
+    list<FileEntry> listEntries(1:string directory)
+    EntryPage listEntriesPage(1:string directory, 2:string startAfter, 3:i32 limit)
+
+    // Run many operations in one call, results are in the order of the requests.
+    // A failed operation only sets the error on its own result.
+    list<MetadataResult> batch(1:list<MetadataRequest> requests)
+
+    // Walk the subtree below a path on the server. A maxDepth of 0 or less
+    // uses the server's limit, a larger one is reduced to it.
+    TreeSummary summarize(1:string path, 2:i32 maxDepth)
+    RecursiveListing listRecursive(1:string directory, 2:i32 maxDepth, 3:i32 batchSize)
+    RecursiveListing continueListing(1:string cursor, 2:i32 batchSize)
+
+    // Issue a delegation token for the caller, encoded as by
+    // Token.encodeToUrlString(). Later connections to this server can
+    // authenticate with it over DIGEST-MD5 instead of Kerberos. Only a
+    // connection authenticated with Kerberos may get a token.
+    string getDelegationToken()
 }
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.security.PrivilegedExceptionAction;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.hdfs.MiniDFSCluster;
+import org.apache.hadoop.security.AccessControlException;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that cached listings follow changes made on a MiniDFSCluster, and are only served to users who could list the directory themselves.
+ */
+public class ListingCacheTest {
+  // Long enough that only inotify events can make a listing change during a test
+  private static final long TTL_HOURS = 1;
+  private static final long EVENT_TIMEOUT_MILLIS = 30000;
+
+  private static MiniDFSCluster cluster;
+  private static FileSystem fs;
+
+  private final AtomicLong hits = new AtomicLong();
+  private ListingCache cache;
+
+  @BeforeClass
+  public static void startCluster() throws IOException {
+    Configuration conf = new Configuration();
+    conf.set(MiniDFSCluster.HDFS_MINIDFS_BASEDIR, "target/minidfs");
+    cluster = new MiniDFSCluster.Builder(conf).numDataNodes(1).build();
+    cluster.waitActive();
+    fs = cluster.getFileSystem();
+  }
+
+  @AfterClass
+  public static void stopCluster() {
+    if (null != cluster) {
+      cluster.shutdown();
+    }
+  }
+
+  @Before
+  public void startCache() {
+    cache = new ListingCache(fs.getUri(), 1024 * 1024, TTL_HOURS, TimeUnit.HOURS, new ServerMetrics() {
+      @Override
+      public void listingCacheHit() {
+        hits.incrementAndGet();
+        super.listingCacheHit();
+      }
+    });
+    // The user running the cluster is its superuser, so it may read the event stream
+    assertTrue("Should follow inotify events", cache.start(cluster.getConfiguration(0)));
+  }
+
+  @After
+  public void stopCache() {
+    cache.close();
+  }
+
+  @Test
+  public void createInvalidatesParent() throws Exception {
+    Path dir = new Path("/create");
+    fs.mkdirs(dir);
+    awaitCached(dir);
+
+    fs.create(new Path(dir, "a")).close();
+    awaitNames(dir, "a");
+    fs.mkdirs(new Path(dir, "b"));
+    awaitNames(dir, "a", "b");
+  }
+
+  @Test
+  public void renameInvalidatesBothParentsAndTheTree() throws Exception {
+    Path src = new Path("/rename/src"), dst = new Path("/rename/dst");
+    fs.mkdirs(new Path(src, "sub"));
+    fs.create(new Path(src, "sub/file")).close();
+    fs.mkdirs(dst);
+    awaitCached(src, "sub");
+    awaitCached(new Path(src, "sub"), "file");
+    awaitCached(dst);
+
+    fs.rename(new Path(src, "sub"), dst);
+    awaitNames(src);
+    awaitNames(dst, "sub");
+    assertNames(cache.listStatus(fs, new Path(dst, "sub")), "file");
+
+    // A new directory at the old path must not be given the old listing. Left empty, since a child's creation would invalidate the listing by itself
+    fs.mkdirs(new Path(src, "sub"));
+    // Events arrive in order, so the rename's have been applied once the parent shows the new directory
+    awaitNames(src, "sub");
+    assertNames(cache.listStatus(fs, new Path(src, "sub")));
+  }
+
+  @Test
+  public void deleteInvalidatesParentAndTree() throws Exception {
+    Path dir = new Path("/delete");
+    fs.mkdirs(new Path(dir, "sub"));
+    fs.create(new Path(dir, "sub/file")).close();
+    awaitCached(dir, "sub");
+    awaitCached(new Path(dir, "sub"), "file");
+
+    fs.delete(new Path(dir, "sub/file"), false);
+    awaitNames(new Path(dir, "sub"));
+    fs.delete(new Path(dir, "sub"), true);
+    awaitNames(dir);
+  }
+
+  @Test
+  public void cachedListingNotShownToOtherUsers() throws Exception {
+    final Path dir = new Path("/private");
+    fs.mkdirs(dir);
+    fs.create(new Path(dir, "secret")).close();
+    fs.setPermission(dir, new FsPermission((short) 0700));
+    awaitCached(dir, "secret");
+    assertEquals("Listing should be cached", 1, cache.size());
+
+    UserGroupInformation other = UserGroupInformation.createUserForTesting("other", new String[] {"others"});
+    FileSystem otherFs = other.doAs(new PrivilegedExceptionAction<FileSystem>() {
+      @Override
+      public FileSystem run() throws IOException {
+        return FileSystem.newInstance(fs.getUri(), cluster.getConfiguration(0));
+      }
+    });
+    try {
+      cache.listStatus(otherFs, dir);
+      fail("Served a 0700 directory's listing to a user who may not list it");
+    } catch (AccessControlException e) {
+      // Expected
+    } finally {
+      otherFs.close();
+    }
+  }
+
+  /**
+   * Wait for the listing to be served from the cache. Events for the changes which set up the test may still be arriving, and each one keeps a listing
+   * loaded at the same time out of the cache.
+   */
+  private void awaitCached(Path dir, String... expected) throws Exception {
+    long deadline = System.currentTimeMillis() + EVENT_TIMEOUT_MILLIS;
+    Set<String> want = new HashSet<String>(Arrays.asList(expected));
+    while (true) {
+      long before = hits.get();
+      Set<String> names = names(cache.listStatus(fs, dir));
+      if (hits.get() > before && want.equals(names)) {
+        return;
+      }
+      if (System.currentTimeMillis() > deadline) {
+        fail("Listing of " + dir + " was never cached");
+      }
+      Thread.sleep(50);
+    }
+  }
+
+  /**
+   * Wait for the cached listing to catch up with a change, which it only hears about through inotify.
+   */
+  private void awaitNames(Path dir, String... expected) throws Exception {
+    long deadline = System.currentTimeMillis() + EVENT_TIMEOUT_MILLIS;
+    Set<String> want = new HashSet<String>(Arrays.asList(expected));
+    while (!want.equals(names(cache.listStatus(fs, dir)))) {
+      if (System.currentTimeMillis() > deadline) {
+        assertNames(cache.listStatus(fs, dir), expected);
+      }
+      Thread.sleep(50);
+    }
+  }
+
+  private static void assertNames(FileStatus[] statuses, String... expected) {
+    assertEquals(new HashSet<String>(Arrays.asList(expected)), names(statuses));
+  }
+
+  private static Set<String> names(FileStatus[] statuses) {
+    Set<String> names = new HashSet<String>();
+    for (FileStatus status : statuses) {
+      names.add(status.getPath().getName());
+    }
+    return names;
+  }
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package joshelser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TMessage;
+import org.apache.thrift.protocol.TMessageType;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.apache.thrift.transport.TTransportFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the negotiation of a {@link SessionCipher}, and that its frames only decrypt once and in order.
+ */
+public class SessionCipherTest {
+  private static final long TIMEOUT_SECONDS = 30;
+
+  private ExecutorService client;
+  private TSocket clientSocket;
+  private TSocket serverSocket;
+
+  @Before
+  public void connect() throws IOException, TTransportException {
+    client = Executors.newSingleThreadExecutor();
+    ServerSocket listener = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    try {
+      clientSocket = new TSocket(listener.getInetAddress().getHostAddress(), listener.getLocalPort());
+      clientSocket.open();
+      serverSocket = new TSocket(listener.accept());
+    } finally {
+      listener.close();
+    }
+  }
+
+  @After
+  public void disconnect() {
+    client.shutdownNow();
+    clientSocket.close();
+    serverSocket.close();
+  }
+
+  @Test
+  public void negotiatedCiphersRoundTrip() throws Exception {
+    Future<SessionCipher> request = requestCipher();
+    SessionCipher.Response response = SessionCipher.respond(readRequest(serverSocket), true);
+    serverSocket.write(response.getMessage());
+    serverSocket.flush();
+    SessionCipher clientCipher = request.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertNotNull("Server should have agreed", clientCipher);
+    assertNotNull(response.getCipher());
+
+    TTransport clientTransport = new TSessionCipherTransport(clientSocket, clientCipher, null);
+    TTransport serverTransport = new TSessionCipherTransport(serverSocket, response.getCipher(), null);
+    for (int i = 0; i < 3; i++) {
+      assertArrayEquals(bytes("call " + i), send(clientTransport, serverTransport, bytes("call " + i)));
+      assertArrayEquals(bytes("reply " + i), send(serverTransport, clientTransport, bytes("reply " + i)));
+    }
+  }
+
+  @Test
+  public void tamperedFrameRejected() throws Exception {
+    SessionCipher[] ciphers = negotiate();
+    byte[] frame = ciphers[0].encrypt(bytes("call"), 0, 4);
+    frame[0] ^= 1;
+    assertRejected(ciphers[1], frame);
+  }
+
+  @Test
+  public void replayedFrameRejected() throws Exception {
+    SessionCipher[] ciphers = negotiate();
+    byte[] frame = ciphers[0].encrypt(bytes("call"), 0, 4);
+    assertArrayEquals(bytes("call"), ciphers[1].decrypt(frame, 0, frame.length));
+    assertRejected(ciphers[1], frame);
+  }
+
+  @Test
+  public void reorderedFrameRejected() throws Exception {
+    SessionCipher[] ciphers = negotiate();
+    ciphers[0].encrypt(bytes("first"), 0, 5);
+    byte[] second = ciphers[0].encrypt(bytes("second"), 0, 6);
+    assertRejected(ciphers[1], second);
+  }
+
+  @Test
+  public void directionsUseDifferentKeys() throws Exception {
+    SessionCipher[] ciphers = negotiate();
+    // A frame reflected back at its sender must not decrypt
+    byte[] frame = ciphers[0].encrypt(bytes("call"), 0, 4);
+    assertRejected(ciphers[0], frame);
+  }
+
+  @Test
+  public void declinedWhenDisabled() throws Exception {
+    Future<SessionCipher> request = requestCipher();
+    SessionCipher.Response response = SessionCipher.respond(readRequest(serverSocket), false);
+    assertNull(response.getCipher());
+    serverSocket.write(response.getMessage());
+    serverSocket.flush();
+    assertNull("Client should carry on without a session cipher", request.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void declinedWhenSuiteNotOffered() throws Exception {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(baos);
+    out.writeShort(1);
+    out.writeUTF("AES/CBC/PKCS5Padding");
+    out.close();
+    byte[] body = baos.toByteArray();
+    byte[] request = ByteBuffer.allocate(8 + body.length).putInt(SessionCipher.MAGIC).putInt(body.length).put(body).array();
+    assertNull(SessionCipher.respond(request, true).getCipher());
+  }
+
+  @Test(expected = TTransportException.class)
+  public void requestWithWrongLengthRefused() throws Exception {
+    SessionCipher.respond(ByteBuffer.allocate(8).putInt(SessionCipher.MAGIC).putInt(100).array(), true);
+  }
+
+  @Test
+  public void factoryDeclinesAndKeepsTransport() throws Exception {
+    Future<SessionCipher> request = requestCipher();
+    TTransport transport = new TSessionCipherTransportFactory(new TTransportFactory(), false).getTransport(serverSocket);
+    assertNull(request.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    assertSame("Declined connections should stay on the SASL transport", serverSocket, transport);
+  }
+
+  @Test
+  public void factoryReplaysCallsFromClientsWhichDontNegotiate() throws Exception {
+    TMemoryBuffer call = new TMemoryBuffer(64);
+    TProtocol out = new TBinaryProtocol(call);
+    out.writeMessageBegin(new TMessage("ls", TMessageType.CALL, 7));
+    out.writeString("/tmp");
+    out.writeMessageEnd();
+    TTransport trans = new TMemoryInputTransport(Arrays.copyOf(call.getArray(), call.length()));
+
+    TSessionCipherTransportFactory factory = new TSessionCipherTransportFactory(new TTransportFactory(), true);
+    TTransport transport = factory.getTransport(trans);
+    assertSame("Input and output should share a transport", transport, factory.getTransport(trans));
+    TProtocol in = new TBinaryProtocol(transport);
+    TMessage message = in.readMessageBegin();
+    assertEquals("ls", message.name);
+    assertEquals(TMessageType.CALL, message.type);
+    assertEquals(7, message.seqid);
+    assertEquals("/tmp", in.readString());
+  }
+
+  /**
+   * @return The client's cipher and the server's, as negotiated over the sockets
+   */
+  private SessionCipher[] negotiate() throws Exception {
+    Future<SessionCipher> request = requestCipher();
+    SessionCipher.Response response = SessionCipher.respond(readRequest(serverSocket), true);
+    serverSocket.write(response.getMessage());
+    serverSocket.flush();
+    return new SessionCipher[] {request.get(TIMEOUT_SECONDS, TimeUnit.SECONDS), response.getCipher()};
+  }
+
+  private Future<SessionCipher> requestCipher() {
+    return client.submit(new Callable<SessionCipher>() {
+      @Override
+      public SessionCipher call() throws TTransportException {
+        return SessionCipher.request(clientSocket);
+      }
+    });
+  }
+
+  private static byte[] readRequest(TTransport trans) throws TTransportException {
+    byte[] header = new byte[8];
+    trans.readAll(header, 0, header.length);
+    byte[] body = SessionCipher.readBody(trans, header);
+    return ByteBuffer.allocate(header.length + body.length).put(header).put(body).array();
+  }
+
+  private static byte[] send(TTransport from, TTransport to, byte[] message) throws TTransportException {
+    from.write(message);
+    from.flush();
+    byte[] received = new byte[message.length];
+    to.readAll(received, 0, received.length);
+    return received;
+  }
+
+  private static void assertRejected(SessionCipher cipher, byte[] frame) {
+    try {
+      cipher.decrypt(frame, 0, frame.length);
+      fail("Decrypted a frame which should have been rejected");
+    } catch (GeneralSecurityException e) {
+      // Expected
+    }
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+}